@@ -0,0 +1,28 @@
+#!/bin/sh
+# Lance l'application avec des options JVM adaptées au conteneur.
+# Le heap est dimensionné à partir de la limite mémoire du conteneur (cgroups),
+# le GC et le mode JIT sont choisis par variables d'environnement.
+set -e
+
+case "${JVM_GC:-g1}" in
+  g1)     GC_OPTS="-XX:+UseG1GC -XX:MaxGCPauseMillis=200 -XX:+UseStringDeduplication" ;;
+  zgc)    GC_OPTS="-XX:+UseZGC" ;;
+  serial) GC_OPTS="-XX:+UseSerialGC" ;;
+  *) echo "JVM_GC inconnu : ${JVM_GC} (g1, zgc, serial)" >&2; exit 1 ;;
+esac
+
+case "${JVM_JIT:-tiered}" in
+  tiered) JIT_OPTS="" ;;
+  # C1 seulement : démarrage plus rapide et moins de mémoire, débit maximal plus faible
+  c1)     JIT_OPTS="-XX:TieredStopAtLevel=1" ;;
+  *) echo "JVM_JIT inconnu : ${JVM_JIT} (tiered, c1)" >&2; exit 1 ;;
+esac
+
+HEAP_OPTS="-XX:MaxRAMPercentage=${JVM_MAX_RAM_PERCENTAGE:-75} -XX:InitialRAMPercentage=25 -XX:+ExitOnOutOfMemoryError"
+
+# shellcheck disable=SC2086
+exec java -XX:SharedArchiveFile=application.jsa \
+    $HEAP_OPTS $GC_OPTS $JIT_OPTS \
+    -Dspring.aot.enabled="${SPRING_AOT_ENABLED:-false}" \
+    $JAVA_OPTS \
+    -jar application.jar "$@"
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Compare taille d'image, temps de démarrage et RSS entre :
+#   fatjar       : ancienne image (fat jar, aucune option JVM)
+#   runtime-g1   : image runtime (couches + jlink + CDS) avec G1
+#   runtime-zgc  : image runtime avec ZGC
+#   runtime-c1   : image runtime avec G1 et JIT C1 uniquement
+#
+# Usage : scripts/image-compare.sh
+# Variables : MEMORY (limite mémoire des conteneurs, défaut 512m), CPUS (défaut 1)
+# Résultat : target/image-compare.md
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MEMORY=${MEMORY:-512m}
+CPUS=${CPUS:-1}
+IMAGE=student-management
+NETWORK=student-management-compare
+DB=student-management-compare-db
+
+cleanup() {
+  docker rm -f "$DB" > /dev/null 2>&1 || true
+  docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker build -q --target fatjar -t "$IMAGE:fatjar" . > /dev/null
+docker build -q --target runtime -t "$IMAGE:runtime" . > /dev/null
+
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+  -e MYSQL_ALLOW_EMPTY_PASSWORD=yes -e MYSQL_DATABASE=studentdb mysql:8 > /dev/null
+until docker exec "$DB" mysqladmin ping -h 127.0.0.1 --silent 2> /dev/null; do sleep 1; done
+
+measure() { # $1 = nom, $2 = tag, $3.. = options docker run
+  local name=$1 tag=$2; shift 2
+  local container="student-management-compare-$name" started="" size rss
+  docker run -d --name "$container" --network "$NETWORK" --memory "$MEMORY" --cpus "$CPUS" \
+    -e SPRING_DATASOURCE_URL="jdbc:mysql://$DB:3306/studentdb" "$@" "$IMAGE:$tag" > /dev/null
+  for _ in $(seq 1 300); do
+    started=$(docker logs "$container" 2>&1 | grep -oE 'Started StudentManagementApplication in [0-9.]+' | awk '{print $NF}' || true)
+    [ -n "$started" ] && break
+    sleep 0.2
+  done
+  rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$container" | awk '{print $1}')
+  size=$(docker image inspect -f '{{.Size}}' "$IMAGE:$tag" | awk '{printf "%.0f", $1 / 1024 / 1024}')
+  docker rm -f "$container" > /dev/null
+  printf "| %s | %s | %s | %s |\n" "$name" "$size" "${started:-échec}" "$rss"
+}
+
+mkdir -p target
+{
+  echo "| Variante | Image (MB) | Démarrage (s) | Mémoire conteneur |"
+  echo "|----------|------------|---------------|-------------------|"
+  measure fatjar fatjar
+  measure runtime-g1 runtime -e JVM_GC=g1
+  measure runtime-zgc runtime -e JVM_GC=zgc
+  measure runtime-c1 runtime -e JVM_GC=g1 -e JVM_JIT=c1
+} | tee target/image-compare.md
@@ -0,0 +1,97 @@
+#!/usr/bin/env bash
+# Mesure du temps de démarrage et de la mémoire résidente (RSS) pour chaque mode :
+#   jvm      : java -jar classique
+#   lazy     : profil Spring "lazy" (initialisation paresseuse)
+#   cds      : jar extrait + archive AppCDS
+#   aot      : jar traité par Spring AOT (-Paot)
+#   aot-cds  : AOT + AppCDS
+#   native   : image native GraalVM (-Pnative, nécessite native-image)
+#
+# Usage : scripts/startup-report.sh [mode...]   (défaut : jvm lazy cds aot aot-cds)
+# Variables : MVN (défaut mvn), WORK_DIR, DB_URL, DB_USER, DB_PASSWORD (MySQL local), RUNS (défaut 3), PORT (défaut 8089)
+# Résultat : target/startup-report.md (jars extraits et archives CDS dans $WORK_DIR)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODES=("$@")
+[ ${#MODES[@]} -eq 0 ] && MODES=(jvm lazy cds aot aot-cds)
+RUNS=${RUNS:-3}
+PORT=${PORT:-8089}
+DB_URL=${DB_URL:-jdbc:mysql://localhost:3306/studentdb?createDatabaseIfNotExist=true}
+DB_USER=${DB_USER:-root}
+DB_PASSWORD=${DB_PASSWORD:-}
+MVN=${MVN:-mvn}
+OUT=${WORK_DIR:-${TMPDIR:-/tmp}/student-management-startup}
+mkdir -p "$OUT"
+
+APP_ARGS=(--server.port="$PORT" --spring.datasource.url="$DB_URL"
+          --spring.datasource.username="$DB_USER" --spring.datasource.password="$DB_PASSWORD")
+
+build_jar() { # $1 = répertoire de sortie, $2.. = options maven
+  local dir=$1; shift
+  if [ ! -d "$OUT/$dir" ]; then
+    $MVN -B -q clean package -DskipTests "$@"
+    java -Djarmode=tools -jar target/student-management-*.jar extract --destination "$OUT/$dir"
+    mv "$OUT/$dir"/student-management-*.jar "$OUT/$dir/application.jar"
+  fi
+}
+
+train_cds() { # $1 = répertoire, $2 = spring.aot.enabled
+  if [ ! -f "$OUT/$1/application.jsa" ]; then
+    (cd "$OUT/$1" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh \
+        -Dspring.profiles.active=cds-training -Dspring.aot.enabled="$2" -jar application.jar > /dev/null)
+  fi
+}
+
+command_for() {
+  case $1 in
+    jvm)     build_jar jvm;       echo "java -jar $OUT/jvm/application.jar" ;;
+    lazy)    build_jar jvm;       echo "java -jar $OUT/jvm/application.jar --spring.profiles.active=lazy" ;;
+    cds)     build_jar jvm;       train_cds jvm false
+             echo "java -XX:SharedArchiveFile=$OUT/jvm/application.jsa -jar $OUT/jvm/application.jar" ;;
+    aot)     build_jar aot -Paot; echo "java -Dspring.aot.enabled=true -jar $OUT/aot/application.jar" ;;
+    aot-cds) build_jar aot -Paot; train_cds aot true
+             echo "java -XX:SharedArchiveFile=$OUT/aot/application.jsa -Dspring.aot.enabled=true -jar $OUT/aot/application.jar" ;;
+    native)  [ -x target/student-management ] || $MVN -B -q -Pnative native:compile -DskipTests
+             echo "target/student-management" ;;
+    *) echo "Mode inconnu : $1" >&2; exit 1 ;;
+  esac
+}
+
+measure() { # $1 = commande ; affiche "<secondes> <rss_kb>"
+  local log="$OUT/run.log" pid started=""
+  # shellcheck disable=SC2086
+  $1 "${APP_ARGS[@]}" > "$log" 2>&1 &
+  pid=$!
+  for _ in $(seq 1 600); do
+    started=$(grep -oE 'Started StudentManagementApplication in [0-9.]+' "$log" | awk '{print $NF}' || true)
+    [ -n "$started" ] && break
+    kill -0 "$pid" 2> /dev/null || { cat "$log" >&2; exit 1; }
+    sleep 0.1
+  done
+  local rss
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  kill "$pid"; wait "$pid" 2> /dev/null || true
+  echo "$started $rss"
+}
+
+{
+  echo "| Mode | Démarrage moyen (s) | RSS moyen (MB) |"
+  echo "|------|---------------------|----------------|"
+} > "$OUT/report.md"
+
+for mode in "${MODES[@]}"; do
+  cmd=$(command_for "$mode")
+  total_s=0; total_rss=0
+  for _ in $(seq 1 "$RUNS"); do
+    read -r s rss < <(measure "$cmd")
+    total_s=$(echo "$total_s + $s" | bc -l)
+    total_rss=$((total_rss + rss))
+  done
+  printf "| %s | %.3f | %d |\n" "$mode" "$(echo "$total_s / $RUNS" | bc -l)" $((total_rss / RUNS / 1024)) >> "$OUT/report.md"
+done
+
+mkdir -p target
+cp "$OUT/report.md" target/startup-report.md
+cat target/startup-report.md
@@ -0,0 +1,52 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.services.IStudentService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence (p50/p99 en mode échantillonné) d'une modification d'étudiant : sans journal d'audit,
+ * journal écrit dans la transaction (sync), puis via l'anneau et l'écrivain de fond (drop).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditBenchmark {
+
+    @Param({"off", "sync", "drop"})
+    public String audit;
+
+    private ConfigurableApplicationContext context;
+    private IStudentService studentService;
+    private Student student;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        context = "off".equals(audit)
+                ? BenchmarkContext.start("app.audit.enabled=false", "app.dedup.on-save=off")
+                : BenchmarkContext.start("app.audit.mode=" + audit, "app.dedup.on-save=off");
+        studentService = context.getBean(IStudentService.class);
+        student = studentService.saveStudent(Student.builder().firstName("Amine").lastName("Trabelsi")
+                .email("amine.trabelsi@esprit.tn").dateOfBirth(LocalDate.of(2003, 4, 12)).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Student updateStudent() {
+        student.setPhone("2" + (10_000_000 + version++ % 1_000_000));
+        student = studentService.saveStudent(student);
+        return student;
+    }
+}
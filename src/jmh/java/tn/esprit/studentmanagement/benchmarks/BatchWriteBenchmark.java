@@ -0,0 +1,66 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saisie des notes d'une session : mise à jour de toutes les inscriptions dans une transaction,
+ * sans lots JDBC (batch_size=1) contre le réglage du profil "prod" (batch_size=50, order_updates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchWriteBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int enrollments;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentRepository enrollmentRepository;
+    private TransactionTemplate transaction;
+    private double grade;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.order_updates=true");
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Enrollment> batch = new ArrayList<>();
+        for (int i = 0; i < enrollments; i++) {
+            batch.add(new Enrollment(null, LocalDate.of(2025, 9, 15), null, Status.ACTIVE, null, null));
+        }
+        enrollmentRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void updateGrades() {
+        grade = grade >= 20 ? 0 : grade + 0.25;
+        transaction.executeWithoutResult(status -> enrollmentRepository.findAll().forEach(enrollment -> {
+            enrollment.setGrade(grade);
+            enrollment.setStatus(Status.COMPLETED);
+        }));
+    }
+}
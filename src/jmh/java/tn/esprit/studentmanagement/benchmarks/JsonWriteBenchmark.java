@@ -0,0 +1,93 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tn.esprit.studentmanagement.dto.EnrollmentResponse;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écriture d'une liste d'inscriptions (étudiant, département et cours imbriqués) : entités par introspection
+ * Jackson contre réponses écrites par ResponseWriters (conversion incluse). Sortie identique, comptée
+ * sans être conservée ; octets alloués par opération avec -prof gc (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonWriteBenchmark {
+
+    @Param({"entity", "response"})
+    public String body;
+
+    @Param({"1000"})
+    public int enrollments;
+
+    private ObjectMapper objectMapper;
+    private List<Enrollment> page;
+    private final CountingStream out = new CountingStream();
+
+    @Setup
+    public void setUp() {
+        // Réglages de Spring Boot (dates en texte)
+        objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        List<Department> departments = new ArrayList<>();
+        for (int d = 0; d < 10; d++) {
+            departments.add(Department.builder().idDepartment((long) d).name("Département " + d).location("Bloc " + d)
+                    .phone("71 000 00" + d).head("Pr. " + d).build());
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 50; c++) {
+            courses.add(new Course((long) c, "Cours " + c, "CS" + (100 + c), 4, "Description du cours " + c, null));
+        }
+        page = new ArrayList<>();
+        for (int i = 0; i < enrollments; i++) {
+            Student student = Student.builder().idStudent((long) i).firstName("Prénom" + i).lastName("Nom" + i)
+                    .email("etudiant" + i + "@esprit.tn").phone("2" + (1_000_000 + i)).dateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .address(i + " rue de Carthage, Tunis").department(departments.get(i % departments.size())).build();
+            page.add(new Enrollment((long) i, LocalDate.of(2025, 9, 1).plusDays(i % 30), i % 3 == 0 ? null : (i % 40) / 2.0,
+                    Status.values()[i % Status.values().length], student, courses.get(i % courses.size())));
+        }
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        out.count = 0;
+        Object value = "entity".equals(body) ? page : page.stream().map(EnrollmentResponse::of).toList();
+        objectMapper.writeValue(out, value);
+        return out.count;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // flux réutilisé d'une opération à l'autre
+        }
+    }
+}
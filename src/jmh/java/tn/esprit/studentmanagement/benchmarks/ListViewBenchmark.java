@@ -0,0 +1,74 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liste des étudiants : entités gérées (findAll) contre projection StudentSummary.
+ * Lancer avec "-prof gc" pour comparer les allocations (gc.alloc.rate.norm = octets / opération).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListViewBenchmark {
+
+    @Param({"2000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        studentRepository = context.getBean(StudentRepository.class);
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            departments.add(departmentRepository.save(Department.builder().name("Department " + i).build()));
+        }
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            batch.add(Student.builder()
+                    .firstName("First" + i).lastName("Last" + i).email("student" + i + "@esprit.tn")
+                    .phone("+216 20 000 " + i).address("Tunis").dateOfBirth(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .department(departments.get(i % departments.size()))
+                    .build());
+        }
+        studentRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entities(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> blackhole.consume(studentRepository.findAll()));
+    }
+
+    @Benchmark
+    public void summaries(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status -> blackhole.consume(studentRepository.findAllSummaries()));
+    }
+}
@@ -0,0 +1,52 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tn.esprit.studentmanagement.jobs.JobRunStatus;
+import tn.esprit.studentmanagement.jobs.JobRunner;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Temps total du calcul des GPA selon le parallélisme, sur les données du profil "seed".
+ * Sur MySQL, le gain plafonne avec la taille du pool JDBC et les coeurs du serveur.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NightlyJobBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    @Param({"20000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private JobRunner jobRunner;
+    private final AtomicLong runs = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("spring.profiles.include=seed",
+                "app.seed.students=" + students,
+                "app.jobs.parallelism=" + parallelism,
+                "app.jobs.student-gpa.partition-size=1000",
+                "spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2));
+        jobRunner = context.getBean(JobRunner.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JobRunStatus studentGpa() {
+        return jobRunner.run("student-gpa", "bench-" + runs.incrementAndGet());
+    }
+}
@@ -0,0 +1,77 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.reporting.ReportColumns;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrégats de rapport sur les colonnes en mémoire (sans base de données) : un parcours complet
+ * des étudiants ou des inscriptions par appel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportColumnsBenchmark {
+
+    @Param({"1000000"})
+    public int enrollments;
+
+    @Param({"100000"})
+    public int students;
+
+    private ReportColumns columns;
+    private final LocalDate bornAfter = LocalDate.of(2003, 1, 1);
+
+    @Setup
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(42);
+        Status[] statuses = Status.values();
+        ReportColumns.Builder builder = new ReportColumns.Builder();
+        for (int i = 1; i <= 20; i++) {
+            builder.department(i, "Département " + i);
+        }
+        for (int i = 1; i <= 2000; i++) {
+            builder.course(i, "Cours " + i);
+        }
+        for (int i = 1; i <= students; i++) {
+            builder.student(i, 1L + seed.nextInt(20), LocalDate.of(1995, 1, 1).plusDays(seed.nextInt(4000)));
+        }
+        for (int i = 0; i < enrollments; i++) {
+            builder.enrollment(1L + seed.nextInt(2000), statuses[seed.nextInt(statuses.length)],
+                    seed.nextInt(4) == 0 ? null : seed.nextInt(2001) / 100.0);
+        }
+        columns = builder.build();
+        System.out.printf("%nfootprint: %d bytes%n", columns.footprintBytes());
+    }
+
+    @Benchmark
+    public List<DepartmentCount> studentCountsByDepartment() {
+        return columns.studentCountsByDepartment();
+    }
+
+    @Benchmark
+    public List<StatusCount> enrollmentCountsByStatus() {
+        return columns.enrollmentCountsByStatus();
+    }
+
+    @Benchmark
+    public List<CourseGrades> gradesByCourse() {
+        return columns.gradesByCourse();
+    }
+
+    @Benchmark
+    public long[] studentIdsBornAfter() {
+        return columns.studentIdsBornAfter(bornAfter);
+    }
+}
@@ -0,0 +1,67 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tn.esprit.studentmanagement.roster.AdjacencyIndex;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherches dans l'index CSR des inscriptions (sans base de données) : cours d'un étudiant,
+ * étudiants d'un cours, et cours d'un étudiant corrigés par un delta.
+ * La taille de l'index est affichée au démarrage (footprint, en octets).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RosterIndexBenchmark {
+
+    @Param({"1000000"})
+    public int enrollments;
+
+    @Param({"100000"})
+    public int students;
+
+    @Param({"2000"})
+    public int courses;
+
+    private AdjacencyIndex coursesByStudent;
+    private AdjacencyIndex studentsByCourse;
+    private Map<Long, Integer> delta;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(42);
+        AdjacencyIndex.Builder builder = new AdjacencyIndex.Builder();
+        for (int i = 0; i < enrollments; i++) {
+            builder.add(1 + seed.nextInt(students), 1 + seed.nextInt(courses));
+        }
+        coursesByStudent = builder.forward();
+        studentsByCourse = builder.backward();
+        delta = Map.of(1L, -1, (long) courses + 1, 1);
+        random = new SplittableRandom(7);
+        System.out.printf("%nfootprint: %d bytes (%d enrollments, %d students, %d courses)%n",
+                coursesByStudent.footprintBytes() + studentsByCourse.footprintBytes(),
+                enrollments, coursesByStudent.keyCount(), studentsByCourse.keyCount());
+    }
+
+    @Benchmark
+    public long[] coursesOfStudent() {
+        return coursesByStudent.neighbours(1 + random.nextInt(students));
+    }
+
+    @Benchmark
+    public long[] coursesOfStudentWithDelta() {
+        return coursesByStudent.neighbours(1 + random.nextInt(students), delta);
+    }
+
+    @Benchmark
+    public long[] studentsOfCourse() {
+        return studentsByCourse.neighbours(1 + random.nextInt(courses));
+    }
+}
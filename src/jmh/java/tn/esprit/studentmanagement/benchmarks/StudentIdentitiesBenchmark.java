@@ -0,0 +1,60 @@
+package tn.esprit.studentmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tn.esprit.studentmanagement.dedup.StudentIdentities;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche complète des doublons sur des identités synthétiques déjà en mémoire (sans lecture JDBC) :
+ * 2 % de copies avec casse d'email et format de téléphone modifiés, noms et dates de naissance tirés
+ * dans des ensembles restreints pour produire des homonymes.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StudentIdentitiesBenchmark {
+
+    @Param({"1000000"})
+    public int students;
+
+    @Param({"1", "0"})
+    public int parallelism; // 0 : nombre de coeurs
+
+    private StudentIdentities identities;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom seed = new SplittableRandom(42);
+        StudentIdentities.Builder builder = new StudentIdentities.Builder(8);
+        for (int i = 1; i <= students; i++) {
+            String first = "Prenom" + seed.nextInt(2000);
+            String last = "Nom" + seed.nextInt(5000);
+            LocalDate birth = LocalDate.of(1995, 1, 1).plusDays(seed.nextInt(4000));
+            String phone = String.valueOf(20_000_000 + i);
+            builder.add(i, first, last, "etudiant" + i + "@esprit.tn", phone, birth);
+            if (seed.nextInt(50) == 0) {
+                builder.add(students + i, first, last.toUpperCase(), "Etudiant" + i + "@Esprit.tn", "+216 " + phone, birth);
+            }
+        }
+        identities = builder.build();
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public StudentIdentities.Scan findDuplicates() {
+        return identities.findDuplicates(pool, 0.8, 100);
+    }
+}
@@ -0,0 +1,72 @@
+package tn.esprit.studentmanagement.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Enregistre les latences (en microsecondes) et les codes de statut d'un scénario pour un worker.
+ * Un enregistreur par thread : aucune synchronisation sur le chemin de mesure, fusion en fin de test.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    long ok;
+    // 409 : chevauchement d'emploi du temps ou doublon refusé, réponse attendue du mélange et non une erreur
+    long conflicts;
+    long clientErrors;
+    long throttled;
+    long serverErrors;
+    long ioErrors;
+
+    void record(long micros, int status) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = micros;
+        if (status == 429 || status == 503) {
+            throttled++;
+        } else if (status == 409) {
+            conflicts++;
+        } else if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        } else {
+            ok++;
+        }
+    }
+
+    void recordIoError() {
+        ioErrors++;
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        if (target.size + size > target.latencies.length) {
+            target.latencies = Arrays.copyOf(target.latencies, Math.max(target.latencies.length * 2, target.size + size));
+        }
+        System.arraycopy(latencies, 0, target.latencies, target.size, size);
+        target.size += size;
+        target.ok += ok;
+        target.conflicts += conflicts;
+        target.clientErrors += clientErrors;
+        target.throttled += throttled;
+        target.serverErrors += serverErrors;
+        target.ioErrors += ioErrors;
+    }
+
+    long count() {
+        return size;
+    }
+
+    /** Trie les mesures et renvoie les percentiles demandés (rang le plus proche), en millisecondes. */
+    double[] percentiles(double... quantiles) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        double[] result = new double[quantiles.length + 1];
+        for (int i = 0; i < quantiles.length; i++) {
+            result[i] = size == 0 ? 0 : sorted[(int) Math.min(size - 1, Math.ceil(quantiles[i] * size) - 1)] / 1000.0;
+        }
+        result[quantiles.length] = size == 0 ? 0 : sorted[size - 1] / 1000.0;
+        return result;
+    }
+}
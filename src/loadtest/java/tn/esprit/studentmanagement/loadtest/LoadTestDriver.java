@@ -0,0 +1,287 @@
+package tn.esprit.studentmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver de charge en boucle fermée : N workers rejouent un mélange de trafic contre l'application
+ * pendant une durée donnée, puis écrivent un rapport JSON (débit, erreurs, p50/p90/p99/p99.9 par scénario).
+ * <p>
+ * {@code run [--base-url=..] [--tenant=..] [--mix=registration-week|read-heavy] [--concurrency=32]
+ * [--duration=60] [--warmup=10] [--label=..] [--out=target/loadtest]}
+ * <br>
+ * {@code compare <reference.json> <candidate.json> [--threshold=10]} : compare deux rapports et
+ * sort en erreur si le p99 ou le débit d'un scénario se dégrade au-delà du seuil (en %).
+ */
+public final class LoadTestDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double[] QUANTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p90", "p99", "p999", "max"};
+
+    private LoadTestDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 ? args[0] : "help";
+        Map<String, String> options = new HashMap<>();
+        List<String> positional = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--") && args[i].contains("=")) {
+                options.put(args[i].substring(2, args[i].indexOf('=')), args[i].substring(args[i].indexOf('=') + 1));
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        switch (command) {
+            case "run" -> run(options);
+            case "compare" -> {
+                if (positional.size() != 2) {
+                    throw new IllegalArgumentException("compare expects two report files");
+                }
+                boolean regressed = compare(Path.of(positional.get(0)), Path.of(positional.get(1)),
+                        Double.parseDouble(options.getOrDefault("threshold", "10")));
+                System.exit(regressed ? 2 : 0);
+            }
+            default -> System.out.println("""
+                    Usage:
+                      run [--base-url=http://localhost:8089/student] [--tenant=default] [--mix=%s]
+                          [--concurrency=32] [--duration=60] [--warmup=10] [--label=<build>] [--out=target/loadtest]
+                      compare <reference.json> <candidate.json> [--threshold=10]
+                    """.formatted(String.join("|", TrafficMix.names())));
+        }
+    }
+
+    private static void run(Map<String, String> options) throws Exception {
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8089/student");
+        String tenant = options.getOrDefault("tenant", "default");
+        String mixName = options.getOrDefault("mix", "registration-week");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        TrafficMix mix = new TrafficMix(mixName);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        TrafficMix.Ids ids = discover(client, baseUrl, tenant);
+        System.out.printf("Target %s (tenant %s): %d students, %d departments, %d courses, %d enrollments%n",
+                baseUrl, tenant, ids.students().length, ids.departments().length, ids.courses().length, ids.enrollments().length);
+
+        int scenarioCount = mix.scenarios().size();
+        LatencyRecorder[][] recorders = new LatencyRecorder[concurrency][scenarioCount];
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            LatencyRecorder[] own = recorders[w];
+            for (int s = 0; s < scenarioCount; s++) {
+                own[s] = new LatencyRecorder();
+            }
+            workers.submit(() -> work(client, baseUrl, tenant, mix, ids, own, warmupEnd, end));
+        }
+        workers.shutdown();
+        workers.awaitTermination(durationSeconds + warmupSeconds + 60L, TimeUnit.SECONDS);
+
+        ObjectNode report = report(options, baseUrl, mixName, concurrency, durationSeconds, mix, recorders);
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest"));
+        Files.createDirectories(out);
+        Path file = out.resolve(mixName + "-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+                .withZone(ZoneOffset.UTC).format(Instant.now()) + ".json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        print(report);
+        System.out.println("Report written to " + file);
+    }
+
+    private static void work(HttpClient client, String baseUrl, String tenant, TrafficMix mix, TrafficMix.Ids ids,
+                             LatencyRecorder[] recorders, long warmupEnd, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            int scenario = mix.next(random);
+            HttpRequest request = mix.scenarios().get(scenario).factory().create(baseUrl, ids, random)
+                    .header("X-Tenant-ID", tenant)
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long start = System.nanoTime();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (start >= warmupEnd) {
+                    recorders[scenario].record((System.nanoTime() - start) / 1000, status);
+                }
+            } catch (IOException e) {
+                if (start >= warmupEnd) {
+                    recorders[scenario].recordIoError();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static TrafficMix.Ids discover(HttpClient client, String baseUrl, String tenant) throws Exception {
+        JsonNode students = fetch(client, baseUrl + "/api/students/summaries", tenant);
+        LinkedHashSet<String> lastNames = new LinkedHashSet<>();
+        students.forEach(s -> lastNames.add(s.path("lastName").asText()));
+        // Inscriptions rattachées à un cours uniquement : les notes sont soumises par cours
+        ArrayNode enrollments = MAPPER.createArrayNode();
+        fetch(client, baseUrl + "/Enrollment/getAllEnrollmentSummaries", tenant).forEach(e -> {
+            if (!e.path("courseId").isNull() && !e.path("courseId").isMissingNode()) {
+                enrollments.add(e);
+            }
+        });
+        TrafficMix.Ids ids = new TrafficMix.Ids(
+                idsOf(students, "idStudent"),
+                idsOf(fetch(client, baseUrl + "/Depatment/getAllDepartmentSummaries", tenant), "idDepartment"),
+                idsOf(fetch(client, baseUrl + "/Course/getAllCourseSummaries", tenant), "idCourse"),
+                idsOf(enrollments, "idEnrollment"),
+                idsOf(enrollments, "courseId"),
+                new ArrayList<>(lastNames));
+        if (ids.students().length == 0 || ids.departments().length == 0 || ids.courses().length == 0 || ids.enrollments().length == 0) {
+            throw new IllegalStateException("No data for tenant '" + tenant + "': start the application with the 'seed' profile first");
+        }
+        return ids;
+    }
+
+    private static JsonNode fetch(HttpClient client, String url, String tenant) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("X-Tenant-ID", tenant).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private static long[] idsOf(JsonNode array, String field) {
+        long[] ids = new long[array.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = array.get(i).path(field).asLong();
+        }
+        return ids;
+    }
+
+    private static ObjectNode report(Map<String, String> options, String baseUrl, String mixName, int concurrency,
+                                     int durationSeconds, TrafficMix mix, LatencyRecorder[][] recorders) {
+        ObjectNode report = MAPPER.createObjectNode();
+        report.put("label", options.getOrDefault("label", "local"));
+        report.put("timestamp", Instant.now().toString());
+        report.put("baseUrl", baseUrl);
+        report.put("mix", mixName);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", durationSeconds);
+
+        LatencyRecorder total = new LatencyRecorder();
+        ArrayNode scenarios = report.putArray("scenarios");
+        for (int s = 0; s < mix.scenarios().size(); s++) {
+            LatencyRecorder merged = new LatencyRecorder();
+            for (LatencyRecorder[] worker : recorders) {
+                worker[s].mergeInto(merged);
+            }
+            merged.mergeInto(total);
+            scenarios.add(describe(MAPPER.createObjectNode().put("name", mix.scenarios().get(s).name()), merged, durationSeconds));
+        }
+        report.set("total", describe(MAPPER.createObjectNode().put("name", "total"), total, durationSeconds));
+        return report;
+    }
+
+    private static ObjectNode describe(ObjectNode node, LatencyRecorder recorder, int durationSeconds) {
+        node.put("requests", recorder.count());
+        node.put("throughput", Math.round(recorder.count() * 10.0 / durationSeconds) / 10.0);
+        node.put("ok", recorder.ok);
+        node.put("conflicts", recorder.conflicts);
+        node.put("clientErrors", recorder.clientErrors);
+        node.put("throttled", recorder.throttled);
+        node.put("serverErrors", recorder.serverErrors);
+        node.put("ioErrors", recorder.ioErrors);
+        ObjectNode latency = node.putObject("latencyMs");
+        double[] values = recorder.percentiles(QUANTILES);
+        for (int i = 0; i < values.length; i++) {
+            latency.put(QUANTILE_NAMES[i], values[i]);
+        }
+        return node;
+    }
+
+    private static void print(JsonNode report) {
+        System.out.printf("%-22s %9s %9s %9s %7s %9s %9s %9s %9s%n", "scenario", "requests", "req/s", "conflicts", "errors",
+                "p50", "p90", "p99", "p99.9");
+        List<JsonNode> rows = new ArrayList<>();
+        report.get("scenarios").forEach(rows::add);
+        rows.add(report.get("total"));
+        for (JsonNode row : rows) {
+            JsonNode latency = row.get("latencyMs");
+            System.out.printf("%-22s %9d %9.1f %9d %7d %9.2f %9.2f %9.2f %9.2f%n", row.get("name").asText(),
+                    row.get("requests").asLong(), row.get("throughput").asDouble(), row.path("conflicts").asLong(), errors(row),
+                    latency.get("p50").asDouble(), latency.get("p90").asDouble(),
+                    latency.get("p99").asDouble(), latency.get("p999").asDouble());
+        }
+    }
+
+    private static long errors(JsonNode row) {
+        return row.get("clientErrors").asLong() + row.get("throttled").asLong()
+                + row.get("serverErrors").asLong() + row.get("ioErrors").asLong();
+    }
+
+    private static boolean compare(Path referenceFile, Path candidateFile, double thresholdPercent) throws IOException {
+        JsonNode reference = MAPPER.readTree(referenceFile.toFile());
+        JsonNode candidate = MAPPER.readTree(candidateFile.toFile());
+        Map<String, JsonNode> referenceRows = new HashMap<>();
+        reference.get("scenarios").forEach(row -> referenceRows.put(row.get("name").asText(), row));
+        referenceRows.put("total", reference.get("total"));
+
+        System.out.printf("Reference: %s (%s)  Candidate: %s (%s)%n", reference.get("label").asText(),
+                reference.get("timestamp").asText(), candidate.get("label").asText(), candidate.get("timestamp").asText());
+        System.out.printf("%-22s %25s %25s %25s %s%n", "scenario", "req/s", "p50 ms", "p99 ms", "");
+        List<JsonNode> rows = new ArrayList<>();
+        candidate.get("scenarios").forEach(rows::add);
+        rows.add(candidate.get("total"));
+        boolean regressed = false;
+        for (JsonNode row : rows) {
+            JsonNode base = referenceRows.get(row.get("name").asText());
+            if (base == null) {
+                continue;
+            }
+            double throughputDelta = delta(base.get("throughput").asDouble(), row.get("throughput").asDouble());
+            double p99Delta = delta(base.at("/latencyMs/p99").asDouble(), row.at("/latencyMs/p99").asDouble());
+            boolean worse = throughputDelta < -thresholdPercent || p99Delta > thresholdPercent;
+            regressed |= worse;
+            System.out.printf("%-22s %s %s %s %s%n", row.get("name").asText(),
+                    cell(base.get("throughput").asDouble(), row.get("throughput").asDouble()),
+                    cell(base.at("/latencyMs/p50").asDouble(), row.at("/latencyMs/p50").asDouble()),
+                    cell(base.at("/latencyMs/p99").asDouble(), row.at("/latencyMs/p99").asDouble()),
+                    worse ? "REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    private static String cell(double reference, double candidate) {
+        return String.format("%8.1f -> %-8.1f%+4.0f%%", reference, candidate, delta(reference, candidate));
+    }
+
+    private static double delta(double reference, double candidate) {
+        return reference == 0 ? 0 : (candidate - reference) * 100 / reference;
+    }
+}
@@ -0,0 +1,129 @@
+package tn.esprit.studentmanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mélanges de trafic rejoués par le driver : chaque scénario est pondéré et construit
+ * une requête HTTP à partir des identifiants découverts sur l'application cible.
+ */
+final class TrafficMix {
+
+    record Scenario(String name, int weight, RequestFactory factory) {
+    }
+
+    @FunctionalInterface
+    interface RequestFactory {
+        HttpRequest.Builder create(String baseUrl, Ids ids, ThreadLocalRandom random);
+    }
+
+    /**
+     * Identifiants existants utilisés pour cibler les lectures et les écritures ;
+     * {@code enrollmentCourses[i]} est le cours de {@code enrollments[i]}.
+     */
+    record Ids(long[] students, long[] departments, long[] courses, long[] enrollments, long[] enrollmentCourses,
+               List<String> lastNames) {
+        long any(long[] values, ThreadLocalRandom random) {
+            return values[random.nextInt(values.length)];
+        }
+    }
+
+    private static final String JSON = "application/json";
+
+    // Semaine d'inscription : beaucoup d'inscriptions et de consultations de cours
+    private static final List<Scenario> REGISTRATION_WEEK = List.of(
+            new Scenario("student.get", 20, (url, ids, r) -> get(url + "/api/students/" + ids.any(ids.students(), r))),
+            new Scenario("student.search", 10, (url, ids, r) -> get(url + "/api/students/search?size=20&lastName="
+                    + ids.lastNames().get(r.nextInt(ids.lastNames().size())).replace(" ", "%20"))),
+            new Scenario("student.create", 5, (url, ids, r) -> post(url + "/api/students", createStudent(ids, r))),
+            new Scenario("student.summaries", 1, (url, ids, r) -> get(url + "/api/students/summaries")),
+            new Scenario("department.get", 5, (url, ids, r) -> get(url + "/Depatment/getDepartment/" + ids.any(ids.departments(), r))),
+            new Scenario("department.summaries", 2, (url, ids, r) -> get(url + "/Depatment/getAllDepartmentSummaries")),
+            new Scenario("course.get", 10, (url, ids, r) -> get(url + "/Course/getCourse/" + ids.any(ids.courses(), r))),
+            new Scenario("course.summaries", 3, (url, ids, r) -> get(url + "/Course/getAllCourseSummaries")),
+            new Scenario("enrollment.get", 10, (url, ids, r) -> get(url + "/Enrollment/getEnrollment/" + ids.any(ids.enrollments(), r))),
+            new Scenario("enrollment.create", 25, (url, ids, r) -> post(url + "/Enrollment/createEnrollment", createEnrollment(ids, r))),
+            new Scenario("enrollment.grade", 9, TrafficMix::submitGrade));
+
+    // Régime courant : essentiellement des lectures
+    private static final List<Scenario> READ_HEAVY = List.of(
+            new Scenario("student.get", 35, REGISTRATION_WEEK.get(0).factory()),
+            new Scenario("student.search", 20, REGISTRATION_WEEK.get(1).factory()),
+            new Scenario("department.get", 10, REGISTRATION_WEEK.get(4).factory()),
+            new Scenario("course.get", 15, REGISTRATION_WEEK.get(6).factory()),
+            new Scenario("enrollment.get", 15, REGISTRATION_WEEK.get(8).factory()),
+            new Scenario("enrollment.grade", 5, REGISTRATION_WEEK.get(10).factory()));
+
+    static final Map<String, List<Scenario>> MIXES = Map.of(
+            "registration-week", REGISTRATION_WEEK,
+            "read-heavy", READ_HEAVY);
+
+    private final List<Scenario> scenarios;
+    private final int[] cumulativeWeights;
+
+    TrafficMix(String name) {
+        this.scenarios = MIXES.get(name);
+        if (scenarios == null) {
+            throw new IllegalArgumentException("Unknown mix '" + name + "', expected one of " + MIXES.keySet());
+        }
+        this.cumulativeWeights = new int[scenarios.size()];
+        int sum = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            sum += scenarios.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    List<Scenario> scenarios() {
+        return scenarios;
+    }
+
+    int next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static String createStudent(Ids ids, ThreadLocalRandom random) {
+        long suffix = random.nextLong(1_000_000_000L);
+        return "{\"firstName\":\"Load\",\"lastName\":\"" + ids.lastNames().get(random.nextInt(ids.lastNames().size()))
+                + "\",\"email\":\"load." + suffix + "@esprit.tn\",\"phone\":\"+216 20 000 000\",\"dateOfBirth\":\""
+                + LocalDate.of(2000, 1, 1).plusDays(random.nextInt(2000)) + "\",\"address\":\"Tunis\","
+                + "\"department\":{\"idDepartment\":" + ids.any(ids.departments(), random) + "}}";
+    }
+
+    private static String createEnrollment(Ids ids, ThreadLocalRandom random) {
+        return "{\"enrollmentDate\":\"" + LocalDate.now() + "\",\"status\":\"ACTIVE\","
+                + "\"student\":{\"idStudent\":" + ids.any(ids.students(), random) + "},"
+                + "\"course\":{\"idCourse\":" + ids.any(ids.courses(), random) + "}}";
+    }
+
+    // Note d'une inscription existante par le pipeline de notes : étudiant, cours et date inchangés
+    private static HttpRequest.Builder submitGrade(String baseUrl, Ids ids, ThreadLocalRandom random) {
+        int i = random.nextInt(ids.enrollments().length);
+        return post(baseUrl + "/Enrollment/submitGrades/" + ids.enrollmentCourses()[i],
+                "[{\"idEnrollment\":" + ids.enrollments()[i] + ",\"grade\":" + random.nextInt(41) / 2.0 + "}]");
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    static List<String> names() {
+        return new ArrayList<>(MIXES.keySet());
+    }
+}
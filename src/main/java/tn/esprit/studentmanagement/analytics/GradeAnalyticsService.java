@@ -0,0 +1,116 @@
+package tn.esprit.studentmanagement.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.GradeStats;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Statistiques de notes par cours. L'histogramme d'un cours est construit en une passe sur un curseur JDBC
+ * (aucune entité chargée), mis en cache par tenant et par cours, puis tenu à jour à chaque EnrollmentChangedEvent.
+ * Les modifications en masse (archivage) ne publient pas d'événement : le cache est reconstruit périodiquement.
+ */
+@Service
+@Slf4j
+public class GradeAnalyticsService {
+
+    record CourseKey(String tenantId, Long idCourse) {
+    }
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate readOnly;
+    private final double maxGrade;
+    private final double resolution;
+
+    private final ConcurrentHashMap<CourseKey, GradeHistogram> histograms = new ConcurrentHashMap<>();
+    // Nombre d'événements reçus par cours : un histogramme construit pendant une modification n'est pas mis en cache
+    private final ConcurrentHashMap<CourseKey, Long> versions = new ConcurrentHashMap<>();
+
+    public GradeAnalyticsService(EnrollmentRepository enrollmentRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.analytics.grade-max:20}") double maxGrade,
+                                 @Value("${app.analytics.grade-resolution:0.01}") double resolution) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.maxGrade = maxGrade;
+        this.resolution = resolution;
+    }
+
+    public GradeStats getGradeStats(Long idCourse) {
+        return histogram(new CourseKey(TenantContext.getTenantId(), idCourse)).toStats(idCourse);
+    }
+
+    GradeHistogram histogram(CourseKey key) {
+        GradeHistogram cached = histograms.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long version = versions.getOrDefault(key, 0L);
+        GradeHistogram built = build(key.idCourse());
+        GradeHistogram result = histograms.compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return versions.getOrDefault(k, 0L) == version ? built : null;
+        });
+        return result != null ? result : built;
+    }
+
+    private GradeHistogram build(Long idCourse) {
+        GradeHistogram histogram = new GradeHistogram(maxGrade, resolution);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Double> grades = enrollmentRepository.streamGradesByCourseId(idCourse)) {
+                grades.forEach(histogram::add);
+            }
+        });
+        return histogram;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        EnrollmentRecord before = event.before();
+        EnrollmentRecord after = event.after();
+        Long beforeCourse = before != null && before.grade() != null ? before.courseId() : null;
+        Long afterCourse = after != null && after.grade() != null ? after.courseId() : null;
+        if (beforeCourse != null && Objects.equals(beforeCourse, afterCourse) && before.grade().equals(after.grade())) {
+            return;
+        }
+        if (beforeCourse != null) {
+            apply(new CourseKey(event.tenantId(), beforeCourse), histogram -> histogram.remove(before.grade()));
+        }
+        if (afterCourse != null) {
+            apply(new CourseKey(event.tenantId(), afterCourse), histogram -> histogram.add(after.grade()));
+        }
+    }
+
+    private void apply(CourseKey key, Consumer<GradeHistogram> change) {
+        histograms.compute(key, (k, histogram) -> {
+            versions.merge(k, 1L, Long::sum);
+            if (histogram != null) {
+                change.accept(histogram);
+            }
+            return histogram;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.analytics.rebuild-interval-ms:3600000}")
+    public void evictAll() {
+        log.debug("Evicting {} cached grade histograms", histograms.size());
+        histograms.clear();
+    }
+}
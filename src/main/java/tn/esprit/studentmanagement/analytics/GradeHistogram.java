@@ -0,0 +1,104 @@
+package tn.esprit.studentmanagement.analytics;
+
+import tn.esprit.studentmanagement.dto.GradeStats;
+
+/**
+ * Histogramme à cases fixes sur [0, maxGrade] (principe HDR) : une case par pas de {@code resolution},
+ * soit 2001 compteurs pour une note sur 20 au centième. Ajout, retrait et fusion en O(1)/O(cases),
+ * percentiles exacts à la résolution près, quelle que soit la taille du cours.
+ */
+public final class GradeHistogram {
+
+    private final double maxGrade;
+    private final double resolution;
+    private final long[] counts;
+    private long total;
+    private double sum;
+
+    public GradeHistogram(double maxGrade, double resolution) {
+        if (maxGrade <= 0 || resolution <= 0) {
+            throw new IllegalArgumentException("maxGrade and resolution must be positive");
+        }
+        this.maxGrade = maxGrade;
+        this.resolution = resolution;
+        this.counts = new long[(int) Math.round(maxGrade / resolution) + 1];
+    }
+
+    public synchronized void add(double grade) {
+        counts[index(grade)]++;
+        total++;
+        sum += clamp(grade);
+    }
+
+    public synchronized void remove(double grade) {
+        int index = index(grade);
+        if (counts[index] > 0) {
+            counts[index]--;
+            total--;
+            sum -= clamp(grade);
+        }
+    }
+
+    public synchronized void merge(GradeHistogram other) {
+        if (other.counts.length != counts.length || other.resolution != resolution) {
+            throw new IllegalArgumentException("Histograms have different layouts");
+        }
+        synchronized (other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+            sum += other.sum;
+        }
+    }
+
+    public synchronized long count() {
+        return total;
+    }
+
+    /** Plus petite note v telle qu'au moins q * count notes sont inférieures ou égales à v (rang le plus proche). */
+    public synchronized Double percentile(double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return value(i);
+            }
+        }
+        return maxGrade;
+    }
+
+    public synchronized GradeStats toStats(Long idCourse) {
+        int buckets = (int) Math.ceil(maxGrade);
+        long[] histogram = new long[buckets];
+        Double min = null;
+        Double max = null;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                double value = value(i);
+                min = min == null ? value : min;
+                max = value;
+                histogram[Math.min(buckets - 1, (int) value)] += counts[i];
+            }
+        }
+        Double mean = total == 0 ? null : Math.round(sum / total * 100) / 100.0;
+        return new GradeStats(idCourse, total, mean, min, max,
+                percentile(0.10), percentile(0.25), percentile(0.50), percentile(0.75), percentile(0.90), histogram);
+    }
+
+    private int index(double grade) {
+        return (int) Math.round(clamp(grade) / resolution);
+    }
+
+    private double clamp(double grade) {
+        return Math.max(0, Math.min(maxGrade, grade));
+    }
+
+    private double value(int index) {
+        return Math.round(index * resolution * 1e6) / 1e6;
+    }
+}
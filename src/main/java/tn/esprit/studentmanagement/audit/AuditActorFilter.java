@@ -0,0 +1,41 @@
+package tn.esprit.studentmanagement.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lit l'auteur de la requête dans l'en-tête app.audit.actor-header (X-User-ID par défaut), 128 caractères au plus.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AuditActorFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LENGTH = 128;
+
+    @Value("${app.audit.actor-header:X-User-ID}")
+    private String header;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String actor = request.getHeader(header);
+        if (actor == null || actor.isBlank()) {
+            actor = "anonymous";
+        }
+        AuditContext.setActor(actor.length() > MAX_LENGTH ? actor.substring(0, MAX_LENGTH) : actor);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuditContext.clear();
+        }
+    }
+}
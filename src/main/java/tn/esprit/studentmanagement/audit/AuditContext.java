@@ -0,0 +1,51 @@
+package tn.esprit.studentmanagement.audit;
+
+import java.util.function.Supplier;
+
+/**
+ * Auteur des modifications en cours (en-tête de la requête, voir {@link AuditActorFilter}) ;
+ * "system" pour les traitements de fond.
+ */
+public final class AuditContext {
+
+    public static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private AuditContext() {
+    }
+
+    public static String getActor() {
+        String actor = CURRENT.get();
+        return actor != null ? actor : SYSTEM;
+    }
+
+    public static void setActor(String actor) {
+        CURRENT.set(actor);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String actor, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(actor);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String actor, Runnable task) {
+        callAs(actor, () -> {
+            task.run();
+            return null;
+        });
+    }
+}
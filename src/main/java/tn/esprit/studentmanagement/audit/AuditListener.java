@@ -0,0 +1,201 @@
+package tn.esprit.studentmanagement.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.entities.AuditAction;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.entities.TenantScopedEntity;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.events.SoftDeletedEvent;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Capture des modifications pour {@link AuditTrail}, après commit uniquement :
+ * <ul>
+ *   <li>étudiants, départements et cours : listeners Hibernate post-commit, champs modifiés lus dans l'état
+ *       avant/après de la session (aucune requête), associations réduites à leur id ;</li>
+ *   <li>inscriptions : EnrollmentChangedEvent, qui couvre aussi la saisie groupée des notes (JDBC) ;</li>
+ *   <li>suppressions logiques par requête groupée : SoftDeletedEvent (les inscriptions de l'étudiant supprimé
+ *       n'ont pas de ligne propre).</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> AUDITED = Set.of(Student.class, Department.class, Course.class);
+    private static final String TENANT_PROPERTY = "tenantId";
+
+    private final AuditTrail auditTrail;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AuditListener(AuditTrail auditTrail, EntityManagerFactory entityManagerFactory) {
+        this.auditTrail = auditTrail;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITED.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        List<AuditRecord.Change> changes = new ArrayList<>();
+        EntityPersister persister = event.getPersister();
+        for (int i = 0; i < persister.getPropertyNames().length; i++) {
+            if (!isAudited(persister, i)) {
+                continue;
+            }
+            Object value = render(persister, i, event.getState()[i], event.getSession());
+            if (value != null) {
+                changes.add(new AuditRecord.Change(persister.getPropertyNames()[i], null, value));
+            }
+        }
+        record(event.getEntity(), persister, event.getId(), AuditAction.INSERT, changes);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return; // entité rattachée sans état chargé (update() explicite) : rien à comparer
+        }
+        List<AuditRecord.Change> changes = new ArrayList<>();
+        EntityPersister persister = event.getPersister();
+        for (int i = 0; i < persister.getPropertyNames().length; i++) {
+            if (!isAudited(persister, i)) {
+                continue;
+            }
+            Object before = render(persister, i, oldState[i], event.getSession());
+            Object after = render(persister, i, event.getState()[i], event.getSession());
+            if (!Objects.equals(before, after)) {
+                changes.add(new AuditRecord.Change(persister.getPropertyNames()[i], before, after));
+            }
+        }
+        if (!changes.isEmpty()) {
+            record(event.getEntity(), persister, event.getId(), AuditAction.UPDATE, changes);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        List<AuditRecord.Change> changes = new ArrayList<>();
+        EntityPersister persister = event.getPersister();
+        for (int i = 0; i < persister.getPropertyNames().length; i++) {
+            if (!isAudited(persister, i)) {
+                continue;
+            }
+            Object value = render(persister, i, event.getDeletedState()[i], event.getSession());
+            if (value != null) {
+                changes.add(new AuditRecord.Change(persister.getPropertyNames()[i], value, null));
+            }
+        }
+        record(event.getEntity(), persister, event.getId(), AuditAction.DELETE, changes);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // rien à journaliser : la modification n'a pas eu lieu
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // idem
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // idem
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        EnrollmentRecord before = event.before();
+        EnrollmentRecord after = event.after();
+        AuditAction action = before == null ? AuditAction.INSERT : after == null ? AuditAction.DELETE : AuditAction.UPDATE;
+        List<AuditRecord.Change> changes = new ArrayList<>(5);
+        addChange(changes, "enrollmentDate", before != null ? before.enrollmentDate() : null, after != null ? after.enrollmentDate() : null);
+        addChange(changes, "grade", before != null ? before.grade() : null, after != null ? after.grade() : null);
+        addChange(changes, "status", before != null ? before.status() : null, after != null ? after.status() : null);
+        addChange(changes, "student", before != null ? before.studentId() : null, after != null ? after.studentId() : null);
+        addChange(changes, "course", before != null ? before.courseId() : null, after != null ? after.courseId() : null);
+        if (!changes.isEmpty() || action != AuditAction.UPDATE) {
+            Long id = after != null ? after.idEnrollment() : before.idEnrollment();
+            auditTrail.record(new AuditRecord(LocalDateTime.now(), event.tenantId(), AuditContext.getActor(), "Enrollment", id,
+                    action, changes));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSoftDeleted(SoftDeletedEvent event) {
+        auditTrail.record(new AuditRecord(LocalDateTime.now(), event.tenantId(), AuditContext.getActor(), event.entityType(),
+                event.id(), AuditAction.DELETE, List.of(new AuditRecord.Change("deletedAt", null, event.deletedAt()))));
+    }
+
+    private void record(Object entity, EntityPersister persister, Object id, AuditAction action, List<AuditRecord.Change> changes) {
+        String tenantId = entity instanceof TenantScopedEntity scoped && scoped.getTenantId() != null
+                ? scoped.getTenantId() : TenantContext.getTenantId();
+        auditTrail.record(new AuditRecord(LocalDateTime.now(), tenantId, AuditContext.getActor(),
+                persister.getMappedClass().getSimpleName(), (Long) id, action, changes));
+    }
+
+    private static void addChange(List<AuditRecord.Change> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.add(new AuditRecord.Change(field, before, after));
+        }
+    }
+
+    private static boolean isAudited(EntityPersister persister, int property) {
+        return !persister.getPropertyTypes()[property].isCollectionType()
+                && !TENANT_PROPERTY.equals(persister.getPropertyNames()[property]);
+    }
+
+    /**
+     * Valeur journalisée : l'id pour une association, la valeur elle-même sinon.
+     */
+    private static Object render(EntityPersister persister, int property, Object value, SharedSessionContractImplementor session) {
+        Type type = persister.getPropertyTypes()[property];
+        if (value == null || !type.isEntityType()) {
+            return value;
+        }
+        if (value instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return session.getFactory().getMappingMetamodel().getEntityDescriptor(value.getClass()).getIdentifier(value, session);
+    }
+}
@@ -0,0 +1,94 @@
+package tn.esprit.studentmanagement.audit;
+
+import tn.esprit.studentmanagement.entities.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Modification à journaliser ; les valeurs sont gardées telles quelles (nombres, chaînes, dates, énumérations, ids)
+ * et mises en JSON par le thread d'écriture, pas par le thread de la requête.
+ */
+public record AuditRecord(LocalDateTime occurredAt,
+                          String tenantId,
+                          String actor,
+                          String entityType,
+                          Long entityId,
+                          AuditAction action,
+                          List<Change> changes) {
+
+    public record Change(String field, Object before, Object after) {
+    }
+
+    /**
+     * {"champ": [avant, après], ...}
+     */
+    public String changesJson() {
+        StringBuilder json = new StringBuilder(32 + changes.size() * 32).append('{');
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, change.field());
+            json.append(":[");
+            appendValue(json, change.before());
+            json.append(',');
+            appendValue(json, change.after());
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Une ligne JSON complète (sortie fichier).
+     */
+    public String toJsonLine() {
+        StringBuilder json = new StringBuilder(128).append("{\"at\":");
+        appendString(json, occurredAt.toString());
+        json.append(",\"tenant\":");
+        appendString(json, tenantId);
+        json.append(",\"actor\":");
+        appendString(json, actor);
+        json.append(",\"entity\":");
+        appendString(json, entityType);
+        json.append(",\"id\":").append(entityId);
+        json.append(",\"action\":");
+        appendString(json, action.name());
+        return json.append(",\"changes\":").append(changesJson()).append("}\n").toString();
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,82 @@
+package tn.esprit.studentmanagement.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * File circulaire bornée sans verrou, plusieurs producteurs et un seul consommateur (algorithme de D. Vyukov) :
+ * chaque case porte un numéro de séquence qui indique si elle est libre pour la position demandée
+ * ou remplie pour la lecture. Un producteur réserve sa position par un seul CAS, sans attente
+ * ni allocation ; une file pleine est signalée par offer() = false.
+ */
+final class AuditRing<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong(); // écrit par le seul consommateur
+
+    AuditRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two, got " + capacity);
+        }
+        mask = capacity - 1;
+        items = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long gap = sequences.get(index) - position;
+            if (gap == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, position + 1); // publie la case au consommateur
+                    return true;
+                }
+                position = tail.get();
+            } else if (gap < 0) {
+                return false; // case pas encore libérée : file pleine
+            } else {
+                position = tail.get(); // position prise par un autre producteur
+            }
+        }
+    }
+
+    /**
+     * Consommateur unique : déplace au plus {@code max} éléments dans {@code target}.
+     */
+    int drainTo(List<T> target, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(items.get(index));
+            items.lazySet(index, null);
+            sequences.set(index, position + mask + 1); // libre pour le tour suivant
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,12 @@
+package tn.esprit.studentmanagement.audit;
+
+import java.util.List;
+
+/**
+ * Destination des modifications journalisées, appelée par lots par le thread d'écriture
+ * (et par l'appelant en mode sync) ; jamais par deux threads à la fois.
+ */
+public interface AuditSink {
+
+    void write(List<AuditRecord> records) throws Exception;
+}
@@ -0,0 +1,14 @@
+package tn.esprit.studentmanagement.audit;
+
+/**
+ * Compteurs du journal depuis le démarrage ; {@code dropped} : perdues file pleine (mode drop),
+ * {@code failed} : lots refusés par la sortie.
+ */
+public record AuditStats(AuditTrail.Mode mode,
+                         int capacity,
+                         int pending,
+                         long recorded,
+                         long written,
+                         long dropped,
+                         long failed) {
+}
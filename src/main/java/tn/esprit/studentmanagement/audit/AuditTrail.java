@@ -0,0 +1,160 @@
+package tn.esprit.studentmanagement.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal d'audit : les modifications sont déposées dans une file circulaire sans verrou ({@link AuditRing})
+ * et écrites par lots (app.audit.batch-size) par un thread dédié, hors du temps de réponse des requêtes.
+ * Garanties selon app.audit.mode :
+ * <ul>
+ *   <li>drop (défaut) : jamais d'attente ; file pleine, la modification est perdue et comptée ;</li>
+ *   <li>block : file pleine, l'appelant attend une place ; pertes limitées au contenu de la file en cas d'arrêt brutal ;</li>
+ *   <li>sync : écriture par l'appelant, sans file (latence d'un INSERT par modification).</li>
+ * </ul>
+ * À l'arrêt, la file est vidée avant la fermeture de la sortie.
+ */
+@Service
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditTrail {
+
+    public enum Mode { DROP, BLOCK, SYNC }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditSink sink;
+    private final Mode mode;
+    private final AuditRing<AuditRecord> ring;
+    private final int batchSize;
+    private final long idleNanos;
+    private final ReentrantLock sinkLock = new ReentrantLock();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditTrail(AuditSink sink,
+                      @Value("${app.audit.mode:drop}") String mode,
+                      @Value("${app.audit.capacity:65536}") int capacity,
+                      @Value("${app.audit.batch-size:500}") int batchSize,
+                      @Value("${app.audit.idle-ms:20}") long idleMs) {
+        this.sink = sink;
+        this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        this.ring = new AuditRing<>(capacity);
+        this.batchSize = batchSize;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        if (mode != Mode.SYNC) {
+            writer = new Thread(this::drainLoop, "audit-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        long pending = ring.size();
+        if (pending > 0 || dropped.sum() > 0 || failed.sum() > 0) {
+            log.warn("Audit trail stopped: {} pending, {} dropped, {} failed", pending, dropped.sum(), failed.sum());
+        }
+    }
+
+    public void record(AuditRecord record) {
+        recorded.increment();
+        if (mode == Mode.SYNC || !running) {
+            write(List.of(record));
+            return;
+        }
+        while (!ring.offer(record)) {
+            if (mode == Mode.DROP) {
+                dropped.increment();
+                return;
+            }
+            if (!running) {
+                write(List.of(record));
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    public AuditStats stats() {
+        return new AuditStats(mode, ring.capacity(), ring.size(), recorded.sum(), written.sum(), dropped.sum(), failed.sum());
+    }
+
+    /**
+     * Écrit sur le thread appelant tout ce qui est en file (tests, arrêt).
+     */
+    void flush() {
+        sinkLock.lock();
+        try {
+            while (drainOnce()) {
+                // lots suivants
+            }
+        } finally {
+            sinkLock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            boolean drained;
+            sinkLock.lock(); // un seul consommateur de la file à la fois (thread d'écriture ou flush)
+            try {
+                drained = drainOnce();
+            } finally {
+                sinkLock.unlock();
+            }
+            if (!drained) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        flush();
+    }
+
+    private boolean drainOnce() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        if (ring.drainTo(batch, batchSize) == 0) {
+            return false;
+        }
+        write(batch);
+        return true;
+    }
+
+    private void write(List<AuditRecord> batch) {
+        sinkLock.lock();
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("Audit sink rejected {} records", batch.size(), e);
+        } finally {
+            sinkLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package tn.esprit.studentmanagement.audit;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sortie fichier (app.audit.sink=file) : segments en ajout seul audit-&lt;horodatage&gt;.jsonl dans app.audit.file.directory,
+ * une ligne JSON par modification, nouveau segment au-delà de app.audit.file.segment-mb.
+ * Un lot = une écriture ; avec app.audit.file.fsync=true, il est forcé sur disque avant le lot suivant.
+ * Rotation et archivage des anciens segments laissés à l'exploitation (logrotate, expédition vers un entrepôt).
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "file")
+public class FileAuditSink implements AuditSink {
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private FileChannel segment;
+
+    public FileAuditSink(@Value("${app.audit.file.directory}") String directory,
+                         @Value("${app.audit.file.segment-mb:64}") long segmentMb,
+                         @Value("${app.audit.file.fsync:false}") boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(Path.of(directory));
+        this.segmentBytes = segmentMb * 1024 * 1024;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) throws IOException {
+        StringBuilder lines = new StringBuilder(records.size() * 160);
+        records.forEach(record -> lines.append(record.toJsonLine()));
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        if (segment == null || segment.size() + buffer.remaining() > segmentBytes) {
+            roll();
+        }
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        if (fsync) {
+            segment.force(false);
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        segment = FileChannel.open(directory.resolve("audit-" + System.currentTimeMillis() + ".jsonl"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package tn.esprit.studentmanagement.audit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Sortie par défaut : table audit_event, un INSERT par lot JDBC (une transaction par lot, hors de celles des requêtes).
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<AuditRecord> records) {
+        jdbcTemplate.batchUpdate("insert into audit_event (tenant_id, occurred_at, actor, entity_type, entity_id, action, changes) " +
+                        "values (?, ?, ?, ?, ?, ?, ?)", records, records.size(),
+                (ps, record) -> {
+                    ps.setString(1, record.tenantId());
+                    ps.setTimestamp(2, Timestamp.valueOf(record.occurredAt()));
+                    ps.setString(3, record.actor());
+                    ps.setString(4, record.entityType());
+                    ps.setObject(5, record.entityId());
+                    ps.setString(6, record.action().name());
+                    ps.setString(7, record.changesJson());
+                });
+    }
+}
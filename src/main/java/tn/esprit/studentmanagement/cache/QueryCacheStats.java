@@ -0,0 +1,21 @@
+package tn.esprit.studentmanagement.cache;
+
+import java.util.List;
+
+/**
+ * Compteurs depuis le démarrage ; {@code entries}, {@code rows} et {@code evictions} : cache local seulement
+ * (-1 sinon). En mode hibernate, succès et échecs viennent des statistiques Hibernate de chaque région.
+ */
+public record QueryCacheStats(StudentQueryCache.Backend backend,
+                              int entries,
+                              long rows,
+                              long evictions,
+                              List<Query> queries) {
+
+    public record Query(String name, long hits, long misses) {
+
+        public double hitRate() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package tn.esprit.studentmanagement.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.events.SoftDeletedEvent;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Résultats des recherches d'étudiants répétées par le portail des départements (étudiants et effectif
+ * d'un département, étudiants d'un nom), clés : tenant, génération, requête et argument.
+ * <ul>
+ *   <li>local (défaut) : {@link BoundedQueryCache} borné (app.student-cache.max-entries, max-rows, ttl-seconds) ;</li>
+ *   <li>spring : cache {@code app.student-cache.name} du CacheManager de l'application (Caffeine, etc.) ;</li>
+ *   <li>hibernate : cache de requêtes de Hibernate (régions des finders de StudentRepository, profil Maven
+ *       hibernate-cache), invalidé par Hibernate lui-même ;</li>
+ *   <li>off : lecture directe.</li>
+ * </ul>
+ * Invalidation par table : toute écriture d'étudiant par StudentService, et tout enregistrement ou suppression
+ * de département (les étudiants rendus embarquent leur département), incrémente la génération du tenant et celle
+ * du tenant racine, qui voit tous les tenants ; les anciennes entrées ne sont plus lues et sortent par LRU ou expiration.
+ * Une écriture transactionnelle incrémente aussi à la fin de la transaction, pour écarter ce qui a été lu pendant.
+ * Les écritures d'une autre instance ne sont pas vues : la durée de vie borne alors le retard.
+ * Les étudiants rendus sont partagés entre appelants : à ne pas modifier.
+ */
+@Service
+public class StudentQueryCache {
+
+    public enum Backend { LOCAL, SPRING, HIBERNATE, OFF }
+
+    static final String BY_DEPARTMENT = "findByDepartment_IdDepartment";
+    static final String COUNT_BY_DEPARTMENT = "countByDepartment_IdDepartment";
+    static final String BY_LAST_NAME = "findByLastName";
+
+    record Key(String tenantId, long generation, String query, Object argument) implements Serializable {
+    }
+
+    private record Counters(LongAdder hits, LongAdder misses) {
+        Counters() {
+            this(new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final StudentRepository studentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Backend backend;
+    private final Cache cache;
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public StudentQueryCache(StudentRepository studentRepository,
+                             EntityManagerFactory entityManagerFactory,
+                             ObjectProvider<CacheManager> cacheManager,
+                             @Value("${app.student-cache.backend:local}") String backend,
+                             @Value("${app.student-cache.name:student-queries}") String name,
+                             @Value("${app.student-cache.max-entries:1000}") int maxEntries,
+                             @Value("${app.student-cache.max-rows:20000}") long maxRows,
+                             @Value("${app.student-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.studentRepository = studentRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.backend = Backend.valueOf(backend.toUpperCase(Locale.ROOT));
+        this.cache = switch (this.backend) {
+            case LOCAL -> new BoundedQueryCache(name, maxEntries, maxRows, ttlSeconds);
+            case SPRING -> {
+                CacheManager manager = cacheManager.getIfAvailable();
+                Cache shared = manager != null ? manager.getCache(name) : null;
+                if (shared == null) {
+                    throw new IllegalStateException("app.student-cache.backend=spring needs a CacheManager providing cache " + name);
+                }
+                yield shared;
+            }
+            case HIBERNATE, OFF -> null;
+        };
+        for (String query : List.of(BY_DEPARTMENT, COUNT_BY_DEPARTMENT, BY_LAST_NAME)) {
+            counters.put(query, new Counters());
+        }
+    }
+
+    public List<Student> findByDepartment(Long idDepartment) {
+        return cached(BY_DEPARTMENT, idDepartment, () -> List.copyOf(studentRepository.findByDepartment_IdDepartment(idDepartment)));
+    }
+
+    public long countByDepartment(Long idDepartment) {
+        return cached(COUNT_BY_DEPARTMENT, idDepartment, () -> studentRepository.countByDepartment_IdDepartment(idDepartment));
+    }
+
+    public List<Student> findByLastName(String lastName) {
+        return cached(BY_LAST_NAME, lastName, () -> List.copyOf(studentRepository.findByLastName(lastName)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String query, Object argument, Supplier<T> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        String tenantId = TenantContext.getTenantId();
+        // Génération lue avant la requête : un résultat chargé pendant une invalidation reste sous l'ancienne clé
+        Key key = new Key(tenantId, generation(tenantId).get(), query, argument);
+        Counters queryCounters = counters.get(query);
+        Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            queryCounters.hits().increment();
+            return (T) hit.get();
+        }
+        queryCounters.misses().increment();
+        T value = loader.get();
+        cache.put(key, value);
+        return value;
+    }
+
+    private AtomicLong generation(String tenantId) {
+        return generations.computeIfAbsent(tenantId, t -> new AtomicLong());
+    }
+
+    /**
+     * Écarte les résultats en cache du tenant courant et du tenant racine (table student ou department modifiée) ;
+     * une écriture faite en tant que racine écarte ceux de tous les tenants.
+     */
+    public void invalidate() {
+        if (cache == null) {
+            return;
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<AtomicLong> bumped = TenantContext.ROOT_TENANT.equals(tenantId)
+                ? List.copyOf(generations.values())
+                : List.of(generation(tenantId), generation(TenantContext.ROOT_TENANT));
+        bumped.forEach(AtomicLong::incrementAndGet);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bumped.forEach(AtomicLong::incrementAndGet);
+                }
+            });
+        }
+    }
+
+    // Étudiants d'un département supprimé : ils ne sont plus rendus par la jointure
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSoftDeleted(SoftDeletedEvent event) {
+        if ("Department".equals(event.entityType())) {
+            TenantContext.runAs(event.tenantId(), this::invalidate);
+        }
+    }
+
+    public QueryCacheStats stats() {
+        List<QueryCacheStats.Query> queries = new ArrayList<>();
+        for (String query : List.of(BY_DEPARTMENT, COUNT_BY_DEPARTMENT, BY_LAST_NAME)) {
+            if (backend == Backend.HIBERNATE) {
+                CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                        .getQueryRegionStatistics(StudentRepository.QUERY_CACHE_REGION_PREFIX + query);
+                queries.add(new QueryCacheStats.Query(query, region != null ? region.getHitCount() : 0,
+                        region != null ? region.getMissCount() : 0));
+            } else {
+                Counters queryCounters = counters.get(query);
+                queries.add(new QueryCacheStats.Query(query, queryCounters.hits().sum(), queryCounters.misses().sum()));
+            }
+        }
+        if (cache instanceof BoundedQueryCache local) {
+            return new QueryCacheStats(backend, local.size(), local.weight(), local.evictions(), queries);
+        }
+        return new QueryCacheStats(backend, -1, -1, -1, queries);
+    }
+}
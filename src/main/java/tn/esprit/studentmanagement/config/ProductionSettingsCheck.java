@@ -0,0 +1,64 @@
+package tn.esprit.studentmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Vérifie au démarrage en profil "prod" les réglages risqués (SQL en console, schéma modifié par Hibernate,
+ * pas de détection de fuite ni de lots JDBC) et les journalise en WARN.
+ * Avec app.startup-check.fail-on-risk=true, le démarrage est interrompu.
+ */
+@Component
+@Profile("prod")
+@Slf4j
+public class ProductionSettingsCheck implements InitializingBean {
+
+    private static final Set<String> RISKY_DDL_AUTO = Set.of("update", "create", "create-drop");
+
+    private final Environment environment;
+
+    public ProductionSettingsCheck(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> risks = findRisks();
+        risks.forEach(risk -> log.warn("Risky production setting: {}", risk));
+        if (!risks.isEmpty() && environment.getProperty("app.startup-check.fail-on-risk", Boolean.class, false)) {
+            throw new IllegalStateException("Risky production settings: " + risks);
+        }
+    }
+
+    public List<String> findRisks() {
+        List<String> risks = new ArrayList<>();
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            risks.add("spring.jpa.show-sql=true logs every statement to stdout");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            risks.add("hibernate.format_sql=true");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.generate_statistics", Boolean.class, false)) {
+            risks.add("hibernate.generate_statistics=true adds overhead to every session");
+        }
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none").trim().toLowerCase();
+        if (RISKY_DDL_AUTO.contains(ddlAuto)) {
+            risks.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto
+                    + " lets Hibernate alter the production schema (use the Flyway migrations with validate)");
+        }
+        if (environment.getProperty("spring.datasource.hikari.leak-detection-threshold", Long.class, 0L) == 0L) {
+            risks.add("spring.datasource.hikari.leak-detection-threshold is not set");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 0) <= 1) {
+            risks.add("hibernate.jdbc.batch_size is not set, JDBC batching is disabled");
+        }
+        return risks;
+    }
+}
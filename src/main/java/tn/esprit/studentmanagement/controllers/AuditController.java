@@ -0,0 +1,37 @@
+package tn.esprit.studentmanagement.controllers;
+
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.studentmanagement.audit.AuditStats;
+import tn.esprit.studentmanagement.audit.AuditTrail;
+import tn.esprit.studentmanagement.entities.AuditEvent;
+import tn.esprit.studentmanagement.repositories.AuditEventRepository;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/Audit")
+@CrossOrigin(origins = "http://localhost:4200")
+@AllArgsConstructor
+public class AuditController {
+    AuditEventRepository auditEventRepository;
+    ObjectProvider<AuditTrail> auditTrail;
+
+    // Historique d'une entité (Student, Department, Course, Enrollment), sortie jdbc uniquement
+    @GetMapping("/getHistory/{entityType}/{id}")
+    public List<AuditEvent> getHistory(@PathVariable String entityType, @PathVariable Long id) {
+        return auditEventRepository.findByEntityTypeAndEntityIdOrderByIdAuditEventAsc(entityType, id);
+    }
+
+    @GetMapping("/getStats")
+    public AuditStats getStats() {
+        AuditTrail trail = auditTrail.getIfAvailable();
+        if (trail == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "audit trail is disabled");
+        }
+        return trail.stats();
+    }
+}
@@ -0,0 +1,81 @@
+package tn.esprit.studentmanagement.controllers;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.analytics.GradeAnalyticsService;
+import tn.esprit.studentmanagement.dto.CourseResponse;
+import tn.esprit.studentmanagement.dto.CourseRoster;
+import tn.esprit.studentmanagement.dto.CourseSummary;
+import tn.esprit.studentmanagement.dto.GradeStats;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.CourseSession;
+import tn.esprit.studentmanagement.ratelimit.RateLimited;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.services.ICourseService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/Course")
+@CrossOrigin(origins = "http://localhost:4200")
+@AllArgsConstructor
+public class CourseController {
+    private ICourseService courseService;
+    private GradeAnalyticsService gradeAnalyticsService;
+    private ScheduleService scheduleService;
+
+    @GetMapping("/getAllCourse")
+    @RateLimited("full-scan")
+    public List<CourseResponse> getAllCourse() {
+        return courseService.getAllCourses().stream().map(CourseResponse::of).toList();
+    }
+
+    @GetMapping("/getAllCourseSummaries")
+    @RateLimited("full-scan")
+    public List<CourseSummary> getAllCourseSummaries() { return courseService.getCourseSummaries(); }
+
+    @GetMapping("/getCourse/{id}")
+    public Course getCourse(@PathVariable Long id) { return courseService.getCourseById(id); }
+
+    // Lecture groupée : GET /Course/getCourses?ids=1,2,3
+    @GetMapping("/getCourses")
+    public ByIdsResponse<CourseResponse> getCoursesByIds(@RequestParam List<Long> ids) {
+        return courseService.getCoursesByIds(ids).map(CourseResponse::of);
+    }
+
+    @GetMapping("/getCourseRoster/{id}")
+    public CourseRoster getCourseRoster(@PathVariable Long id) { return courseService.getCourseRoster(id); }
+
+    @GetMapping("/getGradeStats/{id}")
+    public GradeStats getGradeStats(@PathVariable Long id) { return gradeAnalyticsService.getGradeStats(id); }
+
+    @GetMapping("/getCourseSessions/{id}")
+    public List<CourseSession> getCourseSessions(@PathVariable Long id) { return scheduleService.getSessions(id); }
+
+    @PostMapping("/addCourseSession/{id}")
+    public CourseSession addCourseSession(@PathVariable Long id, @RequestBody CourseSession session) {
+        try {
+            return scheduleService.addSession(id, session);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/deleteCourseSession/{idSession}")
+    public void deleteCourseSession(@PathVariable Long idSession) { scheduleService.deleteSession(idSession); }
+
+    @PostMapping("/createCourse")
+    public Course createCourse(@RequestBody Course course) { return courseService.saveCourse(course); }
+
+    @PutMapping("/updateCourse")
+    public Course updateCourse(@RequestBody Course course) {
+        return courseService.saveCourse(course);
+    }
+
+    @DeleteMapping("/deleteCourse/{id}")
+    public void deleteCourse(@PathVariable Long id) {
+        courseService.deleteCourse(id); }
+}
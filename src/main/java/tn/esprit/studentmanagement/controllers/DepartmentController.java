@@ -1,9 +1,17 @@
 package tn.esprit.studentmanagement.controllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.DepartmentDetail;
+import tn.esprit.studentmanagement.dto.DepartmentResponse;
+import tn.esprit.studentmanagement.dto.DepartmentSummary;
+import tn.esprit.studentmanagement.dto.KeysetPage;
 import tn.esprit.studentmanagement.entities.Department;
 import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.ratelimit.RateLimited;
 import tn.esprit.studentmanagement.services.DepartmentService;
 import tn.esprit.studentmanagement.services.IDepartmentService;
 
@@ -17,11 +25,44 @@ public class DepartmentController {
     private IDepartmentService departmentService;
 
     @GetMapping("/getAllDepartment")
-    public List<Department> getAllDepartment() { return departmentService.getAllDepartments(); }
+    @RateLimited("full-scan")
+    public List<DepartmentResponse> getAllDepartment() {
+        return departmentService.getAllDepartments().stream().map(DepartmentResponse::of).toList();
+    }
+
+    // Page triée : ?size=20&sort=name&direction=ASC, puis &after=<next> de la page précédente (400 si clé non indexée)
+    @GetMapping(value = "/getAllDepartment", params = "size")
+    public KeysetPage<DepartmentResponse> getDepartmentPage(@RequestParam int size,
+                                                            @RequestParam(defaultValue = "idDepartment") String sort,
+                                                            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                            @RequestParam(required = false) String after) {
+        return departmentService.getDepartmentsPage(sort, direction, size, after).map(DepartmentResponse::of);
+    }
+
+    @GetMapping("/getAllDepartmentSummaries")
+    @RateLimited("full-scan")
+    public List<DepartmentSummary> getAllDepartmentSummaries() { return departmentService.getDepartmentSummaries(); }
+
+    @GetMapping(value = "/getAllDepartmentSummaries", params = "size")
+    public KeysetPage<DepartmentSummary> getDepartmentSummaryPage(@RequestParam int size,
+                                                                  @RequestParam(defaultValue = "idDepartment") String sort,
+                                                                  @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                  @RequestParam(required = false) String after) {
+        return departmentService.getDepartmentsPage(sort, direction, size, after).map(DepartmentSummary::of);
+    }
 
     @GetMapping("/getDepartment/{id}")
     public Department getDepartment(@PathVariable Long id) { return departmentService.getDepartmentById(id); }
 
+    // Lecture groupée : GET /Depatment/getDepartments?ids=1,2,3
+    @GetMapping("/getDepartments")
+    public ByIdsResponse<DepartmentResponse> getDepartmentsByIds(@RequestParam List<Long> ids) {
+        return departmentService.getDepartmentsByIds(ids).map(DepartmentResponse::of);
+    }
+
+    @GetMapping("/getDepartmentDetail/{id}")
+    public DepartmentDetail getDepartmentDetail(@PathVariable Long id) { return departmentService.getDepartmentDetail(id); }
+
     @PostMapping("/createDepartment")
     public Department createDepartment(@RequestBody Department department) { return departmentService.saveDepartment(department); }
 
@@ -31,6 +72,7 @@ public class DepartmentController {
     }
 
     @DeleteMapping("/deleteDepartment/{id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void deleteDepartment(@PathVariable Long id) {
       departmentService.deleteDepartment(id); }
 }
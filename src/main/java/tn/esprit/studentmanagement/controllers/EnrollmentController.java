@@ -1,10 +1,26 @@
 package tn.esprit.studentmanagement.controllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.EnrollmentResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentSummary;
+import tn.esprit.studentmanagement.dto.GradeEntry;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.ScheduleConflict;
 import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.grading.GradePipeline;
+import tn.esprit.studentmanagement.grading.GradeSubmissionStatus;
+import tn.esprit.studentmanagement.ratelimit.RateLimited;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
 import tn.esprit.studentmanagement.services.IEnrollment;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,12 +29,69 @@ import java.util.List;
 @AllArgsConstructor
 public class EnrollmentController {
     IEnrollment enrollmentService;
+    ScheduleService scheduleService;
+    GradePipeline gradePipeline;
     @GetMapping("/getAllEnrollment")
-    public List<Enrollment> getAllEnrollment() { return enrollmentService.getAllEnrollments(); }
+    @RateLimited("full-scan")
+    public List<EnrollmentResponse> getAllEnrollment() {
+        return enrollmentService.getAllEnrollments().stream().map(EnrollmentResponse::of).toList();
+    }
+
+    // Page triée (sort : idEnrollment, enrollmentDate, studentId, courseId), période facultative, suite avec &after=<next>
+    @GetMapping(value = "/getAllEnrollment", params = "size")
+    public KeysetPage<EnrollmentResponse> getEnrollmentPage(@RequestParam int size,
+                                                            @RequestParam(defaultValue = "idEnrollment") String sort,
+                                                            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                            @RequestParam(required = false) String after,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return enrollmentService.getEnrollmentsPage(from, to, sort, direction, size, after).map(EnrollmentResponse::of);
+    }
+
+    @GetMapping("/getAllEnrollmentSummaries")
+    @RateLimited("full-scan")
+    public List<EnrollmentSummary> getAllEnrollmentSummaries() { return enrollmentService.getEnrollmentSummaries(); }
+
+    @GetMapping(value = "/getAllEnrollmentSummaries", params = "size")
+    public KeysetPage<EnrollmentSummary> getEnrollmentSummaryPage(@RequestParam int size,
+                                                                  @RequestParam(defaultValue = "idEnrollment") String sort,
+                                                                  @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return enrollmentService.getEnrollmentsPage(from, to, sort, direction, size, after).map(EnrollmentSummary::of);
+    }
+
+    @GetMapping("/getEnrollmentsBetween")
+    @RateLimited("full-scan")
+    public List<EnrollmentRecord> getEnrollmentsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return enrollmentService.getEnrollmentsBetween(from, to);
+    }
+
+    // Cours actifs de l'étudiant dont les créneaux chevauchent ceux du cours (vide : inscription possible)
+    @GetMapping("/checkScheduleConflicts")
+    public List<Long> checkScheduleConflicts(@RequestParam Long studentId, @RequestParam Long courseId) {
+        return scheduleService.findConflictingCourses(studentId, courseId, null);
+    }
+
+    // Contrôle de tout un semestre (inscriptions actives de la période)
+    @GetMapping("/getScheduleConflicts")
+    @RateLimited("full-scan")
+    public List<ScheduleConflict> getScheduleConflicts(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return scheduleService.findConflicts(from, to);
+    }
 
     @GetMapping("/getEnrollment/{id}")
     public Enrollment getEnrollment(@PathVariable Long id) { return enrollmentService.getEnrollmentById(id); }
 
+    // Lecture groupée : GET /Enrollment/getEnrollments?ids=1,2,3
+    @GetMapping("/getEnrollments")
+    public ByIdsResponse<EnrollmentResponse> getEnrollmentsByIds(@RequestParam List<Long> ids) {
+        return enrollmentService.getEnrollmentsByIds(ids).map(EnrollmentResponse::of);
+    }
+
     @PostMapping("/createEnrollment")
     public Enrollment createEnrollment(@RequestBody Enrollment enrollment) { return enrollmentService.saveEnrollment(enrollment); }
 
@@ -27,7 +100,28 @@ public class EnrollmentController {
         return enrollmentService.saveEnrollment(enrollment);
     }
 
+    // Feuille de notes d'un cours, appliquée en différé : suivre l'état avec getGradeSubmission/{id}
+    @PostMapping("/submitGrades/{idCourse}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public GradeSubmissionStatus submitGrades(@PathVariable Long idCourse, @RequestBody List<GradeEntry> entries) {
+        try {
+            return gradePipeline.submit(idCourse, entries);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/getGradeSubmission/{id}")
+    public GradeSubmissionStatus getGradeSubmission(@PathVariable String id) {
+        GradeSubmissionStatus status = gradePipeline.getStatus(id);
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown grade submission " + id);
+        }
+        return status;
+    }
+
     @DeleteMapping("/deleteEnrollment/{id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void deleteEnrollment(@PathVariable Long id) {
         enrollmentService.deleteEnrollment(id); }
 }
@@ -0,0 +1,49 @@
+package tn.esprit.studentmanagement.controllers;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.studentmanagement.jobs.JobRunStatus;
+import tn.esprit.studentmanagement.jobs.JobRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/jobs")
+@AllArgsConstructor
+public class JobController {
+    private JobRunner jobRunner;
+
+    // Dernière exécution de chaque traitement (en cours ou terminée) avec ses métriques
+    @GetMapping
+    public List<JobRunStatus> getStatuses() { return jobRunner.getStatuses(); }
+
+    @GetMapping("/{name}")
+    public JobRunStatus getStatus(@PathVariable String name) {
+        requireJob(name);
+        JobRunStatus status = jobRunner.getStatus(name);
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job " + name + " has not run yet");
+        }
+        return status;
+    }
+
+    // Relance manuelle ; avec le runKey d'un run interrompu, seules les partitions manquantes sont traitées
+    @PostMapping("/{name}/run")
+    public ResponseEntity<Void> run(@PathVariable String name, @RequestParam(required = false) String runKey) {
+        requireJob(name);
+        if (!jobRunner.submit(name, runKey != null ? runKey : LocalDate.now().toString())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job " + name + " is already running");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private void requireJob(String name) {
+        if (!jobRunner.getJobNames().contains(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + name);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package tn.esprit.studentmanagement.controllers;
+
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.reporting.ReportingService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Rapports : magasin en colonnes si app.reporting.columnar.enabled=true, agrégats SQL sinon
+@RestController
+@RequestMapping("/Report")
+@CrossOrigin(origins = "http://localhost:4200")
+@AllArgsConstructor
+public class ReportController {
+    private ReportingService reportingService;
+
+    @GetMapping("/getStudentCountsByDepartment")
+    public List<DepartmentCount> getStudentCountsByDepartment() { return reportingService.getStudentCountsByDepartment(); }
+
+    @GetMapping("/getEnrollmentCountsByStatus")
+    public List<StatusCount> getEnrollmentCountsByStatus() { return reportingService.getEnrollmentCountsByStatus(); }
+
+    @GetMapping("/getGradesByCourse")
+    public List<CourseGrades> getGradesByCourse() { return reportingService.getGradesByCourse(); }
+
+    @GetMapping("/getStudentsBornAfter")
+    public long[] getStudentsBornAfter(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return reportingService.getStudentIdsBornAfter(date);
+    }
+}
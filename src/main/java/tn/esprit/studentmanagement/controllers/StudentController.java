@@ -1,24 +1,142 @@
 package tn.esprit.studentmanagement.controllers;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.studentmanagement.cache.QueryCacheStats;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+import tn.esprit.studentmanagement.dto.SliceResponse;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.dto.StudentResponse;
+import tn.esprit.studentmanagement.dto.StudentSummary;
 import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.ratelimit.RateLimited;
 import tn.esprit.studentmanagement.services.IStudentService;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/students") // Ajouter /api pour meilleure convention
 @CrossOrigin(origins = "http://localhost:4200")
 @AllArgsConstructor
 public class StudentController {
+
+    private static final Set<String> SEARCH_SORT_KEYS = Set.of("idStudent", "lastName", "firstName", "email", "dateOfBirth");
+    private static final int MAX_PAGE_SIZE = 100;
     
     private final IStudentService studentService; // Utiliser l'interface, pas l'implémentation
 
     @GetMapping
-    public List<Student> getAllStudents() { 
-        return studentService.getAllStudents(); 
+    @RateLimited("full-scan")
+    public List<StudentResponse> getAllStudents() { 
+        return studentService.getAllStudents().stream().map(StudentResponse::of).toList(); 
+    }
+
+    // Page triée par clé : ?size=20&sort=lastName&direction=ASC (+ filtres de /search), suite avec &after=<next>.
+    // Clés acceptées : celles couvertes par un index (400 sinon, ex. firstName)
+    @GetMapping(params = "size")
+    public KeysetPage<StudentResponse> getStudentPage(@RequestParam int size,
+                                                      @RequestParam(defaultValue = "idStudent") String sort,
+                                                      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(required = false) String lastName,
+                                                      @RequestParam(required = false) Long departmentId,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornAfter,
+                                                      @RequestParam(required = false) String email) {
+        StudentFilter filter = new StudentFilter(lastName, departmentId, bornAfter, email);
+        return studentService.getStudentsPage(filter, sort, direction, size, after).map(StudentResponse::of);
+    }
+
+    // Lecture groupée : GET /api/students?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ByIdsResponse<StudentResponse> getStudentsByIds(@RequestParam List<Long> ids) {
+        return studentService.getStudentsByIds(ids).map(StudentResponse::of);
+    }
+
+    // Vue liste légère (projection)
+    @GetMapping("/summaries")
+    @RateLimited("full-scan")
+    public List<StudentSummary> getStudentSummaries() {
+        return studentService.getStudentSummaries();
+    }
+
+    @GetMapping(value = "/summaries", params = "size")
+    public KeysetPage<StudentSummary> getStudentSummaryPage(@RequestParam int size,
+                                                            @RequestParam(defaultValue = "idStudent") String sort,
+                                                            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                            @RequestParam(required = false) String after) {
+        StudentFilter none = new StudentFilter(null, null, null, null);
+        return studentService.getStudentsPage(none, sort, direction, size, after).map(StudentSummary::of);
+    }
+
+    // Portail des départements : recherches répétées servies par le cache de requêtes
+    @GetMapping("/department/{idDepartment}")
+    public List<StudentResponse> getStudentsByDepartment(@PathVariable Long idDepartment) {
+        return studentService.getStudentsByDepartment(idDepartment).stream().map(StudentResponse::of).toList();
+    }
+
+    @GetMapping("/department/{idDepartment}/count")
+    public long countStudentsByDepartment(@PathVariable Long idDepartment) {
+        return studentService.countStudentsByDepartment(idDepartment);
+    }
+
+    @GetMapping("/lastName/{lastName}")
+    public List<StudentResponse> getStudentsByLastName(@PathVariable String lastName) {
+        return studentService.getStudentsByLastName(lastName).stream().map(StudentResponse::of).toList();
+    }
+
+    // Taux de succès par requête du cache
+    @GetMapping("/query-cache")
+    public QueryCacheStats getQueryCacheStats() {
+        return studentService.getQueryCacheStats();
+    }
+
+    // Recherche multi-critères paginée (page sans total, voir SliceResponse)
+    @GetMapping("/search")
+    public SliceResponse<StudentResponse> searchStudents(@RequestParam(required = false) String lastName,
+                                                         @RequestParam(required = false) Long departmentId,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornAfter,
+                                                         @RequestParam(required = false) String email,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(defaultValue = "idStudent") String sort,
+                                                         @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+        if (!SEARCH_SORT_KEYS.contains(sort) || page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "sort must be one of " + SEARCH_SORT_KEYS + ", page >= 0 and size in [1, " + MAX_PAGE_SIZE + "]");
+        }
+        Sort order = Sort.by(direction, sort);
+        if (!"idStudent".equals(sort)) {
+            order = order.and(Sort.by("idStudent")); // ordre stable entre les pages
+        }
+        StudentFilter filter = new StudentFilter(lastName, departmentId, bornAfter, email);
+        return SliceResponse.of(studentService.searchStudents(filter, PageRequest.of(page, size, order))).map(StudentResponse::of);
+    }
+
+    // Doublons probables du tenant (à fusionner : duplicateId dans idStudent), par score décroissant
+    @GetMapping("/duplicates")
+    @RateLimited("full-scan")
+    public List<MergeSuggestion> getDuplicates(@RequestParam(required = false) Double minScore,
+                                               @RequestParam(defaultValue = "1000") int limit) {
+        if ((minScore != null && (minScore < 0 || minScore > 1)) || limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minScore must be in [0, 1] and limit >= 1");
+        }
+        return studentService.findDuplicates(minScore, limit);
+    }
+
+    // Contrôle avant saisie : étudiants existants proches de celui du corps
+    @PostMapping("/duplicates/check")
+    public List<MergeSuggestion> checkDuplicates(@RequestBody Student student) {
+        return studentService.checkDuplicates(student);
     }
 
    @GetMapping("/{id}")
@@ -52,6 +170,6 @@ public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         return ResponseEntity.notFound().build(); // HTTP 404
     }
     studentService.deleteStudent(id);
-    return ResponseEntity.ok().build(); // HTTP 200
+    return ResponseEntity.accepted().build(); // HTTP 202 : suppression logique, purge différée
 }
 }
@@ -0,0 +1,19 @@
+package tn.esprit.studentmanagement.dedup;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateStudentException extends RuntimeException {
+
+    private final List<Long> duplicateIds;
+
+    public DuplicateStudentException(List<Long> duplicateIds) {
+        super("student probably already exists as " + duplicateIds);
+        this.duplicateIds = duplicateIds;
+    }
+}
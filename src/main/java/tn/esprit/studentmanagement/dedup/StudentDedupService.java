@@ -0,0 +1,211 @@
+package tn.esprit.studentmanagement.dedup;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.repositories.StudentSpecifications;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Détection des doublons d'étudiants (imports successifs, casse de l'email, format du téléphone) :
+ * <ul>
+ *   <li>recherche complète sur les étudiants du tenant, lus en flux par JDBC puis comparés par blocs
+ *       en parallèle ({@link StudentIdentities}, app.dedup.parallelism threads, 0 = nombre de coeurs) ;</li>
+ *   <li>contrôle à l'enregistrement : candidats lus par les clés normalisées stockées avec l'étudiant
+ *       (email, téléphone, nom ; {@link StudentKeysListener}), notés avec les mêmes règles ;
+ *       app.dedup.on-save = warn (journal, sans données personnelles), reject (409) ou off.</li>
+ * </ul>
+ * Les clés des lignes écrites hors JPA (import JDBC, données antérieures) sont complétées au démarrage.
+ * Rien n'est fusionné automatiquement : les suggestions sont rendues à l'API.
+ */
+@Service
+@Slf4j
+public class StudentDedupService {
+
+    private static final int MAX_CANDIDATES = 50;
+    private static final int KEY_CHUNK = 1000;
+
+    public enum OnSave { OFF, WARN, REJECT }
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate scan;
+    private final ForkJoinPool scorers;
+    private final double threshold;
+    private final int maxBlockSize;
+    private final int phoneDigits;
+    private final OnSave onSave;
+
+    public StudentDedupService(StudentRepository studentRepository,
+                               DataSource dataSource,
+                               @Value("${app.dedup.fetch-size:10000}") int fetchSize,
+                               @Value("${app.dedup.parallelism:0}") int parallelism,
+                               @Value("${app.dedup.threshold:0.8}") double threshold,
+                               @Value("${app.dedup.max-block-size:100}") int maxBlockSize,
+                               @Value("${app.dedup.phone-digits:8}") int phoneDigits,
+                               @Value("${app.dedup.on-save:warn}") String onSave) {
+        this.studentRepository = studentRepository;
+        this.scan = new JdbcTemplate(dataSource);
+        this.scan.setFetchSize(fetchSize);
+        this.scorers = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.threshold = threshold;
+        this.maxBlockSize = maxBlockSize;
+        this.phoneDigits = phoneDigits;
+        this.onSave = OnSave.valueOf(onSave.toUpperCase(Locale.ROOT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scorers.shutdownNow();
+    }
+
+    /**
+     * Complète les clés des étudiants qui n'en ont aucune, par lots de {@value #KEY_CHUNK} (tous tenants, SQL natif).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingKeys() {
+        long after = 0;
+        int filled = 0;
+        while (true) {
+            List<Object[]> rows = scan.query("select id_student, first_name, last_name, email, phone from student " +
+                            "where email_key is null and phone_key is null and name_key is null and id_student > ? " +
+                            "order by id_student limit ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)},
+                    after, KEY_CHUNK);
+            List<Object[]> keys = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                String emailKey = StudentKeysListener.emailKey((String) row[3]);
+                String phoneKey = StudentKeys.phone((String) row[4], phoneDigits);
+                String nameKey = StudentKeysListener.nameKey((String) row[1], (String) row[2]);
+                if (emailKey != null || phoneKey != null || nameKey != null) {
+                    keys.add(new Object[]{emailKey, phoneKey, nameKey, row[0]});
+                }
+            }
+            if (!keys.isEmpty()) {
+                scan.batchUpdate("update student set email_key = ?, phone_key = ?, name_key = ? where id_student = ?", keys);
+                filled += keys.size();
+            }
+            if (rows.size() < KEY_CHUNK) {
+                break;
+            }
+            after = (Long) rows.get(rows.size() - 1)[0];
+        }
+        if (filled > 0) {
+            log.info("Filled duplicate lookup keys of {} students", filled);
+        }
+    }
+
+    /**
+     * Doublons probables du tenant courant, par score décroissant. Pour le tenant racine, chaque tenant est
+     * parcouru séparément (jamais de paire entre deux tenants) et les suggestions sont réunies.
+     *
+     * @param minScore score minimal (null : app.dedup.threshold)
+     */
+    public List<MergeSuggestion> findDuplicates(Double minScore, int limit) {
+        long start = System.nanoTime();
+        double min = minScore != null ? minScore : threshold;
+        String tenantId = TenantContext.getTenantId();
+        List<String> tenants = TenantContext.ROOT_TENANT.equals(tenantId)
+                ? scan.queryForList("select distinct tenant_id from student where deleted_at is null", String.class)
+                : List.of(tenantId);
+        List<MergeSuggestion> suggestions = new ArrayList<>();
+        int students = 0;
+        long comparisons = 0;
+        int oversizedBlocks = 0;
+        for (String tenant : tenants) {
+            StudentIdentities identities = identities(tenant);
+            StudentIdentities.Scan result = identities.findDuplicates(scorers, min, maxBlockSize);
+            suggestions.addAll(result.suggestions());
+            students += identities.size();
+            comparisons += result.comparisons();
+            oversizedBlocks += result.oversizedBlocks();
+        }
+        if (tenants.size() > 1) {
+            suggestions.sort(Comparator.comparingDouble(MergeSuggestion::score).reversed()
+                    .thenComparing(MergeSuggestion::idStudent)
+                    .thenComparing(MergeSuggestion::duplicateId));
+        }
+        log.info("Duplicate scan: {} tenant(s), {} students, {} comparisons, {} suggestions, {} oversized blocks skipped in {} ms",
+                tenants.size(), students, comparisons, suggestions.size(), oversizedBlocks,
+                (System.nanoTime() - start) / 1_000_000);
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    // Étudiants d'un tenant, lus en flux
+    private StudentIdentities identities(String tenantId) {
+        StudentIdentities.Builder builder = new StudentIdentities.Builder(phoneDigits);
+        scan.query("select id_student, first_name, last_name, email, phone, date_of_birth from student " +
+                        "where tenant_id = ? and deleted_at is null",
+                rs -> {
+                    Date birth = rs.getDate(6);
+                    builder.add(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                            birth != null ? birth.toLocalDate() : null);
+                },
+                tenantId);
+        return builder.build();
+    }
+
+    /**
+     * Étudiants existants que {@code student} duplique probablement (lui-même exclu s'il a un id).
+     */
+    public List<MergeSuggestion> findMatches(Student student) {
+        List<Student> candidates = studentRepository.findBy(
+                StudentSpecifications.duplicateCandidates(StudentKeysListener.emailKey(student.getEmail()),
+                        StudentKeys.phone(student.getPhone(), phoneDigits),
+                        StudentKeysListener.nameKey(student.getFirstName(), student.getLastName()),
+                        student.getDateOfBirth(), student.getIdStudent()),
+                query -> query.limit(MAX_CANDIDATES).all());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        StudentIdentities.Builder builder = new StudentIdentities.Builder(phoneDigits);
+        builder.add(student.getIdStudent() != null ? student.getIdStudent() : 0, student.getFirstName(), student.getLastName(),
+                student.getEmail(), student.getPhone(), student.getDateOfBirth());
+        candidates.forEach(c -> builder.add(c.getIdStudent(), c.getFirstName(), c.getLastName(), c.getEmail(), c.getPhone(),
+                c.getDateOfBirth()));
+        StudentIdentities identities = builder.build();
+        List<MergeSuggestion> matches = new ArrayList<>();
+        for (int i = 1; i < identities.size(); i++) {
+            double score = identities.score(0, i);
+            if (score >= threshold) {
+                // L'existant est gardé, l'étudiant contrôlé est le doublon
+                matches.add(new MergeSuggestion(identities.id(i), student.getIdStudent(), score, identities.matchedOn(0, i)));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Appelé avant l'enregistrement d'un étudiant, selon app.dedup.on-save.
+     *
+     * @throws DuplicateStudentException en mode reject, si un doublon probable existe
+     */
+    public void checkOnSave(Student student) {
+        if (onSave == OnSave.OFF || student == null) {
+            return;
+        }
+        List<MergeSuggestion> matches = findMatches(student);
+        if (matches.isEmpty()) {
+            return;
+        }
+        List<Long> ids = matches.stream().map(MergeSuggestion::idStudent).toList();
+        if (onSave == OnSave.REJECT) {
+            throw new DuplicateStudentException(ids);
+        }
+        log.warn("Student {} probably duplicates {}", student.getIdStudent() != null ? student.getIdStudent() : "(new)", ids);
+    }
+}
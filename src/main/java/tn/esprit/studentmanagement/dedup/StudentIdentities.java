@@ -0,0 +1,228 @@
+package tn.esprit.studentmanagement.dedup;
+
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Identités normalisées des étudiants d'un tenant, en colonnes (empreintes 64 bits de l'email et du téléphone,
+ * nom normalisé, date de naissance en jours), et recherche des doublons par blocs : seules les paires partageant
+ * une clé (même email, même téléphone, ou même nom et même date de naissance) sont comparées, au lieu des n²/2 paires.
+ *
+ * Chaque clé est triée sous forme de long (40 bits d'empreinte, 24 bits d'indice) : un bloc est une suite
+ * de valeurs égales, sans table de hachage ni objet par étudiant. Les blocs sont notés en parallèle ;
+ * une paire présente dans plusieurs blocs n'est notée que dans le premier. Les blocs de plus de
+ * {@code maxBlockSize} étudiants (email générique, homonymes nés le même jour) sont ignorés et comptés.
+ */
+public final class StudentIdentities {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int KEYS = 3; // email, téléphone, nom + date de naissance
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final double PRIOR = -3;
+
+    public record Scan(List<MergeSuggestion> suggestions, long comparisons, int oversizedBlocks) {
+    }
+
+    private record Block(int key, int start, int end) {
+    }
+
+    private final long[] ids;
+    private final long[] emails;
+    private final long[] phones;
+    private final String[] names;
+    private final int[] birthDays;
+    private final long[][] keys;
+
+    private StudentIdentities(Builder builder) {
+        int size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        emails = Arrays.copyOf(builder.emails, size);
+        phones = Arrays.copyOf(builder.phones, size);
+        names = Arrays.copyOf(builder.names, size);
+        birthDays = Arrays.copyOf(builder.birthDays, size);
+        long[] nameKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            nameKeys[i] = names[i] != null && birthDays[i] != NO_DATE ? StudentKeys.hash(names[i] + "|" + birthDays[i]) : 0;
+        }
+        keys = new long[][]{emails, phones, nameKeys};
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int i) {
+        return ids[i];
+    }
+
+    /**
+     * Probabilité que i et j soient la même personne : somme de poids par champ renseigné des deux côtés
+     * (accord positif, désaccord négatif), ramenée dans [0, 1] par une logistique.
+     */
+    public double score(int i, int j) {
+        double weight = PRIOR;
+        if (emails[i] != 0 && emails[j] != 0) {
+            weight += emails[i] == emails[j] ? 4 : -1;
+        }
+        if (phones[i] != 0 && phones[j] != 0) {
+            weight += phones[i] == phones[j] ? 3 : -1;
+        }
+        if (names[i] != null && names[j] != null) {
+            double similarity = StudentKeys.jaroWinkler(names[i], names[j]);
+            weight += similarity >= 0.92 ? 3 : similarity >= 0.8 ? 1 : -3;
+        }
+        if (birthDays[i] != NO_DATE && birthDays[j] != NO_DATE) {
+            weight += birthDays[i] == birthDays[j] ? 2 : -3;
+        }
+        return 1 / (1 + Math.exp(-weight));
+    }
+
+    public List<String> matchedOn(int i, int j) {
+        List<String> fields = new ArrayList<>(4);
+        if (emails[i] != 0 && emails[i] == emails[j]) {
+            fields.add("email");
+        }
+        if (phones[i] != 0 && phones[i] == phones[j]) {
+            fields.add("phone");
+        }
+        if (names[i] != null && names[j] != null && StudentKeys.jaroWinkler(names[i], names[j]) >= 0.92) {
+            fields.add("name");
+        }
+        if (birthDays[i] != NO_DATE && birthDays[i] == birthDays[j]) {
+            fields.add("dateOfBirth");
+        }
+        return fields;
+    }
+
+    public MergeSuggestion suggestion(int i, int j, double score) {
+        return new MergeSuggestion(Math.min(ids[i], ids[j]), Math.max(ids[i], ids[j]), score, matchedOn(i, j));
+    }
+
+    /**
+     * Paires de score >= minScore, par score décroissant puis ids croissants.
+     */
+    public Scan findDuplicates(ForkJoinPool pool, double minScore, int maxBlockSize) {
+        List<Block> blocks = new ArrayList<>();
+        long[][] sorted = new long[KEYS][];
+        List<Set<Long>> oversized = new ArrayList<>(KEYS);
+        for (int k = 0; k < KEYS; k++) {
+            long[] packed = new long[size()];
+            int count = 0;
+            for (int i = 0; i < size(); i++) {
+                if (keys[k][i] != 0) {
+                    packed[count++] = (keys[k][i] & ~INDEX_MASK) | i;
+                }
+            }
+            packed = Arrays.copyOf(packed, count);
+            Arrays.parallelSort(packed);
+            sorted[k] = packed;
+            Set<Long> skipped = new HashSet<>();
+            for (int start = 0, end; start < count; start = end) {
+                long prefix = packed[start] & ~INDEX_MASK;
+                end = start + 1;
+                while (end < count && (packed[end] & ~INDEX_MASK) == prefix) {
+                    end++;
+                }
+                if (end - start > maxBlockSize) {
+                    skipped.add(prefix);
+                } else if (end - start > 1) {
+                    blocks.add(new Block(k, start, end));
+                }
+            }
+            oversized.add(skipped);
+        }
+        LongAdder comparisons = new LongAdder();
+        List<MergeSuggestion> suggestions = pool.submit(() -> blocks.parallelStream()
+                        .flatMap(block -> scoreBlock(block, sorted[block.key()], oversized, minScore, comparisons).stream())
+                        .sorted(Comparator.comparingDouble(MergeSuggestion::score).reversed()
+                                .thenComparing(MergeSuggestion::idStudent)
+                                .thenComparing(MergeSuggestion::duplicateId))
+                        .toList())
+                .join();
+        return new Scan(suggestions, comparisons.sum(), oversized.stream().mapToInt(Set::size).sum());
+    }
+
+    private List<MergeSuggestion> scoreBlock(Block block, long[] sorted, List<Set<Long>> oversized, double minScore,
+                                             LongAdder comparisons) {
+        List<MergeSuggestion> found = new ArrayList<>();
+        int k = block.key();
+        for (int a = block.start(); a < block.end(); a++) {
+            int i = (int) (sorted[a] & INDEX_MASK);
+            for (int b = a + 1; b < block.end(); b++) {
+                int j = (int) (sorted[b] & INDEX_MASK);
+                // Empreintes complètes : écarte les collisions sur 40 bits
+                if (keys[k][i] != keys[k][j] || scoredInEarlierBlock(k, i, j, oversized)) {
+                    continue;
+                }
+                comparisons.increment();
+                double score = score(i, j);
+                if (score >= minScore) {
+                    found.add(suggestion(i, j, score));
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean scoredInEarlierBlock(int k, int i, int j, List<Set<Long>> oversized) {
+        for (int earlier = 0; earlier < k; earlier++) {
+            long key = keys[earlier][i];
+            if (key != 0 && key == keys[earlier][j] && !oversized.get(earlier).contains(key & ~INDEX_MASK)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Construction en flux, un étudiant à la fois ; {@code phoneDigits} : chiffres du téléphone comparés.
+     */
+    public static final class Builder {
+        private final int phoneDigits;
+        private long[] ids = new long[1024];
+        private long[] emails = new long[1024];
+        private long[] phones = new long[1024];
+        private String[] names = new String[1024];
+        private int[] birthDays = new int[1024];
+        private int size;
+
+        public Builder(int phoneDigits) {
+            this.phoneDigits = phoneDigits;
+        }
+
+        public Builder add(long idStudent, String firstName, String lastName, String email, String phone, LocalDate dateOfBirth) {
+            if (size > INDEX_MASK) {
+                throw new IllegalStateException("at most " + (INDEX_MASK + 1) + " students per tenant");
+            }
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+                phones = Arrays.copyOf(phones, capacity);
+                names = Arrays.copyOf(names, capacity);
+                birthDays = Arrays.copyOf(birthDays, capacity);
+            }
+            ids[size] = idStudent;
+            emails[size] = StudentKeys.hash(StudentKeys.email(email));
+            phones[size] = StudentKeys.hash(StudentKeys.phone(phone, phoneDigits));
+            names[size] = StudentKeys.name(firstName, lastName);
+            birthDays[size] = dateOfBirth != null ? (int) dateOfBirth.toEpochDay() : NO_DATE;
+            size++;
+            return this;
+        }
+
+        public StudentIdentities build() {
+            return new StudentIdentities(this);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package tn.esprit.studentmanagement.dedup;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation des champs d'identité avant comparaison : un même étudiant importé deux fois
+ * diffère souvent par la casse de l'email, le format du téléphone ou les accents du nom.
+ */
+public final class StudentKeys {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private StudentKeys() {
+    }
+
+    /**
+     * Email en minuscules, sans espaces ni suffixe "+étiquette" ; null si vide ou sans '@'.
+     */
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        if (at <= 0 || at == normalized.length() - 1) {
+            return null;
+        }
+        int plus = normalized.indexOf('+');
+        return plus > 0 && plus < at ? normalized.substring(0, plus) + normalized.substring(at) : normalized;
+    }
+
+    /**
+     * Chiffres seuls, limités aux {@code digits} derniers (numéro national sans indicatif) ; null si trop court.
+     */
+    public static String phone(String phone, int digits) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder only = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                only.append(c);
+            }
+        }
+        return only.length() < digits ? null : only.substring(only.length() - digits);
+    }
+
+    /**
+     * Prénom et nom sans accents ni ponctuation, mots triés (prénom et nom inversés comparables) ; null si vide.
+     */
+    public static String name(String firstName, String lastName) {
+        String full = (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "");
+        String plain = MARKS.matcher(Normalizer.normalize(full, Normalizer.Form.NFD)).replaceAll("");
+        String[] words = NOT_ALPHANUMERIC.split(plain.toLowerCase(Locale.ROOT).trim());
+        Arrays.sort(words);
+        String joined = String.join(" ", words).trim();
+        return joined.isEmpty() ? null : joined;
+    }
+
+    /**
+     * Empreinte 64 bits (FNV-1a) d'une clé normalisée ; 0 réservé à l'absence de clé.
+     */
+    public static long hash(String key) {
+        if (key == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash != 0 ? hash : 1;
+    }
+
+    /**
+     * Similarité de Jaro-Winkler dans [0, 1].
+     */
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            for (int j = Math.max(0, i - window); j < Math.min(b.length(), i + window + 1); j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
@@ -0,0 +1,43 @@
+package tn.esprit.studentmanagement.dedup;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import tn.esprit.studentmanagement.entities.Student;
+
+/**
+ * Renseigne les clés normalisées d'un étudiant (email, téléphone, nom : {@link StudentKeys}) à chaque écriture JPA,
+ * pour que le contrôle à l'enregistrement trouve ses candidats par index. Créé par Hibernate à travers
+ * le conteneur de beans de Spring, qui injecte app.dedup.phone-digits.
+ */
+public class StudentKeysListener {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int phoneDigits;
+
+    public StudentKeysListener(@Value("${app.dedup.phone-digits:8}") int phoneDigits) {
+        this.phoneDigits = phoneDigits;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void fillKeys(Student student) {
+        student.setEmailKey(emailKey(student.getEmail()));
+        student.setPhoneKey(StudentKeys.phone(student.getPhone(), phoneDigits));
+        student.setNameKey(nameKey(student.getFirstName(), student.getLastName()));
+    }
+
+    static String emailKey(String email) {
+        return truncate(StudentKeys.email(email));
+    }
+
+    static String nameKey(String firstName, String lastName) {
+        return truncate(StudentKeys.name(firstName, lastName));
+    }
+
+    // Colonnes indexées de 255 caractères : au-delà, la clé ne sert qu'à trouver des candidats
+    private static String truncate(String key) {
+        return key != null && key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+}
@@ -0,0 +1,18 @@
+package tn.esprit.studentmanagement.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Réponse d'une lecture groupée ?ids= : éléments dans l'ordre de la demande (doublons retirés),
+ * ids introuvables (absents ou d'un autre tenant) listés à part plutôt qu'une 404 globale.
+ */
+public record ByIdsResponse<T>(List<T> items, List<Long> missing) {
+
+    // Au-delà, la requête est refusée (400) : le client découpe ses appels
+    public static final int MAX_IDS = 500;
+
+    public <R> ByIdsResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new ByIdsResponse<>(items.stream().<R>map(mapper).toList(), missing);
+    }
+}
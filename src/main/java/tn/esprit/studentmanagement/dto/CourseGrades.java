@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Notes d'un cours (rapport) : nombre d'inscriptions notées, moyenne, minimum et maximum (null sans note).
+ */
+public record CourseGrades(Long idCourse, String name, Long graded, Double mean, Double min, Double max) {
+}
@@ -0,0 +1,17 @@
+package tn.esprit.studentmanagement.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.json.ResponseWriters;
+
+/**
+ * Cours rendu par les listes (même JSON que l'entité, voir {@link ResponseWriters}).
+ */
+@JsonSerialize(using = ResponseWriters.CourseWriter.class)
+public record CourseResponse(Long idCourse, String name, String code, int credit, String description) {
+
+    public static CourseResponse of(Course course) {
+        return course == null ? null : new CourseResponse(course.getIdCourse(), course.getName(), course.getCode(),
+                course.getCredit(), course.getDescription());
+    }
+}
@@ -0,0 +1,16 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Liste des inscrits d'un cours avec leur département (chargée en deux requêtes).
+ */
+public record CourseRoster(Long idCourse, String code, String name, int credit, List<RosterLine> enrollments) {
+
+    public record RosterLine(Long idEnrollment, LocalDate enrollmentDate, Status status, Double grade,
+                             Long idStudent, String firstName, String lastName, String email, String departmentName) {
+    }
+}
@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Vue liste légère d'un cours (projection JPQL, aucune entité chargée).
+ */
+public record CourseSummary(Long idCourse, String code, String name, int credit) {
+}
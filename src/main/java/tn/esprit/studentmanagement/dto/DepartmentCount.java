@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Effectif d'un département (rapport).
+ */
+public record DepartmentCount(Long idDepartment, String name, Long students) {
+}
@@ -0,0 +1,21 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Vue détaillée d'un département : ses étudiants et leurs inscriptions (chargée en deux requêtes).
+ */
+public record DepartmentDetail(Long idDepartment, String name, String location, String phone, String head,
+                               List<StudentLine> students) {
+
+    public record StudentLine(Long idStudent, String firstName, String lastName, String email,
+                              List<EnrollmentLine> enrollments) {
+    }
+
+    public record EnrollmentLine(Long idEnrollment, LocalDate enrollmentDate, Status status, Double grade,
+                                 Long courseId, String courseCode, String courseName) {
+    }
+}
@@ -0,0 +1,18 @@
+package tn.esprit.studentmanagement.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.json.ResponseWriters;
+
+/**
+ * Département rendu par les listes : mêmes champs et même JSON que l'entité, écrit par
+ * {@link ResponseWriters} sans introspection.
+ */
+@JsonSerialize(using = ResponseWriters.DepartmentWriter.class)
+public record DepartmentResponse(Long idDepartment, String name, String location, String phone, String head) {
+
+    public static DepartmentResponse of(Department department) {
+        return department == null ? null : new DepartmentResponse(department.getIdDepartment(), department.getName(),
+                department.getLocation(), department.getPhone(), department.getHead());
+    }
+}
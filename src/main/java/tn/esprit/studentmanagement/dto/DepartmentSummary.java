@@ -0,0 +1,14 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Department;
+
+/**
+ * Vue liste légère d'un département (projection JPQL, aucune entité chargée) ;
+ * {@code of} la construit à partir d'une page d'entités lue par clé.
+ */
+public record DepartmentSummary(Long idDepartment, String name, String location, String head) {
+
+    public static DepartmentSummary of(Department department) {
+        return new DepartmentSummary(department.getIdDepartment(), department.getName(), department.getLocation(), department.getHead());
+    }
+}
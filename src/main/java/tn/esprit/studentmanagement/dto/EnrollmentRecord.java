@@ -0,0 +1,17 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Vue à plat d'une inscription, qu'elle soit dans la table courante ou dans l'archive.
+ */
+public record EnrollmentRecord(Long idEnrollment,
+                               LocalDate enrollmentDate,
+                               Double grade,
+                               Status status,
+                               Long studentId,
+                               Long courseId,
+                               boolean archived) {
+}
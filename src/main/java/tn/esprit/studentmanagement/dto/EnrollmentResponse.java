@@ -0,0 +1,26 @@
+package tn.esprit.studentmanagement.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.json.ResponseWriters;
+
+import java.time.LocalDate;
+
+/**
+ * Inscription rendue par les listes, étudiant et cours inclus (même JSON que l'entité, voir {@link ResponseWriters}).
+ */
+@JsonSerialize(using = ResponseWriters.EnrollmentWriter.class)
+public record EnrollmentResponse(Long idEnrollment,
+                                 LocalDate enrollmentDate,
+                                 Double grade,
+                                 Status status,
+                                 StudentResponse student,
+                                 CourseResponse course) {
+
+    public static EnrollmentResponse of(Enrollment enrollment) {
+        return enrollment == null ? null : new EnrollmentResponse(enrollment.getIdEnrollment(), enrollment.getEnrollmentDate(),
+                enrollment.getGrade(), enrollment.getStatus(), StudentResponse.of(enrollment.getStudent()),
+                CourseResponse.of(enrollment.getCourse()));
+    }
+}
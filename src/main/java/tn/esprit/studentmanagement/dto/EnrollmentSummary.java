@@ -0,0 +1,31 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+
+import java.time.LocalDate;
+
+/**
+ * Vue liste légère d'une inscription (projection JPQL, aucune entité chargée) ;
+ * {@code of} la construit à partir d'une page d'entités lue par clé.
+ */
+public record EnrollmentSummary(Long idEnrollment,
+                                LocalDate enrollmentDate,
+                                Double grade,
+                                Status status,
+                                Long studentId,
+                                String studentLastName,
+                                Long courseId,
+                                String courseCode) {
+
+    public static EnrollmentSummary of(Enrollment enrollment) {
+        Student student = enrollment.getStudent();
+        Course course = enrollment.getCourse();
+        return new EnrollmentSummary(enrollment.getIdEnrollment(), enrollment.getEnrollmentDate(), enrollment.getGrade(),
+                enrollment.getStatus(),
+                student != null ? student.getIdStudent() : null, student != null ? student.getLastName() : null,
+                course != null ? course.getIdCourse() : null, course != null ? course.getCode() : null);
+    }
+}
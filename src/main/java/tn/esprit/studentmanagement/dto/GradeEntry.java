@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Ligne d'une feuille de notes : inscription et note à enregistrer.
+ */
+public record GradeEntry(Long idEnrollment, Double grade) {
+}
@@ -0,0 +1,10 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Distribution des notes d'un cours : percentiles à la résolution de l'histogramme
+ * et effectifs par tranche d'un point ({@code histogram[i]} = notes dans [i, i+1[, la dernière tranche inclut le maximum).
+ */
+public record GradeStats(Long idCourse, long count, Double mean, Double min, Double max,
+                         Double p10, Double p25, Double median, Double p75, Double p90,
+                         long[] histogram) {
+}
@@ -0,0 +1,11 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Sommes partielles pour une moyenne pondérée par les crédits : Σ(note x crédits), Σ crédits, nombre de notes.
+ */
+public record GradeTotals(Long id, Double weightedGrades, Long credits, Long count) {
+
+    public GradeTotals plus(GradeTotals other) {
+        return new GradeTotals(id, weightedGrades + other.weightedGrades, credits + other.credits, count + other.count);
+    }
+}
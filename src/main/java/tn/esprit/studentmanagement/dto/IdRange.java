@@ -0,0 +1,18 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Plus petit et plus grand identifiant d'une table pour le tenant courant (null si la table est vide).
+ */
+public record IdRange(Long min, Long max) {
+
+    /** Plus petite plage couvrant les deux (une plage vide est ignorée). */
+    public IdRange span(IdRange other) {
+        if (other == null || other.min() == null) {
+            return this;
+        }
+        if (min == null) {
+            return other;
+        }
+        return new IdRange(Math.min(min, other.min()), Math.max(max, other.max()));
+    }
+}
@@ -0,0 +1,15 @@
+package tn.esprit.studentmanagement.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page lue par clé : {@code next} est le jeton à repasser en paramètre "after" pour la page suivante,
+ * null sur la dernière page.
+ */
+public record KeysetPage<T>(List<T> content, String next) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(content.stream().<R>map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,13 @@
+package tn.esprit.studentmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Doublon probable : {@code duplicateId} à fusionner dans {@code idStudent} (le plus ancien),
+ * score dans [0, 1] et champs concordants (email, phone, name, dateOfBirth).
+ */
+public record MergeSuggestion(Long idStudent,
+                              Long duplicateId,
+                              double score,
+                              List<String> matchedOn) {
+}
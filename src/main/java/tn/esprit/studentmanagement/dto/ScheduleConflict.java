@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.dto;
+
+/**
+ * Deux cours actifs d'un même étudiant dont au moins un créneau se chevauche (idCourse < conflictingCourseId).
+ */
+public record ScheduleConflict(Long studentId, Long idCourse, Long conflictingCourseId) {
+}
@@ -0,0 +1,20 @@
+package tn.esprit.studentmanagement.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page sans total : seul "hasNext" est calculé (une ligne de plus est lue), pas de COUNT(*).
+ */
+public record SliceResponse<T>(List<T> content, int page, int size, boolean hasNext) {
+
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    public <R> SliceResponse<R> map(Function<? super T, ? extends R> mapper) {
+        return new SliceResponse<>(content.stream().<R>map(mapper).toList(), page, size, hasNext);
+    }
+}
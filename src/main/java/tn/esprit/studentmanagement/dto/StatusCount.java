@@ -0,0 +1,9 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Status;
+
+/**
+ * Nombre d'inscriptions dans un statut (rapport).
+ */
+public record StatusCount(Status status, Long enrollments) {
+}
@@ -0,0 +1,12 @@
+package tn.esprit.studentmanagement.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Critères de recherche d'étudiants ; un critère null est ignoré.
+ */
+public record StudentFilter(String lastName,
+                            Long departmentId,
+                            LocalDate bornAfter,
+                            String emailContains) {
+}
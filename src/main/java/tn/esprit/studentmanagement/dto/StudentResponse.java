@@ -0,0 +1,27 @@
+package tn.esprit.studentmanagement.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.json.ResponseWriters;
+
+import java.time.LocalDate;
+
+/**
+ * Étudiant rendu par les listes, département inclus (même JSON que l'entité, voir {@link ResponseWriters}).
+ */
+@JsonSerialize(using = ResponseWriters.StudentWriter.class)
+public record StudentResponse(Long idStudent,
+                              String firstName,
+                              String lastName,
+                              String email,
+                              String phone,
+                              LocalDate dateOfBirth,
+                              String address,
+                              DepartmentResponse department) {
+
+    public static StudentResponse of(Student student) {
+        return student == null ? null : new StudentResponse(student.getIdStudent(), student.getFirstName(),
+                student.getLastName(), student.getEmail(), student.getPhone(), student.getDateOfBirth(), student.getAddress(),
+                DepartmentResponse.of(student.getDepartment()));
+    }
+}
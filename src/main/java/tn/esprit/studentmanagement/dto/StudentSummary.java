@@ -0,0 +1,19 @@
+package tn.esprit.studentmanagement.dto;
+
+import tn.esprit.studentmanagement.entities.Student;
+
+/**
+ * Vue liste légère d'un étudiant (projection JPQL, aucune entité chargée) ;
+ * {@code of} la construit à partir d'une page d'entités lue par clé.
+ */
+public record StudentSummary(Long idStudent,
+                             String firstName,
+                             String lastName,
+                             String email,
+                             String departmentName) {
+
+    public static StudentSummary of(Student student) {
+        return new StudentSummary(student.getIdStudent(), student.getFirstName(), student.getLastName(), student.getEmail(),
+                student.getDepartment() != null ? student.getDepartment().getName() : null);
+    }
+}
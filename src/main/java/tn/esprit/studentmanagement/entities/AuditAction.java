@@ -0,0 +1,7 @@
+package tn.esprit.studentmanagement.entities;
+
+public enum AuditAction {
+    INSERT,
+    UPDATE,
+    DELETE
+}
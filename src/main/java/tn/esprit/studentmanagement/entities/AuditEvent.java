@@ -0,0 +1,33 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modification enregistrée par le journal d'audit (sortie "jdbc") : auteur, entité, action
+ * et champs modifiés en JSON ({"champ": [avant, après]}). Insérée par lots en JDBC, jamais modifiée.
+ */
+@Entity
+@Table(name = "audit_event", indexes = {
+        @Index(name = "idx_audit_event_tenant_entity", columnList = "tenant_id, entity_type, entity_id")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class AuditEvent extends TenantScopedEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idAuditEvent;
+    private LocalDateTime occurredAt;
+    private String actor;
+    private String entityType;
+    private Long entityId;
+    @Enumerated(EnumType.STRING)
+    private AuditAction action;
+    @Lob
+    private String changes;
+}
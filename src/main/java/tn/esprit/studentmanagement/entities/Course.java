@@ -1,17 +1,22 @@
 package tn.esprit.studentmanagement.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_course_tenant_code", columnList = "tenant_id, code")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-public class Course {
+public class Course extends TenantScopedEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long idCourse;
@@ -21,6 +26,9 @@ public class Course {
     private String description;
 
     @OneToMany(mappedBy = "course")
+    @BatchSize(size = 50)
+    @JsonIgnore // inscrits : voir /Course/getCourseRoster/{id}
+    @ToString.Exclude
     private List<Enrollment> enrollments;
 
 }
@@ -0,0 +1,36 @@
+package tn.esprit.studentmanagement.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Créneau hebdomadaire d'un cours (jour, heure de début incluse, heure de fin exclue).
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_course_session_tenant_course", columnList = "tenant_id, course_id_course")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CourseSession extends TenantScopedEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idSession;
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String room;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnore
+    @ToString.Exclude
+    private Course course;
+}
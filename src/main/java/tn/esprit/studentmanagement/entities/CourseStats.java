@@ -0,0 +1,27 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Remplissage et résultats d'un cours, recalculés chaque nuit par {@link tn.esprit.studentmanagement.jobs.CourseStatsJob}.
+ */
+@Entity
+@Table(name = "course_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class CourseStats extends TenantScopedEntity {
+    @Id
+    private Long idCourse;          // même identifiant que dans la table course
+    private Long activeEnrollments;
+    private Long completed;
+    private Long failed;
+    private Long enrollments;
+    private Double averageGrade;
+    private LocalDateTime computedAt;
+}
@@ -1,18 +1,26 @@
 package tn.esprit.studentmanagement.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_department_tenant_name", columnList = "tenant_id, name"),
+        @Index(name = "idx_department_deleted_at", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at is null")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
 @Builder // Ajoute cette annotation
-public class Department {
+public class Department extends SoftDeletableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long idDepartment;
@@ -22,5 +30,8 @@ public class Department {
     private String head; // chef de département
 
     @OneToMany(mappedBy = "department")
+    @BatchSize(size = 50)
+    @JsonIgnore // étudiants : voir /Depatment/getDepartmentDetail/{id}
+    @ToString.Exclude
     private List<Student> students;
 }
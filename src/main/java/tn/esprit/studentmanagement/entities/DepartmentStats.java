@@ -0,0 +1,28 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Indicateurs d'un département, recalculés chaque nuit par {@link tn.esprit.studentmanagement.jobs.DepartmentStatsJob}.
+ */
+@Entity
+@Table(name = "department_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DepartmentStats extends TenantScopedEntity {
+    @Id
+    private Long idDepartment;      // même identifiant que dans la table department
+    private Long students;
+    private Long enrollments;
+    private Long completed;
+    private Long failed;
+    private Double averageGrade;
+    private Double averageGpa;
+    private LocalDateTime computedAt;
+}
@@ -2,16 +2,25 @@ package tn.esprit.studentmanagement.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_enrollment_tenant_student", columnList = "tenant_id, student_id_student"),
+        @Index(name = "idx_enrollment_tenant_course", columnList = "tenant_id, course_id_course"),
+        @Index(name = "idx_enrollment_tenant_status_date", columnList = "tenant_id, status, enrollment_date"),
+        @Index(name = "idx_enrollment_tenant_date", columnList = "tenant_id, enrollment_date"),
+        @Index(name = "idx_enrollment_deleted_at", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at is null")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-public class Enrollment {
+public class Enrollment extends SoftDeletableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long idEnrollment;
@@ -0,0 +1,35 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Inscription d'une année universitaire clôturée, déplacée hors de la table enrollment
+ * par {@link tn.esprit.studentmanagement.services.EnrollmentArchiveService}.
+ * Les références étudiant / cours sont conservées sous forme d'identifiants.
+ */
+@Entity
+@Table(name = "enrollment_archive", indexes = {
+        @Index(name = "idx_enrollment_archive_tenant_date", columnList = "tenant_id, enrollment_date"),
+        @Index(name = "idx_enrollment_archive_tenant_student", columnList = "tenant_id, student_id"),
+        @Index(name = "idx_enrollment_archive_tenant_course", columnList = "tenant_id, course_id")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class EnrollmentArchive extends TenantScopedEntity {
+    @Id
+    private Long idEnrollment;      // même identifiant que dans la table enrollment
+    private LocalDate enrollmentDate;
+    private Double grade;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    private Long studentId;
+    private Long courseId;
+    private LocalDateTime archivedAt;
+}
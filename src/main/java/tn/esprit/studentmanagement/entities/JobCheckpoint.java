@@ -0,0 +1,30 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partition terminée d'un traitement de nuit, enregistrée dans la même transaction que ses résultats :
+ * une relance du même run reprend uniquement les partitions manquantes.
+ * Table technique, commune à tous les tenants (la clé de partition contient le tenant).
+ */
+@Entity
+@Table(name = "job_checkpoint", uniqueConstraints =
+        @UniqueConstraint(name = "uk_job_checkpoint", columnNames = {"job_name", "run_key", "partition_key"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class JobCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idCheckpoint;
+    private String jobName;
+    private String runKey;
+    private String partitionKey;
+    private long items;
+    private LocalDateTime completedAt;
+}
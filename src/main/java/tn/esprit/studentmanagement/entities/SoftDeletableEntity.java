@@ -0,0 +1,21 @@
+package tn.esprit.studentmanagement.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Suppression logique : les services renseignent deletedAt, chaque entité filtre avec
+ * {@code @SQLRestriction("deleted_at is null")}, et {@link tn.esprit.studentmanagement.services.SoftDeletePurger}
+ * efface les lignes en heures creuses.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class SoftDeletableEntity extends TenantScopedEntity {
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+}
@@ -1,19 +1,33 @@
 package tn.esprit.studentmanagement.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLRestriction;
+import tn.esprit.studentmanagement.dedup.StudentKeysListener;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_student_tenant_last_name", columnList = "tenant_id, last_name"),
+        @Index(name = "idx_student_tenant_email", columnList = "tenant_id, email"),
+        @Index(name = "idx_student_tenant_department", columnList = "tenant_id, department_id_department"),
+        @Index(name = "idx_student_tenant_birth_date", columnList = "tenant_id, date_of_birth"),
+        @Index(name = "idx_student_tenant_email_key", columnList = "tenant_id, email_key"),
+        @Index(name = "idx_student_tenant_phone_key", columnList = "tenant_id, phone_key"),
+        @Index(name = "idx_student_tenant_name_key", columnList = "tenant_id, name_key"),
+        @Index(name = "idx_student_deleted_at", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at is null") // étudiants supprimés ignorés par toutes les lectures JPA
+@EntityListeners(StudentKeysListener.class)
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@Builder // Ajoute cette annotation
-public class Student {
+public class Student extends SoftDeletableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long idStudent;
@@ -28,5 +42,33 @@ public class Student {
     private Department department;
 
     @OneToMany(mappedBy = "student")
+    @BatchSize(size = 50)
+    @JsonIgnore
+    @ToString.Exclude
     private List<Enrollment> enrollments;
+
+    // Clés de recherche des doublons, recalculées à chaque écriture (StudentKeysListener)
+    @JsonIgnore
+    @ToString.Exclude
+    private String emailKey;
+    @JsonIgnore
+    @ToString.Exclude
+    private String phoneKey;
+    @JsonIgnore
+    @ToString.Exclude
+    private String nameKey;
+
+    @Builder // Ajoute cette annotation
+    public Student(Long idStudent, String firstName, String lastName, String email, String phone, LocalDate dateOfBirth,
+                   String address, Department department, List<Enrollment> enrollments) {
+        this.idStudent = idStudent;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.dateOfBirth = dateOfBirth;
+        this.address = address;
+        this.department = department;
+        this.enrollments = enrollments;
+    }
 }
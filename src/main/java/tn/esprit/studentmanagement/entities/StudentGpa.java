@@ -0,0 +1,26 @@
+package tn.esprit.studentmanagement.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moyenne pondérée par les crédits des inscriptions notées (COMPLETED, FAILED) d'un étudiant,
+ * archive comprise. Recalculée chaque nuit par {@link tn.esprit.studentmanagement.jobs.StudentGpaJob}.
+ */
+@Entity
+@Table(name = "student_gpa")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StudentGpa extends TenantScopedEntity {
+    @Id
+    private Long idStudent;         // même identifiant que dans la table student
+    private Double gpa;
+    private Long credits;
+    private Long gradedEnrollments;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,25 @@
+package tn.esprit.studentmanagement.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * Colonne tenant commune à toutes les entités.
+ * Hibernate renseigne la valeur à l'insertion et filtre toutes les requêtes
+ * sur le tenant courant (voir {@link tn.esprit.studentmanagement.tenancy.TenantIdentifierResolver}).
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class TenantScopedEntity {
+    @TenantId
+    @JsonIgnore
+    @ColumnDefault("'default'") // lignes existantes rattachées au tenant par défaut lors de la migration
+    @Column(name = "tenant_id", length = 64, nullable = false)
+    private String tenantId;
+}
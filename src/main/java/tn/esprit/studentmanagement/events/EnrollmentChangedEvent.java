@@ -0,0 +1,19 @@
+package tn.esprit.studentmanagement.events;
+
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.entities.Enrollment;
+
+/**
+ * Publié par EnrollmentService après chaque création, modification ou suppression d'une inscription.
+ * {@code before} est null pour une création, {@code after} pour une suppression.
+ */
+public record EnrollmentChangedEvent(String tenantId, EnrollmentRecord before, EnrollmentRecord after) {
+
+    public static EnrollmentRecord snapshot(Enrollment enrollment) {
+        return new EnrollmentRecord(enrollment.getIdEnrollment(), enrollment.getEnrollmentDate(), enrollment.getGrade(),
+                enrollment.getStatus(),
+                enrollment.getStudent() != null ? enrollment.getStudent().getIdStudent() : null,
+                enrollment.getCourse() != null ? enrollment.getCourse().getIdCourse() : null,
+                false);
+    }
+}
@@ -0,0 +1,9 @@
+package tn.esprit.studentmanagement.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publié après une suppression logique par requête groupée (étudiant, département), invisible des listeners Hibernate.
+ */
+public record SoftDeletedEvent(String tenantId, String entityType, Long id, LocalDateTime deletedAt) {
+}
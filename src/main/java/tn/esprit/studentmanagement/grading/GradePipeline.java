@@ -0,0 +1,310 @@
+package tn.esprit.studentmanagement.grading;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.audit.AuditContext;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.GradeEntry;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Saisie des notes par feuille de cours, en différé : la feuille est mise dans une file bornée
+ * (202 + identifiant de suivi, 429 si la file est pleine) et un seul thread la traite avec les feuilles en attente.
+ * Pour chaque tenant (et auteur) du lot : lignes invalides refusées (note hors [0, app.analytics.grade-max], inscription
+ * inconnue ou d'un autre cours), puis plusieurs notes acceptées d'une même inscription ramenées à la dernière reçue,
+ * et UPDATE JDBC par lots de app.grading.batch-size dans une transaction, avec un EnrollmentChangedEvent
+ * par note modifiée (caches d'analyse et index tenus à jour comme pour une saisie unitaire).
+ * Les compteurs d'une feuille ne sont publiés qu'après la validation de la transaction (FAILED : aucun).
+ * Les états sont gardés en mémoire app.grading.status-retention-minutes après la fin du traitement.
+ */
+@Service
+@Slf4j
+public class GradePipeline {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Submission> queue;
+    private final int capacity;
+    private final int maxEntries;
+    private final int batchSize;
+    private final double maxGrade;
+    private final Duration statusRetention;
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    public GradePipeline(EnrollmentRepository enrollmentRepository,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${app.grading.queue-capacity:64}") int capacity,
+                         @Value("${app.grading.max-entries:5000}") int maxEntries,
+                         @Value("${app.grading.batch-size:500}") int batchSize,
+                         @Value("${app.analytics.grade-max:20}") double maxGrade,
+                         @Value("${app.grading.status-retention-minutes:60}") long statusRetentionMinutes) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.maxEntries = maxEntries;
+        this.batchSize = batchSize;
+        this.maxGrade = maxGrade;
+        this.statusRetention = Duration.ofMinutes(statusRetentionMinutes);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drainLoop, "grade-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException feuille vide ou de plus de app.grading.max-entries lignes
+     * @throws GradeQueueFullException   file pleine
+     */
+    public GradeSubmissionStatus submit(Long idCourse, List<GradeEntry> entries) {
+        if (entries == null || entries.isEmpty() || entries.size() > maxEntries) {
+            throw new IllegalArgumentException("a grade sheet must have between 1 and " + maxEntries + " entries");
+        }
+        evictCompleted();
+        Submission submission = new Submission(UUID.randomUUID().toString(), TenantContext.getTenantId(),
+                AuditContext.getActor(), idCourse, List.copyOf(entries));
+        submissions.put(submission.id, submission);
+        if (!queue.offer(submission)) {
+            submissions.remove(submission.id);
+            throw new GradeQueueFullException(capacity, 1);
+        }
+        return submission.toStatus();
+    }
+
+    /**
+     * État d'une feuille du tenant courant ; null si inconnue ou expirée.
+     */
+    public GradeSubmissionStatus getStatus(String id) {
+        Submission submission = submissions.get(id);
+        return submission != null && submission.tenantId.equals(TenantContext.getTenantId()) ? submission.toStatus() : null;
+    }
+
+    private void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Submission> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch);
+            process(batch);
+        }
+    }
+
+    /**
+     * Traite sur le thread appelant les feuilles en attente (tests, pipeline non démarré).
+     */
+    void drain() {
+        List<Submission> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            process(batch);
+        }
+    }
+
+    private record Origin(String tenantId, String actor) {
+    }
+
+    /**
+     * Traite un lot de feuilles par tenant et par auteur (journal d'audit), dans l'ordre d'arrivée.
+     */
+    private void process(List<Submission> batch) {
+        Map<Origin, List<Submission>> byOrigin = batch.stream()
+                .collect(Collectors.groupingBy(s -> new Origin(s.tenantId, s.actor), LinkedHashMap::new, Collectors.toList()));
+        byOrigin.forEach((origin, originBatch) -> {
+            try {
+                TenantContext.runAs(origin.tenantId(), () -> AuditContext.runAs(origin.actor(), () -> apply(originBatch)));
+            } catch (RuntimeException e) {
+                log.error("Grade submissions {} failed", originBatch.stream().map(s -> s.id).toList(), e);
+                originBatch.forEach(s -> s.complete(GradeSubmissionStatus.State.FAILED, null));
+            }
+        });
+    }
+
+    private record Pending(Submission submission, GradeEntry entry) {
+    }
+
+    // Résultat d'une feuille, reporté sur la feuille une fois la transaction validée
+    private static final class Outcome {
+        private int applied;
+        private int coalesced;
+        private final List<GradeSubmissionStatus.RejectedGrade> rejected = new ArrayList<>();
+
+        private void reject(GradeEntry entry, String reason) {
+            rejected.add(new GradeSubmissionStatus.RejectedGrade(entry.idEnrollment(), entry.grade(), reason));
+        }
+    }
+
+    private void apply(List<Submission> batch) {
+        Map<Submission, Outcome> outcomes = new LinkedHashMap<>();
+        List<Pending> valid = new ArrayList<>();
+        for (Submission submission : batch) {
+            Outcome outcome = new Outcome();
+            outcomes.put(submission, outcome);
+            for (GradeEntry entry : submission.entries) {
+                String invalid = validate(entry);
+                if (invalid != null) {
+                    outcome.reject(entry, invalid);
+                } else {
+                    valid.add(new Pending(submission, entry));
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Enrollment> current = load(valid.stream().map(p -> p.entry().idEnrollment()).distinct().toList());
+            // Inscription et cours contrôlés avant le regroupement : une ligne refusée ne remplace pas
+            // la note acceptée d'une autre feuille ; seule une note plus récente appliquée compte comme coalescée
+            Map<Long, Pending> latest = new LinkedHashMap<>();
+            for (Pending pending : valid) {
+                GradeEntry entry = pending.entry();
+                Enrollment enrollment = current.get(entry.idEnrollment());
+                if (enrollment == null) {
+                    outcomes.get(pending.submission()).reject(entry, "unknown enrollment");
+                    continue;
+                }
+                if (enrollment.getCourse() == null || !enrollment.getCourse().getIdCourse().equals(pending.submission().idCourse)) {
+                    outcomes.get(pending.submission()).reject(entry, "enrollment is not in course " + pending.submission().idCourse);
+                    continue;
+                }
+                Pending previous = latest.put(entry.idEnrollment(), pending);
+                if (previous != null) {
+                    outcomes.get(previous.submission()).coalesced++;
+                }
+            }
+            List<Object[]> updates = new ArrayList<>();
+            List<EnrollmentChangedEvent> events = new ArrayList<>();
+            for (Pending pending : latest.values()) {
+                GradeEntry entry = pending.entry();
+                Enrollment enrollment = current.get(entry.idEnrollment());
+                outcomes.get(pending.submission()).applied++;
+                if (Objects.equals(enrollment.getGrade(), entry.grade())) {
+                    continue;
+                }
+                updates.add(new Object[]{entry.grade(), entry.idEnrollment()});
+                EnrollmentRecord before = EnrollmentChangedEvent.snapshot(enrollment);
+                EnrollmentRecord after = new EnrollmentRecord(before.idEnrollment(), before.enrollmentDate(), entry.grade(),
+                        before.status(), before.studentId(), before.courseId(), false);
+                events.add(new EnrollmentChangedEvent(TenantContext.getTenantId(), before, after));
+            }
+            // Inscriptions déjà filtrées par tenant et non supprimées au chargement, dans la même transaction
+            jdbcTemplate.batchUpdate("update enrollment set grade = ? where id_enrollment = ?", updates, batchSize,
+                    (ps, row) -> {
+                        ps.setDouble(1, (Double) row[0]);
+                        ps.setLong(2, (Long) row[1]);
+                    });
+            events.forEach(eventPublisher::publishEvent);
+            log.debug("Applied {} grade changes from {} submissions", updates.size(), batch.size());
+        });
+        outcomes.forEach((submission, outcome) -> submission.complete(GradeSubmissionStatus.State.APPLIED, outcome));
+    }
+
+    private String validate(GradeEntry entry) {
+        if (entry.idEnrollment() == null) {
+            return "missing idEnrollment";
+        }
+        if (entry.grade() == null || entry.grade().isNaN() || entry.grade() < 0 || entry.grade() > maxGrade) {
+            return "grade must be between 0 and " + maxGrade;
+        }
+        return null;
+    }
+
+    private Map<Long, Enrollment> load(List<Long> ids) {
+        Map<Long, Enrollment> enrollments = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            enrollmentRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK)))
+                    .forEach(e -> enrollments.put(e.getIdEnrollment(), e));
+        }
+        return enrollments;
+    }
+
+    private void evictCompleted() {
+        LocalDateTime limit = LocalDateTime.now().minus(statusRetention);
+        submissions.values().removeIf(s -> s.expired(limit));
+    }
+
+    private static final class Submission {
+        private final String id;
+        private final String tenantId;
+        private final String actor;
+        private final Long idCourse;
+        private final List<GradeEntry> entries;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        // Écrits et lus sous le verrou de la feuille, comptés après la validation de la transaction
+        private int applied;
+        private int coalesced;
+        private List<GradeSubmissionStatus.RejectedGrade> rejected = List.of();
+        private GradeSubmissionStatus.State state = GradeSubmissionStatus.State.QUEUED;
+        private LocalDateTime completedAt;
+
+        Submission(String id, String tenantId, String actor, Long idCourse, List<GradeEntry> entries) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.actor = actor;
+            this.idCourse = idCourse;
+            this.entries = entries;
+        }
+
+        private synchronized void complete(GradeSubmissionStatus.State finalState, Outcome outcome) {
+            if (outcome != null) {
+                applied = outcome.applied;
+                coalesced = outcome.coalesced;
+                rejected = List.copyOf(outcome.rejected);
+            }
+            state = finalState;
+            completedAt = LocalDateTime.now();
+        }
+
+        private synchronized boolean expired(LocalDateTime limit) {
+            return completedAt != null && completedAt.isBefore(limit);
+        }
+
+        synchronized GradeSubmissionStatus toStatus() {
+            return new GradeSubmissionStatus(id, idCourse, state, entries.size(), applied, coalesced, rejected,
+                    submittedAt, completedAt);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package tn.esprit.studentmanagement.grading;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * File des feuilles de notes pleine : 429 avec Retry-After, le client renvoie la feuille plus tard.
+ */
+public class GradeQueueFullException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public GradeQueueFullException(int capacity, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "grade queue is full (" + capacity + " submissions)");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
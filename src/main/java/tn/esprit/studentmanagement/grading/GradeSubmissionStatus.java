@@ -0,0 +1,22 @@
+package tn.esprit.studentmanagement.grading;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Suivi d'une feuille de notes : lignes appliquées, remplacées par une note plus récente de la même inscription
+ * (coalescées) ou refusées avec leur motif.
+ */
+public record GradeSubmissionStatus(String id, Long idCourse, State state, int entries,
+                                    int applied, int coalesced, List<RejectedGrade> rejected,
+                                    LocalDateTime submittedAt, LocalDateTime completedAt) {
+
+    public enum State {
+        QUEUED,
+        APPLIED,
+        FAILED
+    }
+
+    public record RejectedGrade(Long idEnrollment, Double grade, String reason) {
+    }
+}
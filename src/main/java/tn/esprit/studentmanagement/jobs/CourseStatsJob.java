@@ -0,0 +1,54 @@
+package tn.esprit.studentmanagement.jobs;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tn.esprit.studentmanagement.entities.CourseStats;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.CourseStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Remplissage (inscriptions actives) et résultats par cours.
+ */
+@Component
+@Order(3)
+public class CourseStatsJob implements PartitionedJob {
+
+    private final CourseRepository courseRepository;
+    private final CourseStatsRepository courseStatsRepository;
+    private final int partitionSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CourseStatsJob(CourseRepository courseRepository,
+                          CourseStatsRepository courseStatsRepository,
+                          @Value("${app.jobs.course-stats.partition-size:200}") int partitionSize) {
+        this.courseRepository = courseRepository;
+        this.courseStatsRepository = courseStatsRepository;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    public String name() {
+        return "course-stats";
+    }
+
+    @Override
+    public List<JobPartition> partitions(String tenantId) {
+        return JobPartition.ranges(tenantId, courseRepository.findIdRange().span(courseStatsRepository.findIdRange()), partitionSize);
+    }
+
+    @Override
+    public long process(JobPartition partition, LocalDateTime computedAt) {
+        List<CourseStats> stats = courseStatsRepository.computeBetween(partition.from(), partition.to(), computedAt);
+        courseStatsRepository.deleteBetween(partition.from(), partition.to());
+        stats.forEach(entityManager::persist);
+        return stats.size();
+    }
+}
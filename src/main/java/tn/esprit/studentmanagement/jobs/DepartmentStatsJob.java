@@ -0,0 +1,55 @@
+package tn.esprit.studentmanagement.jobs;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tn.esprit.studentmanagement.entities.DepartmentStats;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.DepartmentStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Indicateurs par département (effectifs, inscriptions, réussite, moyennes) ; s'appuie sur les GPA de la nuit.
+ */
+@Component
+@Order(2)
+public class DepartmentStatsJob implements PartitionedJob {
+
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentStatsRepository departmentStatsRepository;
+    private final int partitionSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DepartmentStatsJob(DepartmentRepository departmentRepository,
+                              DepartmentStatsRepository departmentStatsRepository,
+                              @Value("${app.jobs.department-stats.partition-size:20}") int partitionSize) {
+        this.departmentRepository = departmentRepository;
+        this.departmentStatsRepository = departmentStatsRepository;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    public String name() {
+        return "department-stats";
+    }
+
+    @Override
+    public List<JobPartition> partitions(String tenantId) {
+        return JobPartition.ranges(tenantId, departmentRepository.findIdRange().span(departmentStatsRepository.findIdRange()),
+                partitionSize);
+    }
+
+    @Override
+    public long process(JobPartition partition, LocalDateTime computedAt) {
+        List<DepartmentStats> stats = departmentStatsRepository.computeBetween(partition.from(), partition.to(), computedAt);
+        departmentStatsRepository.deleteBetween(partition.from(), partition.to());
+        stats.forEach(entityManager::persist);
+        return stats.size();
+    }
+}
@@ -0,0 +1,11 @@
+package tn.esprit.studentmanagement.jobs;
+
+/**
+ * Exécution refusée : le même traitement est déjà en cours (lancé à la main ou par le run de nuit).
+ */
+public class JobAlreadyRunningException extends IllegalStateException {
+
+    public JobAlreadyRunningException(String job) {
+        super("Job " + job + " is already running");
+    }
+}
@@ -0,0 +1,32 @@
+package tn.esprit.studentmanagement.jobs;
+
+import tn.esprit.studentmanagement.dto.IdRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plage d'identifiants [from, to] d'un tenant, traitée dans sa propre transaction.
+ */
+public record JobPartition(String tenantId, long from, long to) {
+
+    public String key() {
+        return tenantId + ":" + from + "-" + to;
+    }
+
+    /**
+     * Découpe la plage d'identifiants du tenant en partitions de {@code size} identifiants, alignées sur les multiples
+     * de {@code size} : une partition garde la même clé quand des lignes sont ajoutées ou supprimées, et une reprise
+     * retrouve ses points de contrôle.
+     */
+    public static List<JobPartition> ranges(String tenantId, IdRange range, int size) {
+        List<JobPartition> partitions = new ArrayList<>();
+        if (range == null || range.min() == null) {
+            return partitions;
+        }
+        for (long from = Math.floorDiv(range.min(), size) * (long) size; from <= range.max(); from += size) {
+            partitions.add(new JobPartition(tenantId, from, from + size - 1));
+        }
+        return partitions;
+    }
+}
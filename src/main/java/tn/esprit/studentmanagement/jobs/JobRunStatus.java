@@ -0,0 +1,18 @@
+package tn.esprit.studentmanagement.jobs;
+
+import java.time.LocalDateTime;
+
+/**
+ * État et métriques d'une exécution : partitions traitées, reprises depuis un checkpoint ou en échec, débit.
+ */
+public record JobRunStatus(String job, String runKey, State state, int parallelism,
+                           int partitions, int completedPartitions, int skippedPartitions, int failedPartitions,
+                           long items, LocalDateTime startedAt, LocalDateTime finishedAt,
+                           long elapsedMs, double itemsPerSecond) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,250 @@
+package tn.esprit.studentmanagement.jobs;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.entities.JobCheckpoint;
+import tn.esprit.studentmanagement.repositories.JobCheckpointRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exécute les traitements de nuit : chaque traitement est découpé en partitions (tenant + plage d'identifiants)
+ * traitées en parallèle sur un pool borné, chacune dans sa transaction avec son checkpoint.
+ * Le parallélisme par défaut est min(coeurs, taille du pool JDBC - 2) : au-delà, les partitions attendent une connexion.
+ */
+@Service
+@Slf4j
+public class JobRunner {
+
+    private final Map<String, PartitionedJob> jobs = new LinkedHashMap<>();
+    private final JobCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnly;
+    private final int parallelism;
+    private final int checkpointRetentionDays;
+    private final ThreadPoolExecutor workers;
+    // Exécutions déclenchées manuellement (une à la fois)
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> new Thread(r, "job-coordinator"));
+
+    private final Map<String, Progress> runs = new ConcurrentHashMap<>();
+    // Réservé avant la soumission ou l'exécution, libéré en fin d'exécution (ou si la soumission est refusée)
+    final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public JobRunner(List<PartitionedJob> jobs,
+                     JobCheckpointRepository checkpointRepository,
+                     JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${app.jobs.parallelism:0}") int parallelism,
+                     @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                     @Value("${app.jobs.checkpoint-retention-days:7}") int checkpointRetentionDays) {
+        jobs.forEach(job -> this.jobs.put(job.name(), job));
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.parallelism = parallelism > 0 ? parallelism
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), connectionPoolSize - 2));
+        this.checkpointRetentionDays = checkpointRetentionDays;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> new Thread(r, "job-worker-" + threadNumber.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public Collection<String> getJobNames() {
+        return jobs.keySet();
+    }
+
+    public List<JobRunStatus> getStatuses() {
+        return jobs.keySet().stream().filter(runs::containsKey).map(name -> runs.get(name).toStatus()).toList();
+    }
+
+    public JobRunStatus getStatus(String name) {
+        Progress progress = runs.get(name);
+        return progress != null ? progress.toStatus() : null;
+    }
+
+    /** Enchaîne tous les traitements dans l'ordre, pour le run du jour (relançable : les partitions faites sont sautées). */
+    @Scheduled(cron = "${app.jobs.cron:0 0 2 * * *}")
+    public void runNightly() {
+        String runKey = LocalDate.now().toString();
+        int purged = transactionTemplate.execute(status ->
+                checkpointRepository.deleteCompletedBefore(LocalDateTime.now().minusDays(checkpointRetentionDays)));
+        log.debug("Purged {} old job checkpoints", purged);
+        // Un traitement en erreur ou déjà lancé à la main ne bloque pas les suivants
+        for (String name : jobs.keySet()) {
+            try {
+                run(name, runKey);
+            } catch (JobAlreadyRunningException e) {
+                log.warn("Nightly run {}: job {} skipped, already running", runKey, name);
+            } catch (RuntimeException e) {
+                log.error("Nightly run {}: job {} failed", runKey, name, e);
+            }
+        }
+    }
+
+    /** Lance un traitement en arrière-plan ; false s'il est déjà en cours. */
+    public boolean submit(String name, String runKey) {
+        PartitionedJob job = requireJob(name);
+        if (!running.add(name)) {
+            return false;
+        }
+        try {
+            coordinator.submit(() -> execute(job, runKey));
+        } catch (RejectedExecutionException e) {
+            running.remove(name);
+            throw e;
+        }
+        return true;
+    }
+
+    public JobRunStatus run(String name, String runKey) {
+        PartitionedJob job = requireJob(name);
+        if (!running.add(name)) {
+            throw new JobAlreadyRunningException(name);
+        }
+        return execute(job, runKey);
+    }
+
+    // Le traitement est déjà réservé dans running
+    private JobRunStatus execute(PartitionedJob job, String runKey) {
+        String name = job.name();
+        try {
+            List<JobPartition> partitions = new ArrayList<>();
+            for (String tenantId : tenants()) {
+                partitions.addAll(TenantContext.callAs(tenantId, () -> readOnly.execute(status -> job.partitions(tenantId))));
+            }
+            Progress progress = new Progress(name, runKey, parallelism, partitions.size());
+            runs.put(name, progress);
+            LocalDateTime computedAt = LocalDateTime.now();
+            List<Future<?>> futures = new ArrayList<>(partitions.size());
+            for (JobPartition partition : partitions) {
+                futures.add(workers.submit(() -> process(job, runKey, partition, computedAt, progress)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Unexpected error in job {}", name, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            JobRunStatus status = progress.finish();
+            log.info("Job {} run {}: {} partitions ({} skipped, {} failed), {} items in {} ms ({} items/s, parallelism {})",
+                    name, runKey, status.partitions(), status.skippedPartitions(), status.failedPartitions(), status.items(),
+                    status.elapsedMs(), status.itemsPerSecond(), parallelism);
+            return status;
+        } finally {
+            running.remove(name);
+        }
+    }
+
+    private void process(PartitionedJob job, String runKey, JobPartition partition, LocalDateTime computedAt, Progress progress) {
+        try {
+            Long items = TenantContext.callAs(partition.tenantId(), () -> transactionTemplate.execute(status -> {
+                if (checkpointRepository.existsByJobNameAndRunKeyAndPartitionKey(job.name(), runKey, partition.key())) {
+                    return null;
+                }
+                long written = job.process(partition, computedAt);
+                checkpointRepository.save(new JobCheckpoint(null, job.name(), runKey, partition.key(), written, LocalDateTime.now()));
+                return written;
+            }));
+            if (items == null) {
+                progress.skipped.incrementAndGet();
+            } else {
+                progress.completed.incrementAndGet();
+                progress.items.addAndGet(items);
+            }
+        } catch (RuntimeException e) {
+            progress.failed.incrementAndGet();
+            log.warn("Job {} partition {} failed", job.name(), partition.key(), e);
+        }
+    }
+
+    // Tenants ayant des données, lus sans filtre (SQL natif)
+    private List<String> tenants() {
+        return jdbcTemplate.queryForList(
+                "select tenant_id from department union select tenant_id from student union select tenant_id from course",
+                String.class);
+    }
+
+    private PartitionedJob requireJob(String name) {
+        PartitionedJob job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job " + name);
+        }
+        return job;
+    }
+
+    private static final class Progress {
+        private final String job;
+        private final String runKey;
+        private final int parallelism;
+        private final int partitions;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong items = new AtomicLong();
+        private volatile LocalDateTime finishedAt;
+        private volatile long elapsedNanos = -1;
+
+        private Progress(String job, String runKey, int parallelism, int partitions) {
+            this.job = job;
+            this.runKey = runKey;
+            this.parallelism = parallelism;
+            this.partitions = partitions;
+        }
+
+        private JobRunStatus finish() {
+            elapsedNanos = System.nanoTime() - startNanos;
+            finishedAt = LocalDateTime.now();
+            return toStatus();
+        }
+
+        private JobRunStatus toStatus() {
+            long elapsed = elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startNanos;
+            JobRunStatus.State state = finishedAt == null ? JobRunStatus.State.RUNNING
+                    : failed.get() > 0 ? JobRunStatus.State.FAILED : JobRunStatus.State.COMPLETED;
+            double seconds = elapsed / 1e9;
+            double throughput = seconds > 0 ? Math.round(items.get() / seconds * 10) / 10.0 : 0;
+            return new JobRunStatus(job, runKey, state, parallelism, partitions, completed.get(), skipped.get(), failed.get(),
+                    items.get(), startedAt, finishedAt, elapsed / 1_000_000, throughput);
+        }
+    }
+}
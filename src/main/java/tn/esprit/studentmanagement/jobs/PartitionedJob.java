@@ -0,0 +1,24 @@
+package tn.esprit.studentmanagement.jobs;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Traitement de nuit découpé en partitions indépendantes, exécutées en parallèle par {@link JobRunner}.
+ * L'ordre d'exécution des traitements suit {@link org.springframework.core.annotation.Order}.
+ */
+public interface PartitionedJob {
+
+    String name();
+
+    /** Partitions du tenant courant (appelé dans une transaction en lecture seule). */
+    List<JobPartition> partitions(String tenantId);
+
+    /**
+     * Recalcule une partition dans la transaction courante, ouverte pour le tenant de la partition.
+     * Doit être rejouable : les résultats précédents de la plage sont remplacés.
+     *
+     * @return nombre de lignes de résultat écrites
+     */
+    long process(JobPartition partition, LocalDateTime computedAt);
+}
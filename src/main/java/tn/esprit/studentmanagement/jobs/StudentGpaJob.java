@@ -0,0 +1,82 @@
+package tn.esprit.studentmanagement.jobs;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import tn.esprit.studentmanagement.dto.GradeTotals;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.StudentGpa;
+import tn.esprit.studentmanagement.repositories.EnrollmentArchiveRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentGpaRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GPA des étudiants par plage d'identifiants : inscriptions courantes et archivées, pondérées par les crédits du cours.
+ */
+@Component
+@Order(1)
+public class StudentGpaJob implements PartitionedJob {
+
+    static final Set<Status> GRADED_STATUSES = EnumSet.of(Status.COMPLETED, Status.FAILED);
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentArchiveRepository enrollmentArchiveRepository;
+    private final StudentGpaRepository studentGpaRepository;
+    private final int partitionSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StudentGpaJob(StudentRepository studentRepository,
+                         EnrollmentRepository enrollmentRepository,
+                         EnrollmentArchiveRepository enrollmentArchiveRepository,
+                         StudentGpaRepository studentGpaRepository,
+                         @Value("${app.jobs.student-gpa.partition-size:2000}") int partitionSize) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentArchiveRepository = enrollmentArchiveRepository;
+        this.studentGpaRepository = studentGpaRepository;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    public String name() {
+        return "student-gpa";
+    }
+
+    @Override
+    public List<JobPartition> partitions(String tenantId) {
+        return JobPartition.ranges(tenantId, studentRepository.findIdRange().span(studentGpaRepository.findIdRange()), partitionSize);
+    }
+
+    @Override
+    public long process(JobPartition partition, LocalDateTime computedAt) {
+        Map<Long, GradeTotals> totals = new HashMap<>();
+        enrollmentRepository.sumGradesByStudentBetween(partition.from(), partition.to(), GRADED_STATUSES)
+                .forEach(t -> totals.merge(t.id(), t, GradeTotals::plus));
+        enrollmentArchiveRepository.sumGradesByStudentBetween(partition.from(), partition.to(), GRADED_STATUSES)
+                .forEach(t -> totals.merge(t.id(), t, GradeTotals::plus));
+
+        studentGpaRepository.deleteBetween(partition.from(), partition.to());
+        long written = 0;
+        for (GradeTotals total : totals.values()) {
+            if (total.credits() > 0) {
+                double gpa = Math.round(total.weightedGrades() / total.credits() * 100) / 100.0;
+                entityManager.persist(new StudentGpa(total.id(), gpa, total.credits(), total.count(), computedAt));
+                written++;
+            }
+        }
+        return written;
+    }
+}
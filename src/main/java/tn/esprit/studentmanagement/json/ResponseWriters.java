@@ -0,0 +1,235 @@
+package tn.esprit.studentmanagement.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import tn.esprit.studentmanagement.dto.CourseResponse;
+import tn.esprit.studentmanagement.dto.DepartmentResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentResponse;
+import tn.esprit.studentmanagement.dto.StudentResponse;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+
+/**
+ * Écriture JSON des réponses de liste, champ par champ, sans introspection ni recherche de sérialiseur :
+ * noms de champs et valeurs d'énumération encodés une fois ({@link SerializedString}), objets imbriqués écrits
+ * directement par le sérialiseur parent, dates ISO écrites depuis un tampon de caractères par thread.
+ * La sortie est identique à celle de Jackson sur les entités avec la configuration de Spring Boot
+ * (valeurs nulles incluses, dates en texte) ; elle ne suit pas les réglages propres à un autre ObjectMapper.
+ */
+public final class ResponseWriters {
+
+    private static final SerializedString ID_DEPARTMENT = new SerializedString("idDepartment");
+    private static final SerializedString ID_COURSE = new SerializedString("idCourse");
+    private static final SerializedString ID_STUDENT = new SerializedString("idStudent");
+    private static final SerializedString ID_ENROLLMENT = new SerializedString("idEnrollment");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString HEAD = new SerializedString("head");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString CREDIT = new SerializedString("credit");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString DATE_OF_BIRTH = new SerializedString("dateOfBirth");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString DEPARTMENT = new SerializedString("department");
+    private static final SerializedString ENROLLMENT_DATE = new SerializedString("enrollmentDate");
+    private static final SerializedString GRADE = new SerializedString("grade");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString STUDENT = new SerializedString("student");
+    private static final SerializedString COURSE = new SerializedString("course");
+
+    // Tampon des dates, recopié par le générateur à chaque écriture
+    private static final ThreadLocal<char[]> DATE_CHARS = ThreadLocal.withInitial(() -> new char[10]);
+
+    private static final EnumMap<Status, SerializedString> STATUSES = new EnumMap<>(Status.class);
+
+    static {
+        for (Status status : Status.values()) {
+            STATUSES.put(status, new SerializedString(status.name()));
+        }
+    }
+
+    private ResponseWriters() {
+    }
+
+    public static final class DepartmentWriter extends StdSerializer<DepartmentResponse> {
+
+        public DepartmentWriter() {
+            super(DepartmentResponse.class);
+        }
+
+        @Override
+        public void serialize(DepartmentResponse department, JsonGenerator json, SerializerProvider provider) throws IOException {
+            write(department, json);
+        }
+    }
+
+    public static final class CourseWriter extends StdSerializer<CourseResponse> {
+
+        public CourseWriter() {
+            super(CourseResponse.class);
+        }
+
+        @Override
+        public void serialize(CourseResponse course, JsonGenerator json, SerializerProvider provider) throws IOException {
+            write(course, json);
+        }
+    }
+
+    public static final class StudentWriter extends StdSerializer<StudentResponse> {
+
+        public StudentWriter() {
+            super(StudentResponse.class);
+        }
+
+        @Override
+        public void serialize(StudentResponse student, JsonGenerator json, SerializerProvider provider) throws IOException {
+            write(student, json);
+        }
+    }
+
+    public static final class EnrollmentWriter extends StdSerializer<EnrollmentResponse> {
+
+        public EnrollmentWriter() {
+            super(EnrollmentResponse.class);
+        }
+
+        @Override
+        public void serialize(EnrollmentResponse enrollment, JsonGenerator json, SerializerProvider provider) throws IOException {
+            write(enrollment, json);
+        }
+    }
+
+    static void write(DepartmentResponse department, JsonGenerator json) throws IOException {
+        if (department == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject(department);
+        json.writeFieldName(ID_DEPARTMENT);
+        writeLong(department.idDepartment(), json);
+        json.writeFieldName(NAME);
+        json.writeString(department.name());
+        json.writeFieldName(LOCATION);
+        json.writeString(department.location());
+        json.writeFieldName(PHONE);
+        json.writeString(department.phone());
+        json.writeFieldName(HEAD);
+        json.writeString(department.head());
+        json.writeEndObject();
+    }
+
+    static void write(CourseResponse course, JsonGenerator json) throws IOException {
+        if (course == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject(course);
+        json.writeFieldName(ID_COURSE);
+        writeLong(course.idCourse(), json);
+        json.writeFieldName(NAME);
+        json.writeString(course.name());
+        json.writeFieldName(CODE);
+        json.writeString(course.code());
+        json.writeFieldName(CREDIT);
+        json.writeNumber(course.credit());
+        json.writeFieldName(DESCRIPTION);
+        json.writeString(course.description());
+        json.writeEndObject();
+    }
+
+    static void write(StudentResponse student, JsonGenerator json) throws IOException {
+        if (student == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject(student);
+        json.writeFieldName(ID_STUDENT);
+        writeLong(student.idStudent(), json);
+        json.writeFieldName(FIRST_NAME);
+        json.writeString(student.firstName());
+        json.writeFieldName(LAST_NAME);
+        json.writeString(student.lastName());
+        json.writeFieldName(EMAIL);
+        json.writeString(student.email());
+        json.writeFieldName(PHONE);
+        json.writeString(student.phone());
+        json.writeFieldName(DATE_OF_BIRTH);
+        writeDate(student.dateOfBirth(), json);
+        json.writeFieldName(ADDRESS);
+        json.writeString(student.address());
+        json.writeFieldName(DEPARTMENT);
+        write(student.department(), json);
+        json.writeEndObject();
+    }
+
+    static void write(EnrollmentResponse enrollment, JsonGenerator json) throws IOException {
+        if (enrollment == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject(enrollment);
+        json.writeFieldName(ID_ENROLLMENT);
+        writeLong(enrollment.idEnrollment(), json);
+        json.writeFieldName(ENROLLMENT_DATE);
+        writeDate(enrollment.enrollmentDate(), json);
+        json.writeFieldName(GRADE);
+        if (enrollment.grade() != null) {
+            json.writeNumber(enrollment.grade());
+        } else {
+            json.writeNull();
+        }
+        json.writeFieldName(STATUS);
+        if (enrollment.status() != null) {
+            json.writeString(STATUSES.get(enrollment.status()));
+        } else {
+            json.writeNull();
+        }
+        json.writeFieldName(STUDENT);
+        write(enrollment.student(), json);
+        json.writeFieldName(COURSE);
+        write(enrollment.course(), json);
+        json.writeEndObject();
+    }
+
+    private static void writeLong(Long value, JsonGenerator json) throws IOException {
+        if (value != null) {
+            json.writeNumber(value);
+        } else {
+            json.writeNull();
+        }
+    }
+
+    // AAAA-MM-JJ comme LocalDate.toString(), sans chaîne intermédiaire (années hors 0..9999 : toString)
+    static void writeDate(LocalDate date, JsonGenerator json) throws IOException {
+        if (date == null) {
+            json.writeNull();
+            return;
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            json.writeString(date.toString());
+            return;
+        }
+        char[] chars = DATE_CHARS.get();
+        chars[0] = (char) ('0' + year / 1000);
+        chars[1] = (char) ('0' + year / 100 % 10);
+        chars[2] = (char) ('0' + year / 10 % 10);
+        chars[3] = (char) ('0' + year % 10);
+        chars[4] = '-';
+        chars[5] = (char) ('0' + date.getMonthValue() / 10);
+        chars[6] = (char) ('0' + date.getMonthValue() % 10);
+        chars[7] = '-';
+        chars[8] = (char) ('0' + date.getDayOfMonth() / 10);
+        chars[9] = (char) ('0' + date.getDayOfMonth() % 10);
+        json.writeString(chars, 0, 10);
+    }
+}
@@ -0,0 +1,65 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite le nombre de requêtes simultanées sur un endpoint (sans verrou).
+ * Si une latence cible est définie, la limite est adaptée en AIMD :
+ * -10 % quand une requête dépasse la cible, +1 après "limite" requêtes rapides.
+ */
+final class ConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicInteger fastCompletions = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    ConcurrencyLimiter(int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.minLimit = Math.min(minLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = new AtomicInteger(maxLimit);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (targetLatencyNanos <= 0) {
+            return;
+        }
+        int current = limit.get();
+        if (latencyNanos > targetLatencyNanos) {
+            fastCompletions.set(0);
+            int decreased = Math.max(minLimit, (int) (current * 0.9));
+            if (decreased < current) {
+                limit.compareAndSet(current, decreased);
+            }
+        } else if (fastCompletions.incrementAndGet() >= current) {
+            fastCompletions.set(0);
+            if (current < maxLimit) {
+                limit.compareAndSet(current, current + 1);
+            }
+        }
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
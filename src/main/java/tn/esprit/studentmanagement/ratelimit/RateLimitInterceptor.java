@@ -0,0 +1,122 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applique, avant l'appel du contrôleur, le seau à jetons du client (429 si vide)
+ * puis la limite de concurrence de l'endpoint (503 si atteinte). Les refus sont
+ * immédiats, avec un en-tête Retry-After.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String DEFAULT_POLICY = "default";
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".permit";
+
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<HandlerMethod, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    private record Endpoint(String policyName, RateLimitProperties.Policy policy, ConcurrencyLimiter limiter) {
+    }
+
+    private record Permit(ConcurrencyLimiter limiter, long startNanos) {
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(handlerMethod, this::resolveEndpoint);
+        long now = System.nanoTime();
+
+        String bucketKey = endpoint.policyName() + '|' + clientId(request);
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(bucketKey, key ->
+                    new TokenBucket(endpoint.policy().getCapacity(), endpoint.policy().getRefillPerSecond()));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return false;
+        }
+
+        if (!endpoint.limiter().tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(endpoint.limiter(), now));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Permit p) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            p.limiter().release(System.nanoTime() - p.startNanos());
+        }
+    }
+
+    void evictIdleClients() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleClientSeconds());
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    int clientCount() {
+        return buckets.size();
+    }
+
+    private Endpoint resolveEndpoint(HandlerMethod handlerMethod) {
+        String endpointName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        String policyName = properties.getEndpoints().get(endpointName);
+        if (policyName == null) {
+            RateLimited annotation = handlerMethod.getMethodAnnotation(RateLimited.class);
+            if (annotation == null) {
+                annotation = handlerMethod.getBeanType().getAnnotation(RateLimited.class);
+            }
+            policyName = annotation != null ? annotation.value() : DEFAULT_POLICY;
+        }
+        RateLimitProperties.Policy policy = properties.getPolicies().get(policyName);
+        if (policy == null) {
+            policyName = DEFAULT_POLICY;
+            policy = properties.getPolicies().getOrDefault(DEFAULT_POLICY, new RateLimitProperties.Policy());
+        }
+        // Une limite de concurrence par endpoint, un seau par (politique, client)
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(policy.getMinConcurrent(), policy.getMaxConcurrent(),
+                TimeUnit.MILLISECONDS.toNanos(policy.getTargetLatencyMs()));
+        return new Endpoint(policyName, policy, limiter);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,39 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Prendre le premier client de X-Forwarded-For (uniquement derrière un proxy de confiance)
+    private boolean trustForwardedFor = false;
+
+    // Durée après laquelle le seau d'un client inactif (seau de nouveau plein) est supprimé
+    private long idleClientSeconds = 600;
+
+    private Map<String, Policy> policies = new HashMap<>();
+
+    // Surcharge par endpoint : "StudentController.getAllStudents" -> nom de politique
+    private Map<String, String> endpoints = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        // Seau à jetons par client
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+        // Délestage : requêtes simultanées (tous clients confondus), ajusté selon la latence
+        private int maxConcurrent = 64;
+        private int minConcurrent = 4;
+        private long targetLatencyMs = 0; // 0 = limite fixe
+    }
+}
@@ -0,0 +1,16 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Politique de limitation (app.rate-limit.policies.&lt;nom&gt;) appliquée à un endpoint.
+ * Sans annotation, la politique "default" s'applique.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
@@ -0,0 +1,40 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, implémenté avec l'algorithme GCRA : tout l'état tient dans
+ * un seul long (instant d'arrivée théorique, en nanosecondes) mis à jour par CAS.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(int capacity, double refillPerSecond) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1L);
+    }
+
+    /**
+     * @return 0 si un jeton a été pris, sinon le délai (ns) avant le prochain jeton disponible
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat == Long.MIN_VALUE || tat < nowNanos ? nowNanos : tat;
+            long wait = base - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return theoreticalArrival.get() < nowNanos - idleNanos;
+    }
+}
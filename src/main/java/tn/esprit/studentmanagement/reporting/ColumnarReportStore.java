@@ -0,0 +1,258 @@
+package tn.esprit.studentmanagement.reporting;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copie en colonnes ({@link ReportColumns}) des départements, cours, étudiants et inscriptions de tous les tenants,
+ * pour servir les rapports sans requête sur la base transactionnelle. Chargée au démarrage par quatre parcours
+ * en flux (JdbcTemplate, aucune entité), puis tenue à jour sans relire les tables :
+ * <ul>
+ *   <li>les EnrollmentChangedEvent sont appliqués toutes les app.reporting.columnar.check-interval-ms à une copie
+ *       des colonnes d'inscriptions du tenant concerné ;</li>
+ *   <li>un tenant dont les colonnes ne concordent plus (modification reçue pendant un parcours, ligne à retirer
+ *       introuvable) est relu seul, au plus une fois par app.reporting.columnar.min-rescan-interval-ms ;</li>
+ *   <li>tout est relu après app.reporting.columnar.max-age-ms pour le reste (étudiants, départements, cours,
+ *       traitements en masse).</li>
+ * </ul>
+ * Optionnelle : app.reporting.columnar.enabled=true, sinon les rapports sont calculés par la base.
+ * Les colonnes sont rangées par tenant ; les rapports du tenant racine restent calculés par la base.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reporting.columnar.enabled", havingValue = "true")
+@Slf4j
+public class ColumnarReportStore {
+
+    private static final String ALL_TENANTS = "";
+
+    private final JdbcTemplate scan;
+    private final long maxAgeNanos;
+    private final long minRescanNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Sous ce moniteur : une modification reçue pendant le parcours de son tenant a pu être lue ou non,
+    // elle n'est pas appliquée et le tenant est relu plus tard
+    private final Object changesMonitor = new Object();
+    private final List<EnrollmentChangedEvent> pending = new ArrayList<>();
+    private final Set<String> rescans = new HashSet<>();
+    private String scanning;
+
+    private final Map<String, Long> tenantScannedAt = new HashMap<>();
+    private volatile Map<String, ReportColumns> columns;
+    private volatile long refreshedAt;
+
+    public ColumnarReportStore(DataSource dataSource,
+                               @Value("${app.reporting.columnar.fetch-size:10000}") int fetchSize,
+                               @Value("${app.reporting.columnar.max-age-ms:900000}") long maxAgeMs,
+                               @Value("${app.reporting.columnar.min-rescan-interval-ms:300000}") long minRescanMs) {
+        this.scan = new JdbcTemplate(dataSource);
+        this.scan.setFetchSize(fetchSize);
+        this.maxAgeNanos = maxAgeMs * 1_000_000;
+        this.minRescanNanos = minRescanMs * 1_000_000;
+    }
+
+    public ReportColumns columns(String tenantId) {
+        Map<String, ReportColumns> current = columns;
+        if (current == null) {
+            refresh();
+            current = columns;
+        }
+        return current.getOrDefault(tenantId, ReportColumns.EMPTY);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAtStartup() {
+        if (columns == null) {
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        synchronized (changesMonitor) {
+            if (ALL_TENANTS.equals(scanning) || event.tenantId().equals(scanning)) {
+                rescans.add(event.tenantId());
+            } else {
+                pending.add(event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reporting.columnar.check-interval-ms:30000}",
+            initialDelayString = "${app.reporting.columnar.check-interval-ms:30000}")
+    public void refreshIfStale() {
+        if (columns == null || System.nanoTime() - refreshedAt > maxAgeNanos) {
+            refresh();
+        } else {
+            applyChanges();
+        }
+    }
+
+    /**
+     * Relit les quatre tables pour tous les tenants.
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<String, ReportColumns> built = scan(ALL_TENANTS);
+            columns = built;
+            refreshedAt = System.nanoTime();
+            built.keySet().forEach(tenant -> tenantScannedAt.put(tenant, refreshedAt));
+            log.info("Reporting columns loaded: {} tenants, {} students, {} enrollments, {} KB in {} ms",
+                    built.size(),
+                    built.values().stream().mapToLong(ReportColumns::studentCount).sum(),
+                    built.values().stream().mapToLong(ReportColumns::enrollmentCount).sum(),
+                    built.values().stream().mapToLong(ReportColumns::footprintBytes).sum() / 1024,
+                    (refreshedAt - start) / 1_000_000);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Applique les modifications d'inscriptions reçues aux colonnes de leur tenant, puis relit les tenants
+     * à resynchroniser dont le dernier parcours date d'au moins app.reporting.columnar.min-rescan-interval-ms.
+     */
+    public void applyChanges() {
+        refreshLock.lock();
+        try {
+            if (columns == null) {
+                refresh();
+                return;
+            }
+            List<EnrollmentChangedEvent> changes;
+            synchronized (changesMonitor) {
+                changes = new ArrayList<>(pending);
+                pending.clear();
+            }
+            Map<String, List<ReportColumns.EnrollmentRow>> removed = new LinkedHashMap<>();
+            Map<String, List<ReportColumns.EnrollmentRow>> added = new LinkedHashMap<>();
+            for (EnrollmentChangedEvent change : changes) {
+                removed.computeIfAbsent(change.tenantId(), t -> new ArrayList<>());
+                added.computeIfAbsent(change.tenantId(), t -> new ArrayList<>());
+                if (change.before() != null) {
+                    removed.get(change.tenantId()).add(row(change.before()));
+                }
+                if (change.after() != null) {
+                    added.get(change.tenantId()).add(row(change.after()));
+                }
+            }
+            if (!removed.isEmpty()) {
+                Map<String, ReportColumns> updated = new HashMap<>(columns);
+                removed.forEach((tenant, rows) -> {
+                    ReportColumns next = updated.getOrDefault(tenant, ReportColumns.EMPTY)
+                            .withEnrollmentChanges(rows, added.get(tenant));
+                    if (next != null) {
+                        updated.put(tenant, next);
+                    } else {
+                        synchronized (changesMonitor) {
+                            rescans.add(tenant);
+                        }
+                    }
+                });
+                columns = updated;
+            }
+            List<String> due = new ArrayList<>();
+            long now = System.nanoTime();
+            synchronized (changesMonitor) {
+                for (String tenant : rescans) {
+                    if (now - tenantScannedAt.getOrDefault(tenant, refreshedAt) >= minRescanNanos) {
+                        due.add(tenant);
+                    }
+                }
+                due.forEach(rescans::remove);
+            }
+            due.forEach(this::rescan);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rescan(String tenantId) {
+        long start = System.nanoTime();
+        Map<String, ReportColumns> updated = new HashMap<>(columns);
+        updated.put(tenantId, scan(tenantId).getOrDefault(tenantId, ReportColumns.EMPTY));
+        columns = updated;
+        tenantScannedAt.put(tenantId, System.nanoTime());
+        log.info("Reporting columns of tenant {} reloaded in {} ms", tenantId, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ReportColumns.EnrollmentRow row(EnrollmentRecord enrollment) {
+        return new ReportColumns.EnrollmentRow(enrollment.courseId(), enrollment.status(), enrollment.grade());
+    }
+
+    // Parcours d'un tenant, ou de tous (ALL_TENANTS) ; les modifications reçues avant le parcours y sont lues
+    private Map<String, ReportColumns> scan(String tenantId) {
+        synchronized (changesMonitor) {
+            scanning = tenantId;
+            pending.removeIf(change -> ALL_TENANTS.equals(tenantId) || change.tenantId().equals(tenantId));
+            if (ALL_TENANTS.equals(tenantId)) {
+                rescans.clear();
+            } else {
+                rescans.remove(tenantId);
+            }
+        }
+        try {
+            boolean all = ALL_TENANTS.equals(tenantId);
+            String andTenant = all ? "" : " and tenant_id = ?";
+            Object[] args = all ? new Object[0] : new Object[]{tenantId};
+            Map<String, ReportColumns.Builder> builders = new HashMap<>();
+            scan.query("select tenant_id, id_department, name from department where deleted_at is null" + andTenant +
+                            " order by id_department",
+                    rs -> {
+                        builder(builders, rs.getString(1)).department(rs.getLong(2), rs.getString(3));
+                    }, args);
+            scan.query("select tenant_id, id_course, name from course" + (all ? "" : " where tenant_id = ?") +
+                            " order by id_course",
+                    rs -> {
+                        builder(builders, rs.getString(1)).course(rs.getLong(2), rs.getString(3));
+                    }, args);
+            scan.query("select tenant_id, id_student, department_id_department, date_of_birth from student " +
+                            "where deleted_at is null" + andTenant + " order by id_student",
+                    rs -> {
+                        Date birth = rs.getDate(4);
+                        builder(builders, rs.getString(1)).student(rs.getLong(2), rs.getObject(3, Long.class),
+                                birth != null ? birth.toLocalDate() : null);
+                    }, args);
+            scan.query("select tenant_id, course_id_course, status, grade from enrollment where deleted_at is null" + andTenant,
+                    rs -> {
+                        String status = rs.getString(3);
+                        builder(builders, rs.getString(1)).enrollment(rs.getObject(2, Long.class),
+                                status != null ? Status.valueOf(status) : null, rs.getObject(4, Double.class));
+                    }, args);
+            Map<String, ReportColumns> built = new HashMap<>();
+            builders.forEach((tenant, builder) -> built.put(tenant, builder.build()));
+            return built;
+        } finally {
+            synchronized (changesMonitor) {
+                scanning = null;
+            }
+        }
+    }
+
+    private static ReportColumns.Builder builder(Map<String, ReportColumns.Builder> builders, String tenantId) {
+        return builders.computeIfAbsent(tenantId, t -> new ReportColumns.Builder());
+    }
+}
@@ -0,0 +1,294 @@
+package tn.esprit.studentmanagement.reporting;
+
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Données de rapport d'un tenant en colonnes : un tableau primitif par colonne, les chaînes et énumérations
+ * encodées par dictionnaire (code du département ou du cours dans son dictionnaire, ordinal du statut sur un octet,
+ * {@link #NONE} si absent). Chaque agrégat est une boucle sur un ou deux tableaux contigus, sans objet par ligne ;
+ * les comptages sont sans branchement et se prêtent au déroulage et à la vectorisation par le JIT.
+ * Immuable : une actualisation remplace l'instance entière, une modification d'inscriptions en produit une copie
+ * ({@link #withEnrollmentChanges}).
+ */
+public final class ReportColumns {
+
+    static final int NONE = -1;
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final ReportColumns EMPTY = new Builder().build();
+    private static final Status[] STATUSES = Status.values();
+
+    // Dictionnaires, dans l'ordre des ids
+    private final long[] departmentIds;
+    private final String[] departmentNames;
+    private final long[] courseIds;
+    private final String[] courseNames;
+
+    // Étudiants : code du département, date de naissance en jours depuis l'epoch (NO_DATE si inconnue)
+    private final long[] studentIds;
+    private final int[] studentDepartment;
+    private final int[] studentBirthDay;
+
+    // Inscriptions : code du cours, ordinal du statut, note (NaN si non notée)
+    private final int[] enrollmentCourse;
+    private final byte[] enrollmentStatus;
+    private final double[] enrollmentGrade;
+
+    private ReportColumns(Builder builder) {
+        departmentIds = builder.departmentIds.stream().mapToLong(Long::longValue).toArray();
+        departmentNames = builder.departmentNames.toArray(String[]::new);
+        courseIds = builder.courseIds.stream().mapToLong(Long::longValue).toArray();
+        courseNames = builder.courseNames.toArray(String[]::new);
+        studentIds = Arrays.copyOf(builder.studentIds, builder.students);
+        studentDepartment = new int[builder.students];
+        for (int i = 0; i < builder.students; i++) {
+            studentDepartment[i] = builder.departmentCodes.getOrDefault(builder.studentDepartmentIds[i], NONE);
+        }
+        studentBirthDay = Arrays.copyOf(builder.studentBirthDay, builder.students);
+        enrollmentCourse = new int[builder.enrollments];
+        for (int i = 0; i < builder.enrollments; i++) {
+            enrollmentCourse[i] = builder.courseCodes.getOrDefault(builder.enrollmentCourseIds[i], NONE);
+        }
+        enrollmentStatus = Arrays.copyOf(builder.enrollmentStatus, builder.enrollments);
+        enrollmentGrade = Arrays.copyOf(builder.enrollmentGrade, builder.enrollments);
+    }
+
+    // Dictionnaires et étudiants partagés avec l'instance d'origine (immuables), nouvelles colonnes d'inscriptions
+    private ReportColumns(ReportColumns source, int[] enrollmentCourse, byte[] enrollmentStatus, double[] enrollmentGrade) {
+        departmentIds = source.departmentIds;
+        departmentNames = source.departmentNames;
+        courseIds = source.courseIds;
+        courseNames = source.courseNames;
+        studentIds = source.studentIds;
+        studentDepartment = source.studentDepartment;
+        studentBirthDay = source.studentBirthDay;
+        this.enrollmentCourse = enrollmentCourse;
+        this.enrollmentStatus = enrollmentStatus;
+        this.enrollmentGrade = enrollmentGrade;
+    }
+
+    /** Inscription vue par les rapports : cours, statut et note (null si absents). */
+    public record EnrollmentRow(Long idCourse, Status status, Double grade) {
+    }
+
+    private record Encoded(int course, byte status, long gradeBits) {
+    }
+
+    /**
+     * Copie avec des inscriptions retirées puis ajoutées, en un passage sur les colonnes. Les agrégats ne dépendent
+     * que du cours, du statut et de la note : n'importe quelle ligne identique peut être retirée.
+     * Null si une ligne à retirer est introuvable (colonnes en retard sur la base).
+     */
+    public ReportColumns withEnrollmentChanges(List<EnrollmentRow> removed, List<EnrollmentRow> added) {
+        Map<Encoded, Integer> toRemove = new HashMap<>();
+        removed.forEach(row -> toRemove.merge(encode(row), 1, Integer::sum));
+        int size = enrollmentGrade.length - removed.size() + added.size();
+        if (size < 0) {
+            return null;
+        }
+        int[] course = new int[size];
+        byte[] status = new byte[size];
+        double[] grade = new double[size];
+        int kept = 0;
+        int pending = removed.size();
+        for (int i = 0; i < enrollmentGrade.length; i++) {
+            if (pending > 0) {
+                Encoded row = new Encoded(enrollmentCourse[i], enrollmentStatus[i], Double.doubleToLongBits(enrollmentGrade[i]));
+                Integer left = toRemove.get(row);
+                if (left != null) {
+                    if (left == 1) {
+                        toRemove.remove(row);
+                    } else {
+                        toRemove.put(row, left - 1);
+                    }
+                    pending--;
+                    continue;
+                }
+            }
+            if (kept == size) {
+                return null;
+            }
+            course[kept] = enrollmentCourse[i];
+            status[kept] = enrollmentStatus[i];
+            grade[kept] = enrollmentGrade[i];
+            kept++;
+        }
+        if (pending > 0) {
+            return null;
+        }
+        for (EnrollmentRow row : added) {
+            Encoded encoded = encode(row);
+            course[kept] = encoded.course();
+            status[kept] = encoded.status();
+            grade[kept] = Double.longBitsToDouble(encoded.gradeBits());
+            kept++;
+        }
+        return new ReportColumns(this, course, status, grade);
+    }
+
+    private Encoded encode(EnrollmentRow row) {
+        int course = row.idCourse() != null ? Arrays.binarySearch(courseIds, row.idCourse()) : NONE;
+        return new Encoded(course >= 0 ? course : NONE, (byte) (row.status() != null ? row.status().ordinal() : NONE),
+                Double.doubleToLongBits(row.grade() != null ? row.grade() : Double.NaN));
+    }
+
+    public List<DepartmentCount> studentCountsByDepartment() {
+        int[] counts = new int[departmentIds.length + 1]; // case 0 : sans département
+        for (int department : studentDepartment) {
+            counts[department + 1]++;
+        }
+        List<DepartmentCount> result = new ArrayList<>(departmentIds.length);
+        for (int i = 0; i < departmentIds.length; i++) {
+            result.add(new DepartmentCount(departmentIds[i], departmentNames[i], (long) counts[i + 1]));
+        }
+        return result;
+    }
+
+    public List<StatusCount> enrollmentCountsByStatus() {
+        int[] counts = new int[STATUSES.length + 1]; // case 0 : sans statut
+        for (byte status : enrollmentStatus) {
+            counts[status + 1]++;
+        }
+        List<StatusCount> result = new ArrayList<>(STATUSES.length);
+        for (Status status : STATUSES) {
+            result.add(new StatusCount(status, (long) counts[status.ordinal() + 1]));
+        }
+        return result;
+    }
+
+    public List<CourseGrades> gradesByCourse() {
+        int size = courseIds.length;
+        long[] graded = new long[size];
+        double[] sum = new double[size];
+        double[] min = new double[size];
+        double[] max = new double[size];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < enrollmentGrade.length; i++) {
+            double grade = enrollmentGrade[i];
+            int course = enrollmentCourse[i];
+            if (course != NONE && !Double.isNaN(grade)) {
+                graded[course]++;
+                sum[course] += grade;
+                min[course] = Math.min(min[course], grade);
+                max[course] = Math.max(max[course], grade);
+            }
+        }
+        List<CourseGrades> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean any = graded[i] > 0;
+            result.add(new CourseGrades(courseIds[i], courseNames[i], graded[i],
+                    any ? sum[i] / graded[i] : null, any ? min[i] : null, any ? max[i] : null));
+        }
+        return result;
+    }
+
+    /**
+     * Ids des étudiants nés strictement après {@code date}, croissants : un comptage sans branchement
+     * dimensionne le résultat, une seconde passe le remplit.
+     */
+    public long[] studentIdsBornAfter(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        int count = 0;
+        for (int birth : studentBirthDay) {
+            count += birth > day ? 1 : 0;
+        }
+        long[] ids = new long[count];
+        for (int i = 0, j = 0; j < count; i++) {
+            if (studentBirthDay[i] > day) {
+                ids[j++] = studentIds[i];
+            }
+        }
+        return ids;
+    }
+
+    public int studentCount() {
+        return studentIds.length;
+    }
+
+    public int enrollmentCount() {
+        return enrollmentGrade.length;
+    }
+
+    /**
+     * Taille approximative des colonnes en octets (dictionnaires de chaînes non comptés).
+     */
+    public long footprintBytes() {
+        return 8L * (departmentIds.length + courseIds.length)
+                + 16L * studentIds.length
+                + 13L * enrollmentGrade.length;
+    }
+
+    /**
+     * Construction en flux : dictionnaires d'abord (départements, cours), puis lignes dans l'ordre des ids.
+     */
+    public static final class Builder {
+        private final List<Long> departmentIds = new ArrayList<>();
+        private final List<String> departmentNames = new ArrayList<>();
+        private final Map<Long, Integer> departmentCodes = new HashMap<>();
+        private final List<Long> courseIds = new ArrayList<>();
+        private final List<String> courseNames = new ArrayList<>();
+        private final Map<Long, Integer> courseCodes = new HashMap<>();
+
+        private long[] studentIds = new long[1024];
+        private long[] studentDepartmentIds = new long[1024];
+        private int[] studentBirthDay = new int[1024];
+        private int students;
+
+        private long[] enrollmentCourseIds = new long[1024];
+        private byte[] enrollmentStatus = new byte[1024];
+        private double[] enrollmentGrade = new double[1024];
+        private int enrollments;
+
+        public void department(long idDepartment, String name) {
+            departmentCodes.put(idDepartment, departmentIds.size());
+            departmentIds.add(idDepartment);
+            departmentNames.add(name);
+        }
+
+        public void course(long idCourse, String name) {
+            courseCodes.put(idCourse, courseIds.size());
+            courseIds.add(idCourse);
+            courseNames.add(name);
+        }
+
+        public void student(long idStudent, Long idDepartment, LocalDate dateOfBirth) {
+            if (students == studentIds.length) {
+                int capacity = students + (students >> 1);
+                studentIds = Arrays.copyOf(studentIds, capacity);
+                studentDepartmentIds = Arrays.copyOf(studentDepartmentIds, capacity);
+                studentBirthDay = Arrays.copyOf(studentBirthDay, capacity);
+            }
+            studentIds[students] = idStudent;
+            studentDepartmentIds[students] = idDepartment != null ? idDepartment : NONE;
+            studentBirthDay[students] = dateOfBirth != null ? (int) dateOfBirth.toEpochDay() : NO_DATE;
+            students++;
+        }
+
+        public void enrollment(Long idCourse, Status status, Double grade) {
+            if (enrollments == enrollmentGrade.length) {
+                int capacity = enrollments + (enrollments >> 1);
+                enrollmentCourseIds = Arrays.copyOf(enrollmentCourseIds, capacity);
+                enrollmentStatus = Arrays.copyOf(enrollmentStatus, capacity);
+                enrollmentGrade = Arrays.copyOf(enrollmentGrade, capacity);
+            }
+            enrollmentCourseIds[enrollments] = idCourse != null ? idCourse : NONE;
+            enrollmentStatus[enrollments] = (byte) (status != null ? status.ordinal() : NONE);
+            enrollmentGrade[enrollments] = grade != null ? grade : Double.NaN;
+            enrollments++;
+        }
+
+        public ReportColumns build() {
+            return new ReportColumns(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package tn.esprit.studentmanagement.reporting;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapports (effectifs par département, inscriptions par statut, notes par cours, étudiants nés après une date).
+ * Servis par le {@link ColumnarReportStore} quand il est activé, sans accès à la base ; sinon par des agrégats JPQL,
+ * avec les mêmes résultats au délai d'actualisation près. Le tenant racine, qui voit tous les tenants, passe
+ * toujours par la base : le magasin ne garde que des colonnes par tenant.
+ */
+@Service
+public class ReportingService {
+
+    private final ObjectProvider<ColumnarReportStore> columnarStore;
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public ReportingService(ObjectProvider<ColumnarReportStore> columnarStore,
+                            DepartmentRepository departmentRepository,
+                            CourseRepository courseRepository,
+                            StudentRepository studentRepository,
+                            EnrollmentRepository enrollmentRepository) {
+        this.columnarStore = columnarStore;
+        this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public List<DepartmentCount> getStudentCountsByDepartment() {
+        ReportColumns columns = columns();
+        return columns != null ? columns.studentCountsByDepartment() : departmentRepository.countStudentsByDepartment();
+    }
+
+    // Tous les statuts, dans l'ordre de l'énumération (0 si aucune inscription)
+    public List<StatusCount> getEnrollmentCountsByStatus() {
+        ReportColumns columns = columns();
+        if (columns != null) {
+            return columns.enrollmentCountsByStatus();
+        }
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        enrollmentRepository.countByStatus().forEach(count -> counts.put(count.status(), count.enrollments()));
+        List<StatusCount> result = new ArrayList<>();
+        for (Status status : Status.values()) {
+            result.add(new StatusCount(status, counts.getOrDefault(status, 0L)));
+        }
+        return result;
+    }
+
+    public List<CourseGrades> getGradesByCourse() {
+        ReportColumns columns = columns();
+        return columns != null ? columns.gradesByCourse() : courseRepository.findGradesByCourse();
+    }
+
+    public long[] getStudentIdsBornAfter(LocalDate date) {
+        ReportColumns columns = columns();
+        return columns != null ? columns.studentIdsBornAfter(date)
+                : studentRepository.findIdsByDateOfBirthAfter(date).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private ReportColumns columns() {
+        String tenantId = TenantContext.getTenantId();
+        if (TenantContext.ROOT_TENANT.equals(tenantId)) {
+            return null;
+        }
+        ColumnarReportStore store = columnarStore.getIfAvailable();
+        return store != null ? store.columns(tenantId) : null;
+    }
+}
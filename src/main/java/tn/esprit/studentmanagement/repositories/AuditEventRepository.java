@@ -0,0 +1,13 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.entities.AuditEvent;
+
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    List<AuditEvent> findByEntityTypeAndEntityIdOrderByIdAuditEventAsc(String entityType, Long entityId);
+}
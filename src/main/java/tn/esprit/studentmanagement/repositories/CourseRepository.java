@@ -1,8 +1,25 @@
 package tn.esprit.studentmanagement.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.dto.CourseSummary;
 import tn.esprit.studentmanagement.entities.Course;
 
+import java.util.List;
+
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {}
+public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    @Query("select new tn.esprit.studentmanagement.dto.CourseSummary(c.idCourse, c.code, c.name, c.credit) from Course c")
+    List<CourseSummary> findAllSummaries();
+
+    @Query("select new tn.esprit.studentmanagement.dto.CourseGrades(c.idCourse, c.name, count(e.grade), avg(e.grade), min(e.grade), max(e.grade)) " +
+            "from Course c left join c.enrollments e group by c.idCourse, c.name order by c.idCourse")
+    List<CourseGrades> findGradesByCourse();
+
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(c.idCourse), max(c.idCourse)) from Course c")
+    IdRange findIdRange();
+}
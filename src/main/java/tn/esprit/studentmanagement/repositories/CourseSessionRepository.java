@@ -0,0 +1,22 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.entities.CourseSession;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseSessionRepository extends JpaRepository<CourseSession, Long> {
+
+    List<CourseSession> findByCourse_IdCourseOrderByDayOfWeekAscStartTimeAsc(Long idCourse);
+
+    List<CourseSession> findByCourse_IdCourseIn(Collection<Long> idCourses);
+
+    @Modifying
+    @Query("delete from CourseSession s where s.course.idCourse = :idCourse")
+    int deleteByCourseId(Long idCourse);
+}
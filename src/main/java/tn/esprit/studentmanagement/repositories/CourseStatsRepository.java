@@ -0,0 +1,31 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.entities.CourseStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    @Query("select new tn.esprit.studentmanagement.entities.CourseStats(c.idCourse, " +
+            "sum(case when e.status = tn.esprit.studentmanagement.entities.Status.ACTIVE then 1 else 0 end), " +
+            "sum(case when e.status = tn.esprit.studentmanagement.entities.Status.COMPLETED then 1 else 0 end), " +
+            "sum(case when e.status = tn.esprit.studentmanagement.entities.Status.FAILED then 1 else 0 end), " +
+            "count(e.idEnrollment), avg(e.grade), :computedAt) " +
+            "from Course c left join c.enrollments e " +
+            "where c.idCourse between :from and :to group by c.idCourse")
+    List<CourseStats> computeBetween(Long from, Long to, LocalDateTime computedAt);
+
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(c.idCourse), max(c.idCourse)) from CourseStats c")
+    IdRange findIdRange();
+
+    @Modifying
+    @Query("delete from CourseStats c where c.idCourse between :from and :to")
+    int deleteBetween(Long from, Long to);
+}
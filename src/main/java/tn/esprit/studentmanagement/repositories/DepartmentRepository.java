@@ -1,7 +1,44 @@
 package tn.esprit.studentmanagement.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.DepartmentSummary;
 import tn.esprit.studentmanagement.entities.Department;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {}
+public interface DepartmentRepository extends JpaRepository<Department, Long>, JpaSpecificationExecutor<Department> {
+
+    @Query("select new tn.esprit.studentmanagement.dto.DepartmentSummary(d.idDepartment, d.name, d.location, d.head) from Department d")
+    List<DepartmentSummary> findAllSummaries();
+
+    @Query("select distinct d from Department d left join fetch d.students where d.idDepartment = :idDepartment")
+    Optional<Department> findWithStudentsById(Long idDepartment);
+
+    @Query("select new tn.esprit.studentmanagement.dto.DepartmentCount(d.idDepartment, d.name, count(s)) " +
+            "from Department d left join d.students s group by d.idDepartment, d.name order by d.idDepartment")
+    List<DepartmentCount> countStudentsByDepartment();
+
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(d.idDepartment), max(d.idDepartment)) from Department d")
+    IdRange findIdRange();
+
+    @Modifying
+    @Query("update Department d set d.deletedAt = :deletedAt where d.idDepartment = :idDepartment")
+    int softDeleteById(Long idDepartment, LocalDateTime deletedAt);
+
+    @Query(value = "select id_department from department where deleted_at < :before order by id_department limit :limit", nativeQuery = true)
+    List<Long> findPurgeableIds(LocalDateTime before, int limit);
+
+    @Modifying
+    @Query(value = "delete from department where id_department in :ids", nativeQuery = true)
+    int purgeAllByIdIn(Collection<Long> ids);
+}
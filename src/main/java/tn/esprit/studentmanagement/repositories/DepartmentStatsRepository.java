@@ -0,0 +1,32 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.entities.DepartmentStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DepartmentStatsRepository extends JpaRepository<DepartmentStats, Long> {
+
+    // La moyenne des GPA suppose que StudentGpaJob a tourné avant
+    @Query("select new tn.esprit.studentmanagement.entities.DepartmentStats(d.idDepartment, count(distinct s.idStudent), count(e.idEnrollment), " +
+            "sum(case when e.status = tn.esprit.studentmanagement.entities.Status.COMPLETED then 1 else 0 end), " +
+            "sum(case when e.status = tn.esprit.studentmanagement.entities.Status.FAILED then 1 else 0 end), avg(e.grade), " +
+            "(select avg(g.gpa) from StudentGpa g where g.idStudent in (select s2.idStudent from Student s2 where s2.department.idDepartment = d.idDepartment)), " +
+            ":computedAt) " +
+            "from Department d left join d.students s left join s.enrollments e " +
+            "where d.idDepartment between :from and :to group by d.idDepartment")
+    List<DepartmentStats> computeBetween(Long from, Long to, LocalDateTime computedAt);
+
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(d.idDepartment), max(d.idDepartment)) from DepartmentStats d")
+    IdRange findIdRange();
+
+    @Modifying
+    @Query("delete from DepartmentStats d where d.idDepartment between :from and :to")
+    int deleteBetween(Long from, Long to);
+}
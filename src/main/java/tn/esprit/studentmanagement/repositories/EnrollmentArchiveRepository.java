@@ -0,0 +1,26 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.GradeTotals;
+import tn.esprit.studentmanagement.entities.EnrollmentArchive;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentArchiveRepository extends JpaRepository<EnrollmentArchive, Long> {
+
+    @Query("select new tn.esprit.studentmanagement.dto.EnrollmentRecord(a.idEnrollment, a.enrollmentDate, a.grade, a.status, a.studentId, a.courseId, true) " +
+            "from EnrollmentArchive a where a.enrollmentDate between :from and :to")
+    List<EnrollmentRecord> findRecordsBetween(LocalDate from, LocalDate to);
+
+    @Query("select new tn.esprit.studentmanagement.dto.GradeTotals(a.studentId, sum(a.grade * c.credit), sum(c.credit), count(a)) " +
+            "from EnrollmentArchive a join Course c on c.idCourse = a.courseId where a.studentId between :from and :to " +
+            "and a.grade is not null and a.status in :statuses group by a.studentId")
+    List<GradeTotals> sumGradesByStudentBetween(Long from, Long to, Collection<Status> statuses);
+}
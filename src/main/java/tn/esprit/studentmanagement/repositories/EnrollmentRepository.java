@@ -1,9 +1,110 @@
 package tn.esprit.studentmanagement.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.EnrollmentSummary;
+import tn.esprit.studentmanagement.dto.GradeTotals;
+import tn.esprit.studentmanagement.dto.StatusCount;
 import tn.esprit.studentmanagement.entities.Enrollment;
-import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, JpaSpecificationExecutor<Enrollment> {
+
+    @Query("select new tn.esprit.studentmanagement.dto.EnrollmentSummary(e.idEnrollment, e.enrollmentDate, e.grade, e.status, s.idStudent, s.lastName, c.idCourse, c.code) " +
+            "from Enrollment e left join e.student s left join e.course c")
+    List<EnrollmentSummary> findAllSummaries();
+
+    @Query("select new tn.esprit.studentmanagement.dto.EnrollmentRecord(e.idEnrollment, e.enrollmentDate, e.grade, e.status, e.student.idStudent, e.course.idCourse, false) " +
+            "from Enrollment e where e.enrollmentDate between :from and :to")
+    List<EnrollmentRecord> findRecordsBetween(LocalDate from, LocalDate to);
+
+    // Contrôle des emplois du temps : cours actifs d'un étudiant, puis inscriptions actives d'un semestre
+    @Query("select e.course.idCourse from Enrollment e where e.student.idStudent = :idStudent and e.status = :status " +
+            "and e.course is not null and e.idEnrollment <> :excludedId")
+    List<Long> findCourseIdsByStudentAndStatus(Long idStudent, Status status, Long excludedId);
+
+    @Query("select new tn.esprit.studentmanagement.dto.EnrollmentRecord(e.idEnrollment, e.enrollmentDate, e.grade, e.status, e.student.idStudent, e.course.idCourse, false) " +
+            "from Enrollment e where e.status = :status and e.enrollmentDate between :from and :to " +
+            "and e.student is not null and e.course is not null")
+    List<EnrollmentRecord> findActiveRecordsBetween(LocalDate from, LocalDate to, Status status);
+
+    // Répartition des inscriptions par statut, pour les rapports calculés par la base
+    @Query("select new tn.esprit.studentmanagement.dto.StatusCount(e.status, count(e)) from Enrollment e " +
+            "where e.status is not null group by e.status")
+    List<StatusCount> countByStatus();
+
+    // Vue détail d'un département : inscriptions de tous ses étudiants avec leur cours, en une requête
+    @Query("select e from Enrollment e join fetch e.student s left join fetch e.course where s.department.idDepartment = :idDepartment")
+    List<Enrollment> findWithCourseByDepartmentId(Long idDepartment);
+
+    // Liste des inscrits d'un cours avec étudiant et département, en une requête
+    @Query("select e from Enrollment e join fetch e.student s left join fetch s.department where e.course.idCourse = :idCourse")
+    List<Enrollment> findRosterByCourseId(Long idCourse);
+
+    // Notes d'un cours lues en flux (à fermer, dans une transaction) ; avec MySQL, useCursorFetch=true
+    // est nécessaire pour que la taille de fetch limite réellement les lignes en mémoire
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.grade from Enrollment e where e.course.idCourse = :idCourse and e.grade is not null")
+    Stream<Double> streamGradesByCourseId(Long idCourse);
+
+    // Calcul des GPA : sommes pondérées par étudiant sur une plage d'identifiants
+    @Query("select new tn.esprit.studentmanagement.dto.GradeTotals(e.student.idStudent, sum(e.grade * c.credit), sum(c.credit), count(e)) " +
+            "from Enrollment e join e.course c where e.student.idStudent between :from and :to " +
+            "and e.grade is not null and e.status in :statuses group by e.student.idStudent")
+    List<GradeTotals> sumGradesByStudentBetween(Long from, Long to, Collection<Status> statuses);
+
+    // Archivage : identifiants des inscriptions clôturées antérieures à la date donnée
+    @Query("select e.idEnrollment from Enrollment e where e.status in :statuses and e.enrollmentDate < :before order by e.idEnrollment")
+    List<Long> findArchivableIds(Collection<Status> statuses, LocalDate before, Pageable pageable);
+
+    @Modifying
+    @Query(value = "insert into enrollment_archive (id_enrollment, tenant_id, enrollment_date, grade, status, student_id, course_id, archived_at) " +
+            "select id_enrollment, tenant_id, enrollment_date, grade, status, student_id_student, course_id_course, :archivedAt " +
+            "from enrollment where id_enrollment in :ids", nativeQuery = true)
+    int copyToArchive(Collection<Long> ids, LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.idEnrollment in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    // Suppression logique (la restriction deleted_at masque ensuite la ligne à toutes les lectures JPA)
+    @Modifying
+    @Query("update Enrollment e set e.deletedAt = :deletedAt where e.idEnrollment = :idEnrollment")
+    int softDeleteById(Long idEnrollment, LocalDateTime deletedAt);
+
+    // Inscriptions d'un étudiant avant sa suppression logique (un EnrollmentChangedEvent par inscription)
+    @Query("select new tn.esprit.studentmanagement.dto.EnrollmentRecord(e.idEnrollment, e.enrollmentDate, e.grade, e.status, s.idStudent, c.idCourse, false) " +
+            "from Enrollment e join e.student s left join e.course c where s.idStudent = :idStudent")
+    List<EnrollmentRecord> findRecordsByStudentId(Long idStudent);
+
+    @Modifying
+    @Query("update Enrollment e set e.deletedAt = :deletedAt where e.student.idStudent = :idStudent")
+    int softDeleteByStudentId(Long idStudent, LocalDateTime deletedAt);
+
+    // Purge : requêtes natives, les lignes supprimées logiquement sont invisibles en JPQL
+    @Query(value = "select id_enrollment from enrollment where deleted_at < :before order by id_enrollment limit :limit", nativeQuery = true)
+    List<Long> findPurgeableIds(LocalDateTime before, int limit);
+
+    @Modifying
+    @Query(value = "delete from enrollment where id_enrollment in :ids", nativeQuery = true)
+    int purgeAllByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from enrollment where student_id_student in :studentIds", nativeQuery = true)
+    int purgeAllByStudentIdIn(Collection<Long> studentIds);
 }
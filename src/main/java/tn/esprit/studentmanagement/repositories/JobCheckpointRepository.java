@@ -0,0 +1,21 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.entities.JobCheckpoint;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+
+    boolean existsByJobNameAndRunKeyAndPartitionKey(String jobName, String runKey, String partitionKey);
+
+    long countByJobNameAndRunKey(String jobName, String runKey);
+
+    @Modifying
+    @Query("delete from JobCheckpoint c where c.completedAt < :before")
+    int deleteCompletedBefore(LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package tn.esprit.studentmanagement.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.entities.StudentGpa;
+
+@Repository
+public interface StudentGpaRepository extends JpaRepository<StudentGpa, Long> {
+
+    // Résultats déjà écrits : leurs plages sont reparcourues même si les étudiants ont disparu
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(g.idStudent), max(g.idStudent)) from StudentGpa g")
+    IdRange findIdRange();
+
+    @Modifying
+    @Query("delete from StudentGpa g where g.idStudent between :from and :to")
+    int deleteBetween(Long from, Long to);
+}
@@ -1,33 +1,88 @@
 package tn.esprit.studentmanagement.repositories;
 
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.dto.StudentSummary;
 import tn.esprit.studentmanagement.entities.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
 
-    // Recherche par email (exact match)
-    Student findByEmail(String email);
+    // Régions du cache de requêtes Hibernate (sans effet tant que hibernate.cache.use_query_cache est faux),
+    // une par finder pour des statistiques par requête ; voir StudentQueryCache
+    String QUERY_CACHE_REGION_PREFIX = "student-";
+
+    // Recherche par email (exact match) ; le plus ancien si l'email est en double (voir StudentDedupService)
+    default Student findByEmail(String email) {
+        return findFirstByEmailOrderByIdStudentAsc(email);
+    }
+
+    Student findFirstByEmailOrderByIdStudentAsc(String email);
 
     // Recherche par prénom (contient, insensible à la casse)
     List<Student> findByFirstNameContainingIgnoreCase(String firstName);
 
     // Recherche par nom de famille
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION_PREFIX + "findByLastName")})
     List<Student> findByLastName(String lastName);
 
     // Recherche par département
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION_PREFIX + "findByDepartment_IdDepartment")})
     List<Student> findByDepartment_IdDepartment(Long departmentId);
 
     // Recherche par email contenant un mot
     List<Student> findByEmailContaining(String domain);
 
     // Compte le nombre d'étudiants par département
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION_PREFIX + "countByDepartment_IdDepartment")})
     Long countByDepartment_IdDepartment(Long departmentId);
 
     // Recherche étudiants nés après une certaine date
     List<Student> findByDateOfBirthAfter(LocalDate date);
-}
\ No newline at end of file
+
+    // Rapport (sans magasin en colonnes) : ids seulement
+    @Query("select s.idStudent from Student s where s.dateOfBirth > :date order by s.idStudent")
+    List<Long> findIdsByDateOfBirthAfter(LocalDate date);
+
+    // Vue liste : projection sans entité gérée
+    @Query("select new tn.esprit.studentmanagement.dto.StudentSummary(s.idStudent, s.firstName, s.lastName, s.email, d.name) " +
+            "from Student s left join s.department d")
+    List<StudentSummary> findAllSummaries();
+
+    @Query("select new tn.esprit.studentmanagement.dto.IdRange(min(s.idStudent), max(s.idStudent)) from Student s")
+    IdRange findIdRange();
+
+    @Modifying
+    @Query("update Student s set s.deletedAt = :deletedAt where s.idStudent = :idStudent")
+    int softDeleteById(Long idStudent, LocalDateTime deletedAt);
+
+    // Purge des étudiants supprimés (SQL natif : invisibles en JPQL)
+    @Query(value = "select id_student from student where deleted_at < :before order by id_student limit :limit", nativeQuery = true)
+    List<Long> findPurgeableIds(LocalDateTime before, int limit);
+
+    @Query(value = "select id_student from student where department_id_department in :departmentIds limit :limit", nativeQuery = true)
+    List<Long> findIdsByDepartmentIn(Collection<Long> departmentIds, int limit);
+
+    @Modifying
+    @Query(value = "update student set department_id_department = null where id_student in :ids", nativeQuery = true)
+    int detachFromDepartment(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from student where id_student in :ids", nativeQuery = true)
+    int purgeAllByIdIn(Collection<Long> ids);
+}
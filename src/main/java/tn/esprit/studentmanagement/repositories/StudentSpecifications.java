@@ -0,0 +1,84 @@
+package tn.esprit.studentmanagement.repositories;
+
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.entities.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compile un {@link StudentFilter} en une seule requête SQL.
+ * Les prédicats sont toujours ajoutés dans le même ordre et les valeurs sont passées
+ * en paramètres liés : au plus 16 formes de requête, ce qui garde le cache de
+ * requêtes préparées (MySQL et Hibernate) efficace.
+ */
+public final class StudentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> withFilter(StudentFilter filter) {
+        return (root, query, cb) -> {
+            // Département chargé dans la même requête (sinon un SELECT par étudiant), sauf pour un COUNT
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("department", JoinType.LEFT);
+            }
+            List<Predicate> predicates = new ArrayList<>(4);
+            if (filter.lastName() != null) {
+                predicates.add(cb.equal(root.get("lastName"), filter.lastName()));
+            }
+            if (filter.departmentId() != null) {
+                predicates.add(cb.equal(root.get("department").get("idDepartment"), filter.departmentId()));
+            }
+            if (filter.bornAfter() != null) {
+                predicates.add(cb.greaterThan(root.get("dateOfBirth"), filter.bornAfter()));
+            }
+            if (filter.emailContains() != null) {
+                predicates.add(cb.like(root.get("email"), "%" + escapeLike(filter.emailContains()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Candidats au doublon d'un étudiant par ses clés normalisées : même email, même téléphone, ou même nom
+     * (et même date de naissance si elle est connue), par les index (tenant_id, email_key), (tenant_id, phone_key)
+     * et (tenant_id, name_key). Aucun candidat si aucune clé n'est renseignée.
+     */
+    public static Specification<Student> duplicateCandidates(String emailKey, String phoneKey, String nameKey,
+                                                             LocalDate dateOfBirth, Long excludedId) {
+        return (root, query, cb) -> {
+            List<Predicate> keys = new ArrayList<>(3);
+            if (emailKey != null) {
+                keys.add(cb.equal(root.get("emailKey"), emailKey));
+            }
+            if (phoneKey != null) {
+                keys.add(cb.equal(root.get("phoneKey"), phoneKey));
+            }
+            if (nameKey != null) {
+                keys.add(dateOfBirth != null
+                        ? cb.and(cb.equal(root.get("nameKey"), nameKey), cb.equal(root.get("dateOfBirth"), dateOfBirth))
+                        : cb.equal(root.get("nameKey"), nameKey));
+            }
+            Predicate candidates = keys.isEmpty() ? cb.disjunction() : cb.or(keys.toArray(new Predicate[0]));
+            return excludedId == null ? candidates : cb.and(candidates, cb.notEqual(root.get("idStudent"), excludedId));
+        };
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
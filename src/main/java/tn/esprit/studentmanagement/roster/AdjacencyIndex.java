@@ -0,0 +1,192 @@
+package tn.esprit.studentmanagement.roster;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Liste d'adjacence immuable au format CSR, sur identifiants primitifs :
+ * {@code keys} trié, voisins de {@code keys[i]} dans {@code values[offsets[i] .. offsets[i + 1])}, triés.
+ * Un voisin apparaît autant de fois qu'il existe d'inscriptions entre les deux extrémités.
+ * Recherche : dichotomie sur keys puis copie de la ligne, sans objet intermédiaire.
+ * Empreinte : 8 octets par arc + 12 octets par clé distincte.
+ */
+public final class AdjacencyIndex {
+
+    static final AdjacencyIndex EMPTY = new AdjacencyIndex(new long[0], new int[]{0}, new long[0]);
+    private static final long[] NONE = new long[0];
+
+    private final long[] keys;
+    private final int[] offsets;
+    private final long[] values;
+
+    private AdjacencyIndex(long[] keys, int[] offsets, long[] values) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.values = values;
+    }
+
+    // Relecture d'un instantané (RosterSnapshot) : tableaux repris tels quels
+    static AdjacencyIndex of(long[] keys, int[] offsets, long[] values) {
+        if (offsets.length != keys.length + 1 || offsets[keys.length] != values.length) {
+            throw new IllegalArgumentException("inconsistent CSR arrays");
+        }
+        return new AdjacencyIndex(keys, offsets, values);
+    }
+
+    /**
+     * Construit l'index des arcs from[i] -> to[i] pour i < size (tableaux non modifiés).
+     */
+    public static AdjacencyIndex build(long[] from, long[] to, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] sorted = Arrays.copyOf(from, size);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        long[] keys = Arrays.copyOf(sorted, distinct);
+
+        int[] offsets = new int[distinct + 1];
+        int[] rowOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            rowOf[i] = Arrays.binarySearch(keys, from[i]);
+            offsets[rowOf[i] + 1]++;
+        }
+        for (int k = 0; k < distinct; k++) {
+            offsets[k + 1] += offsets[k];
+        }
+        long[] values = new long[size];
+        int[] cursor = Arrays.copyOf(offsets, distinct);
+        for (int i = 0; i < size; i++) {
+            values[cursor[rowOf[i]]++] = to[i];
+        }
+        for (int k = 0; k < distinct; k++) {
+            Arrays.sort(values, offsets[k], offsets[k + 1]);
+        }
+        return new AdjacencyIndex(keys, offsets, values);
+    }
+
+    /**
+     * Voisins distincts de key, triés.
+     */
+    public long[] neighbours(long key) {
+        return neighbours(key, null);
+    }
+
+    /**
+     * Voisins distincts de key, corrigés par delta (voisin -> variation du nombre d'arcs depuis la construction).
+     */
+    public long[] neighbours(long key, Map<Long, Integer> delta) {
+        int row = Arrays.binarySearch(keys, key);
+        int from = row >= 0 ? offsets[row] : 0;
+        int to = row >= 0 ? offsets[row + 1] : 0;
+        if (delta == null || delta.isEmpty()) {
+            return from == to ? NONE : distinct(from, to);
+        }
+        long[] out = new long[to - from + delta.size()];
+        int n = 0;
+        int p = from;
+        while (p < to) {
+            long value = values[p];
+            int count = 0;
+            while (p < to && values[p] == value) {
+                count++;
+                p++;
+            }
+            if (count + delta.getOrDefault(value, 0) > 0) {
+                out[n++] = value;
+            }
+        }
+        for (Map.Entry<Long, Integer> change : delta.entrySet()) {
+            long value = change.getKey();
+            if (change.getValue() > 0 && (from == to || Arrays.binarySearch(values, from, to, value) < 0)) {
+                out[n++] = value;
+            }
+        }
+        long[] result = Arrays.copyOf(out, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private long[] distinct(int from, int to) {
+        long[] out = new long[to - from];
+        int n = 0;
+        for (int p = from; p < to; p++) {
+            if (n == 0 || values[p] != out[n - 1]) {
+                out[n++] = values[p];
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    long[] keys() {
+        return keys;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    long[] values() {
+        return values;
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    public int edgeCount() {
+        return values.length;
+    }
+
+    /**
+     * Taille des trois tableaux (en-têtes compris).
+     */
+    public long footprintBytes() {
+        return 3 * 16L + 8L * keys.length + 4L * offsets.length + 8L * values.length;
+    }
+
+    /**
+     * Tampon extensible de couples (from, to) pour la construction en flux.
+     */
+    public static final class Builder {
+        private long[] from = new long[1024];
+        private long[] to = new long[1024];
+        private int size;
+
+        public void add(long source, long target) {
+            if (size == from.length) {
+                int capacity = size + (size >> 1);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+            }
+            from[size] = source;
+            to[size] = target;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        long sourceAt(int i) {
+            return from[i];
+        }
+
+        long targetAt(int i) {
+            return to[i];
+        }
+
+        public AdjacencyIndex forward() {
+            return build(from, to, size);
+        }
+
+        public AdjacencyIndex backward() {
+            return build(to, from, size);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package tn.esprit.studentmanagement.roster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Index en mémoire "cours d'un étudiant" / "étudiants d'un cours", sans entité : deux {@link AdjacencyIndex}
+ * (CSR sur long) par tenant, construits par un parcours en flux de la table enrollment au démarrage,
+ * puis corrigés à chaque EnrollmentChangedEvent par un petit delta (copie à l'écriture, lectures sans verrou).
+ * L'archivage et la purge ne publient pas d'événement : l'index est reconstruit périodiquement, ce qui remet
+ * aussi le delta à zéro. Tant qu'il n'est pas prêt, les lectures interrogent la table enrollment.
+ *
+ * Les événements reçus pendant une reconstruction sont journalisés avec l'identifiant de l'inscription.
+ * Le parcours garde l'identifiant de chaque ligne lue (8 octets par inscription, le temps de la reconstruction) ;
+ * pour une inscription journalisée, seuls les changements qui suivent l'état lu sont rejoués : une écriture
+ * validée entre l'ouverture du journal et la lecture de sa ligne n'est pas comptée deux fois.
+ *
+ * Redémarrage à chaud (app.roster.snapshot.path) : chaque reconstruction écrit un {@link RosterSnapshot} ;
+ * au démarrage, l'instantané est relu puis rattrapé avec les inscriptions créées (id supérieur au plus grand id
+ * de l'instantané) et supprimées (deleted_at postérieur) depuis, au lieu d'un parcours complet. Les changements
+ * de cours ou d'étudiant d'une inscription existante et l'archivage ne sont pas visibles ainsi : ils sont repris
+ * par la reconstruction périodique, comme les modifications en masse. Un instantané plus ancien que
+ * app.roster.snapshot.max-age-hours (inférieur au délai de grâce de la purge) est ignoré.
+ *
+ * Empreinte pour 1 million d'inscriptions : 16 Mo d'arcs (8 octets par sens), plus 12 octets par étudiant
+ * et par cours distincts, soit ~17 Mo avec 100 000 étudiants et 2 000 cours (contre plusieurs centaines
+ * d'octets par entité Enrollment chargée).
+ */
+@Service
+@Slf4j
+public class RosterIndexService {
+
+    private static final long[] NONE = new long[0];
+
+    static final class TenantRoster {
+        final AdjacencyIndex coursesByStudent;
+        final AdjacencyIndex studentsByCourse;
+        final ConcurrentHashMap<Long, Map<Long, Integer>> studentDelta = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, Map<Long, Integer>> courseDelta = new ConcurrentHashMap<>();
+
+        TenantRoster(AdjacencyIndex coursesByStudent, AdjacencyIndex studentsByCourse) {
+            this.coursesByStudent = coursesByStudent;
+            this.studentsByCourse = studentsByCourse;
+        }
+    }
+
+    record Arc(long studentId, long courseId) {
+    }
+
+    // before / after : null si l'inscription n'a pas de lien étudiant-cours (absente, supprimée, incomplète)
+    record Change(String tenantId, long idEnrollment, Arc before, Arc after) {
+    }
+
+    // Parcours d'un tenant : arcs et identifiants des inscriptions lues, dans le même ordre
+    private static final class Scan {
+        final AdjacencyIndex.Builder builder = new AdjacencyIndex.Builder();
+        long[] ids = new long[1024];
+
+        void add(long idEnrollment, long studentId, long courseId) {
+            int i = builder.size();
+            if (i == ids.length) {
+                ids = Arrays.copyOf(ids, i + (i >> 1));
+            }
+            ids[i] = idEnrollment;
+            builder.add(studentId, courseId);
+        }
+    }
+
+    private final JdbcTemplate scan;
+    private final Path snapshotPath;
+    private final Duration snapshotMaxAge;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object writeLock = new Object();
+
+    private volatile ConcurrentHashMap<String, TenantRoster> rosters;
+    // Changements reçus pendant une reconstruction, rejoués sur le nouvel index
+    private List<Change> journal;
+
+    public RosterIndexService(DataSource dataSource,
+                              @Value("${app.roster.fetch-size:10000}") int fetchSize,
+                              @Value("${app.roster.snapshot.path:}") String snapshotPath,
+                              @Value("${app.roster.snapshot.max-age-hours:12}") long snapshotMaxAgeHours) {
+        this.scan = new JdbcTemplate(dataSource);
+        this.scan.setFetchSize(fetchSize);
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.snapshotMaxAge = Duration.ofHours(snapshotMaxAgeHours);
+    }
+
+    public long[] getCourseIdsOfStudent(long idStudent) {
+        String tenantId = TenantContext.getTenantId();
+        Map<String, TenantRoster> current = rosters;
+        if (current == null) {
+            return query("select distinct course_id_course from enrollment where tenant_id = ? and student_id_student = ? " +
+                    "and deleted_at is null and course_id_course is not null order by course_id_course", tenantId, idStudent);
+        }
+        TenantRoster roster = current.get(tenantId);
+        return roster == null ? NONE : roster.coursesByStudent.neighbours(idStudent, roster.studentDelta.get(idStudent));
+    }
+
+    public long[] getStudentIdsOfCourse(long idCourse) {
+        String tenantId = TenantContext.getTenantId();
+        Map<String, TenantRoster> current = rosters;
+        if (current == null) {
+            return query("select distinct student_id_student from enrollment where tenant_id = ? and course_id_course = ? " +
+                    "and deleted_at is null and student_id_student is not null order by student_id_student", tenantId, idCourse);
+        }
+        TenantRoster roster = current.get(tenantId);
+        return roster == null ? NONE : roster.studentsByCourse.neighbours(idCourse, roster.courseDelta.get(idCourse));
+    }
+
+    // Index pas encore construit (démarrage) : requête indexée plutôt qu'une reconstruction sur le thread appelant
+    private long[] query(String sql, String tenantId, long id) {
+        return scan.queryForList(sql, Long.class, tenantId, id).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Taille des tableaux de tous les tenants (hors delta), en octets.
+     */
+    public long footprintBytes() {
+        Map<String, TenantRoster> current = rosters;
+        return current == null ? 0 : current.values().stream()
+                .mapToLong(r -> r.coursesByStudent.footprintBytes() + r.studentsByCourse.footprintBytes())
+                .sum();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAtStartup() {
+        if (rosters == null && !restoreFromSnapshot()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.roster.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.roster.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        rebuild(() -> {
+        }, () -> {
+        });
+    }
+
+    // beforeScan / afterScan : écritures concurrentes simulées par les tests, journal ouvert
+    void rebuild(Runnable beforeScan, Runnable afterScan) {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            Instant scannedAt = Instant.now();
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+            beforeScan.run();
+            Map<String, Scan> scans = new HashMap<>();
+            long[] maxEnrollmentId = {0};
+            scan.query("select tenant_id, student_id_student, course_id_course, id_enrollment from enrollment " +
+                            "where deleted_at is null and student_id_student is not null and course_id_course is not null",
+                    rs -> {
+                        long idEnrollment = rs.getLong(4);
+                        scans.computeIfAbsent(rs.getString(1), t -> new Scan()).add(idEnrollment, rs.getLong(2), rs.getLong(3));
+                        maxEnrollmentId[0] = Math.max(maxEnrollmentId[0], idEnrollment);
+                    });
+            afterScan.run();
+            ConcurrentHashMap<String, TenantRoster> built = new ConcurrentHashMap<>();
+            long links = 0;
+            for (Map.Entry<String, Scan> tenant : scans.entrySet()) {
+                AdjacencyIndex.Builder builder = tenant.getValue().builder;
+                built.put(tenant.getKey(), new TenantRoster(builder.forward(), builder.backward()));
+                links += builder.size();
+            }
+            synchronized (writeLock) {
+                // Toutes les inscriptions sont couvertes par le parcours : non lue = sans lien
+                replayJournal(built, id -> true, scannedArcs(scans));
+                journal = null;
+                rosters = built;
+            }
+            log.info("Roster index built: {} enrollments, {} tenants, {} KB in {} ms",
+                    links, built.size(), footprintBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+            writeSnapshot(new RosterSnapshot.Content(scannedAt, maxEnrollmentId[0], snapshotOf(built)));
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // État lu par le parcours des seules inscriptions journalisées (un passage sur les identifiants)
+    private Map<Long, Arc> scannedArcs(Map<String, Scan> scans) {
+        if (journal.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> touched = new HashSet<>();
+        journal.forEach(change -> touched.add(change.idEnrollment()));
+        Map<Long, Arc> arcs = new HashMap<>();
+        for (Scan tenantScan : scans.values()) {
+            for (int i = 0; i < tenantScan.builder.size(); i++) {
+                if (touched.contains(tenantScan.ids[i])) {
+                    arcs.put(tenantScan.ids[i], new Arc(tenantScan.builder.sourceAt(i), tenantScan.builder.targetAt(i)));
+                }
+            }
+        }
+        return arcs;
+    }
+
+    /**
+     * Rejoue le journal sur un index neuf. Pour une inscription dont l'état lu est connu ({@code covered}),
+     * les changements sont enchaînés à partir de cet état (before égal à l'état courant) : ceux qui ne s'y
+     * raccrochent pas étaient validés avant la lecture et sont déjà comptés. Les autres sont appliqués tels quels.
+     */
+    private void replayJournal(ConcurrentHashMap<String, TenantRoster> target, LongPredicate covered, Map<Long, Arc> seen) {
+        Map<Long, List<Change>> byEnrollment = new LinkedHashMap<>();
+        journal.forEach(change -> byEnrollment.computeIfAbsent(change.idEnrollment(), id -> new ArrayList<>()).add(change));
+        byEnrollment.forEach((idEnrollment, changes) -> {
+            if (!covered.test(idEnrollment)) {
+                changes.forEach(change -> apply(target, change));
+                return;
+            }
+            Arc current = seen.get(idEnrollment);
+            List<Change> pending = new ArrayList<>(changes);
+            for (boolean progressed = true; progressed; ) {
+                progressed = false;
+                for (Iterator<Change> it = pending.iterator(); it.hasNext(); ) {
+                    Change change = it.next();
+                    if (Objects.equals(change.before(), current)) {
+                        apply(target, change);
+                        current = change.after();
+                        it.remove();
+                        progressed = true;
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    private static Map<String, RosterSnapshot.TenantIndexes> snapshotOf(Map<String, TenantRoster> built) {
+        Map<String, RosterSnapshot.TenantIndexes> tenants = new HashMap<>();
+        built.forEach((tenant, roster) -> tenants.put(tenant,
+                new RosterSnapshot.TenantIndexes(roster.coursesByStudent, roster.studentsByCourse)));
+        return tenants;
+    }
+
+    private void writeSnapshot(RosterSnapshot.Content content) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            RosterSnapshot.write(snapshotPath, content);
+        } catch (IOException e) {
+            log.warn("Could not write roster snapshot {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Relit l'instantané puis applique les inscriptions créées et supprimées depuis ; false si aucun
+     * instantané exploitable (absent, trop ancien ou corrompu).
+     */
+    boolean restoreFromSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return false;
+        }
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            RosterSnapshot.Content snapshot;
+            try {
+                snapshot = RosterSnapshot.read(snapshotPath);
+            } catch (IOException e) {
+                log.warn("Ignoring roster snapshot {}", snapshotPath, e);
+                return false;
+            }
+            Duration age = Duration.between(snapshot.createdAt(), Instant.now());
+            if (age.compareTo(snapshotMaxAge) > 0) {
+                log.info("Roster snapshot is {} min old, rebuilding from the enrollment table", age.toMinutes());
+                return false;
+            }
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+            ConcurrentHashMap<String, TenantRoster> restored = new ConcurrentHashMap<>();
+            snapshot.tenants().forEach((tenant, indexes) ->
+                    restored.put(tenant, new TenantRoster(indexes.coursesByStudent(), indexes.studentsByCourse())));
+            List<Change> catchUp = new ArrayList<>();
+            Map<Long, Arc> seen = new HashMap<>();
+            scan.query("select tenant_id, student_id_student, course_id_course, id_enrollment from enrollment where id_enrollment > ? " +
+                            "and deleted_at is null and student_id_student is not null and course_id_course is not null",
+                    rs -> {
+                        Arc arc = new Arc(rs.getLong(2), rs.getLong(3));
+                        catchUp.add(new Change(rs.getString(1), rs.getLong(4), null, arc));
+                        seen.put(rs.getLong(4), arc);
+                    }, snapshot.maxEnrollmentId());
+            int added = catchUp.size();
+            Set<Long> deleted = new HashSet<>();
+            scan.query("select tenant_id, student_id_student, course_id_course, id_enrollment from enrollment where id_enrollment <= ? " +
+                            "and deleted_at >= ? and student_id_student is not null and course_id_course is not null",
+                    rs -> {
+                        catchUp.add(new Change(rs.getString(1), rs.getLong(4), new Arc(rs.getLong(2), rs.getLong(3)), null));
+                        deleted.add(rs.getLong(4));
+                    }, snapshot.maxEnrollmentId(), LocalDateTime.ofInstant(snapshot.createdAt(), ZoneId.systemDefault()));
+            catchUp.forEach(change -> apply(restored, change));
+            long maxEnrollmentId = snapshot.maxEnrollmentId();
+            synchronized (writeLock) {
+                // État connu : inscriptions postérieures à l'instantané (créées ou non) et suppressions rattrapées
+                replayJournal(restored, id -> id > maxEnrollmentId || deleted.contains(id), seen);
+                journal = null;
+                rosters = restored;
+            }
+            log.info("Roster index restored from snapshot ({} min old, +{} / -{} enrollments caught up) in {} ms",
+                    age.toMinutes(), added, catchUp.size() - added, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        EnrollmentRecord before = event.before();
+        EnrollmentRecord after = event.after();
+        boolean hadLink = before != null && before.studentId() != null && before.courseId() != null;
+        boolean hasLink = after != null && after.studentId() != null && after.courseId() != null;
+        if (!hadLink && !hasLink || hadLink && hasLink && Objects.equals(before.studentId(), after.studentId())
+                && Objects.equals(before.courseId(), after.courseId())) {
+            return;
+        }
+        Change change = new Change(event.tenantId(), after != null ? after.idEnrollment() : before.idEnrollment(),
+                hadLink ? new Arc(before.studentId(), before.courseId()) : null,
+                hasLink ? new Arc(after.studentId(), after.courseId()) : null);
+        synchronized (writeLock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            if (rosters != null) {
+                apply(rosters, change);
+            }
+        }
+    }
+
+    private static void apply(ConcurrentHashMap<String, TenantRoster> target, Change change) {
+        TenantRoster roster = target.computeIfAbsent(change.tenantId(),
+                t -> new TenantRoster(AdjacencyIndex.EMPTY, AdjacencyIndex.EMPTY));
+        if (change.before() != null) {
+            adjust(roster.studentDelta, change.before().studentId(), change.before().courseId(), -1);
+            adjust(roster.courseDelta, change.before().courseId(), change.before().studentId(), -1);
+        }
+        if (change.after() != null) {
+            adjust(roster.studentDelta, change.after().studentId(), change.after().courseId(), 1);
+            adjust(roster.courseDelta, change.after().courseId(), change.after().studentId(), 1);
+        }
+    }
+
+    // Copie à l'écriture : un lecteur voit toujours une map complète et non modifiée
+    private static void adjust(ConcurrentHashMap<Long, Map<Long, Integer>> delta, long key, long neighbour, int change) {
+        Map<Long, Integer> updated = new HashMap<>(delta.getOrDefault(key, Map.of()));
+        if (updated.merge(neighbour, change, Integer::sum) == 0) {
+            updated.remove(neighbour);
+        }
+        if (updated.isEmpty()) {
+            delta.remove(key);
+        } else {
+            delta.put(key, Map.copyOf(updated));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package tn.esprit.studentmanagement.roster;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Instantané binaire de l'index des inscriptions, écrit et relu par projection mémoire (FileChannel.map) :
+ * les tableaux CSR sont copiés en bloc, sans sérialisation objet. Format (big-endian) :
+ * <pre>
+ * int magic, int format, long createdAt (ms), long maxEnrollmentId, int tenants
+ * par tenant : short longueur + tenantId UTF-8, puis cours par étudiant et étudiants par cours :
+ *              int clés, int arcs, long[] keys, int[] offsets, long[] values
+ * long CRC32 de tout ce qui précède
+ * </pre>
+ * Écriture dans un fichier temporaire puis renommage atomique : un lecteur ne voit jamais un fichier partiel.
+ */
+final class RosterSnapshot {
+
+    static final int MAGIC = 0x524F5354; // "ROST"
+    static final int FORMAT = 1;
+
+    record TenantIndexes(AdjacencyIndex coursesByStudent, AdjacencyIndex studentsByCourse) {
+    }
+
+    record Content(Instant createdAt, long maxEnrollmentId, Map<String, TenantIndexes> tenants) {
+    }
+
+    private RosterSnapshot() {
+    }
+
+    static void write(Path file, Content content) throws IOException {
+        long size = 4 + 4 + 8 + 8 + 4 + 8;
+        for (Map.Entry<String, TenantIndexes> tenant : content.tenants().entrySet()) {
+            size += 2 + tenant.getKey().getBytes(StandardCharsets.UTF_8).length
+                    + sizeOf(tenant.getValue().coursesByStudent()) + sizeOf(tenant.getValue().studentsByCourse());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("snapshot too large to be mapped: " + size + " bytes");
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putInt(FORMAT)
+                        .putLong(content.createdAt().toEpochMilli())
+                        .putLong(content.maxEnrollmentId())
+                        .putInt(content.tenants().size());
+                for (Map.Entry<String, TenantIndexes> tenant : content.tenants().entrySet()) {
+                    byte[] name = tenant.getKey().getBytes(StandardCharsets.UTF_8);
+                    buffer.putShort((short) name.length).put(name);
+                    put(buffer, tenant.getValue().coursesByStudent());
+                    put(buffer, tenant.getValue().studentsByCourse());
+                }
+                buffer.putLong(checksum(buffer, (int) size - 8));
+                buffer.force();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @throws IOException fichier illisible, d'un autre format ou corrompu (l'appelant repart d'un parcours complet)
+     */
+    static Content read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 36 || size > Integer.MAX_VALUE) {
+                throw new IOException("invalid snapshot size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong((int) size - 8) != checksum(buffer, (int) size - 8)) {
+                throw new IOException("snapshot checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("not a roster snapshot (format " + FORMAT + ")");
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            long maxEnrollmentId = buffer.getLong();
+            int tenantCount = buffer.getInt();
+            Map<String, TenantIndexes> tenants = new LinkedHashMap<>();
+            for (int t = 0; t < tenantCount; t++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                tenants.put(new String(name, StandardCharsets.UTF_8), new TenantIndexes(get(buffer), get(buffer)));
+            }
+            return new Content(createdAt, maxEnrollmentId, tenants);
+        } catch (RuntimeException e) {
+            throw new IOException("unreadable snapshot " + file, e);
+        }
+    }
+
+    private static long sizeOf(AdjacencyIndex index) {
+        return 4 + 4 + 8L * index.keyCount() + 4L * (index.keyCount() + 1) + 8L * index.edgeCount();
+    }
+
+    private static void put(MappedByteBuffer buffer, AdjacencyIndex index) {
+        buffer.putInt(index.keyCount()).putInt(index.edgeCount());
+        buffer.asLongBuffer().put(index.keys());
+        buffer.position(buffer.position() + 8 * index.keyCount());
+        buffer.asIntBuffer().put(index.offsets());
+        buffer.position(buffer.position() + 4 * (index.keyCount() + 1));
+        buffer.asLongBuffer().put(index.values());
+        buffer.position(buffer.position() + 8 * index.edgeCount());
+    }
+
+    private static AdjacencyIndex get(MappedByteBuffer buffer) {
+        long[] keys = new long[buffer.getInt()];
+        long[] values = new long[buffer.getInt()];
+        int[] offsets = new int[keys.length + 1];
+        buffer.asLongBuffer().get(keys);
+        buffer.position(buffer.position() + 8 * keys.length);
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + 4 * offsets.length);
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + 8 * values.length);
+        return keys.length == 0 ? AdjacencyIndex.EMPTY : AdjacencyIndex.of(keys, offsets, values);
+    }
+
+    private static long checksum(MappedByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(length));
+        return crc.getValue();
+    }
+}
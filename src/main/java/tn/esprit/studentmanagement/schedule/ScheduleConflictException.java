@@ -0,0 +1,19 @@
+package tn.esprit.studentmanagement.schedule;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@Getter
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ScheduleConflictException extends RuntimeException {
+
+    private final List<Long> conflictingCourseIds;
+
+    public ScheduleConflictException(Long idCourse, List<Long> conflictingCourseIds) {
+        super("course " + idCourse + " overlaps the student's active courses " + conflictingCourseIds);
+        this.conflictingCourseIds = conflictingCourseIds;
+    }
+}
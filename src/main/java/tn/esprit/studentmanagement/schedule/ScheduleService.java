@@ -0,0 +1,181 @@
+package tn.esprit.studentmanagement.schedule;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.ScheduleConflict;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.CourseSession;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.CourseSessionRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Créneaux des cours et détection des chevauchements d'emploi du temps.
+ * Chaque cours est résumé par un {@link WeekMask} (mis en cache par tenant, invalidé à la fin de la transaction
+ * qui modifie ses créneaux ou supprime le cours) :
+ * vérifier une inscription coûte une requête (cours actifs de l'étudiant) et un ET de masques par cours actif.
+ * Le contrôle d'une nouvelle inscription n'est pas verrouillé : deux inscriptions simultanées du même étudiant
+ * peuvent passer, d'où le contrôle de masse {@link #findConflicts(LocalDate, LocalDate)}.
+ */
+@Service
+public class ScheduleService {
+
+    record CourseKey(String tenantId, Long idCourse) {
+    }
+
+    private final CourseSessionRepository sessionRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ConcurrentHashMap<CourseKey, WeekMask> masks = new ConcurrentHashMap<>();
+
+    public ScheduleService(CourseSessionRepository sessionRepository,
+                           CourseRepository courseRepository,
+                           EnrollmentRepository enrollmentRepository) {
+        this.sessionRepository = sessionRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public List<CourseSession> getSessions(Long idCourse) {
+        return sessionRepository.findByCourse_IdCourseOrderByDayOfWeekAscStartTimeAsc(idCourse);
+    }
+
+    @Transactional
+    public CourseSession addSession(Long idCourse, CourseSession session) {
+        WeekMask.of(session.getDayOfWeek(), session.getStartTime(), session.getEndTime()); // validation du créneau
+        Course course = courseRepository.findById(idCourse).get();
+        session.setIdSession(null);
+        session.setCourse(course);
+        CourseSession saved = sessionRepository.save(session);
+        evictAfterCompletion(idCourse);
+        return saved;
+    }
+
+    @Transactional
+    public void deleteSession(Long idSession) {
+        sessionRepository.findById(idSession).ifPresent(session -> {
+            sessionRepository.delete(session);
+            evictAfterCompletion(session.getCourse().getIdCourse());
+        });
+    }
+
+    /** Créneaux d'un cours supprimé, à appeler dans la transaction de la suppression. */
+    @Transactional
+    public void deleteCourseSessions(Long idCourse) {
+        sessionRepository.deleteByCourseId(idCourse);
+        evictAfterCompletion(idCourse);
+    }
+
+    // Après commit ou rollback : un masque relu avant (ou pendant) la transaction, même avec ses créneaux
+    // non validés, ne reste pas en cache
+    private void evictAfterCompletion(Long idCourse) {
+        CourseKey key = new CourseKey(TenantContext.getTenantId(), idCourse);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            masks.remove(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                masks.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Lève {@link ScheduleConflictException} si le cours chevauche un cours actif de l'étudiant
+     * (l'inscription idEnrollment elle-même, en cas de modification, est ignorée).
+     */
+    public void checkEnrollment(Long idStudent, Long idCourse, Long idEnrollment) {
+        List<Long> conflicts = findConflictingCourses(idStudent, idCourse, idEnrollment);
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(idCourse, conflicts);
+        }
+    }
+
+    public List<Long> findConflictingCourses(Long idStudent, Long idCourse, Long idEnrollment) {
+        WeekMask candidate = maskOf(idCourse);
+        if (candidate.isEmpty()) {
+            return List.of();
+        }
+        return enrollmentRepository.findCourseIdsByStudentAndStatus(idStudent, Status.ACTIVE, idEnrollment != null ? idEnrollment : 0L)
+                .stream()
+                .distinct()
+                .filter(other -> !other.equals(idCourse) && maskOf(other).intersects(candidate))
+                .sorted()
+                .toList();
+    }
+
+    WeekMask maskOf(Long idCourse) {
+        CourseKey key = new CourseKey(TenantContext.getTenantId(), idCourse);
+        WeekMask cached = masks.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        WeekMask built = combine(sessionRepository.findByCourse_IdCourseOrderByDayOfWeekAscStartTimeAsc(idCourse));
+        WeekMask previous = masks.putIfAbsent(key, built);
+        return previous != null ? previous : built;
+    }
+
+    private static WeekMask combine(List<CourseSession> sessions) {
+        WeekMask mask = WeekMask.EMPTY;
+        for (CourseSession session : sessions) {
+            mask = mask.or(WeekMask.of(session.getDayOfWeek(), session.getStartTime(), session.getEndTime()));
+        }
+        return mask;
+    }
+
+    /**
+     * Contrôle de masse d'un semestre : inscriptions actives de la période et créneaux de tous les cours
+     * lus en deux requêtes, puis comparaison des cours de chaque étudiant en parallèle (sans accès base).
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduleConflict> findConflicts(LocalDate from, LocalDate to) {
+        Map<Long, List<Long>> coursesByStudent = enrollmentRepository.findActiveRecordsBetween(from, to, Status.ACTIVE).stream()
+                .collect(Collectors.groupingBy(EnrollmentRecord::studentId,
+                        Collectors.mapping(EnrollmentRecord::courseId, Collectors.toList())));
+        Map<Long, List<CourseSession>> sessionsByCourse = sessionRepository.findAll().stream()
+                .collect(Collectors.groupingBy(session -> session.getCourse().getIdCourse()));
+        Map<Long, WeekMask> courseMasks = new HashMap<>();
+        sessionsByCourse.forEach((idCourse, sessions) -> courseMasks.put(idCourse, combine(sessions)));
+
+        return coursesByStudent.entrySet().parallelStream()
+                .flatMap(student -> conflictsOf(student.getKey(), student.getValue(), courseMasks).stream())
+                .sorted(Comparator.comparing(ScheduleConflict::studentId)
+                        .thenComparing(ScheduleConflict::idCourse)
+                        .thenComparing(ScheduleConflict::conflictingCourseId))
+                .toList();
+    }
+
+    private static List<ScheduleConflict> conflictsOf(Long idStudent, List<Long> courses, Map<Long, WeekMask> courseMasks) {
+        long[] distinct = courses.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (int i = 0; i < distinct.length; i++) {
+            WeekMask mask = courseMasks.get(distinct[i]);
+            if (mask == null) {
+                continue;
+            }
+            for (int j = i + 1; j < distinct.length; j++) {
+                WeekMask other = courseMasks.get(distinct[j]);
+                if (other != null && mask.intersects(other)) {
+                    conflicts.add(new ScheduleConflict(idStudent, distinct[i], distinct[j]));
+                }
+            }
+        }
+        return conflicts;
+    }
+}
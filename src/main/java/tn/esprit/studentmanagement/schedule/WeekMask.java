@@ -0,0 +1,65 @@
+package tn.esprit.studentmanagement.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Semaine découpée en tranches de 5 minutes (2016 bits, 32 long) : un bit par tranche occupée.
+ * Deux emplois du temps se chevauchent si leurs masques ont un bit commun, test en 32 ET logiques
+ * quel que soit le nombre de créneaux. Les bornes sont arrondies vers l'extérieur (début à la tranche
+ * inférieure, fin à la tranche supérieure) : un créneau 10:00-11:30 ne chevauche pas 11:30-12:00.
+ */
+public final class WeekMask {
+
+    public static final int SLOT_MINUTES = 5;
+    private static final int SLOTS = 7 * 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS + 63) / 64;
+
+    public static final WeekMask EMPTY = new WeekMask(new long[WORDS]);
+
+    private final long[] words;
+
+    private WeekMask(long[] words) {
+        this.words = words;
+    }
+
+    public static WeekMask of(DayOfWeek day, LocalTime start, LocalTime end) {
+        if (day == null || start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("a session needs a day and a start time before its end time");
+        }
+        int dayOffset = (day.getValue() - 1) * 24 * 60;
+        int from = (dayOffset + start.getHour() * 60 + start.getMinute()) / SLOT_MINUTES;
+        int to = (dayOffset + end.getHour() * 60 + end.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        long[] words = new long[WORDS];
+        for (int slot = from; slot < to; slot++) {
+            words[slot >>> 6] |= 1L << slot;
+        }
+        return new WeekMask(words);
+    }
+
+    public WeekMask or(WeekMask other) {
+        long[] merged = words.clone();
+        for (int i = 0; i < WORDS; i++) {
+            merged[i] |= other.words[i];
+        }
+        return new WeekMask(merged);
+    }
+
+    public boolean intersects(WeekMask other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
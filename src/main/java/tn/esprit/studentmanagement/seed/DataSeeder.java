@@ -0,0 +1,221 @@
+package tn.esprit.studentmanagement.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère un jeu de données réaliste pour les tests de charge (profil Spring "seed") :
+ * tailles de départements et popularité des cours en loi de Zipf, nombre d'inscriptions
+ * par étudiant en loi de Poisson, notes sur 20 en loi normale.
+ * Les insertions passent par JDBC en lots (les identifiants IDENTITY empêchent le batch Hibernate).
+ */
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+@Slf4j
+public class DataSeeder implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {"Ahmed", "Mohamed", "Amine", "Youssef", "Aziz", "Omar", "Yassine",
+            "Fatma", "Mariem", "Amira", "Nour", "Salma", "Ines", "Rania", "Sarra", "Hiba", "Khalil", "Skander", "Eya", "Malek"};
+    private static final String[] LAST_NAMES = {"Ben Ali", "Trabelsi", "Gharbi", "Jebali", "Mejri", "Dridi", "Ayari",
+            "Hammami", "Bouazizi", "Chaabane", "Sassi", "Mansour", "Khelifi", "Ferchichi", "Zouari", "Baccouche"};
+    private static final String[] CITIES = {"Tunis", "Ariana", "Sfax", "Sousse", "Nabeul", "Bizerte", "Monastir", "Gabès"};
+    private static final String[] DEPARTMENTS = {"Informatique", "Mathématiques", "Génie civil", "Électrique",
+            "Mécanique", "Télécommunications", "Gestion", "Langues"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedProperties properties;
+    private final ApplicationContext applicationContext;
+    private final Random random;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, SeedProperties properties, ApplicationContext applicationContext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+        this.random = new Random(properties.getRandomSeed());
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        List<Long> departmentIds = seedDepartments();
+        List<Long> courseIds = seedCourses(departmentIds);
+        List<Long> studentIds = seedStudents(departmentIds);
+        long enrollments = seedEnrollments(studentIds, courseIds);
+        log.info("Seeded {} departments, {} courses, {} students and {} enrollments for tenant '{}' in {} ms",
+                departmentIds.size(), courseIds.size(), studentIds.size(), enrollments, properties.getTenant(),
+                (System.nanoTime() - start) / 1_000_000);
+        if (properties.isExitAfterSeed()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private List<Long> seedDepartments() {
+        long maxId = maxId("department", "id_department");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < properties.getDepartments(); i++) {
+            String name = DEPARTMENTS[i % DEPARTMENTS.length] + (i < DEPARTMENTS.length ? "" : " " + (i / DEPARTMENTS.length + 1));
+            rows.add(new Object[]{properties.getTenant(), name, "Bloc " + (char) ('A' + i % 8), phone(), "Dr. " + pick(LAST_NAMES)});
+        }
+        insert("insert into department (tenant_id, name, location, phone, head) values (?, ?, ?, ?, ?)", rows);
+        return idsAfter("department", "id_department", maxId);
+    }
+
+    private List<Long> seedCourses(List<Long> departmentIds) {
+        long maxId = maxId("course", "id_course");
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < departmentIds.size(); d++) {
+            for (int c = 0; c < properties.getCoursesPerDepartment(); c++) {
+                String code = String.format("D%02dC%03d", d, 101 + c);
+                rows.add(new Object[]{properties.getTenant(), "Cours " + code, code, 2 + random.nextInt(5), "Cours généré"});
+            }
+        }
+        insert("insert into course (tenant_id, name, code, credit, description) values (?, ?, ?, ?, ?)", rows);
+        return idsAfter("course", "id_course", maxId);
+    }
+
+    private List<Long> seedStudents(List<Long> departmentIds) {
+        long maxId = maxId("student", "id_student");
+        double[] departmentWeights = zipfCumulative(departmentIds.size(), 0.8);
+        List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < properties.getStudents(); i++) {
+            String firstName = pick(FIRST_NAMES);
+            String lastName = pick(LAST_NAMES);
+            String email = (firstName + "." + lastName.replace(" ", "")).toLowerCase() + "." + (maxId + i + 1) + "@esprit.tn";
+            LocalDate dateOfBirth = LocalDate.of(1995, 1, 1).plusDays(random.nextInt(12 * 365));
+            Long departmentId = departmentIds.get(sample(departmentWeights));
+            rows.add(new Object[]{properties.getTenant(), firstName, lastName, email, phone(),
+                    Date.valueOf(dateOfBirth), pick(CITIES), departmentId});
+            if (rows.size() == properties.getBatchSize()) {
+                insertStudents(rows);
+            }
+        }
+        insertStudents(rows);
+        return idsAfter("student", "id_student", maxId);
+    }
+
+    private void insertStudents(List<Object[]> rows) {
+        insert("insert into student (tenant_id, first_name, last_name, email, phone, date_of_birth, address, department_id_department) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private long seedEnrollments(List<Long> studentIds, List<Long> courseIds) {
+        double[] courseWeights = zipfCumulative(courseIds.size(), 1.0);
+        LocalDate today = LocalDate.now();
+        long count = 0;
+        List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+        for (Long studentId : studentIds) {
+            int enrollments = Math.max(1, poisson(properties.getEnrollmentsPerStudent()));
+            for (int e = 0; e < enrollments; e++) {
+                Status status = status();
+                Double grade = switch (status) {
+                    case COMPLETED -> round(clamp(random.nextGaussian() * 2.5 + 13, 10, 20));
+                    case FAILED -> round(clamp(random.nextGaussian() * 2 + 7, 0, 9.75));
+                    default -> null;
+                };
+                LocalDate date = status == Status.ACTIVE
+                        ? today.minusDays(random.nextInt(120))
+                        : today.minusDays(120 + random.nextInt(4 * 365));
+                rows.add(new Object[]{properties.getTenant(), Date.valueOf(date), grade, status.name(),
+                        studentId, courseIds.get(sample(courseWeights))});
+                count++;
+                if (rows.size() == properties.getBatchSize()) {
+                    insertEnrollments(rows);
+                }
+            }
+        }
+        insertEnrollments(rows);
+        return count;
+    }
+
+    private void insertEnrollments(List<Object[]> rows) {
+        insert("insert into enrollment (tenant_id, enrollment_date, grade, status, student_id_student, course_id_course) " +
+                "values (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private long maxId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private List<Long> idsAfter(String table, String idColumn, long maxId) {
+        return jdbcTemplate.queryForList("select " + idColumn + " from " + table + " where " + idColumn + " > ? and tenant_id = ? order by " + idColumn,
+                Long.class, maxId, properties.getTenant());
+    }
+
+    private Status status() {
+        int r = random.nextInt(100);
+        if (r < 40) return Status.ACTIVE;
+        if (r < 80) return Status.COMPLETED;
+        if (r < 90) return Status.FAILED;
+        if (r < 95) return Status.DROPPED;
+        return Status.WITHDRAWN;
+    }
+
+    private double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private int sample(double[] cumulative) {
+        int index = java.util.Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private int poisson(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int k = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    private String phone() {
+        return String.format("+216 %d%d %03d %03d", 2 + random.nextInt(8), random.nextInt(10),
+                random.nextInt(1000), random.nextInt(1000));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double round(double grade) {
+        return Math.round(grade * 4) / 4.0; // notes au quart de point
+    }
+}
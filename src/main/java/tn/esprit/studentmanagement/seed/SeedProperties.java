@@ -0,0 +1,21 @@
+package tn.esprit.studentmanagement.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.seed")
+@Getter
+@Setter
+public class SeedProperties {
+    private String tenant = "default";
+    private int departments = 20;
+    private int coursesPerDepartment = 10;
+    private int students = 20_000;
+    // Nombre moyen d'inscriptions par étudiant (loi de Poisson, minimum 1)
+    private double enrollmentsPerStudent = 5;
+    private int batchSize = 1000;
+    private long randomSeed = 42;
+    // Arrêter l'application une fois les données générées
+    private boolean exitAfterSeed = false;
+}
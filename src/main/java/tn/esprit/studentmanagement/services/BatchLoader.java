@@ -0,0 +1,220 @@
+package tn.esprit.studentmanagement.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Chargement par identifiant avec coalescence des lectures concurrentes :
+ * <ul>
+ *     <li>single-flight : les appels simultanés pour le même (tenant, id) partagent un seul chargement ;</li>
+ *     <li>micro-batching : quand d'autres chargements sont déjà en cours, le premier appelant (leader) attend
+ *     au plus {@code window} que d'autres identifiants rejoignent son lot, puis exécute un seul findAllById.</li>
+ * </ul>
+ * Sans concurrence, le leader charge immédiatement avec findById : aucune latence ajoutée.
+ * Le chargement s'exécute sur le thread (et la session Hibernate) du leader : chaque appelant reçoit sa propre
+ * copie détachée, jamais l'entité gérée. Après une écriture signalée par {@link #written()}, un appelant ne rejoint
+ * plus un chargement dont la requête a démarré avant elle et relance le sien.
+ */
+final class BatchLoader<V> {
+
+    static final long DEFAULT_WINDOW_MICROS = 1000;
+    static final int DEFAULT_MAX_BATCH = 100;
+
+    private record Key(String tenantId, Long id) {
+    }
+
+    private record Flight<V>(CompletableFuture<V> future, BatchLoader<V>.Batch batch) {
+    }
+
+    private final class Batch {
+        private final Map<Long, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        private boolean closed;
+        private long startedAt = -1; // valeur de writes au lancement de la requête, -1 tant qu'elle n'est pas partie
+    }
+
+    private final Function<Long, Optional<V>> findById;
+    private final Function<Collection<Long>, List<V>> findAllById;
+    private final Function<V, Long> idOf;
+    private final UnaryOperator<V> copy;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    private final Map<Key, Flight<V>> inFlight = new HashMap<>(); // gardé par le moniteur openBatches
+    private final Map<String, Batch> openBatches = new HashMap<>(); // gardé par le moniteur openBatches
+    private final AtomicInteger activeLoads = new AtomicInteger();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    BatchLoader(Function<Long, Optional<V>> findById, Function<Collection<Long>, List<V>> findAllById, Function<V, Long> idOf,
+                UnaryOperator<V> copy) {
+        this(findById, findAllById, idOf, copy, TimeUnit.MICROSECONDS.toNanos(DEFAULT_WINDOW_MICROS), DEFAULT_MAX_BATCH);
+    }
+
+    BatchLoader(Function<Long, Optional<V>> findById, Function<Collection<Long>, List<V>> findAllById, Function<V, Long> idOf,
+                UnaryOperator<V> copy, long windowNanos, int maxBatch) {
+        this.findById = findById;
+        this.findAllById = findAllById;
+        this.idOf = idOf;
+        this.copy = copy;
+        this.windowNanos = windowNanos;
+        this.maxBatch = maxBatch;
+    }
+
+    /** Copie détachée de l'entité du tenant courant, ou null si elle n'existe pas. */
+    V load(Long id) {
+        String tenantId = TenantContext.getTenantId();
+        Key key = new Key(tenantId, id);
+        CompletableFuture<V> future;
+        Batch leaderOf = null;
+        synchronized (openBatches) {
+            Flight<V> flight = inFlight.get(key);
+            if (flight != null && (flight.batch().startedAt < 0 || flight.batch().startedAt == writes.get())) {
+                future = flight.future();
+                coalesced.incrementAndGet();
+            } else {
+                // Aucun chargement en cours, ou requête lancée avant la dernière écriture : nouveau chargement
+                future = new CompletableFuture<>();
+                Batch batch = openBatches.get(tenantId);
+                if (batch == null) {
+                    batch = new Batch();
+                    openBatches.put(tenantId, batch);
+                    leaderOf = batch;
+                }
+                inFlight.put(key, new Flight<>(future, batch));
+                batch.futures.put(id, future);
+                if (batch.futures.size() >= maxBatch) {
+                    close(tenantId, batch);
+                }
+            }
+        }
+        if (leaderOf != null) {
+            dispatch(tenantId, leaderOf);
+        }
+        V shared = await(future);
+        return shared == null ? null : copy.apply(shared);
+    }
+
+    /**
+     * À appeler après chaque écriture de l'entité : tout de suite, puis de nouveau à la fin de la transaction en cours
+     * (un chargement lancé avant le commit ne voit pas l'écriture).
+     */
+    void written() {
+        writes.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    writes.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    long coalescedCount() {
+        return coalesced.get();
+    }
+
+    long queryCount() {
+        return queries.get();
+    }
+
+    private void dispatch(String tenantId, Batch batch) {
+        Map<Long, CompletableFuture<V>> futures;
+        synchronized (openBatches) {
+            // Attente du lot uniquement si la base est déjà sollicitée par d'autres chargements
+            if (activeLoads.get() > 0) {
+                long deadline = System.nanoTime() + windowNanos;
+                long remaining = windowNanos;
+                while (!batch.closed && remaining > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(openBatches, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+            if (!batch.closed) {
+                close(tenantId, batch);
+            }
+            batch.startedAt = writes.get();
+            futures = new LinkedHashMap<>(batch.futures);
+        }
+        activeLoads.incrementAndGet();
+        try {
+            Map<Long, V> loaded = fetch(List.copyOf(futures.keySet()));
+            // Copie faite sur le thread du leader, tant que sa session est ouverte : les appelants n'en reçoivent que des copies
+            futures.forEach((id, future) -> {
+                V value = loaded.get(id);
+                complete(new Key(tenantId, id), future, value == null ? null : copy.apply(value), null);
+            });
+        } catch (RuntimeException e) {
+            futures.forEach((id, future) -> complete(new Key(tenantId, id), future, null, e));
+        } finally {
+            activeLoads.decrementAndGet();
+        }
+    }
+
+    private Map<Long, V> fetch(List<Long> ids) {
+        queries.incrementAndGet();
+        Map<Long, V> loaded = new HashMap<>();
+        if (ids.size() == 1) {
+            findById.apply(ids.get(0)).ifPresent(value -> loaded.put(ids.get(0), value));
+        } else {
+            findAllById.apply(ids).forEach(value -> loaded.put(idOf.apply(value), value));
+        }
+        return loaded;
+    }
+
+    private void close(String tenantId, Batch batch) {
+        batch.closed = true;
+        openBatches.remove(tenantId, batch);
+        openBatches.notifyAll();
+    }
+
+    private void complete(Key key, CompletableFuture<V> future, V value, RuntimeException error) {
+        synchronized (openBatches) {
+            // Un appelant arrivé après une écriture a pu remplacer l'entrée par son propre chargement
+            Flight<V> flight = inFlight.get(key);
+            if (flight != null && flight.future() == future) {
+                inFlight.remove(key);
+            }
+        }
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
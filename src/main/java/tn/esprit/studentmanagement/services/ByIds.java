@@ -0,0 +1,50 @@
+package tn.esprit.studentmanagement.services;
+
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Lecture groupée par ids : findAllById par tranches pour borner la taille des listes IN
+ * (et le nombre de plans distincts avec in_clause_parameter_padding), puis remise dans l'ordre demandé.
+ * Au plus {@link ByIdsResponse#MAX_IDS} ids distincts, sinon {@link TooManyIdsException} (400).
+ */
+final class ByIds {
+
+    static final int CHUNK_SIZE = 100;
+
+    private ByIds() {
+    }
+
+    static <T> ByIdsResponse<T> load(List<Long> ids, Function<Collection<Long>, ? extends Iterable<T>> findAllById,
+                                     Function<T, Long> idOf) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.size() > ByIdsResponse.MAX_IDS) {
+            throw new TooManyIdsException(ByIdsResponse.MAX_IDS);
+        }
+        Map<Long, T> found = new HashMap<>(requested.size() * 2);
+        for (int from = 0; from < requested.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = requested.subList(from, Math.min(from + CHUNK_SIZE, requested.size()));
+            for (T item : findAllById.apply(chunk)) {
+                found.put(idOf.apply(item), item);
+            }
+        }
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ByIdsResponse<>(items, missing);
+    }
+}
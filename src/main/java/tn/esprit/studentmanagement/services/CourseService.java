@@ -0,0 +1,79 @@
+package tn.esprit.studentmanagement.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.CourseRoster;
+import tn.esprit.studentmanagement.dto.CourseSummary;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class CourseService implements ICourseService {
+    @Autowired
+    CourseRepository courseRepository;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Override
+    public List<Course> getAllCourses() {
+        return courseRepository.findAll();
+    }
+
+    @Override
+    public Course getCourseById(Long idCourse) {
+        return courseRepository.findById(idCourse).get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ByIdsResponse<Course> getCoursesByIds(List<Long> ids) {
+        return ByIds.load(ids, courseRepository::findAllById, Course::getIdCourse);
+    }
+
+    @Override
+    public Course saveCourse(Course course) {
+        return courseRepository.save(course);
+    }
+
+    // Créneaux supprimés avec le cours ; son masque d'emploi du temps quitte le cache au commit
+    @Override
+    @Transactional
+    public void deleteCourse(Long idCourse) {
+        scheduleService.deleteCourseSessions(idCourse);
+        courseRepository.deleteById(idCourse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getCourseSummaries() {
+        return courseRepository.findAllSummaries();
+    }
+
+    // Deux requêtes quel que soit le nombre d'inscrits : le cours, puis inscriptions + étudiants + départements
+    @Override
+    @Transactional(readOnly = true)
+    public CourseRoster getCourseRoster(Long idCourse) {
+        Course course = courseRepository.findById(idCourse).get();
+        List<CourseRoster.RosterLine> enrollments = enrollmentRepository.findRosterByCourseId(idCourse).stream()
+                .map(e -> {
+                    Student student = e.getStudent();
+                    return new CourseRoster.RosterLine(e.getIdEnrollment(), e.getEnrollmentDate(), e.getStatus(), e.getGrade(),
+                            student.getIdStudent(), student.getFirstName(), student.getLastName(), student.getEmail(),
+                            student.getDepartment() != null ? student.getDepartment().getName() : null);
+                })
+                .sorted(Comparator.comparing(CourseRoster.RosterLine::lastName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CourseRoster.RosterLine::idEnrollment))
+                .toList();
+        return new CourseRoster(course.getIdCourse(), course.getCode(), course.getName(), course.getCredit(), enrollments);
+    }
+}
@@ -1,17 +1,51 @@
 package tn.esprit.studentmanagement.services;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.DepartmentDetail;
+import tn.esprit.studentmanagement.dto.DepartmentSummary;
+import tn.esprit.studentmanagement.dto.KeysetPage;
 import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.events.SoftDeletedEvent;
 import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 @Service
 
 public class DepartmentService implements IDepartmentService {
+    private static final Keyset<Department> KEYSET = Keyset.of("idDepartment", Department::getIdDepartment)
+            .key("name", "name", String.class, Department::getName); // idx_department_tenant_name
     @Autowired
     DepartmentRepository departmentRepository;
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    StudentQueryCache queryCache;
+    private BatchLoader<Department> departmentLoader;
+
+    @PostConstruct
+    void initLoader() {
+        departmentLoader = new BatchLoader<>(departmentRepository::findById, departmentRepository::findAllById, Department::getIdDepartment,
+                Detached::department);
+    }
 
     @Override
     public List<Department> getAllDepartments() {
@@ -20,16 +54,76 @@ public class DepartmentService implements IDepartmentService {
 
     @Override
     public Department getDepartmentById(Long idDepartment) {
-        return departmentRepository.findById(idDepartment).get();
+        Department department = departmentLoader.load(idDepartment);
+        if (department == null) {
+            throw new NoSuchElementException("Department " + idDepartment + " not found");
+        }
+        return department;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ByIdsResponse<Department> getDepartmentsByIds(List<Long> ids) {
+        return ByIds.load(ids, departmentRepository::findAllById, Department::getIdDepartment);
     }
 
     @Override
     public Department saveDepartment(Department department) {
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        departmentLoader.written();
+        queryCache.invalidate(); // étudiants en cache rendus avec l'ancien département
+        return saved;
     }
 
+    // Immédiat quelle que soit la taille du département : les étudiants sont détachés lors de la purge
     @Override
+    @Transactional
     public void deleteDepartment(Long idDepartment) {
-departmentRepository.deleteById(idDepartment);
+        LocalDateTime now = LocalDateTime.now();
+        departmentRepository.softDeleteById(idDepartment, now);
+        departmentLoader.written();
+        eventPublisher.publishEvent(new SoftDeletedEvent(TenantContext.getTenantId(), "Department", idDepartment, now));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentSummary> getDepartmentSummaries() {
+        return departmentRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Department> getDepartmentsPage(String sort, Sort.Direction direction, int size, String after) {
+        return KEYSET.page(departmentRepository, null, sort, direction, size, after);
+    }
+
+    // Deux requêtes quelle que soit la taille du département : département + étudiants, puis inscriptions + cours
+    @Override
+    @Transactional(readOnly = true)
+    public DepartmentDetail getDepartmentDetail(Long idDepartment) {
+        Department department = departmentRepository.findWithStudentsById(idDepartment).get();
+        Map<Long, List<DepartmentDetail.EnrollmentLine>> enrollmentsByStudent = enrollmentRepository
+                .findWithCourseByDepartmentId(idDepartment).stream()
+                .sorted(Comparator.comparing(Enrollment::getEnrollmentDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Enrollment::getIdEnrollment))
+                .collect(Collectors.groupingBy(e -> e.getStudent().getIdStudent(),
+                        Collectors.mapping(DepartmentService::toLine, Collectors.toList())));
+        List<DepartmentDetail.StudentLine> students = department.getStudents().stream()
+                .sorted(Comparator.comparing(Student::getLastName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Student::getIdStudent))
+                .map(s -> new DepartmentDetail.StudentLine(s.getIdStudent(), s.getFirstName(), s.getLastName(), s.getEmail(),
+                        enrollmentsByStudent.getOrDefault(s.getIdStudent(), List.of())))
+                .toList();
+        return new DepartmentDetail(department.getIdDepartment(), department.getName(), department.getLocation(),
+                department.getPhone(), department.getHead(), students);
+    }
+
+    private static DepartmentDetail.EnrollmentLine toLine(Enrollment enrollment) {
+        boolean hasCourse = enrollment.getCourse() != null;
+        return new DepartmentDetail.EnrollmentLine(enrollment.getIdEnrollment(), enrollment.getEnrollmentDate(),
+                enrollment.getStatus(), enrollment.getGrade(),
+                hasCourse ? enrollment.getCourse().getIdCourse() : null,
+                hasCourse ? enrollment.getCourse().getCode() : null,
+                hasCourse ? enrollment.getCourse().getName() : null);
     }
 }
@@ -0,0 +1,72 @@
+package tn.esprit.studentmanagement.services;
+
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Student;
+
+/**
+ * Copies détachées des entités partagées par {@link BatchLoader} : champs simples et associations
+ * {@code @ManyToOne} (chargées avec l'entité), sans les collections paresseuses, qui ne sont pas sérialisées.
+ */
+final class Detached {
+
+    private Detached() {
+    }
+
+    static Department department(Department source) {
+        if (source == null) {
+            return null;
+        }
+        Department copy = Department.builder()
+                .idDepartment(source.getIdDepartment())
+                .name(source.getName())
+                .location(source.getLocation())
+                .phone(source.getPhone())
+                .head(source.getHead())
+                .build();
+        copy.setTenantId(source.getTenantId());
+        copy.setDeletedAt(source.getDeletedAt());
+        return copy;
+    }
+
+    static Student student(Student source) {
+        if (source == null) {
+            return null;
+        }
+        Student copy = Student.builder()
+                .idStudent(source.getIdStudent())
+                .firstName(source.getFirstName())
+                .lastName(source.getLastName())
+                .email(source.getEmail())
+                .phone(source.getPhone())
+                .dateOfBirth(source.getDateOfBirth())
+                .address(source.getAddress())
+                .department(department(source.getDepartment()))
+                .build();
+        copy.setTenantId(source.getTenantId());
+        copy.setDeletedAt(source.getDeletedAt());
+        return copy;
+    }
+
+    static Course course(Course source) {
+        if (source == null) {
+            return null;
+        }
+        Course copy = new Course(source.getIdCourse(), source.getName(), source.getCode(), source.getCredit(),
+                source.getDescription(), null);
+        copy.setTenantId(source.getTenantId());
+        return copy;
+    }
+
+    static Enrollment enrollment(Enrollment source) {
+        if (source == null) {
+            return null;
+        }
+        Enrollment copy = new Enrollment(source.getIdEnrollment(), source.getEnrollmentDate(), source.getGrade(),
+                source.getStatus(), student(source.getStudent()), course(source.getCourse()));
+        copy.setTenantId(source.getTenantId());
+        copy.setDeletedAt(source.getDeletedAt());
+        return copy;
+    }
+}
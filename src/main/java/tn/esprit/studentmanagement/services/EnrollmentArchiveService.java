@@ -0,0 +1,86 @@
+package tn.esprit.studentmanagement.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Déplace les inscriptions clôturées (COMPLETED, FAILED, WITHDRAWN) des années universitaires
+ * terminées vers la table enrollment_archive, par lots, chaque lot dans sa propre transaction.
+ */
+@Service
+@Slf4j
+public class EnrollmentArchiveService {
+
+    static final Set<Status> CLOSED_STATUSES = EnumSet.of(Status.COMPLETED, Status.FAILED, Status.WITHDRAWN);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthDay academicYearStart;
+    private final int keptYears;
+    private final int batchSize;
+
+    public EnrollmentArchiveService(EnrollmentRepository enrollmentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.archive.academic-year-start-month:9}") int academicYearStartMonth,
+                                    @Value("${app.archive.kept-years:1}") int keptYears,
+                                    @Value("${app.archive.batch-size:1000}") int batchSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.academicYearStart = MonthDay.of(academicYearStartMonth, 1);
+        this.keptYears = keptYears;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Date avant laquelle les inscriptions peuvent se trouver dans l'archive :
+     * début de l'année universitaire la plus ancienne encore conservée dans la table courante.
+     */
+    public LocalDate getArchiveCutoff() {
+        LocalDate today = LocalDate.now();
+        LocalDate currentYearStart = academicYearStart.atYear(today.getYear());
+        if (currentYearStart.isAfter(today)) {
+            currentYearStart = currentYearStart.minusYears(1);
+        }
+        return currentYearStart.minusYears(keptYears - 1L);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 1 * * *}")
+    public void archiveClosedYears() {
+        LocalDate cutoff = getArchiveCutoff();
+        long start = System.nanoTime();
+        int total = 0;
+        int archived;
+        do {
+            archived = TenantContext.callAs(TenantContext.ROOT_TENANT, () -> archiveBatch(cutoff));
+            total += archived;
+        } while (archived == batchSize);
+        log.info("Archived {} enrollments older than {} in {} ms", total, cutoff, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    int archiveBatch(LocalDate cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<Long> ids = enrollmentRepository.findArchivableIds(CLOSED_STATUSES, cutoff, PageRequest.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            enrollmentRepository.copyToArchive(ids, LocalDateTime.now());
+            return enrollmentRepository.deleteAllByIdIn(ids);
+        });
+        return archived != null ? archived : 0;
+    }
+}
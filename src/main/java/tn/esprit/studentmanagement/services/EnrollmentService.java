@@ -1,16 +1,68 @@
 package tn.esprit.studentmanagement.services;
 
 import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.EnrollmentSummary;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.repositories.EnrollmentArchiveRepository;
 import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
 import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Service
 public class EnrollmentService implements IEnrollment {
+    // Étudiant et cours par leur clé étrangère (idx_enrollment_tenant_student / _course), date : idx_enrollment_tenant_date
+    private static final Keyset<Enrollment> KEYSET = Keyset.of("idEnrollment", Enrollment::getIdEnrollment)
+            .key("enrollmentDate", "enrollmentDate", LocalDate.class, Enrollment::getEnrollmentDate)
+            .key("studentId", "student.idStudent", Long.class,
+                    e -> e.getStudent() != null ? e.getStudent().getIdStudent() : null)
+            .key("courseId", "course.idCourse", Long.class,
+                    e -> e.getCourse() != null ? e.getCourse().getIdCourse() : null);
+
     @Autowired
     EnrollmentRepository enrollmentRepository;
+    @Autowired
+    EnrollmentArchiveRepository enrollmentArchiveRepository;
+    @Autowired
+    EnrollmentArchiveService enrollmentArchiveService;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    ScheduleService scheduleService;
+    private BatchLoader<Enrollment> enrollmentLoader;
+
+    @PostConstruct
+    void initLoader() {
+        enrollmentLoader = new BatchLoader<>(enrollmentRepository::findById, enrollmentRepository::findAllById, Enrollment::getIdEnrollment,
+                Detached::enrollment);
+    }
+
+    // Synchrone, dans la transaction de l'écriture : couvre aussi les notes du pipeline et les suppressions d'étudiants
+    @EventListener
+    void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        enrollmentLoader.written();
+    }
 
     @Override
     public List<Enrollment> getAllEnrollments() {
@@ -19,16 +71,76 @@ public class EnrollmentService implements IEnrollment {
 
     @Override
     public Enrollment getEnrollmentById(Long idEnrollment) {
-        return enrollmentRepository.findById(idEnrollment).get();
+        Enrollment enrollment = enrollmentLoader.load(idEnrollment);
+        if (enrollment == null) {
+            throw new NoSuchElementException("Enrollment " + idEnrollment + " not found");
+        }
+        return enrollment;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ByIdsResponse<Enrollment> getEnrollmentsByIds(List<Long> ids) {
+        return ByIds.load(ids, enrollmentRepository::findAllById, Enrollment::getIdEnrollment);
     }
 
+    // L'état précédent est lu dans la même transaction : le merge de save() le réutilise sans nouvelle requête
     @Override
+    @Transactional
     public Enrollment saveEnrollment(Enrollment enrollment) {
-        return enrollmentRepository.save(enrollment);
+        if (enrollment.getStatus() == Status.ACTIVE && enrollment.getStudent() != null && enrollment.getCourse() != null) {
+            scheduleService.checkEnrollment(enrollment.getStudent().getIdStudent(), enrollment.getCourse().getIdCourse(),
+                    enrollment.getIdEnrollment()); // 409 si chevauchement avec un cours actif de l'étudiant
+        }
+        EnrollmentRecord before = enrollment.getIdEnrollment() == null ? null
+                : enrollmentRepository.findById(enrollment.getIdEnrollment()).map(EnrollmentChangedEvent::snapshot).orElse(null);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(TenantContext.getTenantId(), before, EnrollmentChangedEvent.snapshot(saved)));
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteEnrollment(Long idEnrollment) {
-enrollmentRepository.deleteById(idEnrollment);
+        enrollmentRepository.findById(idEnrollment).ifPresent(enrollment -> {
+            enrollmentRepository.softDeleteById(idEnrollment, LocalDateTime.now());
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(TenantContext.getTenantId(), EnrollmentChangedEvent.snapshot(enrollment), null));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EnrollmentSummary> getEnrollmentSummaries() {
+        return enrollmentRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Enrollment> getEnrollmentsPage(LocalDate from, LocalDate to, String sort, Sort.Direction direction,
+                                                     int size, String after) {
+        Specification<Enrollment> filter = (root, query, cb) -> {
+            // Étudiant (et son département) et cours dans la même requête que la page
+            root.fetch("student", JoinType.LEFT).fetch("department", JoinType.LEFT);
+            root.fetch("course", JoinType.LEFT);
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("enrollmentDate"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("enrollmentDate"), to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return KEYSET.page(enrollmentRepository, filter, sort, direction, size, after);
+    }
+
+    @Override
+    public List<EnrollmentRecord> getEnrollmentsBetween(LocalDate from, LocalDate to) {
+        List<EnrollmentRecord> records = new ArrayList<>(enrollmentRepository.findRecordsBetween(from, to));
+        if (from.isBefore(enrollmentArchiveService.getArchiveCutoff())) {
+            records.addAll(enrollmentArchiveRepository.findRecordsBetween(from, to));
+            records.sort(Comparator.comparing(EnrollmentRecord::enrollmentDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return records;
     }
 }
@@ -0,0 +1,18 @@
+package tn.esprit.studentmanagement.services;
+
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.CourseRoster;
+import tn.esprit.studentmanagement.dto.CourseSummary;
+import tn.esprit.studentmanagement.entities.Course;
+
+import java.util.List;
+
+public interface ICourseService {
+    public List<Course> getAllCourses();
+    public Course getCourseById(Long idCourse);
+    public ByIdsResponse<Course> getCoursesByIds(List<Long> ids);
+    public Course saveCourse(Course course);
+    public void deleteCourse(Long idCourse);
+    public List<CourseSummary> getCourseSummaries();
+    public CourseRoster getCourseRoster(Long idCourse);
+}
@@ -1,5 +1,10 @@
 package tn.esprit.studentmanagement.services;
 
+import org.springframework.data.domain.Sort;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.DepartmentDetail;
+import tn.esprit.studentmanagement.dto.DepartmentSummary;
+import tn.esprit.studentmanagement.dto.KeysetPage;
 import tn.esprit.studentmanagement.entities.Department;
 import tn.esprit.studentmanagement.entities.Student;
 
@@ -8,6 +13,10 @@ import java.util.List;
 public interface IDepartmentService {
     public List<Department> getAllDepartments();
     public Department getDepartmentById(Long idDepartment);
+    public ByIdsResponse<Department> getDepartmentsByIds(List<Long> ids);
     public Department saveDepartment(Department department);
     public void deleteDepartment(Long idDepartment);
+    public List<DepartmentSummary> getDepartmentSummaries();
+    public KeysetPage<Department> getDepartmentsPage(String sort, Sort.Direction direction, int size, String after);
+    public DepartmentDetail getDepartmentDetail(Long idDepartment);
 }
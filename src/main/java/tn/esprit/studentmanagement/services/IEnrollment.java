@@ -1,13 +1,25 @@
 package tn.esprit.studentmanagement.services;
 
+import org.springframework.data.domain.Sort;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.EnrollmentSummary;
+import tn.esprit.studentmanagement.dto.KeysetPage;
 import tn.esprit.studentmanagement.entities.Enrollment;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface IEnrollment {
     public List<Enrollment> getAllEnrollments();
     public Enrollment getEnrollmentById(Long idEnrollment);
+    public ByIdsResponse<Enrollment> getEnrollmentsByIds(List<Long> ids);
     public Enrollment saveEnrollment(Enrollment enrollment);
     public void deleteEnrollment(Long idEnrollment);
+    public List<EnrollmentSummary> getEnrollmentSummaries();
+    // Inscriptions courantes (hors archive) ; from / to facultatifs
+    public KeysetPage<Enrollment> getEnrollmentsPage(LocalDate from, LocalDate to, String sort, Sort.Direction direction, int size, String after);
+    // Inclut l'archive uniquement si la période demandée commence avant la date d'archivage
+    public List<EnrollmentRecord> getEnrollmentsBetween(LocalDate from, LocalDate to);
 
 }
@@ -1,5 +1,14 @@
 package tn.esprit.studentmanagement.services;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import tn.esprit.studentmanagement.cache.QueryCacheStats;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.dto.StudentSummary;
 import tn.esprit.studentmanagement.entities.Student;
 import java.util.List;
 
@@ -8,4 +17,14 @@ public interface IStudentService {
     Student getStudentById(Long id);
     Student saveStudent(Student student);
     void deleteStudent(Long id);
+    List<StudentSummary> getStudentSummaries();
+    List<Student> getStudentsByDepartment(Long idDepartment); // en cache, comme les deux suivantes
+    long countStudentsByDepartment(Long idDepartment);
+    List<Student> getStudentsByLastName(String lastName);
+    QueryCacheStats getQueryCacheStats();
+    ByIdsResponse<Student> getStudentsByIds(List<Long> ids); // ordre de la demande + ids manquants
+    Slice<Student> searchStudents(StudentFilter filter, Pageable pageable); // filtres combinés, sans COUNT
+    KeysetPage<Student> getStudentsPage(StudentFilter filter, String sort, Sort.Direction direction, int size, String after); // voir Keyset
+    List<MergeSuggestion> findDuplicates(Double minScore, int limit); // recherche complète du tenant
+    List<MergeSuggestion> checkDuplicates(Student student); // existants que l'étudiant dupliquerait
 }
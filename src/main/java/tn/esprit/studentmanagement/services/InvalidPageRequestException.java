@@ -0,0 +1,15 @@
+package tn.esprit.studentmanagement.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Paramètres de pagination refusés (clé de tri sans index, taille hors bornes, jeton de continuation invalide).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends IllegalArgumentException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,182 @@
+package tn.esprit.studentmanagement.services;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Pagination par clé (keyset) : ORDER BY clé de tri puis id, dans le sens demandé, et page suivante
+ * lue à partir de la dernière ligne rendue (WHERE (clé, id) > (dernière clé, dernier id)) au lieu d'un OFFSET.
+ * Chaque page coûte un parcours de (taille + 1) entrées d'index, quelle que soit sa profondeur.
+ *
+ * Seules les clés déclarées sont acceptées : chacune doit être couverte par un index (tenant_id, colonne),
+ * dont InnoDB complète les entrées par la clé primaire, ce qui aligne aussi le départage par id.
+ * Les NULL sont supposés classés en tête en ordre croissant (MySQL et H2).
+ * Le jeton de continuation est opaque pour le client : clé, sens, dernier id et dernière valeur, en Base64.
+ */
+public final class Keyset<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private record Key<T>(String path, Class<?> type, Function<T, ?> value) {
+    }
+
+    private record Cursor(long id, Object value) {
+    }
+
+    private final String idName;
+    private final Map<String, Key<T>> keys = new LinkedHashMap<>();
+
+    private Keyset(String idName, Function<T, Long> id) {
+        this.idName = idName;
+        keys.put(idName, new Key<>(idName, Long.class, id));
+    }
+
+    public static <T> Keyset<T> of(String idName, Function<T, Long> id) {
+        return new Keyset<>(idName, id);
+    }
+
+    /**
+     * @param path chemin de la propriété (ex. "department.idDepartment" : colonne de clé étrangère, sans jointure)
+     * @param type Long, String ou LocalDate
+     */
+    public Keyset<T> key(String name, String path, Class<?> type, Function<T, ?> value) {
+        keys.put(name, new Key<>(path, type, value));
+        return this;
+    }
+
+    public Set<String> keys() {
+        return keys.keySet();
+    }
+
+    /**
+     * @param filter critères (null : aucun)
+     * @throws InvalidPageRequestException clé de tri non indexée, taille hors bornes ou jeton invalide
+     */
+    public KeysetPage<T> page(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                              String sort, Sort.Direction direction, int size, String after) {
+        Key<T> key = keys.get(sort);
+        if (key == null) {
+            throw new InvalidPageRequestException("sort must be one of " + keys.keySet());
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new InvalidPageRequestException("size must be in [1, " + MAX_SIZE + "]");
+        }
+        Specification<T> specification = orderBy(key, direction);
+        if (filter != null) {
+            specification = specification.and(filter);
+        }
+        if (after != null) {
+            specification = specification.and(after(key, direction, decode(after, sort, direction, key)));
+        }
+        List<T> rows = repository.findBy(specification, query -> query.limit(size + 1).all());
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        T last = rows.get(size - 1);
+        return new KeysetPage<>(rows.subList(0, size), encode(sort, direction, last, key));
+    }
+
+    /**
+     * ORDER BY posé par la Specification plutôt que par un Sort : un Sort sur "course.idCourse" réutiliserait
+     * la jointure chargée par le filtre (ORDER BY sur la table jointe), alors que le chemin de critère
+     * reste sur la colonne de clé étrangère, celle de l'index.
+     */
+    private Specification<T> orderBy(Key<T> key, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            List<Order> orders = new ArrayList<>(2);
+            if (!key.path().equals(idName)) {
+                Expression<?> column = path(root, key.path());
+                orders.add(direction.isAscending() ? cb.asc(column) : cb.desc(column));
+            }
+            Expression<?> id = root.get(idName);
+            orders.add(direction.isAscending() ? cb.asc(id) : cb.desc(id));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<T> after(Key<T> key, Sort.Direction direction, Cursor cursor) {
+        boolean ascending = direction.isAscending();
+        return (root, query, cb) -> {
+            Expression<Long> id = root.get(idName);
+            Predicate nextId = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if (key.path().equals(idName)) {
+                return nextId;
+            }
+            Expression<Comparable> column = path(root, key.path());
+            if (cursor.value() == null) {
+                // NULL en tête en ordre croissant, en queue en ordre décroissant
+                Predicate sameNull = cb.and(cb.isNull(column), nextId);
+                return ascending ? cb.or(sameNull, cb.isNotNull(column)) : sameNull;
+            }
+            Comparable value = (Comparable) cursor.value();
+            Predicate beyond = ascending ? cb.greaterThan(column, value) : cb.lessThan(column, value);
+            Predicate tie = cb.and(cb.equal(column, value), nextId);
+            return ascending ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(column));
+        };
+    }
+
+    private static <X> Path<X> path(From<?, ?> root, String path) {
+        String[] parts = path.split("\\.");
+        Path<?> current = root.get(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            current = current.get(parts[i]);
+        }
+        @SuppressWarnings("unchecked")
+        Path<X> typed = (Path<X>) current;
+        return typed;
+    }
+
+    private String encode(String sort, Sort.Direction direction, T last, Key<T> key) {
+        Object id = keys.get(idName).value().apply(last);
+        Object value = key.value().apply(last);
+        String token = sort + "\n" + direction + "\n" + id + (value != null ? "\n" + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String token, String sort, Sort.Direction direction, Key<?> key) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("malformed continuation token");
+        }
+        if (parts.length < 3 || !parts[0].equals(sort) || !parts[1].equals(direction.name())) {
+            throw new InvalidPageRequestException("continuation token does not match sort=" + sort + " and direction=" + direction);
+        }
+        try {
+            return new Cursor(Long.parseLong(parts[2]), parts.length == 4 ? parse(parts[3], key.type()) : null);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidPageRequestException("malformed continuation token");
+        }
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,125 @@
+package tn.esprit.studentmanagement.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Effacement réel, en heures creuses, des lignes supprimées logiquement depuis plus que le délai de grâce :
+ * inscriptions, puis étudiants, puis départements (après détachement de leurs étudiants).
+ * Chaque lot est borné et validé dans sa propre transaction ; le traitement s'arrête à la fin de la fenêtre
+ * et reprend la nuit suivante.
+ */
+@Service
+@Slf4j
+public class SoftDeletePurger {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+    private final Duration window;
+    private final int batchSize;
+
+    public SoftDeletePurger(EnrollmentRepository enrollmentRepository,
+                            StudentRepository studentRepository,
+                            DepartmentRepository departmentRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.purge.grace-hours:24}") long graceHours,
+                            @Value("${app.purge.window-minutes:120}") long windowMinutes,
+                            @Value("${app.purge.batch-size:1000}") int batchSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.departmentRepository = departmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gracePeriod = Duration.ofHours(graceHours);
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.purge.cron:0 0 4 * * *}")
+    public void purgeDeleted() {
+        long start = System.nanoTime();
+        int purged = TenantContext.callAs(TenantContext.ROOT_TENANT,
+                () -> purgeBefore(LocalDateTime.now().minus(gracePeriod), start + window.toNanos()));
+        log.info("Purged {} soft-deleted rows in {} ms", purged, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    int purgeBefore(LocalDateTime cutoff, long deadlineNanos) {
+        int total = drain(() -> inTransaction(() -> purgeEnrollmentBatch(cutoff)), deadlineNanos);
+        total += drain(() -> inTransaction(() -> purgeStudentBatch(cutoff)), deadlineNanos);
+        total += drain(() -> purgeDepartmentBatch(cutoff, deadlineNanos), deadlineNanos);
+        return total;
+    }
+
+    private int drain(IntSupplier batch, long deadlineNanos) {
+        int total = 0;
+        int purged;
+        do {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                log.info("Purge window over, remaining rows are left for the next run");
+                break;
+            }
+            purged = batch.getAsInt();
+            total += purged;
+        } while (purged == batchSize);
+        return total;
+    }
+
+    private int purgeEnrollmentBatch(LocalDateTime cutoff) {
+        List<Long> ids = enrollmentRepository.findPurgeableIds(cutoff, batchSize);
+        return ids.isEmpty() ? 0 : enrollmentRepository.purgeAllByIdIn(ids);
+    }
+
+    private int purgeStudentBatch(LocalDateTime cutoff) {
+        List<Long> ids = studentRepository.findPurgeableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        enrollmentRepository.purgeAllByStudentIdIn(ids); // inscriptions créées après la suppression de l'étudiant
+        return studentRepository.purgeAllByIdIn(ids);
+    }
+
+    // Un département peut compter des milliers d'étudiants : détachement par lots avant la suppression
+    private int purgeDepartmentBatch(LocalDateTime cutoff, long deadlineNanos) {
+        List<Long> ids = departmentRepository.findPurgeableIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int detached;
+        do {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                return 0;
+            }
+            detached = inTransaction(() -> {
+                List<Long> studentIds = studentRepository.findIdsByDepartmentIn(ids, batchSize);
+                return studentIds.isEmpty() ? 0 : studentRepository.detachFromDepartment(studentIds);
+            });
+        } while (detached == batchSize);
+        return inTransaction(() -> {
+            List<Long> late = studentRepository.findIdsByDepartmentIn(ids, batchSize);
+            if (!late.isEmpty()) {
+                studentRepository.detachFromDepartment(late);
+            }
+            return departmentRepository.purgeAllByIdIn(ids);
+        });
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(status -> work.getAsInt());
+        return result != null ? result : 0;
+    }
+}
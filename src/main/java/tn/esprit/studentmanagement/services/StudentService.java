@@ -1,19 +1,63 @@
 package tn.esprit.studentmanagement.services;
 
-import lombok.AllArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.cache.QueryCacheStats;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dedup.StudentDedupService;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.dto.StudentSummary;
 import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.events.SoftDeletedEvent;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
 import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.repositories.StudentSpecifications;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
-@AllArgsConstructor // Ajouter cette annotation pour l'injection via constructeur
 public class StudentService implements IStudentService {
+
+    // Clés de tri couvertes par un index (tenant_id, colonne), voir Student
+    private static final Keyset<Student> KEYSET = Keyset.of("idStudent", Student::getIdStudent)
+            .key("lastName", "lastName", String.class, Student::getLastName)
+            .key("email", "email", String.class, Student::getEmail)
+            .key("dateOfBirth", "dateOfBirth", LocalDate.class, Student::getDateOfBirth)
+            .key("departmentId", "department.idDepartment", Long.class,
+                    s -> s.getDepartment() != null ? s.getDepartment().getIdDepartment() : null);
     
     // Utiliser l'injection via constructeur plutôt que @Autowired
     private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentDedupService dedupService;
+    private final StudentQueryCache queryCache;
+    private final ApplicationEventPublisher eventPublisher;
+    // Lectures par id concurrentes regroupées (même id : un seul chargement, ids différents : un seul IN)
+    private final BatchLoader<Student> studentLoader;
+
+    public StudentService(StudentRepository studentRepository, EnrollmentRepository enrollmentRepository,
+                          StudentDedupService dedupService, StudentQueryCache queryCache,
+                          ApplicationEventPublisher eventPublisher) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.dedupService = dedupService;
+        this.queryCache = queryCache;
+        this.eventPublisher = eventPublisher;
+        this.studentLoader = new BatchLoader<>(studentRepository::findById, studentRepository::findAllById, Student::getIdStudent,
+                Detached::student);
+    }
     
     @Override // Ajouter @Override pour clarifier
     public List<Student> getAllStudents() { 
@@ -22,16 +66,88 @@ public class StudentService implements IStudentService {
     
     @Override
     public Student getStudentById(Long id) { 
-        return studentRepository.findById(id).orElse(null); 
+        return studentLoader.load(id); 
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public ByIdsResponse<Student> getStudentsByIds(List<Long> ids) {
+        return ByIds.load(ids, studentRepository::findAllById, Student::getIdStudent);
+    }
+    
+    // Contrôle des doublons probables avant écriture (journal ou 409 selon app.dedup.on-save)
     @Override
     public Student saveStudent(Student student) { 
-        return studentRepository.save(student); 
+        dedupService.checkOnSave(student);
+        Student saved = studentRepository.save(student);
+        studentLoader.written();
+        queryCache.invalidate();
+        return saved;
     }
     
+    // Suppression logique de l'étudiant et de ses inscriptions ; effacement réel par SoftDeletePurger.
+    // La mise à jour en masse ne passe pas par EnrollmentService : un événement par inscription retirée
+    // tient à jour listes d'inscrits, histogrammes de notes et rapports
     @Override
+    @Transactional
     public void deleteStudent(Long id) { 
-        studentRepository.deleteById(id); 
+        LocalDateTime now = LocalDateTime.now();
+        String tenantId = TenantContext.getTenantId();
+        List<EnrollmentRecord> enrollments = enrollmentRepository.findRecordsByStudentId(id);
+        enrollmentRepository.softDeleteByStudentId(id, now);
+        enrollments.forEach(enrollment -> eventPublisher.publishEvent(new EnrollmentChangedEvent(tenantId, enrollment, null)));
+        studentRepository.softDeleteById(id, now); 
+        studentLoader.written();
+        queryCache.invalidate();
+        eventPublisher.publishEvent(new SoftDeletedEvent(TenantContext.getTenantId(), "Student", id, now));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentSummaries() {
+        return studentRepository.findAllSummaries();
+    }
+    
+    // Recherches du portail des départements, en cache (voir StudentQueryCache)
+    @Override
+    public List<Student> getStudentsByDepartment(Long idDepartment) {
+        return queryCache.findByDepartment(idDepartment);
+    }
+
+    @Override
+    public long countStudentsByDepartment(Long idDepartment) {
+        return queryCache.countByDepartment(idDepartment);
+    }
+
+    @Override
+    public List<Student> getStudentsByLastName(String lastName) {
+        return queryCache.findByLastName(lastName);
+    }
+
+    @Override
+    public QueryCacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+
+    @Override
+    public Slice<Student> searchStudents(StudentFilter filter, Pageable pageable) {
+        return studentRepository.findBy(StudentSpecifications.withFilter(filter), query -> query.slice(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Student> getStudentsPage(StudentFilter filter, String sort, Sort.Direction direction, int size, String after) {
+        return KEYSET.page(studentRepository, StudentSpecifications.withFilter(filter), sort, direction, size, after);
+    }
+
+    @Override
+    public List<MergeSuggestion> findDuplicates(Double minScore, int limit) {
+        return dedupService.findDuplicates(minScore, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MergeSuggestion> checkDuplicates(Student student) {
+        return dedupService.findMatches(student);
     }
 }
@@ -0,0 +1,15 @@
+package tn.esprit.studentmanagement.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lecture groupée refusée : plus de {@link tn.esprit.studentmanagement.dto.ByIdsResponse#MAX_IDS} ids distincts.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyIdsException extends IllegalArgumentException {
+
+    public TooManyIdsException(int maxIds) {
+        super("at most " + maxIds + " distinct ids per request");
+    }
+}
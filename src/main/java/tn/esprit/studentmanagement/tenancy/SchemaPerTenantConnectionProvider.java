@@ -0,0 +1,70 @@
+package tn.esprit.studentmanagement.tenancy;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Routage optionnel d'un tenant vers son propre schéma (app.tenancy.schema-routing=true).
+ * Le filtre par colonne tenant_id reste actif : le schéma ne fait qu'isoler physiquement les données.
+ * Avec MySQL, le schéma correspond à la base : ajouter databaseTerm=SCHEMA à l'URL JDBC.
+ */
+public class SchemaPerTenantConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private final DataSource dataSource;
+    private final String schemaPrefix;
+    private final String defaultSchema;
+
+    public SchemaPerTenantConnectionProvider(DataSource dataSource, String schemaPrefix, String defaultSchema) {
+        this.dataSource = dataSource;
+        this.schemaPrefix = schemaPrefix;
+        this.defaultSchema = defaultSchema;
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String tenantId) throws SQLException {
+        Connection connection = getAnyConnection();
+        if (!TenantContext.ROOT_TENANT.equals(tenantId)) {
+            connection.setSchema(schemaPrefix + tenantId);
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String tenantId, Connection connection) throws SQLException {
+        try {
+            if (defaultSchema != null) {
+                connection.setSchema(defaultSchema);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.cast(this);
+    }
+}
@@ -0,0 +1,25 @@
+package tn.esprit.studentmanagement.tenancy;
+
+import org.hibernate.cfg.MultiTenancySettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class TenancyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tenancy.schema-routing", havingValue = "true")
+    public HibernatePropertiesCustomizer schemaPerTenantCustomizer(
+            DataSource dataSource,
+            @Value("${app.tenancy.schema-prefix:tenant_}") String schemaPrefix,
+            @Value("${app.tenancy.default-schema:#{null}}") String defaultSchema) {
+        SchemaPerTenantConnectionProvider provider =
+                new SchemaPerTenantConnectionProvider(dataSource, schemaPrefix, defaultSchema);
+        return properties -> properties.put(MultiTenancySettings.MULTI_TENANT_CONNECTION_PROVIDER, provider);
+    }
+}
@@ -0,0 +1,47 @@
+package tn.esprit.studentmanagement.tenancy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lit le tenant dans l'en-tête de la requête (X-Tenant-ID par défaut) et le place
+ * dans le {@link TenantContext} pendant le traitement de la requête.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantFilter extends OncePerRequestFilter {
+
+    @Value("${app.tenancy.header:X-Tenant-ID}")
+    private String header;
+
+    @Value("${app.tenancy.default-tenant:" + TenantContext.DEFAULT_TENANT + "}")
+    private String defaultTenant;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(header);
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = defaultTenant;
+        }
+        if (!TenantContext.isValid(tenantId)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid tenant: " + header);
+            return;
+        }
+        TenantContext.setTenantId(tenantId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package tn.esprit.studentmanagement.tenancy;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Fournit à Hibernate le tenant courant (déclaré dans application.properties via
+ * hibernate.tenant_identifier_resolver).
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenantId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ROOT_TENANT.equals(tenantId);
+    }
+}
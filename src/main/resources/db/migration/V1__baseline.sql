@@ -0,0 +1,57 @@
+-- Schéma d'origine, créé par ddl-auto=update avant les migrations versionnées.
+-- Une base existante à ce niveau est marquée en version 1 sans rejouer ce script (spring.flyway.baseline-on-migrate).
+
+create table department (
+    id_department bigint not null auto_increment,
+    head varchar(255),
+    location varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id_department)
+) engine=InnoDB;
+
+create table course (
+    credit integer not null,
+    id_course bigint not null auto_increment,
+    code varchar(255),
+    description varchar(255),
+    name varchar(255),
+    primary key (id_course)
+) engine=InnoDB;
+
+create table student (
+    date_of_birth date,
+    department_id_department bigint,
+    id_student bigint not null auto_increment,
+    address varchar(255),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    phone varchar(255),
+    primary key (id_student)
+) engine=InnoDB;
+
+create table enrollment (
+    enrollment_date date,
+    grade float(53),
+    course_id_course bigint,
+    id_enrollment bigint not null auto_increment,
+    student_id_student bigint,
+    status enum ('ACTIVE','COMPLETED','DROPPED','FAILED','WITHDRAWN'),
+    primary key (id_enrollment)
+) engine=InnoDB;
+
+alter table enrollment
+    add constraint FKmuo68i8nton3ptf7hfkhhulni
+    foreign key (course_id_course)
+    references course (id_course);
+
+alter table enrollment
+    add constraint FKe7ou10rkmxygeb5j05uc34ult
+    foreign key (student_id_student)
+    references student (id_student);
+
+alter table student
+    add constraint FKki4lgeuqrn67tf5pdr13xyi7t
+    foreign key (department_id_department)
+    references department (id_department);
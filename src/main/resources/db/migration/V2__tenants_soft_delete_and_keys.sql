@@ -0,0 +1,37 @@
+-- Colonnes ajoutées aux tables d'origine : tenant, suppression logique, clés normalisées des doublons.
+-- Les lignes existantes passent dans le tenant 'default' ; les clés des étudiants sont remplies au démarrage
+-- (StudentDedupService.fillMissingKeys).
+
+alter table department add column tenant_id varchar(64) default 'default' not null;
+alter table department add column deleted_at datetime(6);
+
+alter table course add column tenant_id varchar(64) default 'default' not null;
+
+alter table student add column tenant_id varchar(64) default 'default' not null;
+alter table student add column deleted_at datetime(6);
+alter table student add column email_key varchar(255);
+alter table student add column phone_key varchar(255);
+alter table student add column name_key varchar(255);
+
+alter table enrollment add column tenant_id varchar(64) default 'default' not null;
+alter table enrollment add column deleted_at datetime(6);
+
+create index idx_department_tenant_name on department (tenant_id, name);
+create index idx_department_deleted_at on department (deleted_at);
+
+create index idx_course_tenant_code on course (tenant_id, code);
+
+create index idx_student_tenant_last_name on student (tenant_id, last_name);
+create index idx_student_tenant_email on student (tenant_id, email);
+create index idx_student_tenant_department on student (tenant_id, department_id_department);
+create index idx_student_tenant_birth_date on student (tenant_id, date_of_birth);
+create index idx_student_tenant_email_key on student (tenant_id, email_key);
+create index idx_student_tenant_phone_key on student (tenant_id, phone_key);
+create index idx_student_tenant_name_key on student (tenant_id, name_key);
+create index idx_student_deleted_at on student (deleted_at);
+
+create index idx_enrollment_tenant_student on enrollment (tenant_id, student_id_student);
+create index idx_enrollment_tenant_course on enrollment (tenant_id, course_id_course);
+create index idx_enrollment_tenant_status_date on enrollment (tenant_id, status, enrollment_date);
+create index idx_enrollment_tenant_date on enrollment (tenant_id, enrollment_date);
+create index idx_enrollment_deleted_at on enrollment (deleted_at);
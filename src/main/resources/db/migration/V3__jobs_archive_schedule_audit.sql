@@ -0,0 +1,99 @@
+-- Tables ajoutées : points de reprise et résultats des traitements de nuit, archive des inscriptions,
+-- créneaux des cours, journal d'audit.
+-- ${lobType} : longtext sur MySQL (spring.flyway.placeholders.lobType, profil prod).
+
+create table job_checkpoint (
+    completed_at datetime(6),
+    id_checkpoint bigint not null auto_increment,
+    items bigint not null,
+    job_name varchar(255),
+    partition_key varchar(255),
+    run_key varchar(255),
+    primary key (id_checkpoint)
+) engine=InnoDB;
+
+alter table job_checkpoint
+    add constraint uk_job_checkpoint unique (job_name, run_key, partition_key);
+
+create table student_gpa (
+    gpa float(53),
+    computed_at datetime(6),
+    credits bigint,
+    graded_enrollments bigint,
+    id_student bigint not null,
+    tenant_id varchar(64) default 'default' not null,
+    primary key (id_student)
+) engine=InnoDB;
+
+create table department_stats (
+    average_gpa float(53),
+    average_grade float(53),
+    completed bigint,
+    computed_at datetime(6),
+    enrollments bigint,
+    failed bigint,
+    id_department bigint not null,
+    students bigint,
+    tenant_id varchar(64) default 'default' not null,
+    primary key (id_department)
+) engine=InnoDB;
+
+create table course_stats (
+    average_grade float(53),
+    active_enrollments bigint,
+    completed bigint,
+    computed_at datetime(6),
+    enrollments bigint,
+    failed bigint,
+    id_course bigint not null,
+    tenant_id varchar(64) default 'default' not null,
+    primary key (id_course)
+) engine=InnoDB;
+
+create table enrollment_archive (
+    enrollment_date date,
+    grade float(53),
+    archived_at datetime(6),
+    course_id bigint,
+    id_enrollment bigint not null,
+    student_id bigint,
+    tenant_id varchar(64) default 'default' not null,
+    status enum ('ACTIVE','COMPLETED','DROPPED','FAILED','WITHDRAWN'),
+    primary key (id_enrollment)
+) engine=InnoDB;
+
+create index idx_enrollment_archive_tenant_date on enrollment_archive (tenant_id, enrollment_date);
+create index idx_enrollment_archive_tenant_student on enrollment_archive (tenant_id, student_id);
+create index idx_enrollment_archive_tenant_course on enrollment_archive (tenant_id, course_id);
+
+create table course_session (
+    end_time time(6),
+    start_time time(6),
+    course_id_course bigint,
+    id_session bigint not null auto_increment,
+    tenant_id varchar(64) default 'default' not null,
+    room varchar(255),
+    day_of_week enum ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY'),
+    primary key (id_session)
+) engine=InnoDB;
+
+create index idx_course_session_tenant_course on course_session (tenant_id, course_id_course);
+
+alter table course_session
+    add constraint FK1tmvbmruosqpwgsia8sj45o62
+    foreign key (course_id_course)
+    references course (id_course);
+
+create table audit_event (
+    entity_id bigint,
+    id_audit_event bigint not null auto_increment,
+    occurred_at datetime(6),
+    tenant_id varchar(64) default 'default' not null,
+    actor varchar(255),
+    entity_type varchar(255),
+    action enum ('DELETE','INSERT','UPDATE'),
+    changes ${lobType},
+    primary key (id_audit_event)
+) engine=InnoDB;
+
+create index idx_audit_event_tenant_entity on audit_event (tenant_id, entity_type, entity_id);
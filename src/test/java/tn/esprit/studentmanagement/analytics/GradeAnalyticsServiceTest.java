@@ -0,0 +1,135 @@
+package tn.esprit.studentmanagement.analytics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.GradeStats;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.services.EnrollmentArchiveService;
+import tn.esprit.studentmanagement.services.EnrollmentService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({GradeAnalyticsService.class, EnrollmentService.class, ScheduleService.class, EnrollmentArchiveService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GradeAnalyticsServiceTest {
+
+    @Autowired
+    private GradeAnalyticsService analyticsService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Course java;
+    private Course algebra;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        algebra = courseRepository.save(new Course(null, "Algèbre", "MA101", 4, null, null));
+        for (double grade : new double[]{8, 10, 12, 14, 16}) {
+            enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), grade, Status.COMPLETED, null, java));
+        }
+        enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), null, Status.ACTIVE, null, java));
+        enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), 19.0, Status.COMPLETED, null, algebra));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        analyticsService.evictAll();
+        TenantContext.runAsRoot(() -> {
+            jdbcTemplate.update("delete from enrollment"); // y compris les inscriptions supprimées logiquement
+            courseRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void testStatsIgnoreMissingGradesAndOtherCourses() {
+        GradeStats stats = analyticsService.getGradeStats(java.getIdCourse());
+
+        assertEquals(5, stats.count());
+        assertEquals(12.0, stats.median());
+        assertEquals(8.0, stats.min());
+        assertEquals(16.0, stats.max());
+        assertEquals(12.0, stats.mean());
+    }
+
+    @Test
+    void testCachedHistogramIsUpdatedWithoutRescan() {
+        analyticsService.getGradeStats(java.getIdCourse());
+        Enrollment pending = enrollmentRepository.findAll().stream()
+                .filter(e -> e.getGrade() == null).findFirst().orElseThrow();
+
+        pending.setGrade(20.0);
+        pending.setStatus(Status.COMPLETED);
+        enrollmentService.saveEnrollment(pending);
+        statistics.clear();
+        GradeStats stats = analyticsService.getGradeStats(java.getIdCourse());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(6, stats.count());
+        assertEquals(20.0, stats.max());
+    }
+
+    @Test
+    void testMovingAndDeletingEnrollmentsUpdateBothCourses() {
+        analyticsService.getGradeStats(java.getIdCourse());
+        analyticsService.getGradeStats(algebra.getIdCourse());
+        Enrollment best = enrollmentRepository.findAll().stream()
+                .filter(e -> Double.valueOf(16).equals(e.getGrade())).findFirst().orElseThrow();
+
+        best.setCourse(algebra);
+        enrollmentService.saveEnrollment(best);
+        Enrollment worst = enrollmentRepository.findAll().stream()
+                .filter(e -> Double.valueOf(8).equals(e.getGrade())).findFirst().orElseThrow();
+        enrollmentService.deleteEnrollment(worst.getIdEnrollment());
+
+        GradeStats javaStats = analyticsService.getGradeStats(java.getIdCourse());
+        GradeStats algebraStats = analyticsService.getGradeStats(algebra.getIdCourse());
+        assertEquals(3, javaStats.count());
+        assertEquals(12.0, javaStats.median());
+        assertEquals(2, algebraStats.count());
+        assertEquals(16.0, algebraStats.min());
+    }
+
+    @Test
+    void testStatsArePerTenant() {
+        analyticsService.getGradeStats(java.getIdCourse());
+
+        GradeStats other = TenantContext.callAs("other", () -> analyticsService.getGradeStats(java.getIdCourse()));
+
+        assertEquals(0, other.count());
+    }
+}
@@ -0,0 +1,75 @@
+package tn.esprit.studentmanagement.analytics;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.dto.GradeStats;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeHistogramTest {
+
+    @Test
+    void testPercentilesMatchSortedGrades() {
+        GradeHistogram histogram = new GradeHistogram(20, 0.01);
+        Random random = new Random(7);
+        double[] grades = new double[10_001];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = Math.round(Math.max(0, Math.min(20, random.nextGaussian() * 3 + 12)) * 100) / 100.0;
+            histogram.add(grades[i]);
+        }
+        Arrays.sort(grades);
+
+        assertEquals(grades[5000], histogram.percentile(0.5));
+        assertEquals(grades[9000], histogram.percentile(0.9));
+        assertEquals(grades[0], histogram.percentile(0));
+        assertEquals(grades[grades.length - 1], histogram.percentile(1));
+    }
+
+    @Test
+    void testRemoveAndMerge() {
+        GradeHistogram first = new GradeHistogram(20, 0.25);
+        first.add(10);
+        first.add(12.5);
+        GradeHistogram second = new GradeHistogram(20, 0.25);
+        second.add(18);
+        second.add(4);
+
+        first.merge(second);
+        first.remove(12.5);
+        first.remove(3); // absente : ignorée
+
+        assertEquals(3, first.count());
+        assertEquals(10.0, first.percentile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new GradeHistogram(20, 0.01)));
+    }
+
+    @Test
+    void testStats() {
+        GradeHistogram histogram = new GradeHistogram(20, 0.01);
+        for (double grade : new double[]{8, 10.5, 12, 14.25, 20, 25}) {
+            histogram.add(grade);
+        }
+
+        GradeStats stats = histogram.toStats(3L);
+
+        assertEquals(6, stats.count());
+        assertEquals(8.0, stats.min());
+        assertEquals(20.0, stats.max()); // 25 est ramené au maximum
+        assertEquals(10.5, stats.p25());
+        assertEquals(12.0, stats.median());
+        assertEquals(14.13, stats.mean());
+        assertEquals(1, stats.histogram()[8]);
+        assertEquals(2, stats.histogram()[19]);
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        GradeStats stats = new GradeHistogram(20, 0.01).toStats(1L);
+
+        assertEquals(0, stats.count());
+        assertNull(stats.median());
+        assertNull(stats.mean());
+    }
+}
@@ -0,0 +1,110 @@
+package tn.esprit.studentmanagement.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.entities.AuditAction;
+import tn.esprit.studentmanagement.entities.AuditEvent;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.AuditEventRepository;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.services.DepartmentService;
+import tn.esprit.studentmanagement.services.EnrollmentArchiveService;
+import tn.esprit.studentmanagement.services.EnrollmentService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({AuditTrail.class, AuditListener.class, JdbcAuditSink.class, DepartmentService.class, EnrollmentService.class,
+        ScheduleService.class, EnrollmentArchiveService.class, StudentQueryCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditListenerTest {
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        auditTrail.flush();
+        TenantContext.runAsRoot(() -> {
+            jdbcTemplate.update("delete from enrollment");
+            jdbcTemplate.update("delete from course");
+            jdbcTemplate.update("delete from department");
+            jdbcTemplate.update("delete from audit_event");
+        });
+    }
+
+    private List<AuditEvent> history(String entityType, Long id) {
+        auditTrail.flush();
+        return auditEventRepository.findByEntityTypeAndEntityIdOrderByIdAuditEventAsc(entityType, id);
+    }
+
+    @Test
+    void testEntityChangesAreRecordedWithActorAndFieldDiffs() {
+        Department department = AuditContext.callAs("admin", () ->
+                departmentService.saveDepartment(Department.builder().name("Informatique").location("Bloc A").build()));
+        department.setLocation("Bloc B");
+        AuditContext.runAs("secretariat", () -> departmentService.saveDepartment(department));
+        departmentService.deleteDepartment(department.getIdDepartment());
+
+        List<AuditEvent> events = history("Department", department.getIdDepartment());
+
+        assertEquals(List.of(AuditAction.INSERT, AuditAction.UPDATE, AuditAction.DELETE),
+                events.stream().map(AuditEvent::getAction).toList());
+        assertEquals(List.of("admin", "secretariat", AuditContext.SYSTEM), events.stream().map(AuditEvent::getActor).toList());
+        assertTrue(events.get(0).getChanges().contains("\"name\":[null,\"Informatique\"]"));
+        assertEquals("{\"location\":[\"Bloc A\",\"Bloc B\"]}", events.get(1).getChanges());
+        assertTrue(events.get(2).getChanges().startsWith("{\"deletedAt\":[null,"));
+    }
+
+    @Test
+    void testGradeChangesAndForeignTenantsAreSeparated() {
+        Course java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        Enrollment enrollment = enrollmentService.saveEnrollment(
+                new Enrollment(null, LocalDate.of(2025, 9, 1), null, Status.ACTIVE, null, java));
+        enrollment.setGrade(14.5);
+        AuditContext.runAs("prof", () -> enrollmentService.saveEnrollment(enrollment));
+
+        List<AuditEvent> events = history("Enrollment", enrollment.getIdEnrollment());
+
+        assertEquals(2, events.size());
+        assertEquals("{\"grade\":[null,14.5]}", events.get(1).getChanges());
+        assertEquals("prof", events.get(1).getActor());
+        assertTrue(TenantContext.callAs("other", () -> auditEventRepository
+                .findByEntityTypeAndEntityIdOrderByIdAuditEventAsc("Enrollment", enrollment.getIdEnrollment())).isEmpty());
+        assertEquals(0, auditTrail.stats().dropped());
+    }
+}
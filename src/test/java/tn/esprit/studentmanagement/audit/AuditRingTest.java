@@ -0,0 +1,98 @@
+package tn.esprit.studentmanagement.audit;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.entities.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingTest {
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        AuditRing<Integer> ring = new AuditRing<>(256);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        BitSet seen = new BitSet(producers * perProducer);
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            batch.clear();
+            received += ring.drainTo(batch, 100);
+            for (int value : batch) {
+                assertFalse(seen.get(value), "duplicate " + value);
+                seen.set(value);
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, seen.cardinality());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void testDropModeCountsRecordsLostWhenFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuditRecord> written = new ArrayList<>();
+        AuditTrail trail = new AuditTrail(records -> {
+            writing.countDown();
+            release.await();
+            written.addAll(records);
+        }, "drop", 2, 10, 1);
+        trail.start();
+
+        trail.record(record(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS)); // écriture en cours, file vide
+        trail.record(record(2));
+        trail.record(record(3));
+        trail.record(record(4)); // file pleine
+        release.countDown();
+        trail.stop();
+
+        AuditStats stats = trail.stats();
+        assertEquals(4, stats.recorded());
+        assertEquals(1, stats.dropped());
+        assertEquals(3, stats.written());
+        assertEquals(List.of(1L, 2L, 3L), written.stream().map(AuditRecord::entityId).toList());
+    }
+
+    @Test
+    void testChangesAreRenderedAsJson() {
+        AuditRecord record = new AuditRecord(LocalDateTime.of(2025, 9, 1, 8, 0), "default", "prof\"1", "Enrollment", 7L,
+                AuditAction.UPDATE, List.of(new AuditRecord.Change("grade", 12.5, 14.0),
+                new AuditRecord.Change("status", null, "COMPLETED")));
+
+        assertEquals("{\"grade\":[12.5,14.0],\"status\":[null,\"COMPLETED\"]}", record.changesJson());
+        assertTrue(record.toJsonLine().contains("\"actor\":\"prof\\\"1\""));
+    }
+
+    private static AuditRecord record(long id) {
+        return new AuditRecord(LocalDateTime.now(), "default", "test", "Student", id, AuditAction.UPDATE, List.of());
+    }
+}
@@ -0,0 +1,46 @@
+package tn.esprit.studentmanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedQueryCacheTest {
+
+    @Test
+    void testLeastRecentlyReadEntriesEvictedBeyondRowBudget() {
+        BoundedQueryCache cache = new BoundedQueryCache("test", 10, 5, 60);
+        cache.put("a", List.of(1, 2));
+        cache.put("b", List.of(3, 4));
+        assertNotNull(cache.get("a")); // "b" devient le moins récemment lu
+        cache.put("c", List.of(5, 6));
+
+        assertNull(cache.get("b"));
+        assertEquals(List.of(1, 2), cache.get("a").get());
+        assertEquals(4, cache.weight());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void testEntryBudgetAndOversizedResults() {
+        BoundedQueryCache cache = new BoundedQueryCache("test", 2, 100, 60);
+        cache.put("count", 42L);
+        cache.put("empty", List.of());
+        cache.put("none", null);
+        cache.put("huge", Collections.nCopies(101, 0));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("count"));
+        assertNotNull(cache.get("none")); // null mis en cache
+        assertNull(cache.get("none").get());
+        assertNull(cache.get("huge"));
+    }
+
+    @Test
+    void testHitRate() {
+        assertEquals(0.75, new QueryCacheStats.Query("q", 3, 1).hitRate());
+        assertEquals(0, new QueryCacheStats.Query("q", 0, 0).hitRate());
+    }
+}
@@ -0,0 +1,134 @@
+package tn.esprit.studentmanagement.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dedup.StudentDedupService;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.events.SoftDeletedEvent;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.services.DepartmentService;
+import tn.esprit.studentmanagement.services.StudentService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StudentService.class, StudentDedupService.class, StudentQueryCache.class, DepartmentService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentQueryCacheTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentQueryCache queryCache;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department informatique;
+
+    @BeforeEach
+    void setUp() {
+        informatique = departmentRepository.save(Department.builder().name("Informatique").build());
+        studentService.saveStudent(student("Amine", "Trabelsi", informatique));
+        studentService.saveStudent(student("Sarra", "Trabelsi", informatique));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TenantContext.runAsRoot(() -> {
+            jdbcTemplate.update("delete from student");
+            jdbcTemplate.update("delete from department");
+        });
+    }
+
+    private static Student student(String firstName, String lastName, Department department) {
+        return Student.builder().firstName(firstName).lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@esprit.tn").department(department).build();
+    }
+
+    private QueryCacheStats.Query statsOf(String query) {
+        return queryCache.stats().queries().stream().filter(q -> q.name().equals(query)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testRepeatedQueriesServedFromCacheUntilStudentWrite() {
+        Long id = informatique.getIdDepartment();
+        QueryCacheStats.Query before = statsOf(StudentQueryCache.COUNT_BY_DEPARTMENT); // compteurs partagés entre tests
+        assertEquals(2, studentService.countStudentsByDepartment(id));
+        assertEquals(2, studentService.getStudentsByDepartment(id).size());
+        // Écriture hors StudentService : invisible tant que l'entrée est valide
+        studentRepository.save(student("Yassine", "Trabelsi", informatique));
+        assertEquals(2, studentService.countStudentsByDepartment(id));
+        assertEquals(2, studentService.getStudentsByDepartment(id).size());
+
+        QueryCacheStats.Query count = statsOf(StudentQueryCache.COUNT_BY_DEPARTMENT);
+        assertEquals(1, count.hits() - before.hits());
+        assertEquals(1, count.misses() - before.misses());
+
+        Student last = studentService.getStudentsByLastName("Trabelsi").get(0);
+        studentService.deleteStudent(last.getIdStudent());
+
+        assertEquals(2, studentService.countStudentsByDepartment(id));
+        assertEquals(2, studentService.getStudentsByLastName("Trabelsi").size());
+        assertEquals(StudentQueryCache.Backend.LOCAL, queryCache.stats().backend());
+        assertTrue(queryCache.stats().rows() > 0);
+    }
+
+    @Test
+    void testEntriesAreScopedByTenantAndDroppedWithDepartment() {
+        Long id = informatique.getIdDepartment();
+        long misses = statsOf(StudentQueryCache.BY_LAST_NAME).misses();
+        assertEquals(2, studentService.getStudentsByLastName("Trabelsi").size());
+        assertTrue(TenantContext.callAs("other", () -> studentService.getStudentsByLastName("Trabelsi")).isEmpty());
+        assertEquals(misses + 2, statsOf(StudentQueryCache.BY_LAST_NAME).misses());
+
+        assertEquals(2, studentService.countStudentsByDepartment(id));
+        studentRepository.findByDepartment_IdDepartment(id).forEach(s -> {
+            s.setDepartment(null);
+            studentRepository.save(s);
+        });
+        TenantContext.runAs("other", () -> queryCache.onSoftDeleted(new SoftDeletedEvent("other", "Department", id, LocalDateTime.now())));
+        assertEquals(2, studentService.countStudentsByDepartment(id)); // autre tenant : rien d'écarté
+
+        queryCache.onSoftDeleted(new SoftDeletedEvent(TenantContext.getTenantId(), "Department", id, LocalDateTime.now()));
+        assertEquals(0, studentService.countStudentsByDepartment(id));
+        assertEquals(List.of(), studentService.getStudentsByDepartment(id));
+    }
+
+    @Test
+    void testDepartmentSaveAndTenantWriteReachCachedResults() {
+        Long id = informatique.getIdDepartment();
+        assertEquals("Informatique", studentService.getStudentsByDepartment(id).get(0).getDepartment().getName());
+        informatique.setName("Génie logiciel");
+        departmentService.saveDepartment(informatique);
+        assertEquals("Génie logiciel", studentService.getStudentsByDepartment(id).get(0).getDepartment().getName());
+
+        // Le tenant racine voit tous les tenants : une écriture d'un tenant écarte aussi ses entrées
+        assertEquals(2, TenantContext.callAs(TenantContext.ROOT_TENANT, () -> studentService.getStudentsByLastName("Trabelsi")).size());
+        TenantContext.runAs("other", () -> studentService.saveStudent(student("Yassine", "Trabelsi", null)));
+        assertEquals(3, TenantContext.callAs(TenantContext.ROOT_TENANT, () -> studentService.getStudentsByLastName("Trabelsi")).size());
+    }
+}
@@ -0,0 +1,62 @@
+package tn.esprit.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Profil "prod" appliqué sur la base H2 de test (le profil "test" fournit la connexion et le schéma)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"prod", "test"})
+class ProductionProfileTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductionSettingsCheck productionSettingsCheck;
+
+    @Test
+    void testHikariPoolSettings() {
+        HikariDataSource hikari = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(20, hikari.getMinimumIdle());
+        assertEquals(30000, hikari.getLeakDetectionThreshold());
+        assertEquals("true", hikari.getDataSourceProperties().getProperty("cachePrepStmts"));
+        assertEquals("true", hikari.getDataSourceProperties().getProperty("useServerPrepStmts"));
+        assertEquals("true", hikari.getDataSourceProperties().getProperty("rewriteBatchedStatements"));
+    }
+
+    @Test
+    void testHibernateBatchingSettings() {
+        Map<String, Object> properties = entityManagerFactory.getProperties();
+        assertEquals("50", properties.get("hibernate.jdbc.batch_size"));
+        assertEquals("true", properties.get("hibernate.order_inserts"));
+        assertEquals("true", properties.get("hibernate.order_updates"));
+        assertEquals("32", properties.get("hibernate.default_batch_fetch_size"));
+        assertEquals("2048", properties.get("hibernate.query.plan_cache_max_size"));
+    }
+
+    @Test
+    void testRiskySettingsOfTestProfileAreReported() {
+        // Le profil "test" réactive show-sql et ddl-auto=create-drop par-dessus "prod"
+        List<String> risks = productionSettingsCheck.findRisks();
+        assertTrue(risks.stream().anyMatch(risk -> risk.startsWith("spring.jpa.show-sql=true")), risks::toString);
+        assertTrue(risks.stream().anyMatch(risk -> risk.startsWith("hibernate.format_sql=true")), risks::toString);
+        assertTrue(risks.stream().anyMatch(risk -> risk.startsWith("spring.jpa.hibernate.ddl-auto=create-drop")), risks::toString);
+        // Réglages fournis par "prod" et non surchargés : jamais signalés
+        assertFalse(risks.stream().anyMatch(risk -> risk.contains("leak-detection-threshold")), risks::toString);
+        assertFalse(risks.stream().anyMatch(risk -> risk.contains("batch_size")), risks::toString);
+    }
+}
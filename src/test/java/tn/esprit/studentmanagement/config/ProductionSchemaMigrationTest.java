@@ -0,0 +1,31 @@
+package tn.esprit.studentmanagement.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Profil "prod" sur une base H2 vide en mode MySQL : le schéma vient des seules migrations (clob à la place
+// de longtext, lu comme varchar par H2), puis Hibernate le valide
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.placeholders.lobType=clob",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles({"prod", "test"})
+class ProductionSchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void testMigrationsBuildTheSchemaHibernateValidates() {
+        // Le contexte ne démarre pas si une table, une colonne ou un type ne correspond pas aux entités
+        assertEquals("3", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+    }
+}
@@ -0,0 +1,69 @@
+package tn.esprit.studentmanagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductionSettingsCheckTest {
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        environment = new MockEnvironment();
+        environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application-prod.properties"));
+        environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application.properties"));
+    }
+
+    @Test
+    void testProdProfilePassesItsOwnCheck() {
+        // Le profil prod passe ddl-auto à validate, le schéma venant des migrations Flyway
+        assertEquals(List.of(), new ProductionSettingsCheck(environment).findRisks());
+    }
+
+    @Test
+    void testShowSqlAndDdlUpdateAreReported() {
+        environment.setProperty("spring.jpa.show-sql", "true");
+        environment.setProperty("spring.jpa.hibernate.ddl-auto", "update");
+
+        List<String> risks = new ProductionSettingsCheck(environment).findRisks();
+
+        assertEquals(2, risks.size());
+        assertTrue(risks.get(0).startsWith("spring.jpa.show-sql"));
+        assertTrue(risks.get(1).startsWith("spring.jpa.hibernate.ddl-auto=update"));
+    }
+
+    @Test
+    void testMissingPoolAndBatchSettingsAreReported() {
+        MockEnvironment defaults = new MockEnvironment();
+
+        List<String> risks = new ProductionSettingsCheck(defaults).findRisks();
+
+        assertEquals(2, risks.size());
+        assertTrue(risks.get(0).contains("leak-detection-threshold"));
+        assertTrue(risks.get(1).contains("batch_size"));
+    }
+
+    @Test
+    void testFailOnRiskAbortsStartup() {
+        environment.setProperty("spring.jpa.show-sql", "true");
+        environment.setProperty("app.startup-check.fail-on-risk", "true");
+
+        ProductionSettingsCheck check = new ProductionSettingsCheck(environment);
+
+        assertThrows(IllegalStateException.class, check::afterPropertiesSet);
+    }
+
+    @Test
+    void testWarnOnlyByDefault() {
+        environment.setProperty("spring.jpa.show-sql", "true");
+
+        assertDoesNotThrow(new ProductionSettingsCheck(environment)::afterPropertiesSet);
+    }
+}
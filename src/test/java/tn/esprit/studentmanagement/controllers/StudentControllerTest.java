@@ -5,10 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;  // <-- Changement ici
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.StudentFilter;
 import tn.esprit.studentmanagement.entities.Student;
 import tn.esprit.studentmanagement.services.IStudentService;
+import tn.esprit.studentmanagement.services.InvalidPageRequestException;
+import tn.esprit.studentmanagement.services.TooManyIdsException;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -16,6 +25,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -170,7 +181,7 @@ class StudentControllerTest {
 
         // When & Then
         mockMvc.perform(delete("/api/students/{id}", studentId))
-                .andExpect(status().isOk());
+                .andExpect(status().isAccepted());
 
         verify(studentService, times(1)).deleteStudent(studentId);
     }
@@ -191,4 +202,87 @@ class StudentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:4200"));
     }
+
+    @Test
+    void testSearchStudents() throws Exception {
+        Student student = Student.builder()
+                .idStudent(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .build();
+        StudentFilter filter = new StudentFilter("Doe", 3L, LocalDate.of(2000, 1, 1), null);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "dateOfBirth").and(Sort.by("idStudent")));
+        when(studentService.searchStudents(eq(filter), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(student), pageable, true));
+
+        mockMvc.perform(get("/api/students/search")
+                        .param("lastName", "Doe")
+                        .param("departmentId", "3")
+                        .param("bornAfter", "2000-01-01")
+                        .param("size", "1")
+                        .param("sort", "dateOfBirth")
+                        .param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].lastName", is("Doe")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testSearchStudents_UnknownSortKey() throws Exception {
+        mockMvc.perform(get("/api/students/search").param("sort", "address"))
+                .andExpect(status().isBadRequest());
+
+        verify(studentService, never()).searchStudents(any(), any());
+    }
+
+    @Test
+    void testGetStudentPage() throws Exception {
+        Student student = Student.builder().idStudent(4L).lastName("Doe").build();
+        StudentFilter filter = new StudentFilter("Doe", null, null, null);
+        when(studentService.getStudentsPage(filter, "lastName", Sort.Direction.DESC, 1, "abc"))
+                .thenReturn(new KeysetPage<>(List.of(student), "def"));
+
+        mockMvc.perform(get("/api/students")
+                        .param("size", "1")
+                        .param("sort", "lastName")
+                        .param("direction", "DESC")
+                        .param("after", "abc")
+                        .param("lastName", "Doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].idStudent", is(4)))
+                .andExpect(jsonPath("$.next", is("def")));
+    }
+
+    @Test
+    void testGetStudentPage_UnindexedSortKey() throws Exception {
+        when(studentService.getStudentsPage(any(), eq("firstName"), any(), anyInt(), any()))
+                .thenThrow(new InvalidPageRequestException("sort must be one of [idStudent, lastName]"));
+
+        mockMvc.perform(get("/api/students").param("size", "20").param("sort", "firstName"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetStudentsByIds() throws Exception {
+        Student student = Student.builder().idStudent(2L).firstName("Jane").lastName("Smith").build();
+        when(studentService.getStudentsByIds(List.of(2L, 9L)))
+                .thenReturn(new ByIdsResponse<>(List.of(student), List.of(9L)));
+
+        mockMvc.perform(get("/api/students").param("ids", "2,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].idStudent").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+
+        verify(studentService, never()).getAllStudents();
+    }
+
+    @Test
+    void testGetStudentsByIds_TooManyIds() throws Exception {
+        when(studentService.getStudentsByIds(any())).thenThrow(new TooManyIdsException(ByIdsResponse.MAX_IDS));
+
+        mockMvc.perform(get("/api/students").param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
 }
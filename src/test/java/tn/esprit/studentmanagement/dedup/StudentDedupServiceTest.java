@@ -0,0 +1,118 @@
+package tn.esprit.studentmanagement.dedup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.services.StudentService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.dedup.on-save=reject")
+@Import({StudentService.class, StudentDedupService.class, StudentQueryCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentDedupServiceTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Student original;
+
+    @BeforeEach
+    void setUp() {
+        original = studentRepository.save(student("Héla", "Ben Ali", "hela.benali@esprit.tn", "20 123 456"));
+        studentRepository.save(student("Sami", "Trabelsi", "sami.trabelsi@esprit.tn", null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TenantContext.runAsRoot(() -> jdbcTemplate.update("delete from student"));
+    }
+
+    private static Student student(String firstName, String lastName, String email, String phone) {
+        return Student.builder().firstName(firstName).lastName(lastName).email(email).phone(phone)
+                .dateOfBirth(LocalDate.of(2001, 3, 4)).build();
+    }
+
+    @Test
+    void testFullScanPairsImportedCopiesWithinTenant() {
+        Student copy = studentRepository.save(student("Hela", "BEN ALI", "Hela.BenAli@Esprit.tn", "+216 20123456"));
+        TenantContext.runAs("other", () -> studentRepository.save(student("Héla", "Ben Ali", "hela.benali@esprit.tn", null)));
+
+        List<MergeSuggestion> suggestions = studentService.findDuplicates(null, 100);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(original.getIdStudent(), suggestions.get(0).idStudent());
+        assertEquals(copy.getIdStudent(), suggestions.get(0).duplicateId());
+        assertTrue(suggestions.get(0).matchedOn().containsAll(List.of("email", "phone", "name")));
+    }
+
+    @Test
+    void testRootScanCoversEachTenantSeparately() {
+        studentRepository.save(student("Hela", "BEN ALI", "Hela.BenAli@Esprit.tn", "+216 20123456"));
+        TenantContext.runAs("other", () -> {
+            studentRepository.save(student("Sami", "Trabelsi", "sami.trabelsi@esprit.tn", null));
+            studentRepository.save(student("Sami", "TRABELSI", "Sami.Trabelsi@esprit.tn", null));
+        });
+
+        List<MergeSuggestion> suggestions = TenantContext.callAs(TenantContext.ROOT_TENANT,
+                () -> studentService.findDuplicates(null, 100));
+
+        // Une paire par tenant ; les homonymes des deux tenants ne sont pas appariés
+        assertEquals(2, suggestions.size());
+        assertTrue(suggestions.get(0).score() >= suggestions.get(1).score());
+    }
+
+    @Test
+    void testSaveCheckFindsCandidatesByNormalizedKeys() {
+        Student imported = studentRepository.save(Student.builder().firstName("John").lastName("Doe")
+                .email("John.Doe+import@x.tn").dateOfBirth(LocalDate.of(1999, 5, 6)).build());
+
+        // Email stocké avec étiquette, nom accentué et casse différente, téléphone formaté autrement
+        Student byEmail = Student.builder().firstName("John").lastName("Doe").email("john.doe@x.tn").build();
+        Student byName = Student.builder().firstName("Hela").lastName("BEN ALI").dateOfBirth(LocalDate.of(2001, 3, 4)).build();
+        Student byPhone = Student.builder().firstName("Hella").lastName("Ben Ali").phone("+216 20 123 456").build();
+
+        assertEquals(List.of(imported.getIdStudent()), idsOf(studentService.checkDuplicates(byEmail)));
+        assertEquals(List.of(original.getIdStudent()), idsOf(studentService.checkDuplicates(byName)));
+        assertEquals(List.of(original.getIdStudent()), idsOf(studentService.checkDuplicates(byPhone)));
+    }
+
+    private static List<Long> idsOf(List<MergeSuggestion> suggestions) {
+        return suggestions.stream().map(MergeSuggestion::idStudent).toList();
+    }
+
+    @Test
+    void testSaveRejectsProbableDuplicateButNotItself() {
+        Student copy = student("Hela", "Ben Ali", "hela.benali@esprit.tn", null);
+
+        assertEquals(List.of(original.getIdStudent()),
+                studentService.checkDuplicates(copy).stream().map(MergeSuggestion::idStudent).toList());
+        DuplicateStudentException rejected = assertThrows(DuplicateStudentException.class, () -> studentService.saveStudent(copy));
+        assertEquals(List.of(original.getIdStudent()), rejected.getDuplicateIds());
+
+        original.setAddress("Tunis");
+        assertDoesNotThrow(() -> studentService.saveStudent(original));
+        // Homonyme né le même jour : candidat lu par (nom, date de naissance), score trop bas
+        assertDoesNotThrow(() -> studentService.saveStudent(student("Karim", "Ben Ali", "karim.benali@esprit.tn", null)));
+    }
+}
@@ -0,0 +1,65 @@
+package tn.esprit.studentmanagement.dedup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.dto.MergeSuggestion;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentIdentitiesTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testKeysAreNormalized() {
+        assertEquals("john.doe@esprit.tn", StudentKeys.email("  John.Doe+import@Esprit.TN "));
+        assertNull(StudentKeys.email("not-an-email"));
+        assertEquals("20123456", StudentKeys.phone("+216 20 123 456", 8));
+        assertEquals("20123456", StudentKeys.phone("20-123-456", 8));
+        assertNull(StudentKeys.phone("123", 8));
+        assertEquals("ali ben hela", StudentKeys.name("Héla", "Ben-Ali"));
+        assertEquals(StudentKeys.name("Ali Ben", "Héla"), StudentKeys.name("Hela", "BEN ALI"));
+    }
+
+    @Test
+    void testScoresWeighAgreementsAgainstConflicts() {
+        LocalDate birth = LocalDate.of(2001, 3, 4);
+        StudentIdentities identities = new StudentIdentities.Builder(8)
+                .add(1, "Héla", "Ben Ali", "hela.benali@esprit.tn", "20 123 456", birth)
+                .add(2, "Hela", "BEN ALI", "Hela.BenAli@Esprit.tn", "+216 20123456", birth)
+                .add(3, "Sami", "Trabelsi", "hela.benali@esprit.tn", null, LocalDate.of(1999, 1, 1)) // email partagé
+                .add(4, "Hella", "Ben Ali", "other@esprit.tn", null, birth)
+                .build();
+
+        assertTrue(identities.score(0, 1) > 0.99);
+        assertEquals(List.of("email", "phone", "name", "dateOfBirth"), identities.matchedOn(0, 1));
+        assertTrue(identities.score(0, 2) < 0.2);
+        assertTrue(identities.score(0, 3) > 0.5 && identities.score(0, 3) < 0.8);
+    }
+
+    @Test
+    void testBlocksFindEachPairOnceAndSkipOversizedBlocks() {
+        StudentIdentities.Builder builder = new StudentIdentities.Builder(8);
+        builder.add(1, "Amine", "Gharbi", "amine@esprit.tn", "20111111", LocalDate.of(2000, 1, 1));
+        builder.add(2, "Amine", "Gharbi", "AMINE@esprit.tn", "20 111 111", LocalDate.of(2000, 1, 1));
+        for (int i = 0; i < 5; i++) { // même email générique, personnes différentes
+            builder.add(10 + i, "Prénom" + i, "Nom" + i, "contact@esprit.tn", null, LocalDate.of(2001, 1, 1 + i));
+        }
+
+        StudentIdentities.Scan scan = builder.build().findDuplicates(pool, 0.8, 4);
+
+        assertEquals(List.of(1L), scan.suggestions().stream().map(MergeSuggestion::idStudent).toList());
+        assertEquals(2L, scan.suggestions().get(0).duplicateId());
+        assertEquals(1, scan.comparisons()); // paire vue dans 3 blocs, notée une fois
+        assertEquals(1, scan.oversizedBlocks());
+    }
+}
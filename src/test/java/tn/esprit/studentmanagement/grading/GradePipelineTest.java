@@ -0,0 +1,151 @@
+package tn.esprit.studentmanagement.grading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.analytics.GradeAnalyticsService;
+import tn.esprit.studentmanagement.dto.GradeEntry;
+import tn.esprit.studentmanagement.dto.GradeStats;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(GradeAnalyticsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GradePipelineTest {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeAnalyticsService analyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private GradePipeline pipeline;
+    private Course java;
+    private Course algebra;
+    private Enrollment first;
+    private Enrollment second;
+    private Enrollment other;
+
+    @BeforeEach
+    void setUp() {
+        // Pipeline non démarré : les feuilles sont traitées par drain() sur le thread du test
+        pipeline = new GradePipeline(enrollmentRepository, jdbcTemplate, transactionManager, eventPublisher,
+                2, 100, 2, 20, 60);
+        java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        algebra = courseRepository.save(new Course(null, "Algèbre", "MA101", 4, null, null));
+        first = enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), null, Status.ACTIVE, null, java));
+        second = enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), 10.0, Status.ACTIVE, null, java));
+        other = enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), null, Status.ACTIVE, null, algebra));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        analyticsService.evictAll();
+        TenantContext.runAsRoot(() -> {
+            jdbcTemplate.update("delete from enrollment");
+            courseRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void testOverlappingSheetsAreCoalescedAndApplied() {
+        analyticsService.getGradeStats(java.getIdCourse());
+        GradeSubmissionStatus early = pipeline.submit(java.getIdCourse(), List.of(
+                new GradeEntry(first.getIdEnrollment(), 12.0), new GradeEntry(second.getIdEnrollment(), 10.0)));
+        GradeSubmissionStatus late = pipeline.submit(java.getIdCourse(), List.of(
+                new GradeEntry(first.getIdEnrollment(), 15.0)));
+        assertEquals(GradeSubmissionStatus.State.QUEUED, early.state());
+
+        pipeline.drain();
+
+        GradeSubmissionStatus earlyDone = pipeline.getStatus(early.id());
+        GradeSubmissionStatus lateDone = pipeline.getStatus(late.id());
+        assertEquals(GradeSubmissionStatus.State.APPLIED, earlyDone.state());
+        assertEquals(1, earlyDone.coalesced());
+        assertEquals(1, earlyDone.applied());
+        assertEquals(1, lateDone.applied());
+        assertEquals(15.0, enrollmentRepository.findById(first.getIdEnrollment()).orElseThrow().getGrade());
+        GradeStats stats = analyticsService.getGradeStats(java.getIdCourse());
+        assertEquals(2, stats.count());
+        assertEquals(15.0, stats.max());
+    }
+
+    @Test
+    void testInvalidGradesAndOtherCoursesAreRejected() {
+        GradeSubmissionStatus submitted = pipeline.submit(java.getIdCourse(), List.of(
+                new GradeEntry(first.getIdEnrollment(), 25.0),
+                new GradeEntry(other.getIdEnrollment(), 11.0),
+                new GradeEntry(second.getIdEnrollment(), 14.0)));
+
+        pipeline.drain();
+
+        GradeSubmissionStatus status = pipeline.getStatus(submitted.id());
+        assertEquals(1, status.applied());
+        assertEquals(List.of(first.getIdEnrollment(), other.getIdEnrollment()),
+                status.rejected().stream().map(GradeSubmissionStatus.RejectedGrade::idEnrollment).toList());
+        assertNull(enrollmentRepository.findById(first.getIdEnrollment()).orElseThrow().getGrade());
+        assertNull(enrollmentRepository.findById(other.getIdEnrollment()).orElseThrow().getGrade());
+        assertEquals(14.0, enrollmentRepository.findById(second.getIdEnrollment()).orElseThrow().getGrade());
+    }
+
+    @Test
+    void testRejectedLineDoesNotReplaceGradeFromAnotherCourseSheet() {
+        GradeSubmissionStatus javaSheet = pipeline.submit(java.getIdCourse(), List.of(
+                new GradeEntry(first.getIdEnrollment(), 13.0)));
+        GradeSubmissionStatus algebraSheet = pipeline.submit(algebra.getIdCourse(), List.of(
+                new GradeEntry(first.getIdEnrollment(), 5.0), new GradeEntry(other.getIdEnrollment(), 9.0)));
+
+        pipeline.drain();
+
+        GradeSubmissionStatus javaDone = pipeline.getStatus(javaSheet.id());
+        GradeSubmissionStatus algebraDone = pipeline.getStatus(algebraSheet.id());
+        assertEquals(1, javaDone.applied());
+        assertEquals(0, javaDone.coalesced());
+        assertEquals(1, algebraDone.applied());
+        assertEquals(List.of(first.getIdEnrollment()),
+                algebraDone.rejected().stream().map(GradeSubmissionStatus.RejectedGrade::idEnrollment).toList());
+        assertEquals(13.0, enrollmentRepository.findById(first.getIdEnrollment()).orElseThrow().getGrade());
+        assertEquals(9.0, enrollmentRepository.findById(other.getIdEnrollment()).orElseThrow().getGrade());
+    }
+
+    @Test
+    void testFullQueueAndForeignTenantStatus() {
+        List<GradeEntry> sheet = List.of(new GradeEntry(first.getIdEnrollment(), 12.0));
+        GradeSubmissionStatus submitted = pipeline.submit(java.getIdCourse(), sheet);
+        pipeline.submit(java.getIdCourse(), sheet);
+
+        assertThrows(GradeQueueFullException.class, () -> pipeline.submit(java.getIdCourse(), sheet));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(java.getIdCourse(), List.of()));
+        assertNull(TenantContext.callAs("other", () -> pipeline.getStatus(submitted.id())));
+    }
+}
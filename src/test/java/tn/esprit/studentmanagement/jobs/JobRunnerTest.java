@@ -0,0 +1,226 @@
+package tn.esprit.studentmanagement.jobs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.IdRange;
+import tn.esprit.studentmanagement.entities.*;
+import tn.esprit.studentmanagement.repositories.*;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "app.jobs.parallelism=4",
+        "app.jobs.student-gpa.partition-size=1",
+        "app.jobs.department-stats.partition-size=1",
+        "app.jobs.course-stats.partition-size=1"
+})
+@Import({JobRunner.class, StudentGpaJob.class, DepartmentStatsJob.class, CourseStatsJob.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobRunnerTest {
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveRepository enrollmentArchiveRepository;
+
+    @Autowired
+    private StudentGpaRepository studentGpaRepository;
+
+    @Autowired
+    private DepartmentStatsRepository departmentStatsRepository;
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department informatique;
+    private Student amine;
+    private Student sarra;
+    private Student ines;
+    private Course java;
+
+    @BeforeEach
+    void setUp() {
+        informatique = departmentRepository.save(Department.builder().name("Informatique").build());
+        Department maths = departmentRepository.save(Department.builder().name("Mathématiques").build());
+        java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        Course algebra = courseRepository.save(new Course(null, "Algèbre", "MA101", 4, null, null));
+        amine = studentRepository.save(Student.builder().firstName("Amine").department(informatique).build());
+        sarra = studentRepository.save(Student.builder().firstName("Sarra").department(informatique).build());
+        ines = studentRepository.save(Student.builder().firstName("Ines").department(maths).build());
+        enroll(amine, java, Status.COMPLETED, 15.0);
+        enroll(amine, algebra, Status.FAILED, 8.0);
+        enroll(sarra, java, Status.ACTIVE, null);
+        enroll(ines, algebra, Status.COMPLETED, 14.0);
+        enrollmentArchiveRepository.save(new EnrollmentArchive(9_999L, LocalDate.of(2022, 9, 1), 10.0, Status.COMPLETED,
+                ines.getIdStudent(), java.getIdCourse(), LocalDateTime.now()));
+
+        TenantContext.runAs("other", () -> {
+            Department department = departmentRepository.save(Department.builder().name("Autre").build());
+            Course course = courseRepository.save(new Course(null, "Réseaux", "NT101", 3, null, null));
+            Student student = studentRepository.save(Student.builder().firstName("Other").department(department).build());
+            enrollmentRepository.save(new Enrollment(null, LocalDate.now(), 18.0, Status.COMPLETED, student, course));
+        });
+    }
+
+    private void enroll(Student student, Course course, Status status, Double grade) {
+        enrollmentRepository.save(new Enrollment(null, LocalDate.of(2025, 9, 1), grade, status, student, course));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TenantContext.runAsRoot(() -> {
+            // Lignes supprimées logiquement : invisibles pour deleteAll
+            jdbcTemplate.update("delete from enrollment where deleted_at is not null");
+            jdbcTemplate.update("delete from student where deleted_at is not null");
+            List<JpaRepository<?, Long>> repositories = List.of(checkpointRepository, studentGpaRepository,
+                    departmentStatsRepository, courseStatsRepository, enrollmentArchiveRepository, enrollmentRepository,
+                    studentRepository, courseRepository, departmentRepository);
+            repositories.forEach(JpaRepository::deleteAll);
+        });
+    }
+
+    @Test
+    void testNightlyJobsComputeResultsPerTenant() {
+        JobRunStatus gpa = jobRunner.run("student-gpa", "2026-01-01");
+        JobRunStatus departments = jobRunner.run("department-stats", "2026-01-01");
+        JobRunStatus courses = jobRunner.run("course-stats", "2026-01-01");
+
+        assertEquals(JobRunStatus.State.COMPLETED, gpa.state());
+        assertEquals(4, gpa.partitions()); // 3 étudiants + 1 pour l'autre tenant
+        assertEquals(3, gpa.items());
+        assertEquals(4, gpa.parallelism());
+        // (15 x 6 + 8 x 4) / 10 ; (14 x 4 + archive 10 x 6) / 10
+        assertEquals(12.2, studentGpaRepository.findById(amine.getIdStudent()).orElseThrow().getGpa());
+        assertEquals(11.6, studentGpaRepository.findById(ines.getIdStudent()).orElseThrow().getGpa());
+        assertTrue(studentGpaRepository.findById(sarra.getIdStudent()).isEmpty());
+
+        assertEquals(JobRunStatus.State.COMPLETED, departments.state());
+        DepartmentStats stats = departmentStatsRepository.findById(informatique.getIdDepartment()).orElseThrow();
+        assertEquals(2, stats.getStudents());
+        assertEquals(3, stats.getEnrollments());
+        assertEquals(1, stats.getCompleted());
+        assertEquals(1, stats.getFailed());
+        assertEquals(11.5, stats.getAverageGrade());
+        assertEquals(12.2, stats.getAverageGpa());
+
+        assertEquals(JobRunStatus.State.COMPLETED, courses.state());
+        CourseStats javaStats = courseStatsRepository.findById(java.getIdCourse()).orElseThrow();
+        assertEquals(1, javaStats.getActiveEnrollments());
+        assertEquals(2, javaStats.getEnrollments());
+        assertEquals(15.0, javaStats.getAverageGrade());
+
+        assertEquals(2, courseStatsRepository.count());
+        long otherTenantCourses = TenantContext.callAs("other", () -> courseStatsRepository.count());
+        assertEquals(1, otherTenantCourses);
+    }
+
+    @Test
+    void testRestartSkipsCheckpointedPartitions() {
+        jobRunner.run("student-gpa", "2026-01-01");
+
+        JobRunStatus restart = jobRunner.run("student-gpa", "2026-01-01");
+
+        assertEquals(restart.partitions(), restart.skippedPartitions());
+        assertEquals(0, restart.items());
+        assertEquals(4, checkpointRepository.countByJobNameAndRunKey("student-gpa", "2026-01-01"));
+    }
+
+    @Test
+    void testResumeKeepsPartitionKeysWhenRowsAreAddedOrRemoved() {
+        jobRunner.run("student-gpa", "2026-01-01");
+        // Premier étudiant supprimé (avec ses inscriptions), un nouveau inscrit
+        jdbcTemplate.update("update enrollment set deleted_at = current_timestamp where student_id_student = ?", amine.getIdStudent());
+        jdbcTemplate.update("update student set deleted_at = current_timestamp where id_student = ?", amine.getIdStudent());
+        Student yassine = studentRepository.save(Student.builder().firstName("Yassine").department(informatique).build());
+        enroll(yassine, java, Status.COMPLETED, 12.0);
+
+        JobRunStatus resumed = jobRunner.run("student-gpa", "2026-01-01");
+
+        // Identifiants communs aux tenants : la plage s'étend sur l'étudiant de l'autre tenant jusqu'au nouveau
+        assertEquals(6, resumed.partitions());
+        assertEquals(4, resumed.skippedPartitions()); // partitions déjà faites, mêmes clés
+        assertEquals(12.0, studentGpaRepository.findById(yassine.getIdStudent()).orElseThrow().getGpa());
+
+        jobRunner.run("student-gpa", "2026-01-02");
+        assertTrue(studentGpaRepository.findById(amine.getIdStudent()).isEmpty()); // plage reparcourue sous le nouveau minimum
+
+        assertEquals(List.of("t:0-9", "t:10-19", "t:20-29"),
+                JobPartition.ranges("t", new IdRange(7L, 25L), 10).stream().map(JobPartition::key).toList());
+    }
+
+    @Test
+    void testNewRunReplacesPreviousResults() {
+        jobRunner.run("student-gpa", "2026-01-01");
+        Enrollment failed = enrollmentRepository.findAll().stream()
+                .filter(e -> e.getStatus() == Status.FAILED).findFirst().orElseThrow();
+        failed.setGrade(13.0);
+        failed.setStatus(Status.COMPLETED);
+        enrollmentRepository.save(failed);
+
+        JobRunStatus next = jobRunner.run("student-gpa", "2026-01-02");
+
+        assertEquals(0, next.skippedPartitions());
+        assertEquals(2, studentGpaRepository.count());
+        assertEquals(14.2, studentGpaRepository.findById(amine.getIdStudent()).orElseThrow().getGpa());
+    }
+
+    @Test
+    void testNightlyRunSkipsOnlyTheBusyJob() {
+        jobRunner.running.add("department-stats"); // lancé à la main, toujours en cours
+        try {
+            assertThrows(JobAlreadyRunningException.class, () -> jobRunner.run("department-stats", "2026-01-01"));
+            assertFalse(jobRunner.submit("department-stats", "2026-01-01"));
+
+            jobRunner.runNightly();
+        } finally {
+            jobRunner.running.remove("department-stats");
+        }
+
+        String today = LocalDate.now().toString();
+        assertEquals(today, jobRunner.getStatus("student-gpa").runKey());
+        assertEquals(today, jobRunner.getStatus("course-stats").runKey());
+        assertEquals(0, checkpointRepository.countByJobNameAndRunKey("department-stats", today));
+    }
+
+    @Test
+    void testStatusAndUnknownJob() {
+        jobRunner.run("course-stats", "2026-01-01");
+
+        assertEquals(List.of("student-gpa", "department-stats", "course-stats"), List.copyOf(jobRunner.getJobNames()));
+        assertEquals(JobRunStatus.State.COMPLETED, jobRunner.getStatus("course-stats").state());
+        assertTrue(jobRunner.getStatuses().stream().anyMatch(status -> status.job().equals("course-stats")));
+        assertThrows(IllegalArgumentException.class, () -> jobRunner.run("unknown", "2026-01-01"));
+    }
+}
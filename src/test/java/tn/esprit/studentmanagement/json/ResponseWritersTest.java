@@ -0,0 +1,63 @@
+package tn.esprit.studentmanagement.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import tn.esprit.studentmanagement.dto.CourseResponse;
+import tn.esprit.studentmanagement.dto.DepartmentResponse;
+import tn.esprit.studentmanagement.dto.EnrollmentResponse;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.StudentResponse;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest // ObjectMapper configuré comme celui de l'application
+class ResponseWritersTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static Enrollment enrollment() {
+        Department department = Department.builder().idDepartment(3L).name("Génie \"logiciel\"").location("Bloc A")
+                .phone("71 000 000").head("Dr. Ben Salah").build();
+        Student student = Student.builder().idStudent(7L).firstName("Amine").lastName("Trabelsi")
+                .email("amine.trabelsi@esprit.tn").dateOfBirth(LocalDate.of(2003, 4, 9)).address("Tunis\nAriana")
+                .department(department).build();
+        Course course = new Course(11L, "Java", "CS101", 6, null, null);
+        return new Enrollment(21L, LocalDate.of(2025, 9, 15), 14.25, Status.COMPLETED, student, course);
+    }
+
+    @Test
+    void testResponsesSerializeExactlyLikeEntities() throws Exception {
+        Enrollment enrollment = enrollment();
+
+        assertEquals(objectMapper.writeValueAsString(enrollment),
+                objectMapper.writeValueAsString(EnrollmentResponse.of(enrollment)));
+        assertEquals(objectMapper.writeValueAsString(enrollment.getStudent()),
+                objectMapper.writeValueAsString(StudentResponse.of(enrollment.getStudent())));
+        assertEquals(objectMapper.writeValueAsString(enrollment.getStudent().getDepartment()),
+                objectMapper.writeValueAsString(DepartmentResponse.of(enrollment.getStudent().getDepartment())));
+        assertEquals(objectMapper.writeValueAsString(enrollment.getCourse()),
+                objectMapper.writeValueAsString(CourseResponse.of(enrollment.getCourse())));
+    }
+
+    @Test
+    void testNullFieldsAndNestedLists() throws Exception {
+        Enrollment empty = new Enrollment();
+        Student orphan = Student.builder().idStudent(8L).lastName("Sans département").build();
+        KeysetPage<Student> page = new KeysetPage<>(List.of(orphan), "8");
+
+        assertEquals(objectMapper.writeValueAsString(empty), objectMapper.writeValueAsString(EnrollmentResponse.of(empty)));
+        assertEquals(objectMapper.writeValueAsString(page), objectMapper.writeValueAsString(page.map(StudentResponse::of)));
+        assertTrue(objectMapper.writeValueAsString(EnrollmentResponse.of(empty)).contains("\"student\":null"));
+    }
+}
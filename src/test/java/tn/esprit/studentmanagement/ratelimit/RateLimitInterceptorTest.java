@@ -0,0 +1,139 @@
+package tn.esprit.studentmanagement.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    static class SampleController {
+        @RateLimited("full-scan")
+        public void listAll() {
+        }
+
+        public void getOne() {
+        }
+    }
+
+    private RateLimitProperties properties;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.Policy fullScan = new RateLimitProperties.Policy();
+        fullScan.setCapacity(2);
+        fullScan.setRefillPerSecond(0.5);
+        fullScan.setMaxConcurrent(1);
+        properties.getPolicies().put("full-scan", fullScan);
+        properties.getPolicies().put("default", new RateLimitProperties.Policy());
+        interceptor = new RateLimitInterceptor(properties);
+    }
+
+    private HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+
+    private MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(client);
+        return request;
+    }
+
+    private MockHttpServletResponse call(HandlerMethod handler, String client) {
+        MockHttpServletRequest request = request(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (interceptor.preHandle(request, response, handler)) {
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+        return response;
+    }
+
+    @Test
+    void testTokenBucketRejectsWith429AndRetryAfter() throws Exception {
+        HandlerMethod listAll = handler("listAll");
+
+        assertEquals(200, call(listAll, "10.0.0.1").getStatus());
+        assertEquals(200, call(listAll, "10.0.0.1").getStatus());
+        MockHttpServletResponse rejected = call(listAll, "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        // Un autre client a son propre seau
+        assertEquals(200, call(listAll, "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void testDefaultPolicyForUnannotatedEndpoint() throws Exception {
+        HandlerMethod getOne = handler("getOne");
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, call(getOne, "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void testEndpointOverrideFromProperties() throws Exception {
+        properties.getEndpoints().put("SampleController.getOne", "full-scan");
+        HandlerMethod getOne = handler("getOne");
+
+        call(getOne, "10.0.0.1");
+        call(getOne, "10.0.0.1");
+
+        assertEquals(429, call(getOne, "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testConcurrencyLimitRejectsWith503() throws Exception {
+        HandlerMethod listAll = handler("listAll");
+        MockHttpServletRequest inFlight = request("10.0.0.1");
+        assertTrue(interceptor.preHandle(inFlight, new MockHttpServletResponse(), listAll));
+
+        MockHttpServletResponse rejected = call(listAll, "10.0.0.2");
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), listAll, null);
+
+        assertEquals(503, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(200, call(listAll, "10.0.0.3").getStatus());
+    }
+
+    @Test
+    void testTokenBucketRefill() {
+        TokenBucket bucket = new TokenBucket(1, 10);
+        long now = System.nanoTime();
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+        assertEquals(0, bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    void testAdaptiveLimitDecreasesOnSlowRequests() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, TimeUnit.MILLISECONDS.toNanos(100));
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testIdleClientsAreEvicted() throws Exception {
+        properties.setIdleClientSeconds(0);
+        call(handler("getOne"), "10.0.0.1");             // 50 jetons/s : seau plein après 20 ms
+
+        Thread.sleep(50);
+        interceptor.evictIdleClients();
+
+        assertEquals(0, interceptor.clientCount());
+    }
+}
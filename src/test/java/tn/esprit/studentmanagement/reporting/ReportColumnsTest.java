@@ -0,0 +1,77 @@
+package tn.esprit.studentmanagement.reporting;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.entities.Status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportColumnsTest {
+
+    private ReportColumns sample() {
+        ReportColumns.Builder builder = new ReportColumns.Builder();
+        builder.department(1, "Informatique");
+        builder.department(2, "Mathématiques");
+        builder.course(10, "Java");
+        builder.course(20, "Algèbre");
+        builder.student(100, 1L, LocalDate.of(2001, 5, 1));
+        builder.student(101, 1L, null);
+        builder.student(102, null, LocalDate.of(2003, 1, 1));
+        builder.student(103, 99L, LocalDate.of(2002, 1, 1)); // département supprimé
+        builder.enrollment(10L, Status.COMPLETED, 12.0);
+        builder.enrollment(10L, Status.COMPLETED, 16.0);
+        builder.enrollment(10L, Status.ACTIVE, null);
+        builder.enrollment(null, null, 8.0);
+        return builder.build();
+    }
+
+    @Test
+    void testCountsByDictionaryCode() {
+        ReportColumns columns = sample();
+
+        assertEquals(List.of(new DepartmentCount(1L, "Informatique", 2L), new DepartmentCount(2L, "Mathématiques", 0L)),
+                columns.studentCountsByDepartment());
+        List<StatusCount> statuses = columns.enrollmentCountsByStatus();
+        assertEquals(Status.values().length, statuses.size());
+        assertEquals(new StatusCount(Status.ACTIVE, 1L), statuses.get(0));
+        assertEquals(new StatusCount(Status.COMPLETED, 2L), statuses.get(1));
+        assertEquals(new StatusCount(Status.DROPPED, 0L), statuses.get(2));
+    }
+
+    @Test
+    void testGradesIgnoreUngradedAndOrphanEnrollments() {
+        assertEquals(List.of(new CourseGrades(10L, "Java", 2L, 14.0, 12.0, 16.0),
+                        new CourseGrades(20L, "Algèbre", 0L, null, null, null)),
+                sample().gradesByCourse());
+    }
+
+    @Test
+    void testBornAfterIsStrictAndSkipsUnknownDates() {
+        ReportColumns columns = sample();
+
+        assertArrayEquals(new long[]{102, 103}, columns.studentIdsBornAfter(LocalDate.of(2001, 5, 1)));
+        assertArrayEquals(new long[0], columns.studentIdsBornAfter(LocalDate.of(2003, 1, 1)));
+        assertEquals(0, ReportColumns.EMPTY.studentIdsBornAfter(LocalDate.MIN.plusDays(1)).length);
+    }
+
+    @Test
+    void testEnrollmentChangesProduceUpdatedCopy() {
+        ReportColumns columns = sample();
+
+        ReportColumns graded = columns.withEnrollmentChanges(
+                List.of(new ReportColumns.EnrollmentRow(10L, Status.ACTIVE, null)),
+                List.of(new ReportColumns.EnrollmentRow(10L, Status.COMPLETED, 20.0),
+                        new ReportColumns.EnrollmentRow(20L, Status.ACTIVE, null)));
+
+        assertEquals(5, graded.enrollmentCount());
+        assertEquals(new CourseGrades(10L, "Java", 3L, 16.0, 12.0, 20.0), graded.gradesByCourse().get(0));
+        assertEquals(new StatusCount(Status.ACTIVE, 1L), graded.enrollmentCountsByStatus().get(0));
+        assertEquals(4, columns.enrollmentCount()); // original inchangé
+        assertNull(columns.withEnrollmentChanges(List.of(new ReportColumns.EnrollmentRow(20L, Status.FAILED, 3.0)), List.of()));
+    }
+}
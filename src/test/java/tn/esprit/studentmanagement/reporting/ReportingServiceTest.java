@@ -0,0 +1,178 @@
+package tn.esprit.studentmanagement.reporting;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.CourseGrades;
+import tn.esprit.studentmanagement.dto.DepartmentCount;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.dto.StatusCount;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.events.EnrollmentChangedEvent;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ReportingService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportingServiceTest {
+
+    @Autowired
+    private ReportingService reportingService; // sans magasin en colonnes : agrégats SQL
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Department informatique;
+    private Student alice;
+    private Student bob;
+    private Course java;
+
+    @BeforeEach
+    void setUp() {
+        informatique = departmentRepository.save(Department.builder().name("Informatique").build());
+        departmentRepository.save(Department.builder().name("Mathématiques").build());
+        alice = studentRepository.save(Student.builder().lastName("Alice").department(informatique)
+                .dateOfBirth(LocalDate.of(2002, 3, 1)).build());
+        bob = studentRepository.save(Student.builder().lastName("Bob").department(informatique)
+                .dateOfBirth(LocalDate.of(2000, 3, 1)).build());
+        Student carol = studentRepository.save(Student.builder().lastName("Carol").department(informatique)
+                .dateOfBirth(LocalDate.of(2004, 3, 1)).build());
+        java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        courseRepository.save(new Course(null, "Algèbre", "MA101", 4, null, null));
+        enrollmentRepository.save(new Enrollment(null, LocalDate.now(), 12.0, Status.COMPLETED, alice, java));
+        enrollmentRepository.save(new Enrollment(null, LocalDate.now(), 16.0, Status.COMPLETED, bob, java));
+        enrollmentRepository.save(new Enrollment(null, LocalDate.now(), null, Status.ACTIVE, bob, java));
+        Enrollment deleted = enrollmentRepository.save(new Enrollment(null, LocalDate.now(), 2.0, Status.FAILED, carol, java));
+        jdbcTemplate.update("update enrollment set deleted_at = current_timestamp where id_enrollment = ?", deleted.getIdEnrollment());
+        jdbcTemplate.update("update student set deleted_at = current_timestamp where id_student = ?", carol.getIdStudent());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from enrollment");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+        jdbcTemplate.update("delete from department");
+    }
+
+    @Test
+    void testReportsFromDatabase() {
+        List<DepartmentCount> departments = reportingService.getStudentCountsByDepartment();
+        assertEquals(new DepartmentCount(informatique.getIdDepartment(), "Informatique", 2L), departments.get(0));
+        assertEquals(0L, departments.get(1).students());
+
+        List<StatusCount> statuses = reportingService.getEnrollmentCountsByStatus();
+        assertEquals(new StatusCount(Status.COMPLETED, 2L), statuses.get(Status.COMPLETED.ordinal()));
+        assertEquals(new StatusCount(Status.FAILED, 0L), statuses.get(Status.FAILED.ordinal()));
+
+        CourseGrades javaGrades = reportingService.getGradesByCourse().get(0);
+        assertEquals(new CourseGrades(java.getIdCourse(), "Java", 2L, 14.0, 12.0, 16.0), javaGrades);
+
+        assertArrayEquals(new long[]{alice.getIdStudent()}, reportingService.getStudentIdsBornAfter(LocalDate.of(2001, 1, 1)));
+    }
+
+    @Test
+    void testColumnarStoreMatchesDatabase() {
+        ColumnarReportStore store = new ColumnarReportStore(dataSource, 100, 60_000, 60_000);
+        store.refresh();
+        ReportColumns columns = store.columns(TenantContext.getTenantId());
+
+        assertEquals(reportingService.getStudentCountsByDepartment(), columns.studentCountsByDepartment());
+        assertEquals(reportingService.getEnrollmentCountsByStatus(), columns.enrollmentCountsByStatus());
+        assertEquals(reportingService.getGradesByCourse(), columns.gradesByCourse());
+        assertArrayEquals(reportingService.getStudentIdsBornAfter(LocalDate.of(2001, 1, 1)),
+                columns.studentIdsBornAfter(LocalDate.of(2001, 1, 1)));
+        assertEquals(0, store.columns("other").studentCount());
+    }
+
+    @Test
+    void testRootTenantReportsCoverAllTenants() {
+        TenantContext.callAs("other", () -> departmentRepository.save(Department.builder().name("Physique").build()));
+        ColumnarReportStore store = new ColumnarReportStore(dataSource, 100, 60_000, 60_000);
+        store.refresh();
+        ReportingService withStore = new ReportingService(
+                new StaticListableBeanFactory(Map.of("store", store)).getBeanProvider(ColumnarReportStore.class),
+                departmentRepository, courseRepository, studentRepository, enrollmentRepository);
+
+        List<DepartmentCount> all = TenantContext.callAs(TenantContext.ROOT_TENANT, withStore::getStudentCountsByDepartment);
+        assertEquals(3, all.size());
+        assertEquals(2, withStore.getStudentCountsByDepartment().size());
+    }
+
+    @Test
+    void testEnrollmentChangesAreAppliedWithoutRescan() {
+        ColumnarReportStore store = new ColumnarReportStore(dataSource, 100, 60_000, 60_000);
+        store.refresh();
+        Enrollment active = enrollmentRepository.findAll().stream()
+                .filter(e -> e.getStatus() == Status.ACTIVE).findFirst().orElseThrow();
+        EnrollmentRecord before = EnrollmentChangedEvent.snapshot(active);
+        active.setStatus(Status.COMPLETED);
+        active.setGrade(18.0);
+        enrollmentRepository.save(active);
+        // Écrit sans événement : visible seulement après un nouveau parcours
+        studentRepository.save(Student.builder().lastName("Dora").department(informatique).build());
+
+        store.onEnrollmentChanged(new EnrollmentChangedEvent(TenantContext.getTenantId(), before,
+                EnrollmentChangedEvent.snapshot(active)));
+        store.applyChanges();
+
+        ReportColumns columns = store.columns(TenantContext.getTenantId());
+        assertEquals(reportingService.getEnrollmentCountsByStatus(), columns.enrollmentCountsByStatus());
+        assertEquals(reportingService.getGradesByCourse(), columns.gradesByCourse());
+        assertEquals(2, columns.studentCount());
+    }
+
+    @Test
+    void testUnmatchedChangeReloadsOnlyThatTenant() {
+        ColumnarReportStore store = new ColumnarReportStore(dataSource, 100, 60_000, 0);
+        store.refresh();
+        studentRepository.save(Student.builder().lastName("Dora").department(informatique).build());
+        TenantContext.runAs("other", () -> departmentRepository.save(Department.builder().name("Physique").build()));
+        EnrollmentRecord unknown = new EnrollmentRecord(0L, LocalDate.now(), 3.0, Status.FAILED, bob.getIdStudent(),
+                java.getIdCourse(), false);
+
+        store.onEnrollmentChanged(new EnrollmentChangedEvent(TenantContext.getTenantId(), unknown, null));
+        store.applyChanges();
+
+        assertEquals(3, store.columns(TenantContext.getTenantId()).studentCount());
+        assertEquals(reportingService.getGradesByCourse(), store.columns(TenantContext.getTenantId()).gradesByCourse());
+        assertEquals(ReportColumns.EMPTY, store.columns("other")); // autre tenant non relu
+    }
+}
@@ -1,5 +1,6 @@
 package tn.esprit.studentmanagement.repositories;
 
+import tn.esprit.studentmanagement.dto.StudentSummary;
 import tn.esprit.studentmanagement.entities.Student;
 import tn.esprit.studentmanagement.entities.Department;
 import org.junit.jupiter.api.Test;
@@ -65,6 +66,17 @@ class StudentRepositoryTest {
         assertNull(found);
     }
 
+    @Test
+    void testFindByEmail_DuplicatesReturnOldest() {
+        Student first = entityManager.persist(Student.builder().firstName("John").lastName("Doe").email("john.doe@esprit.tn").build());
+        entityManager.persist(Student.builder().firstName("Johnny").lastName("Doe").email("john.doe@esprit.tn").build());
+        entityManager.flush();
+
+        Student found = studentRepository.findByEmail("john.doe@esprit.tn");
+
+        assertEquals(first.getIdStudent(), found.getIdStudent());
+    }
+
     @Test
     void testFindByFirstNameContainingIgnoreCase() {
         // Given
@@ -274,4 +286,37 @@ class StudentRepositoryTest {
         assertEquals("Find", found.get().getFirstName());
         assertEquals("findbyid@esprit.tn", found.get().getEmail());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllSummaries() {
+        // Given
+        Department department = Department.builder()
+                .name("Computer Science")
+                .build();
+        entityManager.persist(department);
+
+        entityManager.persist(Student.builder()
+                .firstName("With")
+                .lastName("Department")
+                .email("with@esprit.tn")
+                .department(department)
+                .build());
+        entityManager.persist(Student.builder()
+                .firstName("Without")
+                .lastName("Department")
+                .email("without@esprit.tn")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<StudentSummary> summaries = studentRepository.findAllSummaries();
+
+        // Then
+        assertEquals(2, summaries.size());
+        assertTrue(summaries.stream()
+                .anyMatch(s -> s.email().equals("with@esprit.tn") && "Computer Science".equals(s.departmentName())));
+        assertTrue(summaries.stream()
+                .anyMatch(s -> s.email().equals("without@esprit.tn") && s.departmentName() == null));
+    }
+}
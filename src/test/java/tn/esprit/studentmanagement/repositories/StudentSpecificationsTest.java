@@ -0,0 +1,99 @@
+package tn.esprit.studentmanagement.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class StudentSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Department informatique;
+
+    @BeforeEach
+    void setUp() {
+        informatique = entityManager.persist(Department.builder().name("Informatique").build());
+        Department maths = entityManager.persist(Department.builder().name("Mathématiques").build());
+        persist("John", "Doe", "john.doe@esprit.tn", LocalDate.of(2001, 1, 1), informatique);
+        persist("Jane", "Doe", "jane_doe@gmail.com", LocalDate.of(1998, 1, 1), informatique);
+        persist("Jack", "Doe", "jack.doe@esprit.tn", LocalDate.of(2002, 1, 1), maths);
+        persist("Amine", "Ben Ali", "amine@esprit.tn", LocalDate.of(2003, 1, 1), informatique);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String firstName, String lastName, String email, LocalDate dateOfBirth, Department department) {
+        entityManager.persist(Student.builder()
+                .firstName(firstName).lastName(lastName).email(email)
+                .dateOfBirth(dateOfBirth).department(department)
+                .build());
+    }
+
+    private Slice<Student> search(StudentFilter filter, int page, int size) {
+        return studentRepository.findBy(StudentSpecifications.withFilter(filter),
+                query -> query.slice(PageRequest.of(page, size, Sort.by("dateOfBirth", "idStudent"))));
+    }
+
+    @Test
+    void testCombinedCriteria() {
+        Slice<Student> result = search(new StudentFilter("Doe", informatique.getIdDepartment(),
+                LocalDate.of(2000, 1, 1), "esprit"), 0, 10);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals("John", result.getContent().get(0).getFirstName());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void testNoCriteriaReturnsEverythingInOrder() {
+        Slice<Student> result = search(new StudentFilter(null, null, null, null), 0, 10);
+
+        assertEquals(4, result.getNumberOfElements());
+        assertEquals("Jane", result.getContent().get(0).getFirstName());
+    }
+
+    @Test
+    void testLikeWildcardsAreEscaped() {
+        Slice<Student> result = search(new StudentFilter(null, null, null, "_doe"), 0, 10);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals("Jane", result.getContent().get(0).getFirstName());
+    }
+
+    @Test
+    void testSliceUsesOneStatementWithoutCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<Student> first = search(new StudentFilter("Doe", null, null, null), 0, 2);
+        first.getContent().forEach(student -> assertNotNull(student.getDepartment().getName()));
+
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount()); // ni COUNT(*), ni SELECT par département
+        assertFalse(search(new StudentFilter("Doe", null, null, null), 1, 2).hasNext());
+    }
+}
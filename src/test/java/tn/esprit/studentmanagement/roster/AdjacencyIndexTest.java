@@ -0,0 +1,56 @@
+package tn.esprit.studentmanagement.roster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdjacencyIndexTest {
+
+    // Étudiant -> cours ; l'étudiant 1 est inscrit deux fois au cours 10 (redoublement)
+    private AdjacencyIndex.Builder sample() {
+        AdjacencyIndex.Builder builder = new AdjacencyIndex.Builder();
+        builder.add(1, 30);
+        builder.add(2, 10);
+        builder.add(1, 10);
+        builder.add(3, 20);
+        builder.add(1, 10);
+        return builder;
+    }
+
+    @Test
+    void testNeighboursAreDistinctAndSortedInBothDirections() {
+        AdjacencyIndex coursesByStudent = sample().forward();
+        AdjacencyIndex studentsByCourse = sample().backward();
+
+        assertArrayEquals(new long[]{10, 30}, coursesByStudent.neighbours(1));
+        assertArrayEquals(new long[]{}, coursesByStudent.neighbours(99));
+        assertArrayEquals(new long[]{1, 2}, studentsByCourse.neighbours(10));
+        assertEquals(3, coursesByStudent.keyCount());
+        assertEquals(5, coursesByStudent.edgeCount());
+    }
+
+    @Test
+    void testDeltaAddsAndRemovesNeighbours() {
+        AdjacencyIndex coursesByStudent = sample().forward();
+
+        assertArrayEquals(new long[]{10, 25}, coursesByStudent.neighbours(1, Map.of(30L, -1, 25L, 1)));
+        // une seule des deux inscriptions au cours 10 est retirée : le cours reste
+        assertArrayEquals(new long[]{10, 30}, coursesByStudent.neighbours(1, Map.of(10L, -1)));
+        assertArrayEquals(new long[]{30}, coursesByStudent.neighbours(1, Map.of(10L, -2)));
+        assertArrayEquals(new long[]{5}, coursesByStudent.neighbours(42, Map.of(5L, 1)));
+    }
+
+    @Test
+    void testFootprintIsEightBytesPerEdgePlusTwelvePerKey() {
+        AdjacencyIndex.Builder builder = new AdjacencyIndex.Builder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.add(i % 10_000, i % 97);
+        }
+        AdjacencyIndex index = builder.forward();
+
+        assertEquals(10_000, index.keyCount());
+        assertEquals(3 * 16 + 8 * 100_000 + 8 * 10_000 + 4 * 10_001, index.footprintBytes());
+    }
+}
@@ -0,0 +1,191 @@
+package tn.esprit.studentmanagement.roster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.analytics.GradeAnalyticsService;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dedup.StudentDedupService;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.services.EnrollmentArchiveService;
+import tn.esprit.studentmanagement.services.EnrollmentService;
+import tn.esprit.studentmanagement.services.StudentService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({RosterIndexService.class, GradeAnalyticsService.class, EnrollmentService.class, ScheduleService.class, EnrollmentArchiveService.class, StudentService.class, StudentDedupService.class, StudentQueryCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RosterIndexServiceTest {
+
+    @Autowired
+    private RosterIndexService rosterIndex;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeAnalyticsService gradeAnalyticsService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private Student alice;
+    private Student bob;
+    private Course java;
+    private Course algebra;
+    private Enrollment aliceJava;
+
+    @BeforeEach
+    void setUp() {
+        alice = studentRepository.save(Student.builder().lastName("Alice").build());
+        bob = studentRepository.save(Student.builder().lastName("Bob").build());
+        java = courseRepository.save(new Course(null, "Java", "CS101", 6, null, null));
+        algebra = courseRepository.save(new Course(null, "Algèbre", "MA101", 4, null, null));
+        aliceJava = enroll(alice, java);
+        enroll(alice, algebra);
+        enroll(bob, java);
+        rosterIndex.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from enrollment");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+    }
+
+    private Enrollment enroll(Student student, Course course) {
+        return enrollmentService.saveEnrollment(new Enrollment(null, LocalDate.now(), null, Status.ACTIVE, student, course));
+    }
+
+    @Test
+    void testIndexIsBuiltFromEnrollmentTable() {
+        assertArrayEquals(sorted(java.getIdCourse(), algebra.getIdCourse()), rosterIndex.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(sorted(alice.getIdStudent(), bob.getIdStudent()), rosterIndex.getStudentIdsOfCourse(java.getIdCourse()));
+        assertTrue(rosterIndex.footprintBytes() > 0);
+    }
+
+    @Test
+    void testWritesUpdateIndexIncrementally() {
+        Enrollment bobAlgebra = enroll(bob, algebra);
+        assertArrayEquals(sorted(java.getIdCourse(), algebra.getIdCourse()), rosterIndex.getCourseIdsOfStudent(bob.getIdStudent()));
+
+        bobAlgebra.setCourse(java);
+        enrollmentService.saveEnrollment(bobAlgebra);
+        assertArrayEquals(new long[]{java.getIdCourse()}, rosterIndex.getCourseIdsOfStudent(bob.getIdStudent()));
+        assertArrayEquals(new long[]{alice.getIdStudent()}, rosterIndex.getStudentIdsOfCourse(algebra.getIdCourse()));
+
+        enrollmentService.deleteEnrollment(bobAlgebra.getIdEnrollment());
+        assertArrayEquals(new long[]{java.getIdCourse()}, rosterIndex.getCourseIdsOfStudent(bob.getIdStudent())); // 2e inscription
+    }
+
+    @Test
+    void testStudentDeletionDropsRosterLinksAndGrades() {
+        aliceJava.setGrade(16.0);
+        enrollmentService.saveEnrollment(aliceJava);
+        assertEquals(1, gradeAnalyticsService.getGradeStats(java.getIdCourse()).count());
+
+        studentService.deleteStudent(alice.getIdStudent()); // mise à jour en masse, un événement par inscription
+
+        assertArrayEquals(new long[0], rosterIndex.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(new long[]{bob.getIdStudent()}, rosterIndex.getStudentIdsOfCourse(java.getIdCourse()));
+        assertArrayEquals(new long[0], rosterIndex.getStudentIdsOfCourse(algebra.getIdCourse()));
+        assertEquals(0, gradeAnalyticsService.getGradeStats(java.getIdCourse()).count());
+    }
+
+    @Test
+    void testRebuildDropsBulkDeletedEnrollments() {
+        studentService.deleteStudent(alice.getIdStudent());
+
+        rosterIndex.rebuild();
+
+        assertArrayEquals(new long[0], rosterIndex.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(new long[]{bob.getIdStudent()}, rosterIndex.getStudentIdsOfCourse(java.getIdCourse()));
+    }
+
+    @Test
+    void testWritesDuringRebuildAreAppliedOnce() {
+        Enrollment[] bobAlgebra = new Enrollment[1];
+
+        rosterIndex.rebuild(
+                () -> bobAlgebra[0] = enroll(bob, algebra), // journalisée et déjà lue par le parcours
+                () -> enrollmentService.deleteEnrollment(aliceJava.getIdEnrollment())); // journalisée, non lue
+
+        assertArrayEquals(new long[]{algebra.getIdCourse()}, rosterIndex.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(sorted(java.getIdCourse(), algebra.getIdCourse()), rosterIndex.getCourseIdsOfStudent(bob.getIdStudent()));
+
+        enrollmentService.deleteEnrollment(bobAlgebra[0].getIdEnrollment());
+        assertArrayEquals(new long[]{java.getIdCourse()}, rosterIndex.getCourseIdsOfStudent(bob.getIdStudent()));
+        assertArrayEquals(new long[]{alice.getIdStudent()}, rosterIndex.getStudentIdsOfCourse(algebra.getIdCourse()));
+    }
+
+    @Test
+    void testQueriesTableUntilIndexIsBuilt() {
+        RosterIndexService notBuilt = new RosterIndexService(dataSource, 100, "", 12);
+
+        assertArrayEquals(sorted(java.getIdCourse(), algebra.getIdCourse()), notBuilt.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(sorted(alice.getIdStudent(), bob.getIdStudent()), notBuilt.getStudentIdsOfCourse(java.getIdCourse()));
+        assertArrayEquals(new long[0], TenantContext.callAs("other", () -> notBuilt.getCourseIdsOfStudent(alice.getIdStudent())));
+        assertEquals(0, notBuilt.footprintBytes()); // aucune reconstruction sur le thread appelant
+    }
+
+    @Test
+    void testRestoreFromSnapshotCatchesUpWithLaterWrites() {
+        String snapshot = snapshotDirectory.resolve("roster.snap").toString();
+        new RosterIndexService(dataSource, 100, snapshot, 12).rebuild(); // écrit l'instantané
+
+        enroll(bob, algebra);
+        enrollmentService.deleteEnrollment(aliceJava.getIdEnrollment());
+
+        RosterIndexService restarted = new RosterIndexService(dataSource, 100, snapshot, 12);
+        assertTrue(restarted.restoreFromSnapshot());
+        assertArrayEquals(new long[]{algebra.getIdCourse()}, restarted.getCourseIdsOfStudent(alice.getIdStudent()));
+        assertArrayEquals(sorted(java.getIdCourse(), algebra.getIdCourse()), restarted.getCourseIdsOfStudent(bob.getIdStudent()));
+        assertArrayEquals(new long[]{bob.getIdStudent()}, restarted.getStudentIdsOfCourse(java.getIdCourse()));
+
+        assertFalse(new RosterIndexService(dataSource, 100, snapshot, 0).restoreFromSnapshot()); // trop ancien
+    }
+
+    @Test
+    void testIndexIsPerTenant() {
+        assertArrayEquals(new long[0], TenantContext.callAs("other", () -> rosterIndex.getCourseIdsOfStudent(alice.getIdStudent())));
+    }
+
+    private static long[] sorted(long a, long b) {
+        return a < b ? new long[]{a, b} : new long[]{b, a};
+    }
+}
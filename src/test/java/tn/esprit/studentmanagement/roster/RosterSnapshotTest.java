@@ -0,0 +1,61 @@
+package tn.esprit.studentmanagement.roster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private RosterSnapshot.Content sample() {
+        AdjacencyIndex.Builder builder = new AdjacencyIndex.Builder();
+        builder.add(1, 10);
+        builder.add(1, 30);
+        builder.add(2, 10);
+        return new RosterSnapshot.Content(Instant.now().truncatedTo(ChronoUnit.MILLIS), 42,
+                Map.of("default", new RosterSnapshot.TenantIndexes(builder.forward(), builder.backward()),
+                        "école", new RosterSnapshot.TenantIndexes(AdjacencyIndex.EMPTY, AdjacencyIndex.EMPTY)));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path file = directory.resolve("roster.snap");
+        RosterSnapshot.Content written = sample();
+
+        RosterSnapshot.write(file, written);
+        RosterSnapshot.Content read = RosterSnapshot.read(file);
+
+        assertEquals(written.createdAt(), read.createdAt());
+        assertEquals(42, read.maxEnrollmentId());
+        assertEquals(written.tenants().keySet(), read.tenants().keySet());
+        RosterSnapshot.TenantIndexes indexes = read.tenants().get("default");
+        assertArrayEquals(new long[]{10, 30}, indexes.coursesByStudent().neighbours(1));
+        assertArrayEquals(new long[]{1, 2}, indexes.studentsByCourse().neighbours(10));
+        assertEquals(0, read.tenants().get("école").coursesByStudent().keyCount());
+    }
+
+    @Test
+    void testCorruptedOrTruncatedFileIsRejected() throws IOException {
+        Path file = directory.resolve("roster.snap");
+        RosterSnapshot.write(file, sample());
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[40] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> RosterSnapshot.read(file));
+
+        Files.write(file, Arrays.copyOf(bytes, 20));
+        assertThrows(IOException.class, () -> RosterSnapshot.read(file));
+    }
+}
@@ -0,0 +1,171 @@
+package tn.esprit.studentmanagement.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.esprit.studentmanagement.dto.ScheduleConflict;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.CourseSession;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.services.CourseService;
+import tn.esprit.studentmanagement.services.EnrollmentArchiveService;
+import tn.esprit.studentmanagement.services.EnrollmentService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ScheduleService.class, EnrollmentService.class, EnrollmentArchiveService.class, CourseService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScheduleServiceTest {
+
+    private static final LocalDate SEMESTER_START = LocalDate.of(2025, 9, 15);
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Student student;
+    private Course java;      // lundi 10:00-11:30
+    private Course algebra;   // lundi 11:00-12:30 : chevauche java
+    private Course physics;   // lundi 11:30-13:00 : juste après java
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(Student.builder().lastName("Ben Ali").build());
+        java = course("CS101", "10:00", "11:30");
+        algebra = course("MA101", "11:00", "12:30");
+        physics = course("PH101", "11:30", "13:00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from enrollment");
+        jdbcTemplate.update("delete from course_session");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from course");
+    }
+
+    private Course course(String code, String start, String end) {
+        Course course = courseRepository.save(new Course(null, code, code, 4, null, null));
+        scheduleService.addSession(course.getIdCourse(),
+                new CourseSession(null, DayOfWeek.MONDAY, LocalTime.parse(start), LocalTime.parse(end), "A1", null));
+        return course;
+    }
+
+    private Enrollment enroll(Course course, Status status) {
+        return enrollmentService.saveEnrollment(new Enrollment(null, SEMESTER_START, null, status, student, course));
+    }
+
+    @Test
+    void testOverlappingActiveEnrollmentIsRejected() {
+        enroll(java, Status.ACTIVE);
+
+        ScheduleConflictException conflict = assertThrows(ScheduleConflictException.class, () -> enroll(algebra, Status.ACTIVE));
+        assertEquals(List.of(java.getIdCourse()), conflict.getConflictingCourseIds());
+        assertNotNull(enroll(physics, Status.ACTIVE)); // créneaux contigus
+    }
+
+    @Test
+    void testOnlyActiveEnrollmentsAreChecked() {
+        enroll(java, Status.COMPLETED);
+
+        assertNotNull(enroll(algebra, Status.ACTIVE));
+        assertNotNull(enroll(java, Status.DROPPED));
+    }
+
+    @Test
+    void testUpdatingAnEnrollmentDoesNotConflictWithItself() {
+        Enrollment enrollment = enroll(java, Status.ACTIVE);
+        enrollment.setGrade(12.0);
+
+        assertNotNull(enrollmentService.saveEnrollment(enrollment));
+    }
+
+    @Test
+    void testNewSessionInvalidatesCachedMask() {
+        enroll(physics, Status.ACTIVE);
+        assertTrue(scheduleService.findConflictingCourses(student.getIdStudent(), java.getIdCourse(), null).isEmpty());
+
+        scheduleService.addSession(physics.getIdCourse(),
+                new CourseSession(null, DayOfWeek.MONDAY, LocalTime.of(10, 30), LocalTime.of(11, 0), "B2", null));
+
+        assertEquals(List.of(physics.getIdCourse()),
+                scheduleService.findConflictingCourses(student.getIdStudent(), java.getIdCourse(), null));
+    }
+
+    @Test
+    void testMaskReadDuringRolledBackSessionIsNotKept() {
+        WeekMask tuesdayMorning = WeekMask.of(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(9, 0));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            scheduleService.addSession(physics.getIdCourse(),
+                    new CourseSession(null, DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(9, 0), "B2", null));
+            // Relu dans la transaction : le créneau non validé entre dans le masque
+            assertTrue(scheduleService.maskOf(physics.getIdCourse()).intersects(tuesdayMorning));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(scheduleService.maskOf(physics.getIdCourse()).intersects(tuesdayMorning));
+    }
+
+    @Test
+    void testDeletedCourseMaskIsEvicted() {
+        assertFalse(scheduleService.maskOf(java.getIdCourse()).isEmpty());
+
+        courseService.deleteCourse(java.getIdCourse());
+
+        assertTrue(scheduleService.maskOf(java.getIdCourse()).isEmpty());
+    }
+
+    @Test
+    void testSemesterScanReportsExistingConflicts() {
+        Student other = studentRepository.save(Student.builder().lastName("Trabelsi").build());
+        // inscriptions antérieures à l'ajout des créneaux : insérées directement
+        for (Object[] row : List.of(new Object[]{student, java}, new Object[]{student, algebra}, new Object[]{student, physics},
+                new Object[]{other, java}, new Object[]{other, physics})) {
+            jdbcTemplate.update("insert into enrollment (tenant_id, enrollment_date, status, student_id_student, course_id_course) " +
+                            "values ('default', ?, 'ACTIVE', ?, ?)", SEMESTER_START,
+                    ((Student) row[0]).getIdStudent(), ((Course) row[1]).getIdCourse());
+        }
+
+        List<ScheduleConflict> conflicts = scheduleService.findConflicts(SEMESTER_START, SEMESTER_START.plusMonths(4));
+
+        assertEquals(List.of(
+                new ScheduleConflict(student.getIdStudent(), java.getIdCourse(), algebra.getIdCourse()),
+                new ScheduleConflict(student.getIdStudent(), algebra.getIdCourse(), physics.getIdCourse())), conflicts);
+    }
+}
@@ -0,0 +1,50 @@
+package tn.esprit.studentmanagement.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeekMaskTest {
+
+    private static WeekMask slot(DayOfWeek day, String start, String end) {
+        return WeekMask.of(day, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    @Test
+    void testOverlappingSessionsIntersect() {
+        assertTrue(slot(DayOfWeek.MONDAY, "10:00", "11:30").intersects(slot(DayOfWeek.MONDAY, "11:00", "12:00")));
+        assertTrue(slot(DayOfWeek.SUNDAY, "22:00", "23:59").intersects(slot(DayOfWeek.SUNDAY, "23:55", "23:59")));
+    }
+
+    @Test
+    void testAdjacentSessionsAndOtherDaysDoNotIntersect() {
+        assertFalse(slot(DayOfWeek.MONDAY, "10:00", "11:30").intersects(slot(DayOfWeek.MONDAY, "11:30", "12:00")));
+        assertFalse(slot(DayOfWeek.MONDAY, "10:00", "11:30").intersects(slot(DayOfWeek.TUESDAY, "10:00", "11:30")));
+    }
+
+    @Test
+    void testUnalignedBoundsAreRoundedOutwards() {
+        // 10:02-10:07 occupe les tranches 10:00 et 10:05
+        assertTrue(slot(DayOfWeek.FRIDAY, "10:02", "10:07").intersects(slot(DayOfWeek.FRIDAY, "10:08", "10:09")));
+        assertFalse(slot(DayOfWeek.FRIDAY, "10:02", "10:07").intersects(slot(DayOfWeek.FRIDAY, "10:10", "10:20")));
+    }
+
+    @Test
+    void testUnionOfSessions() {
+        WeekMask course = slot(DayOfWeek.MONDAY, "08:00", "10:00").or(slot(DayOfWeek.THURSDAY, "14:00", "16:00"));
+
+        assertTrue(course.intersects(slot(DayOfWeek.THURSDAY, "15:00", "15:30")));
+        assertFalse(course.intersects(slot(DayOfWeek.WEDNESDAY, "08:00", "10:00")));
+        assertTrue(WeekMask.EMPTY.isEmpty());
+        assertFalse(course.isEmpty());
+    }
+
+    @Test
+    void testInvalidSessionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> slot(DayOfWeek.MONDAY, "10:00", "10:00"));
+        assertThrows(IllegalArgumentException.class, () -> WeekMask.of(null, LocalTime.NOON, LocalTime.MIDNIGHT));
+    }
+}
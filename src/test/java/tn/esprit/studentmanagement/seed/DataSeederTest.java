@@ -0,0 +1,74 @@
+package tn.esprit.studentmanagement.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tn.esprit.studentmanagement.repositories.CourseRepository;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "app.seed.departments=5",
+        "app.seed.courses-per-department=4",
+        "app.seed.students=300",
+        "app.seed.batch-size=64"
+})
+@ActiveProfiles("seed")
+@Import(DataSeeder.class)
+class DataSeederTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSeedsRequestedVolumes() {
+        assertEquals(5, departmentRepository.count());
+        assertEquals(20, courseRepository.count());
+        assertEquals(300, studentRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from student where department_id_department is null", Integer.class));
+    }
+
+    @Test
+    void testEveryStudentHasAtLeastOneEnrollment() {
+        Integer withoutEnrollment = jdbcTemplate.queryForObject(
+                "select count(*) from student s where not exists (select 1 from enrollment e where e.student_id_student = s.id_student)",
+                Integer.class);
+        assertEquals(0, withoutEnrollment);
+        Double average = jdbcTemplate.queryForObject(
+                "select cast(count(*) as double) / (select count(*) from student) from enrollment", Double.class);
+        assertTrue(average > 4 && average < 6, "average enrollments per student: " + average);
+    }
+
+    @Test
+    void testGradesMatchStatus() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from enrollment where status = 'COMPLETED' and (grade < 10 or grade > 20)", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from enrollment where status = 'FAILED' and (grade < 0 or grade >= 10)", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from enrollment where status in ('ACTIVE', 'DROPPED', 'WITHDRAWN') and grade is not null", Integer.class));
+    }
+
+    @Test
+    void testDepartmentSizesAreSkewed() {
+        Integer largest = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) c from student group by department_id_department) t", Integer.class);
+        Integer smallest = jdbcTemplate.queryForObject(
+                "select min(c) from (select count(*) c from student group by department_id_department) t", Integer.class);
+        assertTrue(largest > smallest * 2, "largest " + largest + ", smallest " + smallest);
+    }
+}
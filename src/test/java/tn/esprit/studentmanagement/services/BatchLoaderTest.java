@@ -0,0 +1,190 @@
+package tn.esprit.studentmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    record Item(Long id, String tenantId) {
+    }
+
+    private final AtomicInteger singleLoads = new AtomicInteger();
+    private final List<Collection<Long>> batchLoads = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private Optional<Item> findById(Long id) {
+        singleLoads.incrementAndGet();
+        await(release);
+        return id < 0 ? Optional.empty() : Optional.of(new Item(id, TenantContext.getTenantId()));
+    }
+
+    private List<Item> findAllById(Collection<Long> ids) {
+        batchLoads.add(List.copyOf(ids));
+        return ids.stream().filter(id -> id >= 0).map(id -> new Item(id, TenantContext.getTenantId())).toList();
+    }
+
+    private BatchLoader<Item> loader(long windowMillis, int maxBatch) {
+        return new BatchLoader<>(this::findById, this::findAllById, Item::id, BatchLoaderTest::copy, TimeUnit.MILLISECONDS.toNanos(windowMillis), maxBatch);
+    }
+
+    @Test
+    void testUncontendedLoadUsesFindById() {
+        BatchLoader<Item> loader = loader(50, 100);
+
+        assertEquals(new Item(1L, "default"), loader.load(1L));
+        assertNull(loader.load(-1L));
+        assertEquals(2, singleLoads.get());
+        assertTrue(batchLoads.isEmpty());
+    }
+
+    @Test
+    void testConcurrentLoadsOfSameIdShareOneQuery() throws Exception {
+        BatchLoader<Item> loader = loader(50, 100);
+        release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Item>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> loader.load(7L)));
+        }
+        waitFor(() -> loader.coalescedCount() == 15);
+        release.countDown();
+
+        Set<Item> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<Item> result : results) {
+            Item item = result.get(5, TimeUnit.SECONDS);
+            assertEquals(7L, item.id());
+            instances.add(item);
+        }
+        assertEquals(16, instances.size()); // une copie par appelant, jamais l'instance du leader
+        assertEquals(1, singleLoads.get());
+        assertEquals(1, loader.queryCount());
+        pool.shutdown();
+    }
+
+    @Test
+    void testConcurrentLoadsOfDifferentIdsAreBatched() throws Exception {
+        BatchLoader<Item> loader = loader(200, 100);
+        release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(11);
+        // Un premier chargement occupe la base : les suivants se regroupent derrière lui
+        Future<Item> first = pool.submit(() -> loader.load(0L));
+        waitFor(() -> singleLoads.get() == 1);
+        List<Future<Item>> results = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            long key = id;
+            results.add(pool.submit(() -> loader.load(key)));
+        }
+        waitFor(() -> batchLoads.size() == 1);
+        release.countDown();
+
+        assertEquals(0L, first.get(5, TimeUnit.SECONDS).id());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).id());
+        }
+        assertEquals(1, batchLoads.size());
+        assertEquals(10, batchLoads.get(0).size());
+        assertEquals(2, loader.queryCount());
+        pool.shutdown();
+    }
+
+    @Test
+    void testBatchIsDispatchedWhenFull() throws Exception {
+        BatchLoader<Item> loader = loader(10_000, 3);
+        release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<Item> first = pool.submit(() -> loader.load(0L));
+        waitFor(() -> singleLoads.get() == 1);
+        List<Future<Item>> results = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            long key = id;
+            results.add(pool.submit(() -> loader.load(key)));
+        }
+
+        for (Future<Item> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS)); // sans attendre la fenêtre de 10 s
+        }
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    @Test
+    void testSameIdInDifferentTenantsIsLoadedSeparately() {
+        BatchLoader<Item> loader = loader(50, 100);
+
+        Item own = loader.load(3L);
+        Item other = TenantContext.callAs("other", () -> loader.load(3L));
+
+        assertEquals("default", own.tenantId());
+        assertEquals("other", other.tenantId());
+        assertEquals(2, singleLoads.get());
+    }
+
+    @Test
+    void testLoadStartedBeforeWriteIsNotJoined() throws Exception {
+        BatchLoader<Item> loader = loader(50, 100);
+        release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Item> stale = pool.submit(() -> loader.load(7L));
+        waitFor(() -> singleLoads.get() == 1);
+
+        loader.written();
+        Future<Item> fresh = pool.submit(() -> loader.load(7L));
+        waitFor(() -> singleLoads.get() == 2);
+        release.countDown();
+
+        assertEquals(7L, stale.get(5, TimeUnit.SECONDS).id());
+        assertEquals(7L, fresh.get(5, TimeUnit.SECONDS).id());
+        assertEquals(0, loader.coalescedCount());
+        assertEquals(7L, loader.load(7L).id()); // plus aucun chargement en cours : nouvelle requête
+        assertEquals(3, singleLoads.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void testErrorsArePropagatedToAllWaiters() {
+        BatchLoader<Item> loader = new BatchLoader<>(id -> {
+            throw new IllegalStateException("database down");
+        }, ids -> List.of(), Item::id, BatchLoaderTest::copy);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+        assertEquals("database down", error.getMessage());
+    }
+
+    private static Item copy(Item item) {
+        return new Item(item.id(), item.tenantId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
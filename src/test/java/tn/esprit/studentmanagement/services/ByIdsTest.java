@@ -0,0 +1,67 @@
+package tn.esprit.studentmanagement.services;
+
+import org.junit.jupiter.api.Test;
+import tn.esprit.studentmanagement.dto.ByIdsResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByIdsTest {
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    // Simule la base : seuls les ids pairs existent, renvoyés dans un ordre quelconque
+    private List<Long> findAllById(Collection<Long> ids) {
+        chunkSizes.add(ids.size());
+        return ids.stream().filter(id -> id % 2 == 0).sorted((a, b) -> Long.compare(b, a)).toList();
+    }
+
+    @Test
+    void testItemsFollowRequestOrderAndMissingIdsAreReported() {
+        ByIdsResponse<Long> response = ByIds.load(List.of(8L, 3L, 2L, 8L, 5L, 4L), this::findAllById, id -> id);
+
+        assertEquals(List.of(8L, 2L, 4L), response.items());
+        assertEquals(List.of(3L, 5L), response.missing());
+        assertEquals(List.of(5), chunkSizes); // doublon retiré avant la requête
+    }
+
+    @Test
+    void testLargeRequestsAreChunked() {
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+
+        ByIdsResponse<Long> response = ByIds.load(ids, this::findAllById, id -> id);
+
+        assertEquals(List.of(100, 100, 50), chunkSizes);
+        assertEquals(125, response.items().size());
+        assertEquals(125, response.missing().size());
+    }
+
+    @Test
+    void testNullIdsAreIgnored() {
+        ByIdsResponse<Long> response = ByIds.load(Arrays.asList(2L, null), this::findAllById, id -> id);
+
+        assertEquals(List.of(2L), response.items());
+        assertTrue(response.missing().isEmpty());
+    }
+
+    @Test
+    void testTooManyIdsAreRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, ByIdsResponse.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(TooManyIdsException.class, () -> ByIds.load(ids, this::findAllById, id -> id));
+        assertTrue(chunkSizes.isEmpty());
+    }
+
+    @Test
+    void testCapAppliesToDistinctIds() {
+        List<Long> ids = Collections.nCopies(ByIdsResponse.MAX_IDS + 1, 8L);
+
+        assertEquals(List.of(8L), ByIds.load(ids, this::findAllById, id -> id).items());
+    }
+}
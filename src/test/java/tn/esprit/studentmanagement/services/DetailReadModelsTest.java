@@ -0,0 +1,106 @@
+package tn.esprit.studentmanagement.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dto.CourseRoster;
+import tn.esprit.studentmanagement.dto.DepartmentDetail;
+import tn.esprit.studentmanagement.entities.Course;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DepartmentService.class, CourseService.class, ScheduleService.class, StudentQueryCache.class})
+class DetailReadModelsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Department department;
+    private Course algebra;
+    private Course java;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        department = entityManager.persist(Department.builder().name("Informatique").head("Dr. Gharbi").build());
+        Department other = entityManager.persist(Department.builder().name("Mathématiques").build());
+        algebra = entityManager.persist(new Course(null, "Algèbre", "MA101", 4, null, null));
+        java = entityManager.persist(new Course(null, "Java", "CS101", 6, null, null));
+        Student outsider = entityManager.persist(Student.builder().firstName("Out").lastName("Sider").department(other).build());
+        entityManager.persist(new Enrollment(null, LocalDate.of(2025, 9, 1), 12.0, Status.COMPLETED, outsider, java));
+    }
+
+    private void seed(int students) {
+        for (int i = 0; i < students; i++) {
+            Student student = entityManager.persist(Student.builder()
+                    .firstName("First" + i).lastName(String.format("Last%03d", i)).email("s" + i + "@esprit.tn")
+                    .department(department).build());
+            entityManager.persist(new Enrollment(null, LocalDate.of(2025, 9, 1), null, Status.ACTIVE, student, java));
+            entityManager.persist(new Enrollment(null, LocalDate.of(2024, 9, 1), 14.5, Status.COMPLETED, student, algebra));
+        }
+        // Un étudiant sans inscription
+        entityManager.persist(Student.builder().firstName("New").lastName("Zed").department(department).build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 120})
+    void testDepartmentDetailUsesTwoStatements(int students) {
+        seed(students);
+
+        DepartmentDetail detail = departmentService.getDepartmentDetail(department.getIdDepartment());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals("Informatique", detail.name());
+        assertEquals(students + 1, detail.students().size());
+        DepartmentDetail.StudentLine first = detail.students().get(0);
+        assertEquals("Last000", first.lastName());
+        assertEquals(2, first.enrollments().size());
+        assertEquals("MA101", first.enrollments().get(0).courseCode());
+        assertEquals("CS101", first.enrollments().get(1).courseCode());
+        assertEquals(0, detail.students().get(students).enrollments().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 120})
+    void testCourseRosterUsesTwoStatements(int students) {
+        seed(students);
+
+        CourseRoster roster = courseService.getCourseRoster(java.getIdCourse());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals("CS101", roster.code());
+        assertEquals(students + 1, roster.enrollments().size());
+        assertEquals("Last000", roster.enrollments().get(0).lastName());
+        assertEquals("Informatique", roster.enrollments().get(0).departmentName());
+        assertEquals("Mathématiques", roster.enrollments().get(students).departmentName());
+    }
+}
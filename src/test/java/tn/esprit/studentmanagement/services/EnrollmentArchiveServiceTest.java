@@ -0,0 +1,100 @@
+package tn.esprit.studentmanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.dto.EnrollmentRecord;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.repositories.EnrollmentArchiveRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+import tn.esprit.studentmanagement.tenancy.TenantContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.archive.batch-size=2")
+@Import({EnrollmentArchiveService.class, EnrollmentService.class, ScheduleService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EnrollmentArchiveServiceTest {
+
+    @Autowired
+    private EnrollmentArchiveService archiveService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EnrollmentArchiveRepository archiveRepository;
+
+    @AfterEach
+    void cleanUp() {
+        TenantContext.runAsRoot(() -> {
+            enrollmentRepository.deleteAll();
+            archiveRepository.deleteAll();
+        });
+    }
+
+    private Enrollment enrollment(LocalDate date, Status status, Double grade) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentDate(date);
+        enrollment.setStatus(status);
+        enrollment.setGrade(grade);
+        return enrollmentRepository.save(enrollment);
+    }
+
+    @Test
+    void testArchiveMovesOnlyClosedEnrollmentsOfPastYears() {
+        LocalDate old = archiveService.getArchiveCutoff().minusYears(2);
+        enrollment(old, Status.COMPLETED, 14.0);
+        enrollment(old, Status.FAILED, 6.5);
+        enrollment(old.plusDays(1), Status.WITHDRAWN, null);
+        enrollment(old, Status.ACTIVE, null);                      // toujours en cours : conservée
+        enrollment(LocalDate.now(), Status.COMPLETED, 12.0);       // année courante : conservée
+
+        archiveService.archiveClosedYears();                        // 3 inscriptions, lots de 2
+
+        assertEquals(2, enrollmentRepository.count());
+        assertEquals(3, archiveRepository.count());
+    }
+
+    @Test
+    void testArchiveKeepsTenant() {
+        LocalDate old = archiveService.getArchiveCutoff().minusYears(1);
+        TenantContext.runAs("faculty-a", () -> enrollment(old, Status.COMPLETED, 15.0));
+
+        archiveService.archiveClosedYears();
+
+        long archivedA = TenantContext.callAs("faculty-a", archiveRepository::count);
+        long archivedB = TenantContext.callAs("faculty-b", archiveRepository::count);
+        assertEquals(1, archivedA);
+        assertEquals(0, archivedB);
+    }
+
+    @Test
+    void testRecentRangeDoesNotReadArchive() {
+        LocalDate cutoff = archiveService.getArchiveCutoff();
+        enrollment(cutoff.minusYears(1), Status.COMPLETED, 11.0);
+        enrollment(cutoff.plusDays(1), Status.ACTIVE, null);
+        archiveService.archiveClosedYears();
+
+        List<EnrollmentRecord> recent = enrollmentService.getEnrollmentsBetween(cutoff, cutoff.plusYears(1));
+        List<EnrollmentRecord> history = enrollmentService.getEnrollmentsBetween(cutoff.minusYears(2), cutoff.plusYears(1));
+
+        assertEquals(1, recent.size());
+        assertFalse(recent.get(0).archived());
+        assertEquals(2, history.size());
+        assertTrue(history.get(0).archived());
+        assertEquals(11.0, history.get(0).grade());
+    }
+}
@@ -0,0 +1,117 @@
+package tn.esprit.studentmanagement.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import tn.esprit.studentmanagement.dto.KeysetPage;
+import tn.esprit.studentmanagement.dto.StudentFilter;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.repositories.StudentSpecifications;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class KeysetTest {
+
+    private static final Keyset<Student> KEYSET = Keyset.of("idStudent", Student::getIdStudent)
+            .key("lastName", "lastName", String.class, Student::getLastName)
+            .key("dateOfBirth", "dateOfBirth", LocalDate.class, Student::getDateOfBirth);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Department informatique;
+
+    @BeforeEach
+    void setUp() {
+        informatique = entityManager.persist(Department.builder().name("Informatique").build());
+        // Doublons et NULL : le départage par id doit garder l'ordre stable d'une page à l'autre
+        persist("Doe", LocalDate.of(2001, 1, 1));
+        persist(null, LocalDate.of(1999, 1, 1));
+        persist("Ben Ali", null);
+        persist("Doe", LocalDate.of(2001, 1, 1));
+        persist(null, null);
+        persist("Zribi", LocalDate.of(2003, 1, 1));
+        persist("Doe", LocalDate.of(1998, 1, 1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String lastName, LocalDate dateOfBirth) {
+        entityManager.persist(Student.builder().lastName(lastName).dateOfBirth(dateOfBirth).department(informatique).build());
+    }
+
+    private List<Long> walk(String sort, Sort.Direction direction, int size) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            KeysetPage<Student> page = KEYSET.page(studentRepository, null, sort, direction, size, after);
+            assertTrue(page.content().size() <= size);
+            page.content().forEach(s -> ids.add(s.getIdStudent()));
+            after = page.next();
+        } while (after != null);
+        return ids;
+    }
+
+    // Ordre attendu : NULL en tête en croissant (MySQL et H2), id en départage dans le même sens
+    private <K extends Comparable<K>> List<Long> expected(Function<Student, K> key, Sort.Direction direction) {
+        Comparator<Student> order = Comparator.comparing(key, Comparator.nullsFirst(Comparator.<K>naturalOrder()))
+                .thenComparing(Student::getIdStudent);
+        if (direction.isDescending()) {
+            order = order.reversed();
+        }
+        return studentRepository.findAll().stream().sorted(order).map(Student::getIdStudent).toList();
+    }
+
+    @Test
+    void testPagesCoverEveryRowOnceInSortOrder() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            for (int size : new int[]{1, 2, 3, 7}) {
+                assertEquals(expected(Student::getLastName, direction), walk("lastName", direction, size), direction + " " + size);
+                assertEquals(expected(Student::getDateOfBirth, direction), walk("dateOfBirth", direction, size));
+                assertEquals(expected(Student::getIdStudent, direction), walk("idStudent", direction, size));
+            }
+        }
+    }
+
+    @Test
+    void testFilterAppliesToEveryPage() {
+        KeysetPage<Student> first = KEYSET.page(studentRepository, StudentSpecifications.withFilter(
+                new StudentFilter("Doe", null, null, null)), "dateOfBirth", Sort.Direction.ASC, 2, null);
+        KeysetPage<Student> second = KEYSET.page(studentRepository, StudentSpecifications.withFilter(
+                new StudentFilter("Doe", null, null, null)), "dateOfBirth", Sort.Direction.ASC, 2, first.next());
+
+        assertEquals(LocalDate.of(1998, 1, 1), first.content().get(0).getDateOfBirth());
+        assertEquals(1, second.content().size());
+        assertNull(second.next());
+        assertEquals("Informatique", second.content().get(0).getDepartment().getName());
+    }
+
+    @Test
+    void testRejectsUnindexedKeysBadSizesAndForeignTokens() {
+        String next = KEYSET.page(studentRepository, null, "lastName", Sort.Direction.ASC, 2, null).next();
+
+        assertThrows(InvalidPageRequestException.class,
+                () -> KEYSET.page(studentRepository, null, "firstName", Sort.Direction.ASC, 2, null));
+        assertThrows(InvalidPageRequestException.class,
+                () -> KEYSET.page(studentRepository, null, "lastName", Sort.Direction.ASC, Keyset.MAX_SIZE + 1, null));
+        assertThrows(InvalidPageRequestException.class,
+                () -> KEYSET.page(studentRepository, null, "lastName", Sort.Direction.DESC, 2, next));
+        assertThrows(InvalidPageRequestException.class,
+                () -> KEYSET.page(studentRepository, null, "lastName", Sort.Direction.ASC, 2, "%%%"));
+    }
+}
@@ -0,0 +1,152 @@
+package tn.esprit.studentmanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dedup.StudentDedupService;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Enrollment;
+import tn.esprit.studentmanagement.entities.Status;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+import tn.esprit.studentmanagement.schedule.ScheduleService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.purge.batch-size=2")
+@Import({StudentService.class, StudentDedupService.class, StudentQueryCache.class, DepartmentService.class, EnrollmentService.class, ScheduleService.class, EnrollmentArchiveService.class, SoftDeletePurger.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SoftDeletePurgerTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from enrollment");
+        jdbcTemplate.update("delete from student");
+        jdbcTemplate.update("delete from department");
+    }
+
+    private Department department(String name) {
+        return departmentRepository.save(Department.builder().name(name).build());
+    }
+
+    private Student student(String lastName, Department department) {
+        return studentRepository.save(Student.builder().lastName(lastName).department(department).build());
+    }
+
+    private Enrollment enrollment(Student student) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentDate(LocalDate.now());
+        enrollment.setStatus(Status.ACTIVE);
+        enrollment.setStudent(student);
+        return enrollmentRepository.save(enrollment);
+    }
+
+    private int rows(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+
+    private int purgeAll() {
+        return purger.purgeBefore(LocalDateTime.now().plusMinutes(1), System.nanoTime() + 60_000_000_000L);
+    }
+
+    @Test
+    void testDeletedStudentAndEnrollmentsAreHiddenButKept() {
+        Student kept = student("Kept", null);
+        Student deleted = student("Deleted", null);
+        enrollment(kept);
+        enrollment(deleted);
+        enrollment(deleted);
+
+        studentService.deleteStudent(deleted.getIdStudent());
+
+        assertNull(studentService.getStudentById(deleted.getIdStudent()));
+        assertEquals(List.of(kept.getIdStudent()), studentService.getAllStudents().stream().map(Student::getIdStudent).toList());
+        assertEquals(1, enrollmentService.getAllEnrollments().size());
+        assertEquals(2, rows("student"));
+        assertEquals(3, rows("enrollment"));
+    }
+
+    @Test
+    void testPurgeRemovesRowsPastGracePeriodInBatches() {
+        for (int i = 0; i < 5; i++) {
+            Student student = student("S" + i, null);
+            enrollment(student);
+            studentService.deleteStudent(student.getIdStudent());
+        }
+        Enrollment single = enrollment(student("Active", null));
+        enrollmentService.deleteEnrollment(single.getIdEnrollment());
+
+        // Délai de grâce non écoulé : rien n'est effacé
+        assertEquals(0, purger.purgeBefore(LocalDateTime.now().minusHours(1), System.nanoTime() + 60_000_000_000L));
+
+        assertEquals(11, purgeAll()); // 6 inscriptions + 5 étudiants, par lots de 2
+        assertEquals(1, rows("student"));
+        assertEquals(0, rows("enrollment"));
+    }
+
+    @Test
+    void testDepartmentDeleteIsImmediateAndPurgeDetachesStudents() {
+        Department department = department("Informatique");
+        Department other = department("Mathématiques");
+        for (int i = 0; i < 5; i++) {
+            student("S" + i, department);
+        }
+        student("Other", other);
+
+        departmentService.deleteDepartment(department.getIdDepartment());
+
+        assertEquals(List.of(other.getIdDepartment()),
+                departmentService.getAllDepartments().stream().map(Department::getIdDepartment).toList());
+        assertEquals(5, rows("student where department_id_department = " + department.getIdDepartment()));
+
+        assertEquals(1, purgeAll());
+        assertEquals(1, rows("department"));
+        assertEquals(0, rows("student where department_id_department = " + department.getIdDepartment()));
+        assertEquals(6, studentService.getAllStudents().size());
+    }
+
+    @Test
+    void testPurgeStopsAtEndOfWindow() {
+        Student student = student("Late", null);
+        studentService.deleteStudent(student.getIdStudent());
+
+        assertEquals(0, purger.purgeBefore(LocalDateTime.now().plusMinutes(1), System.nanoTime() - 1));
+        assertEquals(1, rows("student"));
+    }
+}
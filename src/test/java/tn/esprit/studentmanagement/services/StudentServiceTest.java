@@ -2,18 +2,25 @@ package tn.esprit.studentmanagement.services;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import tn.esprit.studentmanagement.cache.StudentQueryCache;
+import tn.esprit.studentmanagement.dedup.StudentDedupService;
 import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.EnrollmentRepository;
 import tn.esprit.studentmanagement.repositories.StudentRepository;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +29,18 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private StudentDedupService dedupService;
+
+    @Mock
+    private StudentQueryCache queryCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StudentService studentService;
 
@@ -165,8 +184,9 @@ class StudentServiceTest {
         // When
         studentService.deleteStudent(studentId);
 
-        // Then
-        verify(studentRepository, times(1)).deleteById(studentId);
+        // Then : suppression logique, pas de deleteById
+        verify(studentRepository, times(1)).softDeleteById(eq(studentId), any(LocalDateTime.class));
+        verify(studentRepository, never()).deleteById(studentId);
     }
 
     @Test
@@ -174,14 +194,15 @@ class StudentServiceTest {
         // Given
         Long studentId = 1L;
 
-        // Do nothing when deleteById is called
-        doNothing().when(studentRepository).deleteById(studentId);
-
         // When
         studentService.deleteStudent(studentId);
 
-        // Then
-        verify(studentRepository, times(1)).deleteById(studentId);
+        // Then : les inscriptions sont marquées avec le même horodatage que l'étudiant
+        ArgumentCaptor<LocalDateTime> studentDeletedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> enrollmentsDeletedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(studentRepository, times(1)).softDeleteById(eq(studentId), studentDeletedAt.capture());
+        verify(enrollmentRepository, times(1)).softDeleteByStudentId(eq(studentId), enrollmentsDeletedAt.capture());
+        assertEquals(studentDeletedAt.getValue(), enrollmentsDeletedAt.getValue());
     }
 
     @Test
@@ -270,6 +291,6 @@ class StudentServiceTest {
         // Vérifications
         verify(studentRepository, times(1)).save(newStudent);
         verify(studentRepository, times(1)).findById(1L);
-        verify(studentRepository, times(1)).deleteById(1L);
+        verify(studentRepository, times(1)).softDeleteById(eq(1L), any(LocalDateTime.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package tn.esprit.studentmanagement.tenancy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.studentmanagement.entities.Department;
+import tn.esprit.studentmanagement.entities.Student;
+import tn.esprit.studentmanagement.repositories.DepartmentRepository;
+import tn.esprit.studentmanagement.repositories.StudentRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // une session (donc un tenant) par appel de repository
+class TenantIsolationTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @AfterEach
+    void cleanUp() {
+        TenantContext.runAsRoot(() -> {
+            studentRepository.deleteAll();
+            departmentRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void testTenantIdIsSetOnInsert() {
+        Student saved = TenantContext.callAs("faculty-a", () -> studentRepository.save(
+                Student.builder().firstName("John").lastName("Doe").email("john@esprit.tn").build()));
+
+        assertEquals("faculty-a", saved.getTenantId());
+    }
+
+    @Test
+    void testQueriesOnlySeeCurrentTenant() {
+        Department departmentA = TenantContext.callAs("faculty-a", () -> departmentRepository.save(
+                Department.builder().name("Computer Science").build()));
+        TenantContext.runAs("faculty-a", () -> studentRepository.save(
+                Student.builder().firstName("John").lastName("Doe").department(departmentA).build()));
+        TenantContext.runAs("faculty-b", () -> studentRepository.save(
+                Student.builder().firstName("Jane").lastName("Doe").build()));
+
+        List<Student> studentsA = TenantContext.callAs("faculty-a", studentRepository::findAll);
+        List<Student> doesB = TenantContext.callAs("faculty-b", () -> studentRepository.findByLastName("Doe"));
+        Long countFromB = TenantContext.callAs("faculty-b",
+                () -> studentRepository.countByDepartment_IdDepartment(departmentA.getIdDepartment()));
+
+        assertEquals(1, studentsA.size());
+        assertEquals("John", studentsA.get(0).getFirstName());
+        assertEquals(1, doesB.size());
+        assertEquals("Jane", doesB.get(0).getFirstName());
+        assertEquals(0L, countFromB);
+        assertEquals(2, TenantContext.callAs(TenantContext.ROOT_TENANT, studentRepository::findAll).size());
+    }
+
+    @Test
+    void testFindByIdFromAnotherTenant() {
+        Student saved = TenantContext.callAs("faculty-a", () -> studentRepository.save(
+                Student.builder().firstName("John").lastName("Doe").build()));
+
+        assertTrue(TenantContext.callAs("faculty-a", () -> studentRepository.findById(saved.getIdStudent())).isPresent());
+        assertTrue(TenantContext.callAs("faculty-b", () -> studentRepository.findById(saved.getIdStudent())).isEmpty());
+    }
+
+    @Test
+    void testFilterSetsTenantFromHeader() throws Exception {
+        TenantFilter filter = new TenantFilter();
+        ReflectionTestUtils.setField(filter, "header", "X-Tenant-ID");
+        ReflectionTestUtils.setField(filter, "defaultTenant", TenantContext.DEFAULT_TENANT);
+        AtomicReference<String> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Tenant-ID", "faculty-a");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+                    @Override
+                    protected void service(jakarta.servlet.http.HttpServletRequest req,
+                                           jakarta.servlet.http.HttpServletResponse res) {
+                        seen.set(TenantContext.getTenantId());
+                    }
+                }));
+
+        assertEquals("faculty-a", seen.get());
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.getTenantId());
+    }
+
+    @Test
+    void testFilterRejectsInvalidTenant() throws Exception {
+        TenantFilter filter = new TenantFilter();
+        ReflectionTestUtils.setField(filter, "header", "X-Tenant-ID");
+        ReflectionTestUtils.setField(filter, "defaultTenant", TenantContext.DEFAULT_TENANT);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Tenant-ID", "a; drop table student");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(400, response.getStatus());
+    }
+}